@@ -1,13 +1,15 @@
 package com.structurizr.api;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.structurizr.io.json.WorkspaceCodec;
 
 /**
  * Represents a response returned by the Structurizr API.
  */
 final class ApiResponse {
 
+    private static final ObjectReader API_RESPONSE_READER = WorkspaceCodec.getInstance().getReader(ApiResponse.class);
+
     private boolean success;
     private String message;
     private Long revision;
@@ -40,10 +42,7 @@ final class ApiResponse {
     }
 
     static ApiResponse parse(String json) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        return objectMapper.readValue(json, ApiResponse.class);
+        return API_RESPONSE_READER.readValue(json);
     }
 
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.structurizr.encryption.EncryptionStrategy;
 import com.structurizr.io.json.EncryptedJsonReader;
 import com.structurizr.io.json.EncryptedJsonWriter;
 import com.structurizr.io.json.JsonReader;
+import com.structurizr.io.json.JsonWorkspaceDocument;
 import com.structurizr.io.json.JsonWriter;
 import com.structurizr.model.IdGenerator;
 import com.structurizr.util.StringUtils;
@@ -25,18 +26,24 @@ import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 
+import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A client for the Structurizr API (https://api.structurizr.com)
@@ -70,6 +77,11 @@ public final class StructurizrClient {
     private boolean mergeFromRemote = true;
     private File workspaceArchiveLocation = new File(".");
 
+    // the content hashes of the workspaces that have been put or archived, by workspace ID
+    private boolean skipUnchangedWorkspaces = false;
+    private final Map<Long, String> putContentHashes = new ConcurrentHashMap<>();
+    private final Map<Long, String> archivedContentHashes = new ConcurrentHashMap<>();
+
     /**
      * Creates a new Structurizr client based upon configuration in a structurizr.properties file
      * on the classpath with the following name-value pairs:
@@ -218,6 +230,20 @@ public final class StructurizrClient {
         this.workspaceArchiveLocation = workspaceArchiveLocation;
     }
 
+    /**
+     * Specifies whether unchanged workspaces should be skipped. If so, putting a workspace that has the same content
+     * as the last workspace put (with this client) for the same ID does nothing, and a workspace retrieved from the
+     * server is only archived if it differs from the last copy archived. Workspaces are compared using a SHA-256
+     * hash of their canonical JSON, ignoring the last modified date, user and agent. When putting a workspace, the
+     * hash is of the workspace as it would be put (after any layout information is merged from the remote workspace),
+     * and is computed while the workspace is written, so the workspace is only serialized once.
+     *
+     * @param skipUnchangedWorkspaces   true if unchanged workspaces should be skipped, false otherwise
+     */
+    public void setSkipUnchangedWorkspaces(boolean skipUnchangedWorkspaces) {
+        this.skipUnchangedWorkspaces = skipUnchangedWorkspaces;
+    }
+
     /**
      * Sets the encryption strategy for use when getting or putting workspaces.
      *
@@ -318,32 +344,36 @@ public final class StructurizrClient {
             try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
                 debugResponse(response);
 
-                String json = EntityUtils.toString(response.getEntity());
                 if (response.getCode() == HttpStatus.SC_OK) {
-                    archiveWorkspace(workspaceId, json);
+                    JsonWorkspaceDocument document;
+                    if (workspaceArchiveLocation != null) {
+                        byte[] json = EntityUtils.toByteArray(response.getEntity());
+                        archiveWorkspace(workspaceId, json);
+                        document = JsonWorkspaceDocument.parse(new ByteArrayInputStream(json));
+                    } else {
+                        document = JsonWorkspaceDocument.parse(response.getEntity().getContent());
+                    }
 
                     if (encryptionStrategy == null) {
-                        if (json.contains("\"encryptionStrategy\"") && json.contains("\"ciphertext\"")) {
+                        if (document.isEncrypted()) {
                             log.warn("The JSON may contain a client-side encrypted workspace, but no passphrase has been specified.");
                         }
 
                         JsonReader jsonReader = new JsonReader();
                         jsonReader.setIdGenerator(idGenerator);
-                        return jsonReader.read(new StringReader(json));
+                        return jsonReader.read(document);
+                    } else if (document.isEncrypted()) {
+                        EncryptedWorkspace encryptedWorkspace = new EncryptedJsonReader().read(document);
+                        encryptedWorkspace.getEncryptionStrategy().setPassphrase(encryptionStrategy.getPassphrase());
+                        return encryptedWorkspace.getWorkspace();
                     } else {
-                        EncryptedWorkspace encryptedWorkspace = new EncryptedJsonReader().read(new StringReader(json));
-
-                        if (encryptedWorkspace.getEncryptionStrategy() != null) {
-                            encryptedWorkspace.getEncryptionStrategy().setPassphrase(encryptionStrategy.getPassphrase());
-                            return encryptedWorkspace.getWorkspace();
-                        } else {
-                            // this workspace isn't encrypted, even though the client has an encryption strategy set
-                            JsonReader jsonReader = new JsonReader();
-                            jsonReader.setIdGenerator(idGenerator);
-                            return jsonReader.read(new StringReader(json));
-                        }
+                        // this workspace isn't encrypted, even though the client has an encryption strategy set
+                        JsonReader jsonReader = new JsonReader();
+                        jsonReader.setIdGenerator(idGenerator);
+                        return jsonReader.read(document);
                     }
                 } else {
+                    String json = EntityUtils.toString(response.getEntity());
                     ApiResponse apiResponse = ApiResponse.parse(json);
                     throw new StructurizrClientException(apiResponse.getMessage());
                 }
@@ -369,6 +399,9 @@ public final class StructurizrClient {
         }
 
         try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+            workspace.setId(workspaceId);
+            workspace.setThumbnail(null);
+
             if (mergeFromRemote) {
                 Workspace remoteWorkspace = getWorkspace(workspaceId);
                 if (remoteWorkspace != null) {
@@ -377,8 +410,6 @@ public final class StructurizrClient {
                 }
             }
 
-            workspace.setId(workspaceId);
-            workspace.setThumbnail(null);
             workspace.setLastModifiedDate(new Date());
             workspace.setLastModifiedAgent(agent);
             workspace.setLastModifiedUser(getUser());
@@ -387,18 +418,44 @@ public final class StructurizrClient {
 
             HttpPut httpPut = new HttpPut(url + WORKSPACE_PATH + workspaceId);
 
-            StringWriter stringWriter = new StringWriter();
+            String content;
+            String contentHash = null;
             if (encryptionStrategy == null) {
                 JsonWriter jsonWriter = new JsonWriter(false);
-                jsonWriter.write(workspace, stringWriter);
+                if (skipUnchangedWorkspaces) {
+                    // the workspace is hashed as it's written (the writer leaves the last modified date, user and agent out of the hash)
+                    jsonWriter.setCanonical(true);
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    contentHash = jsonWriter.writeAndHash(workspace, outputStream);
+                    if (isUnchanged(workspaceId, contentHash)) {
+                        return;
+                    }
+                    content = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+                } else {
+                    StringWriter stringWriter = new StringWriter();
+                    jsonWriter.write(workspace, stringWriter);
+                    content = stringWriter.toString();
+                }
             } else {
+                if (skipUnchangedWorkspaces) {
+                    // the encrypted content is different every time, so the unencrypted workspace is hashed (before it's encrypted)
+                    JsonWriter jsonWriter = new JsonWriter(false);
+                    jsonWriter.setCanonical(true);
+                    contentHash = jsonWriter.hash(workspace);
+                    if (isUnchanged(workspaceId, contentHash)) {
+                        return;
+                    }
+                }
+
                 EncryptedWorkspace encryptedWorkspace = new EncryptedWorkspace(workspace, encryptionStrategy);
                 encryptionStrategy.setLocation(EncryptionLocation.Client);
                 EncryptedJsonWriter jsonWriter = new EncryptedJsonWriter(false);
+                StringWriter stringWriter = new StringWriter();
                 jsonWriter.write(encryptedWorkspace, stringWriter);
+                content = stringWriter.toString();
             }
 
-            StringEntity stringEntity = new StringEntity(stringWriter.toString(), ContentType.APPLICATION_JSON);
+            StringEntity stringEntity = new StringEntity(content, ContentType.APPLICATION_JSON);
             httpPut.setEntity(stringEntity);
             addHeaders(httpPut, EntityUtils.toString(stringEntity), ContentType.APPLICATION_JSON.toString());
 
@@ -410,6 +467,10 @@ public final class StructurizrClient {
                 if (response.getCode() == HttpStatus.SC_OK) {
                     debugResponse(response);
                     log.info(json);
+
+                    if (contentHash != null) {
+                        putContentHashes.put(workspaceId, contentHash);
+                    }
                 } else {
                     ApiResponse apiResponse = ApiResponse.parse(json);
                     throw new StructurizrClientException(apiResponse.getMessage());
@@ -421,6 +482,15 @@ public final class StructurizrClient {
         }
     }
 
+    private boolean isUnchanged(long workspaceId, String contentHash) {
+        if (contentHash.equals(putContentHashes.get(workspaceId))) {
+            log.info("Workspace with ID " + workspaceId + " has not changed since it was last put, so it will not be put again");
+            return true;
+        }
+
+        return false;
+    }
+
     private void debugRequest(HttpUriRequestBase httpRequest, String content) {
         if (log.isDebugEnabled()) {
             log.debug(httpRequest.getMethod() + " " + httpRequest.getPath());
@@ -456,15 +526,31 @@ public final class StructurizrClient {
         }
     }
 
-    private void archiveWorkspace(long workspaceId, String json) {
+    private void archiveWorkspace(long workspaceId, byte[] json) {
         if (this.workspaceArchiveLocation == null) {
             return;
         }
 
+        String contentHash = null;
+        if (skipUnchangedWorkspaces) {
+            try {
+                contentHash = DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(json)).toLowerCase();
+            } catch (Exception e) {
+                log.warn("Could not create a content hash for workspace with ID " + workspaceId);
+            }
+
+            if (contentHash != null && contentHash.equals(archivedContentHashes.get(workspaceId))) {
+                log.debug("Workspace with ID " + workspaceId + " has not changed since it was last archived");
+                return;
+            }
+        }
+
         File archiveFile = new File(workspaceArchiveLocation, createArchiveFileName(workspaceId));
-        try (FileWriter fileWriter = new FileWriter(archiveFile)) {
-            fileWriter.write(json);
-            fileWriter.flush();
+        try (FileOutputStream outputStream = new FileOutputStream(archiveFile)) {
+            outputStream.write(json);
+            if (contentHash != null) {
+                archivedContentHashes.put(workspaceId, contentHash);
+            }
 
             debugArchivedWorkspaceLocation(archiveFile);
         } catch (Exception e) {
@@ -2,7 +2,10 @@ package com.structurizr.io;
 
 import com.structurizr.Workspace;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
 public interface WorkspaceReader {
 
@@ -15,4 +18,19 @@ public interface WorkspaceReader {
      */
     Workspace read(Reader reader) throws WorkspaceReaderException;
 
+    /**
+     * Reads and parses a (UTF-8 encoded) workspace definition.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    default Workspace read(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
+
+        return read(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
 }
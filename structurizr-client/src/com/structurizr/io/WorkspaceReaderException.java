@@ -4,6 +4,10 @@ public class WorkspaceReaderException extends Exception {
 
     private static final long serialVersionUID = 1L;
 
+    public WorkspaceReaderException(String message) {
+        super(message);
+    }
+
     public WorkspaceReaderException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -4,6 +4,10 @@ public class WorkspaceWriterException extends Exception {
 
     private static final long serialVersionUID = 1L;
 
+    public WorkspaceWriterException(String message) {
+        super(message);
+    }
+
     public WorkspaceWriterException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -1,31 +0,0 @@
-package com.structurizr.io.json;
-
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
-
-class AbstractJsonWriter {
-
-    private static final String ISO_DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
-
-    ObjectMapper createObjectMapper(boolean indentOutput) {
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        if (indentOutput) {
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        }
-
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-
-        SimpleDateFormat sdf = new SimpleDateFormat(AbstractJsonWriter.ISO_DATE_TIME_FORMAT);
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        objectMapper.setDateFormat(sdf);
-
-        return objectMapper;
-    }
-
-}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.structurizr.configuration.User;
+import com.structurizr.documentation.Decision;
+import com.structurizr.documentation.Image;
+import com.structurizr.documentation.Section;
+import com.structurizr.model.HttpHealthCheck;
+import com.structurizr.model.ModelItem;
+import com.structurizr.model.Perspective;
+import com.structurizr.view.ElementStyle;
+import com.structurizr.view.ElementView;
+import com.structurizr.view.FilteredView;
+import com.structurizr.view.RelationshipStyle;
+import com.structurizr.view.RelationshipView;
+import com.structurizr.view.View;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Jackson module that writes the contents of sets (e.g. elements, relationships, views, documentation sections)
+ * in a stable order, rather than in hash order, so that the same workspace is always written as the same bytes.
+ * Items are ordered by their natural key (e.g. the ID of an element or relationship, or the key of a view), and
+ * then by their JSON representation if the keys are the same. Lists are written in their existing order, and map
+ * entries are ordered by key using {@link com.fasterxml.jackson.databind.SerializationFeature#ORDER_MAP_ENTRIES_BY_KEYS}.
+ */
+final class CanonicalJsonModule extends SimpleModule {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    CanonicalJsonModule() {
+        super("CanonicalJsonModule");
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                return new SortedSetSerializer(serializer);
+            }
+        });
+    }
+
+    private static String keyOf(Object item) {
+        if (item instanceof ModelItem) {
+            return ((ModelItem)item).getId();
+        } else if (item instanceof View) {
+            return ((View)item).getKey();
+        } else if (item instanceof FilteredView) {
+            return ((FilteredView)item).getKey();
+        } else if (item instanceof ElementView) {
+            return ((ElementView)item).getId();
+        } else if (item instanceof RelationshipView) {
+            return ((RelationshipView)item).getId();
+        } else if (item instanceof Section) {
+            // sections are numbered, so "10" must come after "9"
+            return String.format("%010d/%s", ((Section)item).getOrder(), ((Section)item).getTitle());
+        } else if (item instanceof Decision) {
+            return ((Decision)item).getId();
+        } else if (item instanceof Image) {
+            return ((Image)item).getName();
+        } else if (item instanceof Perspective) {
+            return ((Perspective)item).getName();
+        } else if (item instanceof HttpHealthCheck) {
+            return ((HttpHealthCheck)item).getName();
+        } else if (item instanceof User) {
+            return ((User)item).getUsername();
+        } else if (item instanceof ElementStyle) {
+            return ((ElementStyle)item).getTag();
+        } else if (item instanceof RelationshipStyle) {
+            return ((RelationshipStyle)item).getTag();
+        } else if (item instanceof String) {
+            return (String)item;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Sorts sets before handing them to the original collection serializer (other collections are written as-is).
+     */
+    private static final class SortedSetSerializer extends StdSerializer<Collection<?>> implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        private SortedSetSerializer(JsonSerializer<?> delegate) {
+            super(Collection.class, false);
+            this.delegate = (JsonSerializer<Object>)delegate;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            JsonSerializer<?> contextualDelegate = provider.handleSecondaryContextualization(delegate, property);
+            return contextualDelegate == delegate ? this : new SortedSetSerializer(contextualDelegate);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer)delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Collection<?> value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public void serialize(Collection<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            delegate.serialize(sort(value, provider), gen, provider);
+        }
+
+        @Override
+        public void serializeWithType(Collection<?> value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+            delegate.serializeWithType(sort(value, provider), gen, provider, typeSer);
+        }
+
+        private Collection<?> sort(Collection<?> value, SerializerProvider provider) throws IOException {
+            if (!(value instanceof Set) || value.size() < 2) {
+                return value;
+            }
+
+            // the JSON representation of an item is only created if it's needed to break a tie
+            Map<Object, String> json = new HashMap<>();
+            Comparator<Object> byJson = Comparator.comparing(item -> json.computeIfAbsent(item, i -> toJson(i, provider)));
+
+            List<Object> items = new ArrayList<>(value);
+            items.sort(Comparator.comparing(CanonicalJsonModule::keyOf, Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(byJson));
+
+            return items;
+        }
+
+        private String toJson(Object item, SerializerProvider provider) {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator gen = JSON_FACTORY.createGenerator(writer)) {
+                provider.defaultSerializeValue(item, gen);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+
+            return writer.toString();
+        }
+
+    }
+
+}
@@ -1,13 +1,13 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.io.WorkspaceReaderException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 
-public final class EncryptedJsonReader extends AbstractJsonReader {
+public final class EncryptedJsonReader {
 
     public EncryptedJsonReader() {
     }
@@ -21,12 +21,49 @@ public final class EncryptedJsonReader extends AbstractJsonReader {
      */
     public EncryptedWorkspace read(Reader reader) throws WorkspaceReaderException {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
+            return WorkspaceCodec.getInstance().getEncryptedWorkspaceReader().readValue(reader);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Reads and parses an encrypted workspace definition from a (UTF-8 encoded) JSON document.
+     * The input stream is closed once the workspace has been read.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return          an EncryptedWorkspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public EncryptedWorkspace read(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
 
-            return objectMapper.readValue(reader, EncryptedWorkspace.class);
+        try {
+            return WorkspaceCodec.getInstance().getEncryptedWorkspaceReader().readValue(inputStream);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Reads an encrypted workspace definition from a JSON document that has already been parsed.
+     *
+     * @param document  a JsonWorkspaceDocument
+     * @return          an EncryptedWorkspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public EncryptedWorkspace read(JsonWorkspaceDocument document) throws WorkspaceReaderException {
+        if (document == null) {
+            throw new IllegalArgumentException("JsonWorkspaceDocument cannot be null.");
+        }
+
+        try {
+            return WorkspaceCodec.getInstance().getEncryptedWorkspaceReader().readValue(document.createParser());
         } catch (IOException ioe) {
             throw new WorkspaceReaderException("Could not read JSON", ioe);
         }
     }
 
-}
\ No newline at end of file
+}
@@ -1,12 +1,12 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.io.WorkspaceWriterException;
 
+import java.io.OutputStream;
 import java.io.Writer;
 
-public final class EncryptedJsonWriter extends AbstractJsonWriter {
+public final class EncryptedJsonWriter {
 
     private boolean indentOutput = true;
 
@@ -15,7 +15,8 @@ public final class EncryptedJsonWriter extends AbstractJsonWriter {
     }
 
     /**
-     * Writes an encrypted workspace definition as a JSON string to the specified Writer object.
+     * Writes an encrypted workspace definition as JSON to the specified Writer object.
+     * The writer is flushed, but not closed.
      *
      * @param workspace     the Workspace object to write
      * @param writer        the Writer object to write the workspace to
@@ -30,8 +31,30 @@ public final class EncryptedJsonWriter extends AbstractJsonWriter {
         }
 
         try {
-            ObjectMapper objectMapper = createObjectMapper(indentOutput);
-            writer.write(objectMapper.writeValueAsString(workspace));
+            WorkspaceCodec.getInstance().getEncryptedWorkspaceWriter(indentOutput).writeValue(writer, workspace);
+        } catch (Exception e) {
+            throw new WorkspaceWriterException("Could not write as JSON", e);
+        }
+    }
+
+    /**
+     * Writes an encrypted workspace definition as UTF-8 encoded JSON to the specified OutputStream object.
+     * The output stream is flushed, but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream object to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public void writeToStream(EncryptedWorkspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("EncryptedWorkspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            WorkspaceCodec.getInstance().getEncryptedWorkspaceWriter(indentOutput).writeValue(outputStream, workspace);
         } catch (Exception e) {
             throw new WorkspaceWriterException("Could not write as JSON", e);
         }
@@ -1,6 +1,8 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceReader;
 import com.structurizr.io.WorkspaceReaderException;
@@ -8,14 +10,25 @@ import com.structurizr.model.IdGenerator;
 import com.structurizr.model.SequentialIntegerIdGeneratorStrategy;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * Reads a workspace definition as JSON.
+ * Reads a workspace definition as JSON. Definitions can be read from characters (a Reader), or directly from
+ * (UTF-8 encoded) bytes, in which case no intermediate String is created.
  */
-public final class JsonReader extends AbstractJsonReader implements WorkspaceReader {
+public final class JsonReader implements WorkspaceReader {
 
     private IdGenerator idGenerator = null;
+    private boolean lazy = false;
+    private ForkJoinPool forkJoinPool = null;
+    private boolean trusted = false;
 
     /**
      * Sets the ID generator to use when parsing a JSON workspace definition.
@@ -26,6 +39,45 @@ public final class JsonReader extends AbstractJsonReader implements WorkspaceRea
         this.idGenerator = idGenerator;
     }
 
+    /**
+     * Sets whether the views and documentation should be read lazily. If so, they are left as unparsed JSON until
+     * first needed (i.e. when Workspace.getViews() or Workspace.getDocumentation() is called), and are then
+     * parsed (and hydrated). This is useful when only the model is needed.
+     * Since the views are only hydrated when they are parsed, any problems with them (e.g. a view that refers to an
+     * element that doesn't exist, or a duplicate view key) are not reported by the read methods, but by the first
+     * call to Workspace.getViews() instead (as a WorkspaceValidationException, or an UncheckedIOException if the
+     * JSON cannot be parsed); problems with the model are still reported when the workspace is read.
+     * When reading from a ByteBuffer (or a memory mapped file), the unparsed JSON is a slice of that buffer,
+     * so the contents of the buffer must not be changed until the views and documentation have been read.
+     *
+     * @param lazy  true if the views and documentation should be read lazily, false otherwise
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Sets the fork-join pool used to hydrate workspaces (i.e. resolve relationships and views against the model)
+     * in parallel. By default, workspaces are hydrated on the calling thread.
+     *
+     * @param forkJoinPool  a ForkJoinPool, or null to hydrate workspaces on the calling thread
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Sets whether workspace definitions are trusted (e.g. because they were written by this library). If so,
+     * workspaces are hydrated without being validated; references between elements, relationships and views are
+     * still resolved, but IDs, names, relationship descriptions and view keys are not checked for uniqueness.
+     * A WorkspaceValidator can be used to validate workspaces later, on demand.
+     *
+     * @param trusted   true if workspace definitions are trusted, false otherwise
+     */
+    public void setTrusted(boolean trusted) {
+        this.trusted = trusted;
+    }
+
     /**
      * Reads and parses a workspace definition from a JSON document.
      *
@@ -35,15 +87,123 @@ public final class JsonReader extends AbstractJsonReader implements WorkspaceRea
      */
     public Workspace read(Reader reader) throws WorkspaceReaderException {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
+            return read(WorkspaceCodec.getInstance().getWorkspaceReader().createParser(reader), null);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
 
-            Workspace workspace = objectMapper.readValue(reader, Workspace.class);
+    /**
+     * Reads and parses a workspace definition from a (UTF-8 encoded) JSON document.
+     * The input stream is closed once the workspace has been read.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    @Override
+    public Workspace read(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
+
+        try {
+            return read(WorkspaceCodec.getInstance().getWorkspaceReader().createParser(inputStream), null);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Reads and parses a workspace definition from a (UTF-8 encoded) JSON file.
+     *
+     * @param path      the Path of the workspace definition
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(Path path) throws WorkspaceReaderException {
+        return read(path, false);
+    }
+
+    /**
+     * Reads and parses a workspace definition from a (UTF-8 encoded) JSON file, optionally by mapping the file
+     * into memory rather than reading it through an input stream (this can be faster for large files).
+     *
+     * @param path          the Path of the workspace definition
+     * @param memoryMapped  true if the file should be memory mapped, false otherwise
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(Path path, boolean memoryMapped) throws WorkspaceReaderException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null.");
+        }
+
+        if (memoryMapped) {
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return read(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()));
+            } catch (IOException ioe) {
+                throw new WorkspaceReaderException("Could not read JSON", ioe);
+            }
+        } else {
+            try {
+                return read(Files.newInputStream(path));
+            } catch (IOException ioe) {
+                throw new WorkspaceReaderException("Could not read JSON", ioe);
+            }
+        }
+    }
+
+    /**
+     * Reads and parses a workspace definition from the remaining (UTF-8 encoded) bytes in the given buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param byteBuffer    a ByteBuffer containing the workspace definition
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(ByteBuffer byteBuffer) throws WorkspaceReaderException {
+        if (byteBuffer == null) {
+            throw new IllegalArgumentException("ByteBuffer cannot be null.");
+        }
+
+        try {
+            return read(createParser(WorkspaceCodec.getInstance().getWorkspaceReader(), byteBuffer), byteBuffer);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Reads a workspace definition from a JSON document that has already been parsed.
+     *
+     * @param document  a JsonWorkspaceDocument
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(JsonWorkspaceDocument document) throws WorkspaceReaderException {
+        if (document == null) {
+            throw new IllegalArgumentException("JsonWorkspaceDocument cannot be null.");
+        }
+
+        return read(document.createParser(), null);
+    }
+
+    // the source is only specified when the parser is reading from a ByteBuffer
+    private Workspace read(JsonParser parser, ByteBuffer source) throws WorkspaceReaderException {
+        try (JsonParser jsonParser = parser) {
+            Workspace workspace;
+            if (lazy) {
+                workspace = LazyWorkspaceParser.parse(jsonParser, source);
+            } else {
+                workspace = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(jsonParser);
+            }
 
             if (idGenerator != null) {
                 workspace.getModel().setIdGenerator(idGenerator);
             }
 
-            workspace.hydrate();
+            workspace.hydrate(forkJoinPool, !trusted);
 
             return workspace;
         } catch (IOException ioe) {
@@ -52,4 +212,12 @@ public final class JsonReader extends AbstractJsonReader implements WorkspaceRea
         }
     }
 
-}
\ No newline at end of file
+    static JsonParser createParser(ObjectReader objectReader, ByteBuffer byteBuffer) throws IOException {
+        if (byteBuffer.hasArray()) {
+            return objectReader.createParser(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+        } else {
+            return objectReader.createParser(new ByteBufferBackedInputStream(byteBuffer.duplicate()));
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.structurizr.io.WorkspaceReaderException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A JSON workspace definition that has been parsed (once) into a buffer of JSON tokens, which can then be read
+ * as a workspace (see {@link JsonReader}) or an encrypted workspace (see {@link EncryptedJsonReader}).
+ * Whether the definition contains a client-side encrypted workspace is detected while parsing, from the
+ * top-level "encryptionStrategy" and "ciphertext" properties.
+ */
+public final class JsonWorkspaceDocument {
+
+    private static final String ENCRYPTION_STRATEGY_PROPERTY = "encryptionStrategy";
+    private static final String CIPHERTEXT_PROPERTY = "ciphertext";
+
+    private final TokenBuffer tokens;
+    private final boolean encrypted;
+
+    private JsonWorkspaceDocument(TokenBuffer tokens, boolean encrypted) {
+        this.tokens = tokens;
+        this.encrypted = encrypted;
+    }
+
+    /**
+     * Parses a (UTF-8 encoded) JSON workspace definition. The input stream is closed once it has been parsed.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return  a JsonWorkspaceDocument
+     * @throws WorkspaceReaderException     if the JSON can't be parsed
+     */
+    public static JsonWorkspaceDocument parse(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
+
+        try (JsonParser parser = WorkspaceCodec.getInstance().getWorkspaceReader().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "A workspace definition must be a JSON object.");
+            }
+
+            TokenBuffer tokens = new TokenBuffer(parser);
+            tokens.writeStartObject();
+
+            boolean hasEncryptionStrategy = false;
+            boolean hasCiphertext = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                hasEncryptionStrategy = hasEncryptionStrategy || ENCRYPTION_STRATEGY_PROPERTY.equals(name);
+                hasCiphertext = hasCiphertext || CIPHERTEXT_PROPERTY.equals(name);
+
+                tokens.writeFieldName(name);
+                parser.nextToken();
+                tokens.copyCurrentStructure(parser);
+            }
+            tokens.writeEndObject();
+
+            return new JsonWorkspaceDocument(tokens, hasEncryptionStrategy && hasCiphertext);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Determines whether this document contains a client-side encrypted workspace.
+     *
+     * @return  true if the document contains an encrypted workspace, false otherwise
+     */
+    public boolean isEncrypted() {
+        return encrypted;
+    }
+
+    JsonParser createParser() {
+        return tokens.asParser();
+    }
+
+}
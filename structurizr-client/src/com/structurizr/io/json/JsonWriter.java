@@ -1,26 +1,65 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceWriter;
 import com.structurizr.io.WorkspaceWriterException;
 
+import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
- * Writes a workspace definition as a JSON string.
+ * Writes a workspace definition as JSON. The JSON is streamed to the writer/output stream as the workspace is
+ * serialized, rather than being created as a string first.
  */
-public final class JsonWriter extends AbstractJsonWriter implements WorkspaceWriter {
+public final class JsonWriter implements WorkspaceWriter {
+
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+    // these change every time a workspace is put, so aren't part of its content
+    private static final Set<String> PROPERTIES_EXCLUDED_FROM_HASH = new HashSet<>(Arrays.asList("lastModifiedDate", "lastModifiedUser", "lastModifiedAgent"));
 
     private boolean indentOutput = true;
+    private boolean canonical = false;
 
     public JsonWriter(boolean indentOutput) {
         this.indentOutput = indentOutput;
     }
 
     /**
-     * Writes a workspace definition as a JSON string to the specified Writer object.
+     * Sets whether workspaces should be written canonically. If so, the contents of sets and maps (e.g. elements,
+     * relationships, views, documentation sections and properties) are written in a stable order, rather than in
+     * hash order, so that the same workspace is always written as the same bytes.
+     *
+     * @param canonical     true if workspaces should be written canonically, false otherwise
+     */
+    public void setCanonical(boolean canonical) {
+        this.canonical = canonical;
+    }
+
+    private ObjectWriter getWorkspaceWriter() {
+        if (canonical) {
+            return WorkspaceCodec.getInstance().getCanonicalWorkspaceWriter(indentOutput);
+        } else {
+            return WorkspaceCodec.getInstance().getWorkspaceWriter(indentOutput);
+        }
+    }
+
+    /**
+     * Writes a workspace definition as JSON to the specified Writer object.
+     * The writer is flushed, but not closed.
      *
      * @param workspace     the Workspace object to write
      * @param writer        the Writer object to write the workspace to
@@ -35,11 +74,162 @@ public final class JsonWriter extends AbstractJsonWriter implements WorkspaceWri
         }
 
         try {
-            ObjectMapper objectMapper = createObjectMapper(indentOutput);
-            writer.write(objectMapper.writeValueAsString(workspace));
+            getWorkspaceWriter().writeValue(writer, workspace);
         } catch (IOException ioe) {
             throw new WorkspaceWriterException("Could not write as JSON", ioe);
         }
     }
 
+    /**
+     * Writes a workspace definition as UTF-8 encoded JSON to the specified OutputStream object.
+     * The output stream is flushed, but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream object to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    @Override
+    public void writeToStream(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            getWorkspaceWriter().writeValue(outputStream, workspace);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as JSON", ioe);
+        }
+    }
+
+    /**
+     * Writes a workspace definition as UTF-8 encoded JSON to the specified OutputStream object, computing a
+     * SHA-256 hash of the bytes as they are written. The last modified date, user and agent of the workspace are
+     * written, but are excluded from the hash. When writing canonically, the hash identifies the content of
+     * the workspace, and can be used to detect whether it has changed.
+     * The output stream is flushed, but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream object to write the workspace to
+     * @return  the SHA-256 hash of the JSON, as a lowercase hex string
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public String writeAndHash(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        MessageDigest digest = createContentHashDigest();
+        DigestOutputStream digestOutputStream = new DigestOutputStream(outputStream, digest);
+
+        try {
+            ObjectWriter objectWriter = getWorkspaceWriter();
+            JsonGenerator generator = new HashExcludingJsonGenerator(objectWriter.getFactory().createGenerator(digestOutputStream), digestOutputStream);
+            objectWriter.writeValue(generator, workspace);
+            generator.flush();
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as JSON", ioe);
+        }
+
+        return DatatypeConverter.printHexBinary(digest.digest()).toLowerCase();
+    }
+
+    /**
+     * Computes the SHA-256 hash of the JSON that would be written for a workspace definition, without keeping the JSON.
+     * As with {@link #writeAndHash(Workspace, OutputStream)}, the last modified date, user and agent of the workspace
+     * are excluded from the hash.
+     *
+     * @param workspace     the Workspace object to hash
+     * @return  the SHA-256 hash of the JSON, as a lowercase hex string
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public String hash(Workspace workspace) throws WorkspaceWriterException {
+        return writeAndHash(workspace, new NullOutputStream());
+    }
+
+    private MessageDigest createContentHashDigest() throws WorkspaceWriterException {
+        try {
+            return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new WorkspaceWriterException("Could not create a " + CONTENT_HASH_ALGORITHM + " digest", nsae);
+        }
+    }
+
+    /**
+     * Turns the digest off while the properties excluded from the hash are written (the generator is flushed either
+     * side of them, so that the bytes reaching the digest line up with the properties).
+     */
+    private static final class HashExcludingJsonGenerator extends JsonGeneratorDelegate {
+
+        private final DigestOutputStream digestOutputStream;
+        private boolean excluding = false;
+
+        HashExcludingJsonGenerator(JsonGenerator generator, DigestOutputStream digestOutputStream) {
+            super(generator, false);
+            this.digestOutputStream = digestOutputStream;
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            beforeProperty(name);
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            beforeProperty(name.getValue());
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (inWorkspace()) {
+                include();
+            }
+            super.writeEndObject();
+        }
+
+        private void beforeProperty(String name) throws IOException {
+            if (inWorkspace()) {
+                include();
+                if (PROPERTIES_EXCLUDED_FROM_HASH.contains(name)) {
+                    flush();
+                    digestOutputStream.on(false);
+                    excluding = true;
+                }
+            }
+        }
+
+        private void include() throws IOException {
+            if (excluding) {
+                flush();
+                digestOutputStream.on(true);
+                excluding = false;
+            }
+        }
+
+        private boolean inWorkspace() {
+            JsonStreamContext context = getOutputContext();
+            return context.inObject() && context.getParent() != null && context.getParent().inRoot();
+        }
+
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+    }
+
 }
\ No newline at end of file
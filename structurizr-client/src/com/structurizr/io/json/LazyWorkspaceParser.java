@@ -0,0 +1,110 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.structurizr.Workspace;
+import com.structurizr.documentation.Documentation;
+import com.structurizr.view.ViewSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * Parses a JSON workspace definition, leaving the views and documentation as unparsed JSON until they are
+ * first needed (see {@link Workspace#deferViews(Supplier)} and {@link Workspace#deferDocumentation(Supplier)}).
+ * The unparsed JSON is a slice of the source bytes if available, or a buffer of JSON tokens otherwise.
+ */
+final class LazyWorkspaceParser {
+
+    private static final String VIEWS_PROPERTY = "views";
+    private static final String DOCUMENTATION_PROPERTY = "documentation";
+
+    private static final ObjectReader VIEW_SET_READER = WorkspaceCodec.getInstance().getReader(ViewSet.class);
+    private static final ObjectReader DOCUMENTATION_READER = WorkspaceCodec.getInstance().getReader(Documentation.class);
+
+    private LazyWorkspaceParser() {
+    }
+
+    static Workspace parse(JsonParser parser, ByteBuffer source) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "A workspace definition must be a JSON object.");
+        }
+
+        // everything apart from the views and documentation is buffered, and then read as normal
+        TokenBuffer tokens = new TokenBuffer(parser);
+        tokens.writeStartObject();
+
+        Supplier<ViewSet> views = null;
+        Supplier<Documentation> documentation = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT && VIEWS_PROPERTY.equals(name)) {
+                views = defer(VIEW_SET_READER, section(parser, source), VIEWS_PROPERTY);
+            } else if (token == JsonToken.START_OBJECT && DOCUMENTATION_PROPERTY.equals(name)) {
+                documentation = defer(DOCUMENTATION_READER, section(parser, source), DOCUMENTATION_PROPERTY);
+            } else {
+                tokens.writeFieldName(name);
+                tokens.copyCurrentStructure(parser);
+            }
+        }
+        tokens.writeEndObject();
+
+        Workspace workspace = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(tokens.asParser());
+
+        if (views != null) {
+            workspace.deferViews(views);
+        }
+
+        if (documentation != null) {
+            workspace.deferDocumentation(documentation);
+        }
+
+        return workspace;
+    }
+
+    // captures the JSON object the parser is positioned at, and moves the parser past it
+    private static Section section(JsonParser parser, ByteBuffer source) throws IOException {
+        if (source != null) {
+            int start = source.position() + (int)parser.getTokenLocation().getByteOffset();
+            parser.skipChildren();
+            int end = source.position() + (int)parser.getTokenLocation().getByteOffset() + 1;
+
+            ByteBuffer slice = source.duplicate();
+            slice.position(start);
+            slice.limit(end);
+            ByteBuffer bytes = slice.slice();
+
+            return objectReader -> JsonReader.createParser(objectReader, bytes);
+        } else {
+            TokenBuffer tokens = new TokenBuffer(parser);
+            tokens.copyCurrentStructure(parser);
+
+            return objectReader -> tokens.asParser();
+        }
+    }
+
+    private static <T> Supplier<T> defer(ObjectReader objectReader, Section section, String name) {
+        return () -> {
+            try (JsonParser parser = section.createParser(objectReader)) {
+                return objectReader.readValue(parser);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Could not read the " + name + " from JSON", ioe);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Section {
+
+        JsonParser createParser(ObjectReader objectReader) throws IOException;
+
+    }
+
+}
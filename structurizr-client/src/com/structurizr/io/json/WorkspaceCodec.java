@@ -0,0 +1,221 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.structurizr.Workspace;
+import com.structurizr.encryption.EncryptedWorkspace;
+import com.structurizr.model.ModelJsonModule;
+import com.structurizr.view.ViewJsonModule;
+
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+/**
+ * Holds the (immutable, thread-safe) Jackson readers and writers used to convert workspaces, encrypted workspaces
+ * and themes to/from JSON, and workspaces to/from Smile (a binary equivalent of JSON). These are created once and
+ * shared, so that the introspection of classes and the serializers/deserializers that Jackson builds are reused
+ * between calls, rather than being recreated for every workspace that is read or written. Relationships, element
+ * views and relationship views (the bulk of a large workspace) are read by hand-written deserializers
+ * (see {@link ModelJsonModule} and {@link ViewJsonModule}). Canonical writers write the contents of sets and maps
+ * in a stable order, so that the same workspace is always written as the same bytes (see {@link CanonicalJsonModule}).
+ */
+public final class WorkspaceCodec {
+
+    private static final String ISO_DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+
+    private static final WorkspaceCodec INSTANCE = new WorkspaceCodec();
+
+    private final ObjectMapper readingObjectMapper;
+
+    private final ObjectReader workspaceReader;
+    private final ObjectReader encryptedWorkspaceReader;
+
+    private final ObjectWriter workspaceWriter;
+    private final ObjectWriter indentingWorkspaceWriter;
+    private final ObjectWriter canonicalWorkspaceWriter;
+    private final ObjectWriter indentingCanonicalWorkspaceWriter;
+    private final ObjectWriter encryptedWorkspaceWriter;
+    private final ObjectWriter indentingEncryptedWorkspaceWriter;
+    private final ObjectWriter themeWriter;
+
+    private final ObjectReader smileWorkspaceReader;
+    private final ObjectWriter smileWorkspaceWriter;
+
+    /**
+     * Gets the shared codec instance.
+     *
+     * @return  a WorkspaceCodec
+     */
+    public static WorkspaceCodec getInstance() {
+        return INSTANCE;
+    }
+
+    private WorkspaceCodec() {
+        readingObjectMapper = createReadingObjectMapper(new JsonFactory());
+        workspaceReader = readingObjectMapper.readerFor(Workspace.class);
+        encryptedWorkspaceReader = readingObjectMapper.readerFor(EncryptedWorkspace.class);
+
+        ObjectMapper writingObjectMapper = createWritingObjectMapper(new JsonFactory(), false);
+        ObjectWriter writer = writingObjectMapper.writer();
+        ObjectWriter indentingWriter = writer.with(SerializationFeature.INDENT_OUTPUT);
+        workspaceWriter = writer.forType(Workspace.class);
+        indentingWorkspaceWriter = indentingWriter.forType(Workspace.class);
+        encryptedWorkspaceWriter = writer.forType(EncryptedWorkspace.class);
+        indentingEncryptedWorkspaceWriter = indentingWriter.forType(EncryptedWorkspace.class);
+
+        ObjectWriter canonicalWriter = createWritingObjectMapper(new JsonFactory(), true).writerFor(Workspace.class);
+        canonicalWorkspaceWriter = canonicalWriter;
+        indentingCanonicalWorkspaceWriter = canonicalWriter.with(SerializationFeature.INDENT_OUTPUT);
+
+        // themes are always indented, and may contain styles without any properties set
+        themeWriter = indentingWriter.without(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+        // Smile uses the same configuration as JSON (so the data is identical), plus back-references to
+        // property names and (short) string values that have already been written - e.g. IDs, tags and technologies
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        smileWorkspaceReader = createReadingObjectMapper(smileFactory).readerFor(Workspace.class);
+        smileWorkspaceWriter = createWritingObjectMapper(smileFactory, false).writerFor(Workspace.class);
+    }
+
+    private static ObjectMapper createObjectMapper(JsonFactory jsonFactory) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        objectMapper.registerModule(new ModelJsonModule());
+        objectMapper.registerModule(new ViewJsonModule());
+
+        return objectMapper;
+    }
+
+    private static ObjectMapper createReadingObjectMapper(JsonFactory jsonFactory) {
+        ObjectMapper objectMapper = createObjectMapper(jsonFactory);
+        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+
+        return objectMapper;
+    }
+
+    private static ObjectMapper createWritingObjectMapper(JsonFactory jsonFactory, boolean canonical) {
+        ObjectMapper objectMapper = createObjectMapper(jsonFactory);
+        if (canonical) {
+            objectMapper.registerModule(new CanonicalJsonModule());
+            objectMapper.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        }
+
+        // the caller owns the writer/output stream, so it shouldn't be closed after writing
+        objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+        // Jackson clones the date format before using it, so sharing it between threads is safe
+        SimpleDateFormat sdf = new SimpleDateFormat(ISO_DATE_TIME_FORMAT);
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        objectMapper.setDateFormat(sdf);
+
+        return objectMapper;
+    }
+
+    /**
+     * Gets the reader used to parse workspaces.
+     *
+     * @return  an ObjectReader for Workspace objects
+     */
+    public ObjectReader getWorkspaceReader() {
+        return workspaceReader;
+    }
+
+    /**
+     * Gets the reader used to parse encrypted workspaces.
+     *
+     * @return  an ObjectReader for EncryptedWorkspace objects
+     */
+    public ObjectReader getEncryptedWorkspaceReader() {
+        return encryptedWorkspaceReader;
+    }
+
+    /**
+     * Gets a reader for the given type, configured in the same way as the workspace reader (e.g. for themes and
+     * API responses). Readers are cheap to create, but callers should hold on to the result rather than calling
+     * this method for every document they parse.
+     *
+     * @param type  the type to read
+     * @return  an ObjectReader
+     */
+    public ObjectReader getReader(Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("A type must be specified.");
+        }
+
+        return readingObjectMapper.readerFor(type);
+    }
+
+    /**
+     * Gets the writer used to serialize workspaces.
+     *
+     * @param indentOutput  whether the JSON should be indented
+     * @return  an ObjectWriter for Workspace objects
+     */
+    public ObjectWriter getWorkspaceWriter(boolean indentOutput) {
+        return indentOutput ? indentingWorkspaceWriter : workspaceWriter;
+    }
+
+    /**
+     * Gets the writer used to serialize workspaces canonically, with the contents of sets and maps written in a
+     * stable order (the JSON is otherwise the same as that written by {@link #getWorkspaceWriter(boolean)}).
+     *
+     * @param indentOutput  whether the JSON should be indented
+     * @return  an ObjectWriter for Workspace objects
+     */
+    public ObjectWriter getCanonicalWorkspaceWriter(boolean indentOutput) {
+        return indentOutput ? indentingCanonicalWorkspaceWriter : canonicalWorkspaceWriter;
+    }
+
+    /**
+     * Gets the writer used to serialize encrypted workspaces.
+     *
+     * @param indentOutput  whether the JSON should be indented
+     * @return  an ObjectWriter for EncryptedWorkspace objects
+     */
+    public ObjectWriter getEncryptedWorkspaceWriter(boolean indentOutput) {
+        return indentOutput ? indentingEncryptedWorkspaceWriter : encryptedWorkspaceWriter;
+    }
+
+    /**
+     * Gets the writer used to serialize themes (the JSON is always indented).
+     *
+     * @return  an ObjectWriter
+     */
+    public ObjectWriter getThemeWriter() {
+        return themeWriter;
+    }
+
+    /**
+     * Gets the reader used to parse workspaces in the Smile (binary) format.
+     *
+     * @return  an ObjectReader for Workspace objects
+     */
+    public ObjectReader getSmileWorkspaceReader() {
+        return smileWorkspaceReader;
+    }
+
+    /**
+     * Gets the writer used to serialize workspaces in the Smile (binary) format.
+     *
+     * @return  an ObjectWriter for Workspace objects
+     */
+    public ObjectWriter getSmileWorkspaceWriter() {
+        return smileWorkspaceWriter;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.structurizr.io.smile;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceReader;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.io.json.WorkspaceCodec;
+import com.structurizr.model.IdGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a workspace definition in the Smile format (see {@link SmileWriter}).
+ * Since Smile is a binary format, workspaces can only be read from an InputStream or a file
+ * (reading from a character-based Reader throws an exception).
+ */
+public final class SmileReader implements WorkspaceReader {
+
+    private IdGenerator idGenerator = null;
+
+    /**
+     * Sets the ID generator to use when parsing a workspace definition.
+     *
+     * @param idGenerator   an IdGenerator implementation
+     */
+    public void setIdGenerator(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Smile is a binary format, so this always throws an exception;
+     * use {@link #read(InputStream)} or {@link #read(Path)} instead.
+     *
+     * @param reader    a Reader on top of the workspace definition
+     * @return          never returns
+     * @throws WorkspaceReaderException     always
+     */
+    @Override
+    public Workspace read(Reader reader) throws WorkspaceReaderException {
+        throw new WorkspaceReaderException("Smile is a binary format, so workspaces can't be read from a Reader (use an InputStream instead).");
+    }
+
+    /**
+     * Reads and parses a workspace definition in the Smile format.
+     * The input stream is closed once the workspace has been read.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    @Override
+    public Workspace read(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
+
+        try {
+            Workspace workspace = WorkspaceCodec.getInstance().getSmileWorkspaceReader().readValue(inputStream);
+
+            if (idGenerator != null) {
+                workspace.getModel().setIdGenerator(idGenerator);
+            }
+
+            workspace.hydrate();
+
+            return workspace;
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read Smile", ioe);
+        }
+    }
+
+    /**
+     * Reads and parses a workspace definition in the Smile format from a file.
+     *
+     * @param path      the Path of the workspace definition
+     * @return          a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(Path path) throws WorkspaceReaderException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null.");
+        }
+
+        try {
+            return read(Files.newInputStream(path));
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read Smile", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.structurizr.io.smile;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceWriter;
+import com.structurizr.io.WorkspaceWriterException;
+import com.structurizr.io.json.WorkspaceCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes a workspace definition in the Smile format (https://github.com/FasterXML/smile-format-specification);
+ * a binary equivalent of JSON, which is smaller and faster to read/write. Repeated property names and
+ * (short) string values, such as IDs, tags and technologies, are written once and then referenced.
+ * The data written is the same as that written by the JsonWriter.
+ * Since Smile is a binary format, workspaces can only be written to an OutputStream or a file
+ * (writing to a character-based Writer throws an exception).
+ */
+public final class SmileWriter implements WorkspaceWriter {
+
+    /**
+     * Smile is a binary format, so this always throws an exception;
+     * use {@link #writeToStream(Workspace, OutputStream)} or {@link #write(Workspace, Path)} instead.
+     *
+     * @param workspace     the Workspace object to write
+     * @param writer        the Writer object to write the workspace to
+     * @throws WorkspaceWriterException     always
+     */
+    @Override
+    public void write(Workspace workspace, Writer writer) throws WorkspaceWriterException {
+        throw new WorkspaceWriterException("Smile is a binary format, so workspaces can't be written to a Writer (use an OutputStream instead).");
+    }
+
+    /**
+     * Writes a workspace definition in the Smile format to the specified OutputStream object.
+     * The output stream is flushed, but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream object to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    @Override
+    public void writeToStream(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            WorkspaceCodec.getInstance().getSmileWorkspaceWriter().writeValue(outputStream, workspace);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as Smile", ioe);
+        }
+    }
+
+    /**
+     * Writes a workspace definition in the Smile format to the specified file.
+     *
+     * @param workspace     the Workspace object to write
+     * @param path          the Path of the file to write
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public void write(Workspace workspace, Path path) throws WorkspaceWriterException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null.");
+        }
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path))) {
+            writeToStream(workspace, outputStream);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as Smile", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.structurizr.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Deserializes the value of a set property as a LinkedHashSet (in the order the items were defined), and hands that
+ * set to the object being deserialized via the given adopter, rather than via the property's setter (which copies it).
+ * Only the set properties this is registered for are affected; other sets are deserialized as usual.
+ */
+public final class AdoptingSetProperty extends SettableBeanProperty.Delegating {
+
+    private final BiConsumer<Object, Set<?>> adopter;
+
+    private volatile JsonDeserializer<Object> setDeserializer;
+
+    public AdoptingSetProperty(SettableBeanProperty delegate, BiConsumer<Object, Set<?>> adopter) {
+        super(delegate);
+
+        this.adopter = adopter;
+    }
+
+    @Override
+    protected SettableBeanProperty withDelegate(SettableBeanProperty delegate) {
+        return new AdoptingSetProperty(delegate, adopter);
+    }
+
+    @Override
+    public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+        deserializeSetAndReturn(p, ctxt, instance);
+    }
+
+    @Override
+    public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return delegate.deserializeSetAndReturn(p, ctxt, instance);
+        }
+
+        JsonDeserializer<Object> deserializer = setDeserializer;
+        if (deserializer == null) {
+            JavaType type = ctxt.getTypeFactory().constructCollectionType(LinkedHashSet.class, getType().getContentType());
+            deserializer = ctxt.findRootValueDeserializer(type);
+            setDeserializer = deserializer;
+        }
+
+        adopter.accept(instance, (Set<?>)deserializer.deserialize(p, ctxt));
+
+        return instance;
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.structurizr.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A Jackson module with a hand-written deserializer for the most numerous model items (relationships), which reads
+ * properties directly rather than via reflection. Relationships are written by Jackson's bean serializer.
+ *
+ * The sets of elements and relationships in the model are deserialized as LinkedHashSets (in the order they were
+ * defined), which the model adopts rather than copies (see {@link AdoptingSetProperty}).
+ *
+ * Low-cardinality strings (tags, technologies, environments, groups and deployment groups), which are repeated
+ * throughout a large model, are deduplicated while deserializing, using a table that is scoped to each read
+ * (so equal strings share a single instance). Property names are already shared by Jackson's symbol table.
+ */
+public final class ModelJsonModule extends SimpleModule {
+
+    // the properties of model items whose values are deduplicated
+    private static final Set<String> DEDUPLICATED_PROPERTIES = new HashSet<>(Arrays.asList("tags", "technology", "environment", "group", "deploymentGroups"));
+
+    // the key of the (per-call) context attribute holding the string table
+    private static final Object STRING_TABLE = new Object();
+
+    public ModelJsonModule() {
+        super("ModelJsonModule");
+
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+                Class<?> type = beanDesc.getBeanClass();
+                if (ModelItem.class.isAssignableFrom(type) || Model.class.isAssignableFrom(type)) {
+                    List<SettableBeanProperty> properties = new ArrayList<>();
+                    builder.getProperties().forEachRemaining(properties::add);
+
+                    for (SettableBeanProperty property : properties) {
+                        if (DEDUPLICATED_PROPERTIES.contains(property.getName())) {
+                            builder.addOrReplaceProperty(new DeduplicatingProperty(property), true);
+                        } else {
+                            BiConsumer<Object, Set<?>> adopter = findAdopter(type, property.getName());
+                            if (adopter != null) {
+                                builder.addOrReplaceProperty(new AdoptingSetProperty(property, adopter), true);
+                            }
+                        }
+                    }
+                }
+
+                return builder;
+            }
+        });
+
+        addDeserializer(Relationship.class, new RelationshipDeserializer());
+    }
+
+    private static BiConsumer<Object, Set<?>> findAdopter(Class<?> type, String property) {
+        if (Model.class.isAssignableFrom(type)) {
+            switch (property) {
+                case "customElements":
+                    return (model, set) -> ((Model)model).adoptCustomElements(cast(set));
+                case "people":
+                    return (model, set) -> ((Model)model).adoptPeople(cast(set));
+                case "softwareSystems":
+                    return (model, set) -> ((Model)model).adoptSoftwareSystems(cast(set));
+                case "deploymentNodes":
+                    return (model, set) -> ((Model)model).adoptDeploymentNodes(cast(set));
+            }
+        }
+
+        if (SoftwareSystem.class.isAssignableFrom(type) && "containers".equals(property)) {
+            return (softwareSystem, set) -> ((SoftwareSystem)softwareSystem).adoptContainers(cast(set));
+        }
+
+        if (Container.class.isAssignableFrom(type) && "components".equals(property)) {
+            return (container, set) -> ((Container)container).adoptComponents(cast(set));
+        }
+
+        if (DeploymentNode.class.isAssignableFrom(type)) {
+            switch (property) {
+                case "children":
+                    return (deploymentNode, set) -> ((DeploymentNode)deploymentNode).adoptChildren(cast(set));
+                case "infrastructureNodes":
+                    return (deploymentNode, set) -> ((DeploymentNode)deploymentNode).adoptInfrastructureNodes(cast(set));
+                case "softwareSystemInstances":
+                    return (deploymentNode, set) -> ((DeploymentNode)deploymentNode).adoptSoftwareSystemInstances(cast(set));
+                case "containerInstances":
+                    return (deploymentNode, set) -> ((DeploymentNode)deploymentNode).adoptContainerInstances(cast(set));
+            }
+        }
+
+        if (Element.class.isAssignableFrom(type) && "relationships".equals(property)) {
+            return (element, set) -> ((Element)element).adoptRelationships(cast(set));
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Set<T> cast(Set<?> set) {
+        // the sets are created by Jackson, with the content type of the property being adopted
+        return (Set<T>)set;
+    }
+
+    private static UnaryOperator<String> getStringTable(DeserializationContext ctxt) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> strings = (Map<String, String>)ctxt.getAttribute(STRING_TABLE);
+        if (strings == null) {
+            strings = new HashMap<>();
+            ctxt.setAttribute(STRING_TABLE, strings);
+        }
+
+        Map<String, String> table = strings;
+        return value -> value == null ? null : table.computeIfAbsent(value, v -> v);
+    }
+
+    private static final class RelationshipDeserializer extends StdDeserializer<Relationship> {
+
+        private RelationshipDeserializer() {
+            super(Relationship.class);
+        }
+
+        @Override
+        public Relationship deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (Relationship)ctxt.handleUnexpectedToken(Relationship.class, p);
+            }
+
+            Relationship relationship = new Relationship();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+
+                switch (name) {
+                    case "id":
+                        relationship.setId(readString(p, ctxt));
+                        break;
+                    case "tags":
+                        relationship.setTags(readString(p, ctxt), getStringTable(ctxt));
+                        break;
+                    case "url":
+                        try {
+                            relationship.setUrl(readString(p, ctxt));
+                        } catch (IllegalArgumentException iae) {
+                            throw JsonMappingException.from(p, iae.getMessage(), iae);
+                        }
+                        break;
+                    case "properties":
+                        relationship.setProperties(readProperties(p, ctxt));
+                        break;
+                    case "perspectives":
+                        relationship.setPerspectives(readPerspectives(p, ctxt));
+                        break;
+                    case "sourceId":
+                        relationship.setSourceId(readString(p, ctxt));
+                        break;
+                    case "destinationId":
+                        relationship.setDestinationId(readString(p, ctxt));
+                        break;
+                    case "description":
+                        relationship.setDescription(readString(p, ctxt));
+                        break;
+                    case "technology":
+                        relationship.setTechnology(getStringTable(ctxt).apply(readString(p, ctxt)));
+                        break;
+                    case "interactionStyle":
+                        relationship.setInteractionStyle(p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, InteractionStyle.class));
+                        break;
+                    case "linkedRelationshipId":
+                        relationship.setLinkedRelationshipId(readString(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, relationship, name);
+                }
+            }
+
+            return relationship;
+        }
+
+        private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt);
+        }
+
+        private Map<String, String> readProperties(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_NULL)) {
+                return null;
+            } else if (!p.hasToken(JsonToken.START_OBJECT)) {
+                return ctxt.readValue(p, ctxt.getTypeFactory().constructMapType(HashMap.class, String.class, String.class));
+            }
+
+            Map<String, String> properties = new HashMap<>();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+                properties.put(name, readString(p, ctxt));
+            }
+
+            return properties;
+        }
+
+        private Set<Perspective> readPerspectives(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_NULL)) {
+                return null;
+            } else if (!p.isExpectedStartArrayToken()) {
+                return ctxt.readValue(p, ctxt.getTypeFactory().constructCollectionType(HashSet.class, Perspective.class));
+            }
+
+            Set<Perspective> perspectives = new HashSet<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (!p.hasToken(JsonToken.START_OBJECT)) {
+                    perspectives.add(p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, Perspective.class));
+                    continue;
+                }
+
+                Perspective perspective = new Perspective();
+                String name;
+                while ((name = p.nextFieldName()) != null) {
+                    p.nextToken();
+
+                    switch (name) {
+                        case "name":
+                            perspective.setName(readString(p, ctxt));
+                            break;
+                        case "description":
+                            perspective.setDescription(readString(p, ctxt));
+                            break;
+                        default:
+                            handleUnknownProperty(p, ctxt, perspective, name);
+                    }
+                }
+                perspectives.add(perspective);
+            }
+
+            return perspectives;
+        }
+
+    }
+
+    /**
+     * Deduplicates the value of a (string or set of strings) property before it is set on a model item.
+     */
+    private static final class DeduplicatingProperty extends SettableBeanProperty.Delegating {
+
+        private DeduplicatingProperty(SettableBeanProperty delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty delegate) {
+            return new DeduplicatingProperty(delegate);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            deserializeSetAndReturn(p, ctxt, instance);
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            Object value = deserialize(p, ctxt);
+            UnaryOperator<String> stringTable = getStringTable(ctxt);
+
+            if (instance instanceof ModelItem && "tags".equals(getName()) && (value == null || value instanceof String)) {
+                // tags are split into individual strings by the model item, so these are deduplicated instead
+                ((ModelItem)instance).setTags((String)value, stringTable);
+                return instance;
+            } else if (value instanceof String) {
+                return setAndReturn(instance, stringTable.apply((String)value));
+            } else if (value instanceof Set) {
+                Set<String> strings = new LinkedHashSet<>();
+                for (Object string : (Set<?>)value) {
+                    strings.add(string instanceof String ? stringTable.apply((String)string) : null);
+                }
+
+                if (instance instanceof StaticStructureElementInstance && "deploymentGroups".equals(getName())) {
+                    ((StaticStructureElementInstance)instance).adoptDeploymentGroups(strings);
+                    return instance;
+                }
+
+                return setAndReturn(instance, strings);
+            } else {
+                return setAndReturn(instance, value);
+            }
+        }
+
+    }
+
+}
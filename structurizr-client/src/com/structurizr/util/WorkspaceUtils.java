@@ -5,7 +5,6 @@ import com.structurizr.io.json.JsonReader;
 import com.structurizr.io.json.JsonWriter;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Some utility methods related to workspaces.
@@ -26,7 +25,7 @@ public final class WorkspaceUtils {
             throw new IllegalArgumentException("The specified JSON file does not exist.");
         }
 
-        return new JsonReader().read(new FileReader(file));
+        return new JsonReader().read(file.toPath());
     }
 
     /**
@@ -43,10 +42,9 @@ public final class WorkspaceUtils {
             throw new IllegalArgumentException("The path to a JSON file must be specified.");
         }
 
-        OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
-        new JsonWriter(true).write(workspace, writer);
-        writer.flush();
-        writer.close();
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            new JsonWriter(true).writeToStream(workspace, outputStream);
+        }
     }
 
     /**
@@ -1,11 +1,9 @@
 package com.structurizr.view;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceWriterException;
+import com.structurizr.io.json.WorkspaceCodec;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
@@ -22,6 +20,8 @@ public final class ThemeUtils {
 
     private static final int HTTP_OK_STATUS = 200;
 
+    private static final ObjectReader THEME_READER = WorkspaceCodec.getInstance().getReader(Theme.class);
+
     /**
      * Serializes the theme (element and relationship styles) in the specified workspace to a file, as a JSON string.
      *
@@ -74,11 +74,7 @@ public final class ThemeUtils {
             if (response.getCode() == HTTP_OK_STATUS) {
                 String json = EntityUtils.toString(response.getEntity());
 
-                ObjectMapper objectMapper = new ObjectMapper();
-                objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-                Theme theme = objectMapper.readValue(json, Theme.class);
+                Theme theme = THEME_READER.readValue(json);
 
                 workspace.getViews().getConfiguration().getStyles().addStylesFromTheme(url, theme.getElements(), theme.getRelationships());
             }
@@ -89,19 +85,13 @@ public final class ThemeUtils {
 
     private static void write(Workspace workspace, Writer writer) throws Exception {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-            objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-
-            writer.write(objectMapper.writeValueAsString(
+            WorkspaceCodec.getInstance().getThemeWriter().writeValue(writer,
                     new Theme(
                             workspace.getName(),
                             workspace.getDescription(),
                             workspace.getViews().getConfiguration().getStyles().getElements(),
                             workspace.getViews().getConfiguration().getStyles().getRelationships()
-                    )));
+                    ));
         } catch (IOException ioe) {
             throw new WorkspaceWriterException("Could not write the theme as JSON", ioe);
         }
@@ -0,0 +1,188 @@
+package com.structurizr.view;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.structurizr.model.AdoptingSetProperty;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A Jackson module with hand-written deserializers for the most numerous parts of views (element and relationship
+ * views), which read properties directly rather than via reflection. These are written by Jackson's bean serializer.
+ *
+ * The sets of element and relationship views are deserialized as LinkedHashSets, which the view adopts rather than
+ * copies (see {@link AdoptingSetProperty}).
+ */
+public final class ViewJsonModule extends SimpleModule {
+
+    public ViewJsonModule() {
+        super("ViewJsonModule");
+
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+                if (View.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                    List<SettableBeanProperty> properties = new ArrayList<>();
+                    builder.getProperties().forEachRemaining(properties::add);
+
+                    for (SettableBeanProperty property : properties) {
+                        if ("elements".equals(property.getName())) {
+                            builder.addOrReplaceProperty(new AdoptingSetProperty(property, (view, set) -> ((View)view).adoptElements(cast(set))), true);
+                        } else if ("relationships".equals(property.getName())) {
+                            builder.addOrReplaceProperty(new AdoptingSetProperty(property, (view, set) -> ((View)view).adoptRelationships(cast(set))), true);
+                        }
+                    }
+                }
+
+                return builder;
+            }
+        });
+
+        addDeserializer(ElementView.class, new ElementViewDeserializer());
+        addDeserializer(RelationshipView.class, new RelationshipViewDeserializer());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Set<T> cast(Set<?> set) {
+        // the sets are created by Jackson, with the content type of the property being adopted
+        return (Set<T>)set;
+    }
+
+    private static final class ElementViewDeserializer extends StdDeserializer<ElementView> {
+
+        private ElementViewDeserializer() {
+            super(ElementView.class);
+        }
+
+        @Override
+        public ElementView deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (ElementView)ctxt.handleUnexpectedToken(ElementView.class, p);
+            }
+
+            ElementView elementView = new ElementView();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+
+                switch (name) {
+                    case "id":
+                        elementView.setId(p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt));
+                        break;
+                    case "x":
+                        elementView.setX(_parseIntPrimitive(p, ctxt));
+                        break;
+                    case "y":
+                        elementView.setY(_parseIntPrimitive(p, ctxt));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, elementView, name);
+                }
+            }
+
+            return elementView;
+        }
+
+    }
+
+    private static final class RelationshipViewDeserializer extends StdDeserializer<RelationshipView> {
+
+        private RelationshipViewDeserializer() {
+            super(RelationshipView.class);
+        }
+
+        @Override
+        public RelationshipView deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartObjectToken()) {
+                return (RelationshipView)ctxt.handleUnexpectedToken(RelationshipView.class, p);
+            }
+
+            RelationshipView relationshipView = new RelationshipView();
+            String name;
+            while ((name = p.nextFieldName()) != null) {
+                p.nextToken();
+
+                switch (name) {
+                    case "id":
+                        relationshipView.setId(readString(p, ctxt));
+                        break;
+                    case "description":
+                        relationshipView.setDescription(readString(p, ctxt));
+                        break;
+                    case "order":
+                        relationshipView.setOrder(readString(p, ctxt));
+                        break;
+                    case "response":
+                        relationshipView.setResponse(_parseBoolean(p, ctxt, Boolean.class));
+                        break;
+                    case "vertices":
+                        relationshipView.setVertices(readVertices(p, ctxt));
+                        break;
+                    case "routing":
+                        relationshipView.setRouting(p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, Routing.class));
+                        break;
+                    case "position":
+                        relationshipView.setPosition(_parseInteger(p, ctxt, Integer.class));
+                        break;
+                    default:
+                        handleUnknownProperty(p, ctxt, relationshipView, name);
+                }
+            }
+
+            return relationshipView;
+        }
+
+        private String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt);
+        }
+
+        private List<Vertex> readVertices(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_NULL)) {
+                return null;
+            } else if (!p.isExpectedStartArrayToken()) {
+                return ctxt.readValue(p, ctxt.getTypeFactory().constructCollectionType(ArrayList.class, Vertex.class));
+            }
+
+            List<Vertex> vertices = new ArrayList<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (!p.hasToken(JsonToken.START_OBJECT)) {
+                    vertices.add(p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, Vertex.class));
+                    continue;
+                }
+
+                Vertex vertex = new Vertex();
+                String name;
+                while ((name = p.nextFieldName()) != null) {
+                    p.nextToken();
+
+                    switch (name) {
+                        case "x":
+                            vertex.setX(_parseIntPrimitive(p, ctxt));
+                            break;
+                        case "y":
+                            vertex.setY(_parseIntPrimitive(p, ctxt));
+                            break;
+                        default:
+                            handleUnknownProperty(p, ctxt, vertex, name);
+                    }
+                }
+                vertices.add(vertex);
+            }
+
+            return vertices;
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.structurizr.io;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.json.HydrationBenchmark;
+import com.structurizr.io.json.SerializerBenchmark;
+import com.structurizr.io.json.StringDeduplicationBenchmark;
+import com.structurizr.io.json.WorkspaceCodecBenchmark;
+import com.structurizr.io.smile.SmileBenchmark;
+import com.structurizr.model.Component;
+import com.structurizr.model.Container;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.SystemContextView;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the benchmarks in this module, and holds the workspaces and timing code they share.
+ * Run with "gradle benchmark" (from the structurizr-client directory) to run all of the benchmarks,
+ * or "gradle benchmark -Pbenchmarks=codec,smile" to run some of them (by name).
+ */
+public final class Benchmarks {
+
+    private static final String[] TECHNOLOGIES = { "Java and Spring Boot", "Node.js", "PostgreSQL", "Kafka", "React", "Go" };
+
+    private static final Map<String, Benchmark> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("codec", WorkspaceCodecBenchmark::main);
+        BENCHMARKS.put("smile", SmileBenchmark::main);
+        BENCHMARKS.put("serializer", SerializerBenchmark::main);
+        BENCHMARKS.put("hydration", HydrationBenchmark::main);
+        BENCHMARKS.put("deduplication", StringDeduplicationBenchmark::main);
+    }
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String name : args.length > 0 ? Arrays.asList(args) : BENCHMARKS.keySet()) {
+            Benchmark benchmark = BENCHMARKS.get(name.trim());
+            if (benchmark == null) {
+                throw new IllegalArgumentException("The benchmark \"" + name + "\" does not exist (the benchmarks are " + BENCHMARKS.keySet() + ").");
+            }
+
+            System.out.println("== " + name.trim());
+            benchmark.run(new String[0]);
+            System.out.println();
+        }
+    }
+
+    /**
+     * Creates a workspace with a user who uses the given number of software systems, each of which uses the next,
+     * and has the given number of containers (each using the next), each of which has the given number of components
+     * (each using the next). Software systems, containers and components have groups, tags, technologies and
+     * properties drawn from a small set of values, as in a real model.
+     *
+     * @param numberOfSoftwareSystems           the number of software systems
+     * @param numberOfContainersPerSystem       the number of containers in each software system
+     * @param numberOfComponentsPerContainer    the number of components in each container
+     * @return  a Workspace (without views; see {@link #addViews(Workspace)})
+     */
+    public static Workspace createWorkspace(int numberOfSoftwareSystems, int numberOfContainersPerSystem, int numberOfComponentsPerContainer) {
+        Workspace workspace = new Workspace("Benchmark", "");
+        Person user = workspace.getModel().addPerson("User", "A user");
+
+        SoftwareSystem previousSoftwareSystem = null;
+        for (int i = 0; i < numberOfSoftwareSystems; i++) {
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System " + i, "Description of software system " + i);
+            softwareSystem.setGroup("Group " + (i % 10));
+            softwareSystem.addTags("Team " + (i % 50));
+            user.uses(softwareSystem, "Uses", "HTTPS");
+
+            Container previousContainer = null;
+            for (int c = 0; c < numberOfContainersPerSystem; c++) {
+                String technology = TECHNOLOGIES[c % TECHNOLOGIES.length];
+                Container container = softwareSystem.addContainer("Container " + c, "Description of container " + c, technology);
+                container.addTags("Tier " + (c % 3));
+                container.addProperty("owner", "Team " + (i % 50));
+                if (previousContainer != null) {
+                    previousContainer.uses(container, "Reads from and writes to", "JDBC");
+                }
+                previousContainer = container;
+
+                Component previousComponent = null;
+                for (int d = 0; d < numberOfComponentsPerContainer; d++) {
+                    Component component = container.addComponent("Component " + d, "Description of component " + d, technology);
+                    if (previousComponent != null) {
+                        previousComponent.uses(component, "Calls", "Java");
+                    }
+                    previousComponent = component;
+                }
+            }
+
+            if (previousSoftwareSystem != null) {
+                previousSoftwareSystem.uses(softwareSystem, "Gets data from", "JSON/HTTPS");
+            }
+            previousSoftwareSystem = softwareSystem;
+        }
+
+        return workspace;
+    }
+
+    /**
+     * Adds a system context view (of the software system and the user) and a container view for each software system
+     * in the given workspace. The system context views don't include the neighbouring software systems, because
+     * finding them takes time proportional to the number of relationships in the model, for every view.
+     *
+     * @param workspace     a Workspace
+     * @return  the same Workspace
+     */
+    public static Workspace addViews(Workspace workspace) {
+        for (SoftwareSystem softwareSystem : workspace.getModel().getSoftwareSystems()) {
+            SystemContextView systemContextView = workspace.getViews().createSystemContextView(softwareSystem, "SystemContext-" + softwareSystem.getId(), "");
+            workspace.getModel().getPeople().forEach(systemContextView::add);
+            workspace.getViews().createContainerView(softwareSystem, "Containers-" + softwareSystem.getId(), "").addAllContainers();
+        }
+
+        return workspace;
+    }
+
+    /**
+     * Runs the given operation for a number of warmup iterations, and then times it for a number of measured iterations.
+     *
+     * @param warmupIterations      the number of (untimed) warmup iterations
+     * @param measuredIterations    the number of timed iterations
+     * @param operation             the operation to run
+     * @return  the duration of each measured iteration in nanoseconds, sorted (shortest first)
+     */
+    public static long[] measure(int warmupIterations, int measuredIterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.run();
+        }
+
+        long[] durations = new long[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+
+        return durations;
+    }
+
+    /**
+     * Gets the median of the given (sorted) durations, in milliseconds.
+     *
+     * @param durations     durations in nanoseconds, as returned by {@link #measure(int, int, Operation)}
+     * @return  the median duration in milliseconds
+     */
+    public static double median(long[] durations) {
+        return durations[durations.length / 2] / 1000000.0;
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+
+        void run() throws Exception;
+
+    }
+
+    @FunctionalInterface
+    private interface Benchmark {
+
+        void run(String[] args) throws Exception;
+
+    }
+
+}
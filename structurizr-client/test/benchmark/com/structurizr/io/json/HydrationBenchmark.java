@@ -0,0 +1,51 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.structurizr.Workspace;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.structurizr.io.Benchmarks.*;
+
+/**
+ * Compares hydrating a workspace with 25,000 views on the calling thread with hydrating it in parallel
+ * on fork-join pools of increasing size, with and without validation (only the hydration is timed, not the parsing).
+ * Run with "gradle benchmark -Pbenchmarks=hydration" (from the structurizr-client directory).
+ */
+public class HydrationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        byte[] json = WorkspaceCodec.getInstance().getWorkspaceWriter(false).writeValueAsBytes(addViews(createWorkspace(12500, 4, 0)));
+        ObjectReader reader = WorkspaceCodec.getInstance().getWorkspaceReader();
+        System.out.println(String.format("Workspace JSON is %,d KB", json.length / 1024));
+
+        for (boolean validate : new boolean[] { true, false }) {
+            String suffix = validate ? "" : ", trusted";
+            run("sequential" + suffix, reader, json, null, validate);
+            for (int parallelism = 2; parallelism <= Runtime.getRuntime().availableProcessors(); parallelism *= 2) {
+                run("parallel (" + parallelism + " threads" + suffix + ")", reader, json, new ForkJoinPool(parallelism), validate);
+            }
+        }
+    }
+
+    private static void run(String name, ObjectReader reader, byte[] json, ForkJoinPool forkJoinPool, boolean validate) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            ((Workspace)reader.readValue(json)).hydrate(forkJoinPool, validate);
+        }
+
+        long duration = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            Workspace workspace = reader.readValue(json);
+
+            long start = System.nanoTime();
+            workspace.hydrate(forkJoinPool, validate);
+            duration += System.nanoTime() - start;
+        }
+
+        System.out.println(String.format("%-36s %,8.1f ms", name, duration / 1000000.0 / MEASURED_ITERATIONS));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.structurizr.Workspace;
+
+import static com.structurizr.io.Benchmarks.*;
+
+/**
+ * Compares Jackson's (reflection-based) bean deserializers with the hand-written deserializers for relationships,
+ * element views and relationship views (and the adoption of the model/view sets) that WorkspaceCodec registers,
+ * reading workspaces with 10,000 and 100,000 elements.
+ * Run with "gradle benchmark -Pbenchmarks=serializer" (from the structurizr-client directory).
+ */
+public class SerializerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper readingObjectMapper = new ObjectMapper();
+        readingObjectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        readingObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        readingObjectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+        ObjectReader beanReader = readingObjectMapper.readerFor(Workspace.class);
+
+        ObjectReader codecReader = WorkspaceCodec.getInstance().getWorkspaceReader();
+
+        for (int numberOfElements : new int[] { 10000, 100000 }) {
+            Workspace workspace = addViews(createWorkspace(numberOfElements / 10, 9, 0));
+            byte[] json = WorkspaceCodec.getInstance().getWorkspaceWriter(false).writeValueAsBytes(workspace);
+            System.out.println(String.format("%,d elements (%,d KB of JSON)", numberOfElements, json.length / 1024));
+
+            run("read (bean deserializers)", () -> beanReader.readValue(json));
+            run("read (hand-written)", () -> codecReader.readValue(json));
+        }
+    }
+
+    private static void run(String name, Operation operation) throws Exception {
+        long[] durations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, operation);
+
+        System.out.println(String.format("  %-26s median %,8.1f ms", name, median(durations)));
+    }
+
+}
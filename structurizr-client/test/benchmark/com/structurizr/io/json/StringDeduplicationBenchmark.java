@@ -0,0 +1,185 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.structurizr.Workspace;
+import com.structurizr.model.*;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static com.structurizr.io.Benchmarks.createWorkspace;
+
+/**
+ * Measures the heap used by the low-cardinality strings (tags, technologies, environments, groups, deployment groups
+ * and property names) in a workspace with over 1,000,000 elements and relationships, when read by Jackson's bean
+ * deserializers (every value is a separate string) and by WorkspaceCodec (which deduplicates them).
+ * String sizes assume compressed oops and compact (Latin-1) strings, i.e. 24 bytes plus a 16 byte header for the
+ * byte array. The heap used after reading each workspace is also reported (note that the codec also reads sets as
+ * LinkedHashSets, which are slightly larger than HashSets).
+ * Run with "gradle benchmark -Pbenchmarks=deduplication" (from the structurizr-client directory).
+ */
+public class StringDeduplicationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        byte[] json = createWorkspaceJson();
+        System.out.println(String.format("Workspace JSON is %,d KB", json.length / 1024));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+
+        run("bean deserializers", objectMapper.readerFor(Workspace.class), json);
+        run("WorkspaceCodec (deduplicated)", WorkspaceCodec.getInstance().getWorkspaceReader(), json);
+    }
+
+    private static void run(String name, ObjectReader reader, byte[] json) throws Exception {
+        long baseline = usedHeap();
+        Workspace workspace = reader.readValue(json);
+        workspace.hydrate();
+        long heap = usedHeap() - baseline;
+
+        StringCounter counter = new StringCounter();
+        Model model = workspace.getModel();
+        for (Element element : model.getElements()) {
+            counter.addModelItem(element);
+            if (element instanceof GroupableElement) {
+                counter.add(((GroupableElement)element).getGroup());
+            }
+            if (element instanceof Container) {
+                counter.add(((Container)element).getTechnology());
+            } else if (element instanceof Component) {
+                counter.add(((Component)element).getTechnology());
+            } else if (element instanceof DeploymentNode) {
+                counter.add(((DeploymentNode)element).getTechnology());
+                counter.add(((DeploymentNode)element).getEnvironment());
+            } else if (element instanceof StaticStructureElementInstance) {
+                counter.add(((StaticStructureElementInstance)element).getEnvironment());
+                counter.addAll(((StaticStructureElementInstance)element).getDeploymentGroups());
+            }
+        }
+        for (Relationship relationship : model.getRelationships()) {
+            counter.addModelItem(relationship);
+            counter.add(relationship.getTechnology());
+        }
+
+        System.out.println(name);
+        System.out.println(String.format("  %,d elements and relationships", model.getElements().size() + model.getRelationships().size()));
+        System.out.println(String.format("  %,d low-cardinality string references, %,d distinct values", counter.references, counter.values.size()));
+        System.out.println(String.format("  %,d string instances, using %,d KB", counter.instances.size(), counter.instanceBytes / 1024));
+        System.out.println(String.format("  %,d KB of heap used after reading", heap / 1024));
+    }
+
+    private static long usedHeap() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    // 20,000 software systems of 5 containers, each with 4 components, deployed to 2 environments
+    // (the deployment nodes are added to the JSON directly, because adding container instances to a model
+    // replicates relationships, which takes time proportional to the number of elements in the model)
+    private static byte[] createWorkspaceJson() throws Exception {
+        Workspace workspace = createWorkspace(20000, 5, 4);
+        ArrayNode deploymentNodes = JsonNodeFactory.instance.arrayNode();
+        int id = 10000000;
+
+        for (SoftwareSystem softwareSystem : workspace.getModel().getSoftwareSystems()) {
+            ObjectNode live = createDeploymentNode(deploymentNodes, ++id, "Live", "Server " + softwareSystem.getId());
+            ObjectNode staging = createDeploymentNode(deploymentNodes, ++id, "Staging", "Server " + softwareSystem.getId());
+
+            for (Container container : softwareSystem.getContainers()) {
+                addContainerInstance(live, ++id, container, "Blue", "Green");
+                addContainerInstance(staging, ++id, container, "Default");
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode json = (ObjectNode)objectMapper.readTree(WorkspaceCodec.getInstance().getWorkspaceWriter(false).writeValueAsBytes(workspace));
+        ((ObjectNode)json.get("model")).set("deploymentNodes", deploymentNodes);
+
+        return objectMapper.writeValueAsBytes(json);
+    }
+
+    private static ObjectNode createDeploymentNode(ArrayNode deploymentNodes, int id, String environment, String name) {
+        ObjectNode deploymentNode = deploymentNodes.addObject();
+        deploymentNode.put("id", String.valueOf(id));
+        deploymentNode.put("tags", "Element,Deployment Node");
+        deploymentNode.put("name", name);
+        deploymentNode.put("environment", environment);
+        deploymentNode.put("technology", "Ubuntu");
+        deploymentNode.put("instances", 1);
+        deploymentNode.putArray("containerInstances");
+
+        return deploymentNode;
+    }
+
+    private static void addContainerInstance(ObjectNode deploymentNode, int id, Container container, String... deploymentGroups) {
+        ObjectNode containerInstance = ((ArrayNode)deploymentNode.get("containerInstances")).addObject();
+        containerInstance.put("id", String.valueOf(id));
+        containerInstance.put("tags", "Container Instance");
+        containerInstance.put("environment", deploymentNode.get("environment").asText());
+        containerInstance.put("containerId", container.getId());
+        containerInstance.put("instanceId", 1);
+        ArrayNode groups = containerInstance.putArray("deploymentGroups");
+        for (String deploymentGroup : deploymentGroups) {
+            groups.add(deploymentGroup);
+        }
+    }
+
+    private static final class StringCounter {
+
+        private final Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<String> values = new HashSet<>();
+        private long references = 0;
+        private long instanceBytes = 0;
+
+        private final Field tagsField;
+
+        private StringCounter() throws Exception {
+            // the tags as held by the model item (getTagsAsSet() returns the default tags instead)
+            tagsField = ModelItem.class.getDeclaredField("tags");
+            tagsField.setAccessible(true);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void addModelItem(ModelItem modelItem) throws Exception {
+            addAll((Collection<String>)tagsField.get(modelItem));
+            addAll(modelItem.getProperties().keySet());
+        }
+
+        private void addAll(Collection<String> strings) {
+            strings.forEach(this::add);
+        }
+
+        private void add(String string) {
+            if (string == null) {
+                return;
+            }
+
+            references++;
+            values.add(string);
+            if (instances.add(string)) {
+                instanceBytes += 24 + align(16 + string.length());
+            }
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) / 8 * 8;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.structurizr.Workspace;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+import static com.structurizr.io.Benchmarks.*;
+
+/**
+ * Measures the warm-path time taken to read and write a (medium sized) workspace, comparing a new ObjectMapper
+ * per call (as JsonReader/JsonWriter used to do) with the shared readers/writers in WorkspaceCodec.
+ * Run with "gradle benchmark -Pbenchmarks=codec" (from the structurizr-client directory).
+ */
+public class WorkspaceCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Workspace workspace = addViews(createWorkspace(20, 5, 0));
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+        String json = stringWriter.toString();
+        System.out.println(String.format("Workspace JSON is %,d KB", json.length() / 1024));
+
+        run("new ObjectMapper per call", () -> {
+            Workspace copy = createReadingObjectMapper().readValue(json, Workspace.class);
+            copy.hydrate();
+            createWritingObjectMapper().writeValue(new StringWriter(), copy);
+        });
+
+        run("WorkspaceCodec", () -> {
+            Workspace copy = new JsonReader().read(new StringReader(json));
+            new JsonWriter(false).write(copy, new StringWriter());
+        });
+    }
+
+    private static void run(String name, Operation operation) throws Exception {
+        long[] durations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, operation);
+
+        System.out.println(String.format("%-26s read+write median %,.2f ms", name, median(durations)));
+    }
+
+    private static ObjectMapper createReadingObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+
+        return objectMapper;
+    }
+
+    private static ObjectMapper createWritingObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        objectMapper.setDateFormat(sdf);
+
+        return objectMapper;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.structurizr.io.smile;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceReader;
+import com.structurizr.io.WorkspaceWriter;
+import com.structurizr.io.json.JsonReader;
+import com.structurizr.io.json.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static com.structurizr.io.Benchmarks.*;
+
+/**
+ * Compares the size of, and the time taken to write and read, a (large) workspace as JSON and Smile.
+ * Run with "gradle benchmark -Pbenchmarks=smile" (from the structurizr-client directory).
+ */
+public class SmileBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    public static void main(String[] args) throws Exception {
+        Workspace workspace = addViews(createWorkspace(500, 5, 0));
+
+        run("JSON", workspace, new JsonWriter(false), new JsonReader());
+        run("Smile", workspace, new SmileWriter(), new SmileReader());
+    }
+
+    private static void run(String name, Workspace workspace, WorkspaceWriter writer, WorkspaceReader reader) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.writeToStream(workspace, outputStream);
+        byte[] bytes = outputStream.toByteArray();
+
+        long[] writeDurations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> writer.writeToStream(workspace, new ByteArrayOutputStream(bytes.length)));
+        long[] readDurations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> reader.read(new ByteArrayInputStream(bytes)));
+
+        System.out.println(String.format("%-6s %,d KB: write median %,.1f ms, read (and hydrate) median %,.1f ms",
+                name,
+                bytes.length / 1024,
+                median(writeDurations),
+                median(readDurations)));
+    }
+
+}
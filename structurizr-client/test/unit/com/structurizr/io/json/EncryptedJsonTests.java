@@ -5,10 +5,12 @@ import com.structurizr.encryption.AesEncryptionStrategy;
 import com.structurizr.encryption.EncryptedWorkspace;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class EncryptedJsonTests {
 
@@ -36,4 +38,19 @@ public class EncryptedJsonTests {
         assertEquals("Description", workspace2.getDescription());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_parse_DetectsAnEncryptedWorkspace() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        AesEncryptionStrategy encryptionStrategy = new AesEncryptionStrategy("password");
+        StringWriter stringWriter = new StringWriter();
+        new EncryptedJsonWriter(false).write(new EncryptedWorkspace(workspace, encryptionStrategy), stringWriter);
+
+        JsonWorkspaceDocument document = JsonWorkspaceDocument.parse(new ByteArrayInputStream(stringWriter.toString().getBytes("UTF-8")));
+        assertTrue(document.isEncrypted());
+
+        EncryptedWorkspace encryptedWorkspace = new EncryptedJsonReader().read(document);
+        encryptedWorkspace.getEncryptionStrategy().setPassphrase(encryptionStrategy.getPassphrase());
+        assertEquals("Name", encryptedWorkspace.getWorkspace().getName());
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.WorkspaceValidationException;
+import com.structurizr.WorkspaceValidator;
+import com.structurizr.documentation.Format;
+import com.structurizr.documentation.Section;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.SystemContextView;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class JsonReaderTests {
+
+    private byte[] json;
+
+    @Before
+    public void setUp() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description \u00e9\u00fc\u4e2d");
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System", "Description");
+        workspace.getModel().addPerson("User", "Description").uses(softwareSystem, "Uses");
+        workspace.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description").addAllElements();
+        workspace.getDocumentation().addSection(new Section("Context", Format.Markdown, "Some content"));
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+        json = stringWriter.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void test_read_ThrowsAnIllegalArgumentException_WhenANullInputStreamIsSpecified() throws Exception {
+        try {
+            new JsonReader().read((InputStream)null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("InputStream cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_read_ReadsAWorkspaceFromAnInputStream() throws Exception {
+        assertWorkspace(new JsonReader().read(new ByteArrayInputStream(json)));
+    }
+
+    @Test
+    public void test_read_ReadsAWorkspaceFromAPath() throws Exception {
+        Path path = Files.createTempFile("workspace", ".json");
+        try {
+            Files.write(path, json);
+
+            assertWorkspace(new JsonReader().read(path));
+            assertWorkspace(new JsonReader().read(path, true));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void test_read_ReadsAWorkspaceFromAByteBuffer_WithoutChangingItsPosition() throws Exception {
+        ByteBuffer heapBuffer = ByteBuffer.allocate(json.length + 2);
+        heapBuffer.put((byte)' ').put(json).put((byte)' ');
+        heapBuffer.position(1);
+        heapBuffer.limit(json.length + 1);
+        assertWorkspace(new JsonReader().read(heapBuffer.slice()));
+        assertWorkspace(new JsonReader().read(heapBuffer));
+        assertEquals(1, heapBuffer.position());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(json.length);
+        directBuffer.put(json);
+        directBuffer.flip();
+        assertWorkspace(new JsonReader().read(directBuffer));
+        assertEquals(0, directBuffer.position());
+    }
+
+    @Test
+    public void test_read_ReadsAWorkspaceFromAJsonWorkspaceDocument() throws Exception {
+        JsonWorkspaceDocument document = JsonWorkspaceDocument.parse(new ByteArrayInputStream(json));
+        assertFalse(document.isEncrypted());
+
+        // documents can be read more than once
+        assertWorkspace(new JsonReader().read(document));
+        assertWorkspace(new JsonReader().read(document));
+    }
+
+    @Test
+    public void test_read_ReadsTheViewsAndDocumentationLazily_WhenLazyIsTrue() throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setLazy(true);
+
+        assertWorkspace(jsonReader.read(new ByteArrayInputStream(json)));
+        assertWorkspace(jsonReader.read(ByteBuffer.wrap(json)));
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(json.length + 1);
+        directBuffer.put((byte)' ').put(json);
+        directBuffer.position(1);
+        assertWorkspace(jsonReader.read(directBuffer));
+
+        Path path = Files.createTempFile("workspace", ".json");
+        try {
+            Files.write(path, json);
+            assertWorkspace(jsonReader.read(path, true));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void test_read_DoesNotParseTheDocumentationUntilItIsNeeded_WhenLazyIsTrue() throws Exception {
+        byte[] json = "{ \"name\": \"Name\", \"documentation\": { \"sections\": \"not a list of sections\" } }".getBytes(StandardCharsets.UTF_8);
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setLazy(true);
+
+        Workspace workspace = jsonReader.read(ByteBuffer.wrap(json));
+        assertEquals("Name", workspace.getName());
+        assertTrue(workspace.getViews().isEmpty());
+
+        try {
+            workspace.getDocumentation();
+            fail();
+        } catch (UncheckedIOException e) {
+            assertEquals("Could not read the documentation from JSON", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_read_ReportsInvalidViewsWhenTheyAreFirstNeeded_WhenLazyIsTrue() throws Exception {
+        byte[] json = "{ \"name\": \"Name\", \"views\": { \"customViews\": [ { \"key\": \"View\", \"elements\": [ { \"id\": \"1\" } ] } ] } }".getBytes(StandardCharsets.UTF_8);
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setLazy(true);
+
+        Workspace workspace = jsonReader.read(ByteBuffer.wrap(json));
+        assertEquals("Name", workspace.getName());
+
+        try {
+            workspace.getViews();
+            fail();
+        } catch (WorkspaceValidationException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_read_HydratesTheWorkspaceInParallel_WhenAForkJoinPoolIsSpecified() throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setForkJoinPool(new ForkJoinPool(4));
+        assertWorkspace(jsonReader.read(new ByteArrayInputStream(json)));
+
+        jsonReader.setLazy(true);
+        assertWorkspace(jsonReader.read(new ByteArrayInputStream(json)));
+    }
+
+    @Test
+    public void test_read_ThrowsTheSameValidationException_WhenAForkJoinPoolIsSpecified() throws Exception {
+        StringBuilder views = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            views.append(i > 0 ? "," : "").append("{ \"key\": \"View").append(i).append("\", \"elements\": [ { \"id\": \"").append(100 + i).append("\" } ] }");
+        }
+        byte[] json = ("{ \"name\": \"Name\", \"model\": { \"people\": [ { \"id\": \"1\", \"name\": \"User\" } ] }, \"views\": { \"customViews\": [ " + views + " ] } }").getBytes(StandardCharsets.UTF_8);
+
+        String expectedMessage = null;
+        try {
+            new JsonReader().read(new ByteArrayInputStream(json));
+            fail();
+        } catch (WorkspaceValidationException e) {
+            expectedMessage = e.getMessage();
+        }
+
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setForkJoinPool(new ForkJoinPool(4));
+        for (int i = 0; i < 10; i++) {
+            try {
+                jsonReader.read(new ByteArrayInputStream(json));
+                fail();
+            } catch (WorkspaceValidationException e) {
+                assertEquals(expectedMessage, e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void test_read_DoesNotValidateTheWorkspace_WhenTrustedIsTrue() throws Exception {
+        byte[] json = ("{ \"name\": \"Name\", \"model\": { \"people\": [ { \"id\": \"1\", \"name\": \"User\", \"relationships\": [ { \"id\": \"3\", \"sourceId\": \"1\", \"destinationId\": \"2\", \"description\": \"Uses\" } ] }, { \"id\": \"2\", \"name\": \"User\" } ] }, " +
+                "\"views\": { \"customViews\": [ { \"key\": \"View\", \"elements\": [ { \"id\": \"1\" } ], \"relationships\": [ { \"id\": \"3\" } ] }, { \"key\": \"View\", \"elements\": [ { \"id\": \"1\" } ] } ] } }").getBytes(StandardCharsets.UTF_8);
+
+        String expectedMessage = null;
+        try {
+            new JsonReader().read(new ByteArrayInputStream(json));
+            fail();
+        } catch (WorkspaceValidationException e) {
+            expectedMessage = e.getMessage();
+            assertEquals("A person or software system named \"User\" already exists.", expectedMessage);
+        }
+
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setTrusted(true);
+        Workspace workspace = jsonReader.read(new ByteArrayInputStream(json));
+        assertSame(workspace.getModel().getElement("2"), workspace.getModel().getRelationship("3").getDestination());
+        assertSame(workspace.getModel().getElement("1"), workspace.getViews().getViewWithKey("View").getElements().iterator().next().getElement());
+
+        try {
+            new WorkspaceValidator(new ForkJoinPool(4)).validate(workspace);
+            fail();
+        } catch (WorkspaceValidationException e) {
+            assertEquals(expectedMessage, e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_read_StillResolvesReferences_WhenTrustedIsTrue() throws Exception {
+        byte[] json = "{ \"name\": \"Name\", \"views\": { \"customViews\": [ { \"key\": \"View\", \"elements\": [ { \"id\": \"1\" } ] } ] } }".getBytes(StandardCharsets.UTF_8);
+
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.setTrusted(true);
+        try {
+            jsonReader.read(new ByteArrayInputStream(json));
+            fail();
+        } catch (WorkspaceValidationException e) {
+            assertEquals("The view with key \"View\" references an element (id=1), but that element does not exist in the model.", e.getMessage());
+        }
+    }
+
+    private void assertWorkspace(Workspace workspace) {
+        assertEquals("Name", workspace.getName());
+        assertEquals("Description \u00e9\u00fc\u4e2d", workspace.getDescription());
+        assertEquals("Uses", workspace.getModel().getRelationships().iterator().next().getDescription());
+        assertSame(workspace.getModel().getSoftwareSystemWithName("Software System"), workspace.getModel().getRelationships().iterator().next().getDestination());
+
+        SystemContextView view = workspace.getViews().getSystemContextViews().iterator().next();
+        assertSame(workspace.getModel().getSoftwareSystemWithName("Software System"), view.getSoftwareSystem());
+        assertEquals(2, view.getElements().size());
+        assertEquals("Some content", workspace.getDocumentation().getSections().iterator().next().getContent());
+    }
+
+}
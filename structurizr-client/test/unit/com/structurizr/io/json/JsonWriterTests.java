@@ -1,11 +1,28 @@
 package com.structurizr.io.json;
 
 import com.structurizr.Workspace;
+import com.structurizr.documentation.Image;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import javax.xml.bind.DatatypeConverter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class JsonWriterTests {
@@ -33,4 +50,164 @@ public class JsonWriterTests {
         }
     }
 
+    @Test
+    public void test_write_ThrowsAnIllegalArgumentException_WhenANullOutputStreamIsSpecified() throws Exception {
+        try {
+            JsonWriter writer = new JsonWriter(true);
+            Workspace workspace = new Workspace("Name", "Description");
+            writer.writeToStream(workspace, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("OutputStream cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_write_WritesTheSameJsonToAnOutputStreamAsToAWriter() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description \u00e9\u00fc\u4e2d");
+        workspace.getModel().addSoftwareSystem("Software System", "Description");
+
+        JsonWriter jsonWriter = new JsonWriter(true);
+        StringWriter stringWriter = new StringWriter();
+        jsonWriter.write(workspace, stringWriter);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        jsonWriter.writeToStream(workspace, outputStream);
+
+        assertEquals(stringWriter.toString(), new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_write_DoesNotCloseTheWriterOrOutputStream() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        JsonWriter jsonWriter = new JsonWriter(false);
+
+        CloseTrackingOutputStream outputStream = new CloseTrackingOutputStream();
+        jsonWriter.writeToStream(workspace, outputStream);
+        assertFalse(outputStream.closed);
+
+        CloseTrackingWriter writer = new CloseTrackingWriter();
+        jsonWriter.write(workspace, writer);
+        assertFalse(writer.closed);
+        assertEquals(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), writer.toString());
+    }
+
+    @Test
+    public void test_write_WritesTheSameJson_WhenCanonicalIsTrueAndViewsAndImagesAreAddedInADifferentOrder() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            order.add(i);
+        }
+
+        JsonWriter jsonWriter = new JsonWriter(true);
+        jsonWriter.setCanonical(true);
+
+        String json = write(jsonWriter, createWorkspace(order));
+        Collections.reverse(order);
+        assertEquals(json, write(jsonWriter, createWorkspace(order)));
+        Collections.shuffle(order);
+        assertEquals(json, write(jsonWriter, createWorkspace(order)));
+
+        // and the canonical JSON can be read back
+        Workspace workspace = new JsonReader().read(new StringReader(json));
+        assertEquals(20, workspace.getViews().getSystemContextViews().size());
+        assertEquals(json, write(jsonWriter, workspace));
+    }
+
+    @Test
+    public void test_writeAndHash_ReturnsTheSha256HashOfTheJson() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            order.add(i);
+        }
+        Workspace workspace = createWorkspace(order);
+
+        JsonWriter jsonWriter = new JsonWriter(false);
+        jsonWriter.setCanonical(true);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        String hash = jsonWriter.writeAndHash(workspace, outputStream);
+
+        assertEquals(DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(outputStream.toByteArray())).toLowerCase(), hash);
+        assertEquals(hash, jsonWriter.hash(workspace));
+
+        Collections.reverse(order);
+        assertEquals(hash, jsonWriter.hash(createWorkspace(order)));
+
+        workspace.getModel().addPerson("Another User", "Description");
+        assertNotEquals(hash, jsonWriter.hash(workspace));
+    }
+
+    @Test
+    public void test_writeAndHash_ExcludesTheLastModifiedDateUserAndAgentFromTheHash() throws Exception {
+        Workspace workspace = createWorkspace(Arrays.asList(0, 1, 2));
+        JsonWriter jsonWriter = new JsonWriter(true);
+        jsonWriter.setCanonical(true);
+        String hash = jsonWriter.hash(workspace);
+
+        workspace.setLastModifiedDate(new Date());
+        workspace.setLastModifiedUser("user@example.com");
+        workspace.setLastModifiedAgent("structurizr-java/test");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertEquals(hash, jsonWriter.writeAndHash(workspace, outputStream));
+
+        // the properties are still written
+        String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(write(jsonWriter, workspace), json);
+        assertTrue(json.contains("\"lastModifiedUser\" : \"user@example.com\""));
+        assertTrue(json.contains("\"lastModifiedAgent\" : \"structurizr-java/test\""));
+    }
+
+    private String write(JsonWriter jsonWriter, Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        jsonWriter.write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+    // a software system with a system context view and documentation image for each number, created in the given order
+    private Workspace createWorkspace(List<Integer> order) {
+        Workspace workspace = new Workspace("Name", "Description");
+        Person user = workspace.getModel().addPerson("User", "Description");
+        user.addProperty("b", "2");
+        user.addProperty("a", "1");
+
+        List<SoftwareSystem> softwareSystems = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System " + i, "Description");
+            user.uses(softwareSystem, "Uses").addPerspective("Security", "Description " + i);
+            softwareSystems.add(softwareSystem);
+        }
+
+        for (int i : order) {
+            workspace.getViews().createSystemContextView(softwareSystems.get(i), "SystemContext" + i, "Description").addAllElements();
+            workspace.getDocumentation().addImage(new Image("image" + i + ".png", "image/png", "Content " + i));
+        }
+
+        return workspace;
+    }
+
+    private static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed = false;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+
+    }
+
+    private static class CloseTrackingWriter extends StringWriter {
+
+        private boolean closed = false;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+
+    }
+
 }
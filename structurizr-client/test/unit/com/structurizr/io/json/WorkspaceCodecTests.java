@@ -0,0 +1,224 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.*;
+import com.structurizr.view.*;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class WorkspaceCodecTests {
+
+    @Test
+    public void test_getInstance_ReturnsTheSameInstance() {
+        assertSame(WorkspaceCodec.getInstance(), WorkspaceCodec.getInstance());
+    }
+
+    @Test
+    public void test_getWorkspaceWriter_ReturnsTheSameWriter_WhenCalledMultipleTimes() {
+        WorkspaceCodec codec = WorkspaceCodec.getInstance();
+
+        assertSame(codec.getWorkspaceWriter(true), codec.getWorkspaceWriter(true));
+        assertSame(codec.getWorkspaceWriter(false), codec.getWorkspaceWriter(false));
+        assertNotSame(codec.getWorkspaceWriter(true), codec.getWorkspaceWriter(false));
+        assertSame(codec.getWorkspaceReader(), codec.getWorkspaceReader());
+        assertSame(codec.getEncryptedWorkspaceReader(), codec.getEncryptedWorkspaceReader());
+    }
+
+    @Test
+    public void test_getReader_ThrowsAnIllegalArgumentException_WhenANullTypeIsSpecified() {
+        try {
+            WorkspaceCodec.getInstance().getReader(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("A type must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_getWorkspaceWriter_WritesTheSameJson_WhenWorkspacesAreWrittenConcurrently() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System", "Description");
+        workspace.getModel().addPerson("User", "Description").uses(softwareSystem, "Uses");
+        workspace.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description").addAllElements();
+
+        String expected = WorkspaceCodec.getInstance().getWorkspaceWriter(true).writeValueAsString(workspace);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executorService.submit(() -> {
+                    Workspace copy = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(expected);
+                    copy.hydrate();
+
+                    StringWriter stringWriter = new StringWriter();
+                    new JsonWriter(true).write(copy, stringWriter);
+                    return stringWriter.toString();
+                }));
+            }
+
+            for (Future<String> future : futures) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void test_getWorkspaceReader_ReadsTheSetsInTheModelInTheOrderTheyWereWritten() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            names.add("Person " + i);
+            workspace.getModel().addPerson("Person " + i);
+        }
+
+        String json = WorkspaceCodec.getInstance().getWorkspaceWriter(false).writeValueAsString(workspace);
+        workspace = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(json);
+
+        assertEquals(names, workspace.getModel().getPeople().stream().map(Person::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_getWorkspaceReader_ReadsRelationshipsAndViews() throws Exception {
+        String json = WorkspaceCodec.getInstance().getWorkspaceWriter(true).writeValueAsString(createWorkspace());
+
+        Workspace workspace = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(json);
+        workspace.hydrate();
+
+        // the container instances have a copy of the relationship, which should be ignored
+        Relationship relationship = workspace.getModel().getRelationships().stream().filter(r -> r.getSource() instanceof Container && "Reads from and writes to".equals(r.getDescription())).findFirst().get();
+        assertEquals("Container", relationship.getSource().getName());
+        assertEquals("Database", relationship.getDestination().getName());
+        assertEquals(InteractionStyle.Asynchronous, relationship.getInteractionStyle());
+        assertEquals("https://example.com", relationship.getUrl());
+        assertEquals("value", relationship.getProperties().get("name"));
+        assertEquals("Security", relationship.getPerspectives().iterator().next().getName());
+
+        RelationshipView relationshipView = workspace.getViews().getContainerViews().iterator().next().getRelationshipView(relationship);
+        assertEquals(Arrays.asList(new Vertex(100, 200), new Vertex(300, 400)), new ArrayList<>(relationshipView.getVertices()));
+        assertEquals(Routing.Orthogonal, relationshipView.getRouting());
+        assertEquals(Integer.valueOf(75), relationshipView.getPosition());
+
+        DynamicView dynamicView = workspace.getViews().getDynamicViews().iterator().next();
+        assertTrue(dynamicView.getRelationships().stream().anyMatch(rv -> Boolean.TRUE.equals(rv.isResponse()) && "2".equals(rv.getOrder())));
+    }
+
+    @Test
+    public void test_getWorkspaceReader_IgnoresUnknownPropertiesAndEnumValues() throws Exception {
+        String json = "{\"model\":{\"people\":[{\"id\":\"1\",\"name\":\"User\",\"relationships\":[{\"id\":\"2\",\"sourceId\":\"1\",\"destinationId\":\"1\",\"interactionStyle\":\"Unknown\",\"unknown\":[1,{\"a\":2}]}]}]}," +
+                "\"views\":{\"customViews\":[{\"key\":\"Custom\",\"elements\":[{\"id\":\"1\",\"x\":10,\"y\":20,\"unknown\":{}}],\"relationships\":[{\"id\":\"2\",\"routing\":\"\",\"vertices\":[{\"x\":1,\"y\":2,\"z\":3}]}]}]}}";
+
+        Workspace workspace = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(json);
+        workspace.hydrate();
+
+        Relationship relationship = workspace.getModel().getRelationship("2");
+        assertNull(relationship.getInteractionStyle());
+
+        CustomView view = workspace.getViews().getCustomViews().iterator().next();
+        ElementView elementView = view.getElements().iterator().next();
+        assertEquals(10, elementView.getX());
+        assertEquals(20, elementView.getY());
+        RelationshipView relationshipView = view.getRelationshipView(relationship);
+        assertNull(relationshipView.getRouting());
+        assertEquals(new Vertex(1, 2), relationshipView.getVertices().iterator().next());
+    }
+
+    @Test
+    public void test_getWorkspaceReader_DeduplicatesLowCardinalityStrings() throws Exception {
+        Workspace source = new Workspace("Name", "Description");
+        SoftwareSystem softwareSystem = source.getModel().addSoftwareSystem("Software System", "Description");
+        Container container1 = softwareSystem.addContainer("Container 1", "Description", "Java and Spring Boot");
+        container1.setGroup("Group");
+        container1.addTags("Tag");
+        Container container2 = softwareSystem.addContainer("Container 2", "Description", "Java and Spring Boot");
+        container2.setGroup("Group");
+        container2.addTags("Tag");
+        container1.uses(container2, "Uses", "HTTPS").addTags("Tag");
+        container2.uses(container1, "Uses", "HTTPS").addTags("Tag");
+        DeploymentNode deploymentNode = source.getModel().addDeploymentNode("Live", "Server", "Description", "Ubuntu");
+        deploymentNode.add(container1, "Group 1");
+        deploymentNode.add(container2, "Group 1");
+
+        String json = WorkspaceCodec.getInstance().getWorkspaceWriter(false).writeValueAsString(source);
+        Workspace workspace = WorkspaceCodec.getInstance().getWorkspaceReader().readValue(json);
+        workspace.hydrate();
+
+        Container readContainer1 = workspace.getModel().getSoftwareSystemWithName("Software System").getContainerWithName("Container 1");
+        Container readContainer2 = workspace.getModel().getSoftwareSystemWithName("Software System").getContainerWithName("Container 2");
+        assertEquals("Java and Spring Boot", readContainer1.getTechnology());
+        assertSame(readContainer1.getTechnology(), readContainer2.getTechnology());
+        assertSame(readContainer1.getGroup(), readContainer2.getGroup());
+        assertSame(findTag(readContainer1, "Tag"), findTag(readContainer2, "Tag"));
+
+        Relationship relationship1 = readContainer1.getEfferentRelationshipWith(readContainer2);
+        Relationship relationship2 = readContainer2.getEfferentRelationshipWith(readContainer1);
+        assertSame(relationship1.getTechnology(), relationship2.getTechnology());
+        assertSame(findTag(relationship1, "Tag"), findTag(relationship2, "Tag"));
+        assertSame(findTag(readContainer1, "Tag"), findTag(relationship1, "Tag"));
+
+        DeploymentNode readDeploymentNode = workspace.getModel().getDeploymentNodeWithName("Server", "Live");
+        ContainerInstance containerInstance1 = readDeploymentNode.getContainerInstances().stream().filter(ci -> ci.getContainer() == readContainer1).findFirst().get();
+        ContainerInstance containerInstance2 = readDeploymentNode.getContainerInstances().stream().filter(ci -> ci.getContainer() == readContainer2).findFirst().get();
+        assertSame(containerInstance1.getEnvironment(), containerInstance2.getEnvironment());
+        assertSame(containerInstance1.getDeploymentGroups().iterator().next(), containerInstance2.getDeploymentGroups().iterator().next());
+    }
+
+    // returns the tag instance held by the model item
+    private static String findTag(ModelItem modelItem, String tag) {
+        return modelItem.getTagsAsSet().stream().filter(tag::equals).findFirst().get();
+    }
+
+    private static Workspace createWorkspace() {
+        Workspace workspace = new Workspace("Name", "Description");
+        Model model = workspace.getModel();
+        Person user = model.addPerson("User", "Description");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description");
+        Container container = softwareSystem.addContainer("Container", "Description", "Java");
+        Container database = softwareSystem.addContainer("Database", "Description", "PostgreSQL");
+        user.uses(container, "Uses", "HTTPS");
+
+        Relationship relationship = container.uses(database, "Reads from and writes to", "JDBC", InteractionStyle.Asynchronous, new String[] { "Tag 1", "Tag 2" });
+        relationship.setUrl("https://example.com");
+        relationship.addProperty("name", "value");
+        relationship.addProperty("other", "value");
+        relationship.addPerspective("Security", "Uses TLS");
+
+        DeploymentNode server = model.addDeploymentNode("Live", "Server", "Description", "Ubuntu");
+        server.add(container);
+        server.add(database);
+
+        ViewSet views = workspace.getViews();
+        ContainerView containerView = views.createContainerView(softwareSystem, "Containers", "Description");
+        containerView.addAllElements();
+        containerView.getElementView(user).setX(100);
+        containerView.getElementView(user).setY(200);
+        RelationshipView relationshipView = containerView.getRelationshipView(relationship);
+        relationshipView.setDescription("Uses");
+        relationshipView.setVertices(Arrays.asList(new Vertex(100, 200), new Vertex(300, 400)));
+        relationshipView.setRouting(Routing.Orthogonal);
+        relationshipView.setPosition(75);
+
+        DynamicView dynamicView = views.createDynamicView(softwareSystem, "Dynamic", "Description");
+        dynamicView.add(user, "Requests", container);
+        dynamicView.add(container, "Responds", user);
+
+        DeploymentView deploymentView = views.createDeploymentView(softwareSystem, "Deployment", "Description");
+        deploymentView.setEnvironment("Live");
+        deploymentView.addDefaultElements();
+
+        return workspace;
+    }
+
+}
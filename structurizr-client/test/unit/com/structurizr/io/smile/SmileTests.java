@@ -0,0 +1,214 @@
+package com.structurizr.io.smile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.structurizr.Workspace;
+import com.structurizr.documentation.Decision;
+import com.structurizr.documentation.Format;
+import com.structurizr.documentation.Section;
+import com.structurizr.io.WorkspaceReader;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.io.WorkspaceWriter;
+import com.structurizr.io.WorkspaceWriterException;
+import com.structurizr.io.json.JsonWriter;
+import com.structurizr.model.*;
+import com.structurizr.view.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SmileTests {
+
+    @Test
+    public void test_write_and_read_IsLossless() throws Exception {
+        Workspace workspace = createWorkspace();
+        String json = toJson(workspace);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new SmileWriter().writeToStream(workspace, outputStream);
+        byte[] smile = outputStream.toByteArray();
+
+        Workspace copy = new SmileReader().read(new ByteArrayInputStream(smile));
+        assertEquals(canonicalize(json), canonicalize(toJson(copy)));
+
+        // the model and views have been hydrated
+        Container webApplication = (Container)copy.getModel().getElementWithCanonicalName("Container://Software System.Web Application");
+        assertSame(copy.getModel().getSoftwareSystemWithName("Software System"), webApplication.getSoftwareSystem());
+        for (ElementView elementView : copy.getViews().getDeploymentViews().iterator().next().getElements()) {
+            if (elementView.getElement() instanceof ContainerInstance) {
+                ContainerInstance containerInstance = (ContainerInstance)elementView.getElement();
+                assertSame(copy.getModel().getElement(containerInstance.getContainerId()), containerInstance.getContainer());
+            }
+        }
+
+        assertTrue(smile.length < json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void test_write_and_read_UsingAFile() throws Exception {
+        Workspace workspace = createWorkspace();
+        Path path = Files.createTempFile("workspace", ".smile");
+        try {
+            new SmileWriter().write(workspace, path);
+
+            assertEquals(canonicalize(toJson(workspace)), canonicalize(toJson(new SmileReader().read(path))));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void test_read_ThrowsAWorkspaceReaderException_WhenTheInputIsJson() throws Exception {
+        try {
+            new SmileReader().read(new ByteArrayInputStream(toJson(createWorkspace()).getBytes(StandardCharsets.UTF_8)));
+            fail();
+        } catch (WorkspaceReaderException e) {
+            assertEquals("Could not read Smile", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_write_ThrowsAnIllegalArgumentException_WhenANullOutputStreamIsSpecified() throws Exception {
+        try {
+            new SmileWriter().writeToStream(new Workspace("Name", "Description"), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("OutputStream cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_write_and_read_ThroughTheWorkspaceWriterAndReaderInterfaces() throws Exception {
+        Workspace workspace = createWorkspace();
+        WorkspaceWriter workspaceWriter = new SmileWriter();
+        WorkspaceReader workspaceReader = new SmileReader();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        workspaceWriter.writeToStream(workspace, outputStream);
+        Workspace copy = workspaceReader.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertEquals(canonicalize(toJson(workspace)), canonicalize(toJson(copy)));
+    }
+
+    @Test
+    public void test_write_ThrowsAWorkspaceWriterException_WhenAWriterIsSpecified() throws Exception {
+        try {
+            new SmileWriter().write(new Workspace("Name", "Description"), new StringWriter());
+            fail();
+        } catch (WorkspaceWriterException e) {
+            assertEquals("Smile is a binary format, so workspaces can't be written to a Writer (use an OutputStream instead).", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_read_ThrowsAWorkspaceReaderException_WhenAReaderIsSpecified() throws Exception {
+        try {
+            new SmileReader().read(new StringReader(""));
+            fail();
+        } catch (WorkspaceReaderException e) {
+            assertEquals("Smile is a binary format, so workspaces can't be read from a Reader (use an InputStream instead).", e.getMessage());
+        }
+    }
+
+    private static String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(true).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+    // some collections in the workspace are sets, so sort JSON arrays before comparing
+    private static String canonicalize(String json) throws Exception {
+        return canonicalize(new ObjectMapper().readTree(json)).toString();
+    }
+
+    private static JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode objectNode = (ObjectNode)node;
+            List<String> names = new ArrayList<>();
+            objectNode.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                objectNode.set(name, canonicalize(objectNode.get(name)));
+            }
+        } else if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(canonicalize(element)));
+            elements.sort(Comparator.comparing(JsonNode::toString));
+            ArrayNode arrayNode = (ArrayNode)node;
+            arrayNode.removeAll();
+            arrayNode.addAll(elements);
+        }
+
+        return node;
+    }
+
+    private static Workspace createWorkspace() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description \u00e9\u00fc\u4e2d");
+        workspace.setLastModifiedDate(new Date(1646222400000L));
+        workspace.addProperty("name", "value");
+
+        Model model = workspace.getModel();
+        Person user = model.addPerson("User", "A user");
+        user.addTags("Customer");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description");
+        softwareSystem.addProperty("Owner", "Team A");
+        softwareSystem.addPerspective("Security", "Uses OAuth");
+        Container webApplication = softwareSystem.addContainer("Web Application", "Description", "Java and Spring");
+        Container database = softwareSystem.addContainer("Database", "Description", "PostgreSQL");
+        database.addTags("Database");
+        Component component = webApplication.addComponent("Component", "Description", "Spring Bean");
+        user.uses(webApplication, "Uses", "HTTPS");
+        webApplication.uses(database, "Reads from and writes to", "JDBC", InteractionStyle.Synchronous);
+        component.uses(database, "Reads from", "JDBC");
+
+        DeploymentNode server = model.addDeploymentNode("Live", "Server", "Description", "Ubuntu", 2);
+        server.add(webApplication);
+        server.addDeploymentNode("Database Server", "Description", "PostgreSQL").add(database);
+        server.addInfrastructureNode("Load Balancer", "Description", "nginx");
+
+        ViewSet views = workspace.getViews();
+        SystemContextView systemContextView = views.createSystemContextView(softwareSystem, "SystemContext", "Description");
+        systemContextView.addAllElements();
+        systemContextView.getElementView(user).setX(100);
+        systemContextView.getElementView(user).setY(200);
+        views.createContainerView(softwareSystem, "Containers", "Description").addAllContainersAndInfluencers();
+        views.createComponentView(webApplication, "Components", "Description").addAllComponents();
+        DynamicView dynamicView = views.createDynamicView(softwareSystem, "Dynamic", "Description");
+        dynamicView.add(user, "Requests", webApplication);
+        dynamicView.add(webApplication, "Queries", database);
+        DeploymentView deploymentView = views.createDeploymentView(softwareSystem, "Deployment", "Description");
+        deploymentView.setEnvironment("Live");
+        deploymentView.addDefaultElements();
+        views.createFilteredView(systemContextView, "Filtered", "Description", FilterMode.Exclude, "Customer");
+
+        views.getConfiguration().getStyles().addElementStyle("Database").shape(Shape.Cylinder).background("#ff0000");
+        views.getConfiguration().getStyles().addRelationshipStyle(Tags.RELATIONSHIP).dashed(false).thickness(4);
+        views.getConfiguration().getBranding().setFont(new Font("Open Sans", "https://fonts.example.com"));
+
+        workspace.getDocumentation().addSection(new Section("Context", Format.Markdown, "## Context"));
+        Decision decision = new Decision("1");
+        decision.setTitle("Use PostgreSQL");
+        decision.setDate(new Date(1646222400000L));
+        decision.setStatus("Accepted");
+        decision.setFormat(Format.Markdown);
+        decision.setContent("Content");
+        workspace.getDocumentation().addDecision(decision);
+
+        return workspace;
+    }
+
+}
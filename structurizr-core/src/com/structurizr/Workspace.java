@@ -9,11 +9,14 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 /**
  * Represents a Structurizr workspace, which is a wrapper for a
@@ -24,8 +27,17 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
     private static final Log log = LogFactory.getLog(Workspace.class);
 
     private Model model = createModel();
-    private ViewSet viewSet;
-    private Documentation documentation;
+    private volatile ViewSet viewSet;
+    private volatile Documentation documentation;
+
+    // deferred views and documentation are created (once) by the first thread to ask for them
+    private final Object lock = new Object();
+    private volatile Supplier<ViewSet> viewSetSupplier;
+    private volatile Supplier<Documentation> documentationSupplier;
+
+    // the pool used to hydrate deferred views (only referenced until they have been hydrated), and whether to validate them
+    private ForkJoinPool forkJoinPool;
+    private boolean validate = true;
 
     Workspace() {
     }
@@ -59,15 +71,51 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
 
     /**
      * Gets the set of views onto a software architecture model.
+     * If the views have been deferred, they are created and hydrated by the first call to this method
+     * (which may throw a {@link WorkspaceValidationException} if the views are not valid).
      *
      * @return  a ViewSet instance
      */
     public ViewSet getViews() {
+        if (viewSetSupplier != null) {
+            synchronized (lock) {
+                Supplier<ViewSet> supplier = viewSetSupplier;
+                if (supplier != null) {
+                    ViewSet views = supplier.get();
+                    hydrateViewSet(views, forkJoinPool);
+
+                    viewSet = views;
+                    viewSetSupplier = null;
+                    forkJoinPool = null;
+                }
+            }
+        }
+
         return viewSet;
     }
 
     void setViews(ViewSet viewSet) {
-        this.viewSet = viewSet;
+        synchronized (lock) {
+            this.viewSet = viewSet;
+            this.viewSetSupplier = null;
+        }
+    }
+
+    /**
+     * Called when deserialising JSON, to defer creating the set of views until it's first needed
+     * (the views are hydrated at that point).
+     *
+     * @param viewSetSupplier   supplies the (unhydrated) ViewSet
+     */
+    public void deferViews(@Nonnull Supplier<ViewSet> viewSetSupplier) {
+        if (viewSetSupplier == null) {
+            throw new IllegalArgumentException("A supplier must be specified.");
+        }
+
+        synchronized (lock) {
+            this.viewSet = null;
+            this.viewSetSupplier = viewSetSupplier;
+        }
     }
 
     private Model createModel() {
@@ -95,35 +143,72 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
      * based upon element/relationship IDs.
      */
     public void hydrate() {
-        if (viewSet == null) {
-            viewSet = createViewSet();
+        hydrate(null, true);
+    }
+
+    /**
+     * Called when deserialising JSON, to re-create the object graph based upon element/relationship IDs
+     * (see {@link #hydrate()}), resolving relationships and views in parallel on the specified fork-join pool.
+     * Elements are still added to the model sequentially, and validation errors are the same as those reported
+     * by {@link #hydrate()}. Deferred views are also hydrated in parallel when they are created.
+     *
+     * @param forkJoinPool  the ForkJoinPool to hydrate the workspace with
+     */
+    public void hydrate(@Nonnull ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A fork-join pool must be specified.");
         }
 
-        hydrateModel();
-        hydrateViewSet();
+        hydrate(forkJoinPool, true);
     }
 
-    private void hydrateModel() {
-        try {
-            Method hydrateMethod = Model.class.getDeclaredMethod("hydrate");
-            hydrateMethod.setAccessible(true);
-            hydrateMethod.invoke(model);
-        } catch (InvocationTargetException ite) {
-            if (ite.getCause() != null && ite.getCause() instanceof WorkspaceValidationException) {
-                throw (WorkspaceValidationException)ite.getCause();
+    /**
+     * Called when deserialising JSON, to re-create the object graph based upon element/relationship IDs
+     * (see {@link #hydrate()}), optionally without validating the workspace. When validation is skipped, only
+     * references are resolved (an error is still reported if an element or relationship cannot be found), and the
+     * workspace can be validated later with a {@link WorkspaceValidator}.
+     *
+     * @param forkJoinPool  the ForkJoinPool to hydrate the workspace with, or null to hydrate it on the calling thread
+     * @param validate      true to check that IDs, names, relationship descriptions and view keys are unique,
+     *                      false otherwise (e.g. for workspaces from a trusted source)
+     */
+    public void hydrate(@Nullable ForkJoinPool forkJoinPool, boolean validate) {
+        invoke(model, "hydrate", new Class<?>[] { ForkJoinPool.class, boolean.class }, forkJoinPool, validate);
+
+        synchronized (lock) {
+            this.validate = validate;
+
+            if (viewSetSupplier == null) {
+                if (viewSet == null) {
+                    viewSet = createViewSet();
+                }
+
+                hydrateViewSet(viewSet, forkJoinPool);
             } else {
-                throw new RuntimeException(ite.getCause());
+                // deferred views are hydrated when they are created
+                this.forkJoinPool = forkJoinPool;
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
     }
 
-    private void hydrateViewSet() {
+    /**
+     * Runs the checks that are skipped when a workspace is hydrated without validation (see {@link WorkspaceValidator}).
+     */
+    void validate(ForkJoinPool forkJoinPool) {
+        invoke(model, "validate", new Class<?>[] { ForkJoinPool.class }, forkJoinPool);
+        invoke(getViews(), "validate", new Class<?>[0]);
+    }
+
+    private void hydrateViewSet(ViewSet viewSet, ForkJoinPool forkJoinPool) {
+        invoke(viewSet, "hydrate", new Class<?>[] { Model.class, ForkJoinPool.class, boolean.class }, model, forkJoinPool, validate);
+    }
+
+    // calls one of the package-private hydrate/validate methods on the model or view set
+    private void invoke(Object target, String methodName, Class<?>[] parameterTypes, Object... arguments) {
         try {
-            Method hydrateMethod = ViewSet.class.getDeclaredMethod("hydrate", Model.class);
-            hydrateMethod.setAccessible(true);
-            hydrateMethod.invoke(viewSet, model);
+            Method method = target.getClass().getDeclaredMethod(methodName, parameterTypes);
+            method.setAccessible(true);
+            method.invoke(target, arguments);
         } catch (InvocationTargetException ite) {
             if (ite.getCause() != null && ite.getCause() instanceof WorkspaceValidationException) {
                 throw (WorkspaceValidationException)ite.getCause();
@@ -141,6 +226,16 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
      * @return  a Documentation object
      */
     public Documentation getDocumentation() {
+        if (documentationSupplier != null) {
+            synchronized (lock) {
+                Supplier<Documentation> supplier = documentationSupplier;
+                if (supplier != null) {
+                    documentation = supplier.get();
+                    documentationSupplier = null;
+                }
+            }
+        }
+
         return documentation;
     }
 
@@ -150,7 +245,26 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
      * @param documentation a Documentation object
      */
     void setDocumentation(@Nonnull Documentation documentation) {
-        this.documentation = documentation;
+        synchronized (lock) {
+            this.documentation = documentation;
+            this.documentationSupplier = null;
+        }
+    }
+
+    /**
+     * Called when deserialising JSON, to defer creating the documentation until it's first needed.
+     *
+     * @param documentationSupplier     supplies the Documentation
+     */
+    public void deferDocumentation(@Nonnull Supplier<Documentation> documentationSupplier) {
+        if (documentationSupplier == null) {
+            throw new IllegalArgumentException("A supplier must be specified.");
+        }
+
+        synchronized (lock) {
+            this.documentation = null;
+            this.documentationSupplier = documentationSupplier;
+        }
     }
 
     /**
@@ -160,7 +274,7 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
      */
     @JsonIgnore
     public boolean isEmpty() {
-        return model.isEmpty() && viewSet.isEmpty() && documentation.isEmpty();
+        return model.isEmpty() && getViews().isEmpty() && getDocumentation().isEmpty();
     }
 
     /**
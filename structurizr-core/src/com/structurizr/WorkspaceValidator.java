@@ -0,0 +1,50 @@
+package com.structurizr;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Validates a workspace that has been hydrated without validation (e.g. a trusted read of a workspace that
+ * was written by this library), checking that element/relationship IDs, element names, relationship descriptions
+ * and view keys are unique. This can be run on demand, or on a sample of workspaces, and reports the same
+ * (first) error that hydrating the workspace with validation would have done.
+ */
+public final class WorkspaceValidator {
+
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Creates a validator that runs all of the checks on the calling thread.
+     */
+    public WorkspaceValidator() {
+        this.forkJoinPool = null;
+    }
+
+    /**
+     * Creates a validator that runs the (independent) checks in parallel on the specified fork-join pool.
+     *
+     * @param forkJoinPool  the ForkJoinPool to run the checks on
+     */
+    public WorkspaceValidator(@Nonnull ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A fork-join pool must be specified.");
+        }
+
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Validates the specified workspace.
+     *
+     * @param workspace     the Workspace to validate
+     * @throws WorkspaceValidationException if the workspace is not valid
+     */
+    public void validate(@Nonnull Workspace workspace) throws WorkspaceValidationException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("A workspace must be specified.");
+        }
+
+        workspace.validate(forkJoinPool);
+    }
+
+}
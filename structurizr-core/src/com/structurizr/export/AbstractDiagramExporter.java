@@ -0,0 +1,160 @@
+package com.structurizr.export;
+
+import com.structurizr.util.StringUtils;
+import com.structurizr.view.*;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The base class for exporters that write a view as a text-based diagram definition (e.g. DOT, PlantUML, etc).
+ * The diagram definition is streamed to the given writer/output stream as the view is traversed
+ * (header, elements, relationships, footer), rather than being built up in memory first.
+ *
+ * Exporters are stateless, so a single instance can be used to export multiple views concurrently.
+ */
+public abstract class AbstractDiagramExporter {
+
+    /**
+     * Gets the file extension used for diagram definitions created by this exporter (e.g. "dot").
+     *
+     * @return  a file extension, without the leading "."
+     */
+    public abstract String getFileExtension();
+
+    /**
+     * Exports the given view to the given output stream, using UTF-8.
+     * The output stream is flushed, but not closed.
+     *
+     * @param view          the View to export
+     * @param outputStream  the OutputStream to write to
+     * @throws IOException  if there is a problem writing to the output stream
+     */
+    public void export(@Nonnull View view, @Nonnull OutputStream outputStream) throws IOException {
+        if (view == null) {
+            throw new IllegalArgumentException("A view must be specified.");
+        }
+
+        if (outputStream == null) {
+            throw new IllegalArgumentException("An output stream must be specified.");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        export(view, writer);
+        writer.flush();
+    }
+
+    /**
+     * Exports the given view to the given writer.
+     *
+     * @param view      the View to export
+     * @param writer    the Writer to write to
+     * @throws IOException  if there is a problem writing to the writer
+     */
+    public void export(@Nonnull View view, @Nonnull Writer writer) throws IOException {
+        if (view == null) {
+            throw new IllegalArgumentException("A view must be specified.");
+        }
+
+        if (writer == null) {
+            throw new IllegalArgumentException("A writer must be specified.");
+        }
+
+        Diagram diagram = new Diagram(view);
+
+        writeHeader(diagram, writer);
+        for (ElementView elementView : diagram.getElements()) {
+            write(diagram, elementView, 1, writer);
+        }
+        for (RelationshipView relationshipView : diagram.getRelationships()) {
+            writeRelationship(diagram, relationshipView, writer);
+        }
+        writeFooter(diagram, writer);
+    }
+
+    private void write(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        List<ElementView> children = diagram.getChildren(elementView);
+        if (children.isEmpty()) {
+            writeElement(diagram, elementView, depth, writer);
+        } else {
+            startGroup(diagram, elementView, depth, writer);
+            for (ElementView child : children) {
+                write(diagram, child, depth + 1, writer);
+            }
+            endGroup(diagram, elementView, depth, writer);
+        }
+    }
+
+    protected abstract void writeHeader(Diagram diagram, Writer writer) throws IOException;
+
+    protected abstract void writeElement(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException;
+
+    /**
+     * Writes the start of an element that contains other elements (e.g. a deployment node).
+     */
+    protected abstract void startGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException;
+
+    protected abstract void endGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException;
+
+    protected abstract void writeRelationship(Diagram diagram, RelationshipView relationshipView, Writer writer) throws IOException;
+
+    protected abstract void writeFooter(Diagram diagram, Writer writer) throws IOException;
+
+    /**
+     * Writes two spaces of indentation per level of depth.
+     */
+    protected void indent(Writer writer, int depth) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write("  ");
+        }
+    }
+
+    /**
+     * Converts an element ID into an identifier made of ASCII letters, digits and underscores, prefixed with "e"
+     * (for diagram languages where identifiers are restricted, or can clash with keywords). Any other character,
+     * including an underscore, is written as "_" followed by its hex code and "_", so different IDs (e.g. "a-b" and
+     * "a.b") always give different identifiers.
+     */
+    protected static String identifier(String id) {
+        StringBuilder buf = new StringBuilder(id.length() + 1);
+        buf.append('e');
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                buf.append(c);
+            } else {
+                buf.append('_').append(Integer.toHexString(c)).append('_');
+            }
+        }
+
+        return buf.toString();
+    }
+
+    /**
+     * Determines whether the metadata (type and technology) should be shown for an element with the given style.
+     */
+    protected boolean isMetadataVisible(ElementStyle style) {
+        return style == null || style.getMetadata() == null || style.getMetadata();
+    }
+
+    /**
+     * Determines whether the description should be shown for the given element, with the given style.
+     */
+    protected boolean isDescriptionVisible(ElementView elementView, ElementStyle style) {
+        return !StringUtils.isNullOrEmpty(elementView.getElement().getDescription()) && (style == null || style.getDescription() == null || style.getDescription());
+    }
+
+    /**
+     * Gets the line style for relationships with the given style (relationships are dashed unless specified otherwise).
+     */
+    protected LineStyle getLineStyle(RelationshipStyle style) {
+        if (style.getStyle() != null) {
+            return style.getStyle();
+        }
+
+        return style.getDashed() == null || style.getDashed() ? LineStyle.Dashed : LineStyle.Solid;
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.structurizr.export;
+
+import com.structurizr.util.StringUtils;
+import com.structurizr.view.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Exports views as Graphviz DOT diagram definitions. Deployment nodes are exported as clusters and,
+ * if the view has been laid out, element positions are exported as pinned node positions (e.g. for "neato -n").
+ */
+public final class DOTExporter extends AbstractDiagramExporter {
+
+    private static final double POINTS_PER_INCH = 72.0;
+
+    @Override
+    public String getFileExtension() {
+        return "dot";
+    }
+
+    @Override
+    protected void writeHeader(Diagram diagram, Writer writer) throws IOException {
+        writer.write("digraph " + quote(diagram.getView().getKey()) + " {\n");
+        writer.write("  graph [label=" + quote(diagram.getTitle()) + ", labelloc=t, fontname=\"Arial\", rankdir=" + rankDirection(diagram.getRankDirection()) + "]\n");
+        writer.write("  node [fontname=\"Arial\", shape=box, style=\"filled\"]\n");
+        writer.write("  edge [fontname=\"Arial\"]\n");
+        writer.write("\n");
+    }
+
+    @Override
+    protected void writeElement(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+
+        indent(writer, depth);
+        writer.write(quote(elementView.getId()) + " [label=" + quote(label(diagram, elementView, style)));
+        writer.write(", shape=" + shape(style.getShape()));
+        writer.write(", style=" + (isRounded(style.getShape()) ? "\"filled,rounded\"" : "filled"));
+        writeColour(writer, "fillcolor", style.getBackground());
+        writeColour(writer, "color", style.getStroke());
+        writeColour(writer, "fontcolor", style.getColor());
+
+        if (style.getWidth() != null && style.getHeight() != null) {
+            writer.write(", width=" + inches(style.getWidth()) + ", height=" + inches(style.getHeight()));
+            if (diagram.hasPositions()) {
+                // graphviz positions are the centre of the node, with the y axis pointing up
+                writer.write(", pos=\"" + (elementView.getX() + style.getWidth() / 2) + "," + -(elementView.getY() + style.getHeight() / 2) + "!\"");
+            }
+        }
+
+        writer.write("]\n");
+    }
+
+    @Override
+    protected void startGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+
+        indent(writer, depth);
+        writer.write("subgraph " + quote("cluster_" + elementView.getId()) + " {\n");
+        indent(writer, depth + 1);
+        writer.write("graph [label=" + quote(label(diagram, elementView, style)) + ", labeljust=l, labelloc=b, style=\"rounded\"");
+        writeColour(writer, "color", style.getStroke());
+        writeColour(writer, "fontcolor", style.getColor());
+        writer.write("]\n");
+    }
+
+    @Override
+    protected void endGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        indent(writer, depth);
+        writer.write("}\n");
+    }
+
+    @Override
+    protected void writeRelationship(Diagram diagram, RelationshipView relationshipView, Writer writer) throws IOException {
+        RelationshipStyle style = diagram.getRelationshipStyle(relationshipView);
+
+        String label = diagram.getDescription(relationshipView);
+        String technology = relationshipView.getRelationship().getTechnology();
+        if (!StringUtils.isNullOrEmpty(technology)) {
+            label = label + "\n[" + technology + "]";
+        }
+
+        writer.write("  " + quote(relationshipView.getRelationship().getSourceId()) + " -> " + quote(relationshipView.getRelationship().getDestinationId()));
+        writer.write(" [label=" + quote(label));
+        writeColour(writer, "color", style.getColor());
+        writeColour(writer, "fontcolor", style.getColor());
+
+        LineStyle lineStyle = getLineStyle(style);
+        if (lineStyle == LineStyle.Dashed) {
+            writer.write(", style=dashed");
+        } else if (lineStyle == LineStyle.Dotted) {
+            writer.write(", style=dotted");
+        }
+
+        if (style.getThickness() != null) {
+            writer.write(", penwidth=" + style.getThickness());
+        }
+
+        writer.write("]\n");
+    }
+
+    @Override
+    protected void writeFooter(Diagram diagram, Writer writer) throws IOException {
+        writer.write("}\n");
+    }
+
+    private String label(Diagram diagram, ElementView elementView, ElementStyle style) {
+        StringBuilder buf = new StringBuilder();
+        buf.append(elementView.getElement().getName());
+
+        String metadata = diagram.getMetadata(elementView.getElement());
+        if (isMetadataVisible(style) && !StringUtils.isNullOrEmpty(metadata)) {
+            buf.append("\n[").append(metadata).append("]");
+        }
+
+        if (isDescriptionVisible(elementView, style)) {
+            buf.append("\n\n").append(elementView.getElement().getDescription());
+        }
+
+        return buf.toString();
+    }
+
+    private void writeColour(Writer writer, String attribute, String colour) throws IOException {
+        if (!StringUtils.isNullOrEmpty(colour)) {
+            writer.write(", " + attribute + "=" + quote(colour));
+        }
+    }
+
+    private static String rankDirection(AutomaticLayout.RankDirection rankDirection) {
+        switch (rankDirection) {
+            case BottomTop:
+                return "BT";
+            case LeftRight:
+                return "LR";
+            case RightLeft:
+                return "RL";
+            default:
+                return "TB";
+        }
+    }
+
+    private static boolean isRounded(Shape shape) {
+        return shape == Shape.RoundedBox || shape == Shape.Person || shape == Shape.Robot;
+    }
+
+    private static String shape(Shape shape) {
+        if (shape == null) {
+            return "box";
+        }
+
+        switch (shape) {
+            case Circle:
+                return "circle";
+            case Ellipse:
+                return "ellipse";
+            case Hexagon:
+                return "hexagon";
+            case Diamond:
+                return "diamond";
+            case Cylinder:
+            case Pipe:
+                return "cylinder";
+            case Folder:
+                return "folder";
+            case Component:
+                return "component";
+            default:
+                return "box";
+        }
+    }
+
+    private static String inches(int pixels) {
+        return String.format(Locale.ROOT, "%.2f", pixels / POINTS_PER_INCH);
+    }
+
+    private static String quote(String s) {
+        if (s == null) {
+            return "\"\"";
+        }
+
+        StringBuilder buf = new StringBuilder(s.length() + 2);
+        buf.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buf.append('\\').append(c);
+            } else if (c == '\n') {
+                buf.append("\\n");
+            } else if (c != '\r') {
+                buf.append(c);
+            }
+        }
+        buf.append('"');
+
+        return buf.toString();
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.structurizr.export;
+
+import com.structurizr.model.*;
+import com.structurizr.util.StringUtils;
+import com.structurizr.view.*;
+
+import java.util.*;
+
+/**
+ * A view that is being exported, along with its resolved styles and terminology.
+ * Elements are nested inside their parent deployment nodes (in deployment views), and are ordered by ID
+ * so that exporting the same view twice produces the same output.
+ */
+public final class Diagram {
+
+    private static final Comparator<String> ID_ORDER = Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private final View view;
+    private final ResolvedStyles styles;
+    private final Terminology terminology;
+
+    private final Map<String, ElementView> elementViews = new HashMap<>();
+    private final List<ElementView> elements = new ArrayList<>();
+    private final Map<String, List<ElementView>> children = new HashMap<>();
+    private final List<RelationshipView> relationships;
+    private final boolean positioned;
+
+    Diagram(View view) {
+        this.view = view;
+
+        ViewSet viewSet = view.getViewSet();
+        if (viewSet != null) {
+            this.styles = viewSet.getConfiguration().getStyles().resolveAll(view);
+            this.terminology = viewSet.getConfiguration().getTerminology();
+        } else {
+            this.styles = new Styles().resolveAll(view);
+            this.terminology = new Terminology();
+        }
+
+        List<ElementView> sortedElementViews = new ArrayList<>(view.getElements());
+        sortedElementViews.sort(Comparator.comparing(ElementView::getId, ID_ORDER));
+        boolean positioned = false;
+        for (ElementView elementView : sortedElementViews) {
+            elementViews.put(elementView.getId(), elementView);
+            positioned = positioned || elementView.getX() != 0 || elementView.getY() != 0;
+        }
+        this.positioned = positioned;
+
+        for (ElementView elementView : sortedElementViews) {
+            Element parent = elementView.getElement().getParent();
+            if (view instanceof DeploymentView && parent instanceof DeploymentNode && elementViews.containsKey(parent.getId())) {
+                children.computeIfAbsent(parent.getId(), id -> new ArrayList<>()).add(elementView);
+            } else {
+                elements.add(elementView);
+            }
+        }
+
+        relationships = new ArrayList<>(view.getRelationships());
+        if (!(view instanceof DynamicView)) {
+            // dynamic views are already in order
+            relationships.sort(Comparator.comparing(RelationshipView::getId, ID_ORDER));
+        }
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    /**
+     * Gets the title of the view (the title, if set, or the name).
+     *
+     * @return  the title, as a String
+     */
+    public String getTitle() {
+        return !StringUtils.isNullOrEmpty(view.getTitle()) ? view.getTitle() : view.getName();
+    }
+
+    /**
+     * Gets the rank direction of the view's automatic layout (top to bottom if automatic layout isn't enabled).
+     *
+     * @return  a RankDirection
+     */
+    public AutomaticLayout.RankDirection getRankDirection() {
+        if (view.getAutomaticLayout() != null && view.getAutomaticLayout().getRankDirection() != null) {
+            return view.getAutomaticLayout().getRankDirection();
+        }
+
+        return AutomaticLayout.RankDirection.TopBottom;
+    }
+
+    /**
+     * Determines whether the elements in the view have been positioned (i.e. they are not all at 0,0),
+     * as they were when this diagram was created.
+     *
+     * @return  true if at least one element has a position, false otherwise
+     */
+    public boolean hasPositions() {
+        return positioned;
+    }
+
+    /**
+     * Gets the top-level element views (i.e. those that are not nested inside another element in the view).
+     *
+     * @return  a List of ElementView objects
+     */
+    public List<ElementView> getElements() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Gets the element views nested inside the given element view (e.g. the contents of a deployment node).
+     *
+     * @param elementView   an ElementView
+     * @return  a List of ElementView objects (empty if there are none)
+     */
+    public List<ElementView> getChildren(ElementView elementView) {
+        return Collections.unmodifiableList(children.getOrDefault(elementView.getId(), Collections.emptyList()));
+    }
+
+    /**
+     * Gets the element view with the given ID.
+     *
+     * @param elementId     the ID of an element
+     * @return  an ElementView, or null if the element isn't in the view
+     */
+    public ElementView getElementView(String elementId) {
+        return elementViews.get(elementId);
+    }
+
+    public List<RelationshipView> getRelationships() {
+        return Collections.unmodifiableList(relationships);
+    }
+
+    public ElementStyle getElementStyle(ElementView elementView) {
+        return styles.getElementStyle(elementView.getId());
+    }
+
+    public RelationshipStyle getRelationshipStyle(RelationshipView relationshipView) {
+        return styles.getRelationshipStyle(relationshipView.getId());
+    }
+
+    /**
+     * Gets the metadata for the given element, as shown on diagrams (e.g. "Container: Java").
+     *
+     * @param element   an Element
+     * @return  the type (using the configured terminology) and technology of the element
+     */
+    public String getMetadata(Element element) {
+        String type;
+        if (element instanceof CustomElement) {
+            type = ((CustomElement)element).getMetadata();
+        } else {
+            type = terminology.findTerminology(element);
+        }
+
+        String technology = null;
+        if (element instanceof Container) {
+            technology = ((Container)element).getTechnology();
+        } else if (element instanceof Component) {
+            technology = ((Component)element).getTechnology();
+        } else if (element instanceof ContainerInstance) {
+            technology = ((ContainerInstance)element).getContainer().getTechnology();
+        } else if (element instanceof DeploymentNode) {
+            technology = ((DeploymentNode)element).getTechnology();
+        } else if (element instanceof InfrastructureNode) {
+            technology = ((InfrastructureNode)element).getTechnology();
+        }
+
+        if (StringUtils.isNullOrEmpty(type)) {
+            return StringUtils.isNullOrEmpty(technology) ? "" : technology;
+        } else {
+            return StringUtils.isNullOrEmpty(technology) ? type : type + ": " + technology;
+        }
+    }
+
+    /**
+     * Gets the description of the given relationship view (prefixed with the order, in dynamic views).
+     *
+     * @param relationshipView  a RelationshipView
+     * @return  the description, or an empty string if there is no description
+     */
+    public String getDescription(RelationshipView relationshipView) {
+        String description = relationshipView.getDescription();
+        if (StringUtils.isNullOrEmpty(description)) {
+            description = relationshipView.getRelationship().getDescription();
+        }
+
+        if (description == null) {
+            description = "";
+        }
+
+        if (view instanceof DynamicView && !StringUtils.isNullOrEmpty(relationshipView.getOrder())) {
+            description = relationshipView.getOrder() + ": " + description;
+        }
+
+        return description;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.structurizr.export;
+
+import com.structurizr.util.StringUtils;
+import com.structurizr.view.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Exports views as Mermaid flowchart diagram definitions. Deployment nodes are exported as subgraphs.
+ * Mermaid does its own layout, so element positions are not exported.
+ */
+public final class MermaidExporter extends AbstractDiagramExporter {
+
+    @Override
+    public String getFileExtension() {
+        return "mmd";
+    }
+
+    @Override
+    protected void writeHeader(Diagram diagram, Writer writer) throws IOException {
+        writer.write("graph " + rankDirection(diagram.getRankDirection()) + "\n");
+        writer.write("  %% " + diagram.getTitle().replace('\n', ' ') + "\n");
+        writer.write("  linkStyle default fill:#ffffff\n");
+        writer.write("\n");
+    }
+
+    @Override
+    protected void writeElement(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+        String id = identifier(elementView.getId());
+        String label = "\"" + label(diagram, elementView, style) + "\"";
+
+        indent(writer, depth);
+        writer.write(id);
+        Shape shape = style.getShape();
+        if (shape == Shape.RoundedBox || shape == Shape.Person || shape == Shape.Robot) {
+            writer.write("(" + label + ")");
+        } else if (shape == Shape.Circle || shape == Shape.Ellipse) {
+            writer.write("((" + label + "))");
+        } else if (shape == Shape.Cylinder || shape == Shape.Pipe) {
+            writer.write("[(" + label + ")]");
+        } else if (shape == Shape.Hexagon) {
+            writer.write("{{" + label + "}}");
+        } else if (shape == Shape.Diamond) {
+            writer.write("{" + label + "}");
+        } else {
+            writer.write("[" + label + "]");
+        }
+        writer.write("\n");
+
+        writeStyle(id, style, depth, writer);
+    }
+
+    @Override
+    protected void startGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+        String id = identifier(elementView.getId());
+
+        indent(writer, depth);
+        writer.write("subgraph " + id + " [\"" + label(diagram, elementView, style) + "\"]\n");
+        writeStyle(id, style, depth + 1, writer);
+    }
+
+    @Override
+    protected void endGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        indent(writer, depth);
+        writer.write("end\n");
+    }
+
+    @Override
+    protected void writeRelationship(Diagram diagram, RelationshipView relationshipView, Writer writer) throws IOException {
+        RelationshipStyle style = diagram.getRelationshipStyle(relationshipView);
+
+        String label = escape(diagram.getDescription(relationshipView));
+        String technology = relationshipView.getRelationship().getTechnology();
+        if (!StringUtils.isNullOrEmpty(technology)) {
+            label = label + "<br><span style='font-size: smaller'>[" + escape(technology) + "]</span>";
+        }
+
+        String source = identifier(relationshipView.getRelationship().getSourceId());
+        String destination = identifier(relationshipView.getRelationship().getDestinationId());
+
+        writer.write("  ");
+        if (label.isEmpty()) {
+            writer.write(source + (getLineStyle(style) == LineStyle.Solid ? "-->" : "-.->") + destination);
+        } else if (getLineStyle(style) == LineStyle.Solid) {
+            writer.write(source + "-- \"" + label + "\" -->" + destination);
+        } else {
+            writer.write(source + "-. \"" + label + "\" .->" + destination);
+        }
+        writer.write("\n");
+    }
+
+    @Override
+    protected void writeFooter(Diagram diagram, Writer writer) throws IOException {
+        // links can only be styled by index, after they have been defined
+        List<RelationshipView> relationships = diagram.getRelationships();
+        for (int i = 0; i < relationships.size(); i++) {
+            RelationshipStyle style = diagram.getRelationshipStyle(relationships.get(i));
+
+            StringBuilder buf = new StringBuilder();
+            if (!StringUtils.isNullOrEmpty(style.getColor())) {
+                buf.append("stroke:").append(style.getColor()).append(",color:").append(style.getColor());
+            }
+
+            if (style.getThickness() != null) {
+                if (buf.length() > 0) {
+                    buf.append(',');
+                }
+                buf.append("stroke-width:").append(style.getThickness()).append("px");
+            }
+
+            if (buf.length() > 0) {
+                writer.write("  linkStyle " + i + " " + buf + "\n");
+            }
+        }
+    }
+
+    private void writeStyle(String id, ElementStyle style, int depth, Writer writer) throws IOException {
+        StringBuilder buf = new StringBuilder();
+        if (!StringUtils.isNullOrEmpty(style.getBackground())) {
+            buf.append("fill:").append(style.getBackground());
+        }
+
+        if (!StringUtils.isNullOrEmpty(style.getStroke())) {
+            if (buf.length() > 0) {
+                buf.append(',');
+            }
+            buf.append("stroke:").append(style.getStroke());
+        }
+
+        if (!StringUtils.isNullOrEmpty(style.getColor())) {
+            if (buf.length() > 0) {
+                buf.append(',');
+            }
+            buf.append("color:").append(style.getColor());
+        }
+
+        if (buf.length() > 0) {
+            indent(writer, depth);
+            writer.write("style " + id + " " + buf + "\n");
+        }
+    }
+
+    private String label(Diagram diagram, ElementView elementView, ElementStyle style) {
+        StringBuilder buf = new StringBuilder();
+        buf.append("<b>").append(escape(elementView.getElement().getName())).append("</b>");
+
+        String metadata = diagram.getMetadata(elementView.getElement());
+        if (isMetadataVisible(style) && !StringUtils.isNullOrEmpty(metadata)) {
+            buf.append("<br><span style='font-size: smaller'>[").append(escape(metadata)).append("]</span>");
+        }
+
+        if (isDescriptionVisible(elementView, style)) {
+            buf.append("<br><br>").append(escape(elementView.getElement().getDescription()));
+        }
+
+        return buf.toString();
+    }
+
+    private static String rankDirection(AutomaticLayout.RankDirection rankDirection) {
+        switch (rankDirection) {
+            case BottomTop:
+                return "BT";
+            case LeftRight:
+                return "LR";
+            case RightLeft:
+                return "RL";
+            default:
+                return "TB";
+        }
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+
+        // labels are HTML, so markup characters are written as Mermaid entity codes
+        return s.replace("\r", "").replace("#", "#35;").replace("&", "#amp;").replace("<", "#lt;").replace(">", "#gt;").replace("\n", "<br>").replace("\"", "#quot;");
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.structurizr.export;
+
+import com.structurizr.view.View;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Provides the output stream that an exported view should be written to (see {@link ParallelExporter}).
+ */
+@FunctionalInterface
+public interface OutputStreamFactory {
+
+    /**
+     * Opens an output stream for the given view and exporter. The stream is closed once the view has been exported.
+     *
+     * @param view      the View being exported
+     * @param exporter  the exporter being used (e.g. to determine the file extension)
+     * @return  an OutputStream
+     * @throws IOException  if the output stream can't be opened
+     */
+    OutputStream open(View view, AbstractDiagramExporter exporter) throws IOException;
+
+}
@@ -0,0 +1,147 @@
+package com.structurizr.export;
+
+import com.structurizr.view.View;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exports a collection of views using one or more exporters, with the view/exporter combinations shared between
+ * a number of workers running on the given executor (e.g. in parallel). Each diagram is streamed directly to the output stream
+ * provided for it, so the amount of memory needed doesn't depend on the number or size of the views.
+ */
+public final class ParallelExporter {
+
+    private static final Log log = LogFactory.getLog(ParallelExporter.class);
+
+    private final Executor executor;
+
+    /**
+     * Creates a parallel exporter that uses the common fork/join pool.
+     */
+    public ParallelExporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a parallel exporter that uses the given executor.
+     *
+     * @param executor  the Executor to export views on
+     */
+    public ParallelExporter(@Nonnull Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("An executor must be specified.");
+        }
+
+        this.executor = executor;
+    }
+
+    /**
+     * Exports the given views, writing each diagram to the output stream provided by the given factory.
+     *
+     * @param views                 the views to export
+     * @param exporters             the exporters to use (each view is exported once per exporter)
+     * @param outputStreamFactory   provides the output stream for each view/exporter combination
+     * @throws UncheckedIOException if any of the views can't be exported (all other views are still exported)
+     */
+    public void export(@Nonnull Collection<? extends View> views, @Nonnull Collection<? extends AbstractDiagramExporter> exporters, @Nonnull OutputStreamFactory outputStreamFactory) {
+        if (views == null) {
+            throw new IllegalArgumentException("A collection of views must be specified.");
+        }
+
+        if (exporters == null) {
+            throw new IllegalArgumentException("A collection of exporters must be specified.");
+        }
+
+        if (outputStreamFactory == null) {
+            throw new IllegalArgumentException("An output stream factory must be specified.");
+        }
+
+        List<View> viewsToExport = new ArrayList<>();
+        List<AbstractDiagramExporter> exportersToUse = new ArrayList<>();
+        for (View view : views) {
+            for (AbstractDiagramExporter exporter : exporters) {
+                viewsToExport.add(view);
+                exportersToUse.add(exporter);
+            }
+        }
+        int numberOfDiagrams = viewsToExport.size();
+
+        // rather than submitting one (small) task per diagram, a fixed number of workers take diagrams from a shared
+        // list, which keeps the scheduling overhead down and still balances the load between workers
+        int numberOfWorkers = executor instanceof ForkJoinPool ? ((ForkJoinPool)executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+        numberOfWorkers = Math.max(1, Math.min(numberOfWorkers, numberOfDiagrams));
+
+        AtomicInteger nextDiagram = new AtomicInteger();
+        AtomicInteger numberOfDiagramsExported = new AtomicInteger();
+        Queue<RuntimeException> exceptions = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int worker = 0; worker < numberOfWorkers; worker++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                int diagram;
+                while ((diagram = nextDiagram.getAndIncrement()) < numberOfDiagrams) {
+                    View view = viewsToExport.get(diagram);
+                    AbstractDiagramExporter exporter = exportersToUse.get(diagram);
+
+                    long start = System.nanoTime();
+                    try (OutputStream outputStream = outputStreamFactory.open(view, exporter)) {
+                        exporter.export(view, outputStream);
+                    } catch (IOException e) {
+                        exceptions.add(new UncheckedIOException("Could not export view \"" + view.getKey() + "\" as " + exporter.getFileExtension(), e));
+                        continue;
+                    } catch (RuntimeException e) {
+                        exceptions.add(e);
+                        continue;
+                    }
+                    long duration = (System.nanoTime() - start) / 1000000;
+
+                    if (log.isDebugEnabled()) {
+                        log.debug("Exported view \"" + view.getKey() + "\" as " + exporter.getFileExtension() + " in " + duration + "ms (" + numberOfDiagramsExported.incrementAndGet() + " of " + numberOfDiagrams + ")");
+                    }
+                }
+            }, executor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        if (!exceptions.isEmpty()) {
+            RuntimeException exception = exceptions.poll();
+            while (!exceptions.isEmpty()) {
+                exception.addSuppressed(exceptions.poll());
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Exports the given views to files in the given directory, named using the view key and the exporter's
+     * file extension (e.g. "SystemContext.dot").
+     *
+     * @param views         the views to export
+     * @param exporters     the exporters to use (each view is exported once per exporter)
+     * @param directory     the directory to write files to (this is created if it doesn't exist)
+     * @throws UncheckedIOException if any of the views can't be exported (all other views are still exported)
+     */
+    public void export(@Nonnull Collection<? extends View> views, @Nonnull Collection<? extends AbstractDiagramExporter> exporters, @Nonnull File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("A directory must be specified.");
+        }
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(directory.getAbsolutePath() + " is not a directory.");
+        }
+
+        export(views, exporters, (view, exporter) ->
+                new BufferedOutputStream(new FileOutputStream(new File(directory, view.getKey() + "." + exporter.getFileExtension()))));
+    }
+
+}
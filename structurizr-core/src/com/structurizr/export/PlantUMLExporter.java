@@ -0,0 +1,181 @@
+package com.structurizr.export;
+
+import com.structurizr.util.StringUtils;
+import com.structurizr.view.*;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Exports views as PlantUML diagram definitions (using the deployment diagram syntax, so that elements can be
+ * drawn with different shapes). PlantUML does its own layout, so element positions are not exported.
+ */
+public final class PlantUMLExporter extends AbstractDiagramExporter {
+
+    @Override
+    public String getFileExtension() {
+        return "puml";
+    }
+
+    @Override
+    protected void writeHeader(Diagram diagram, Writer writer) throws IOException {
+        writer.write("@startuml\n");
+        writer.write("title " + diagram.getTitle().replace('\n', ' ') + "\n");
+        writer.write("\n");
+
+        AutomaticLayout.RankDirection rankDirection = diagram.getRankDirection();
+        if (rankDirection == AutomaticLayout.RankDirection.LeftRight || rankDirection == AutomaticLayout.RankDirection.RightLeft) {
+            writer.write("left to right direction\n");
+        } else {
+            writer.write("top to bottom direction\n");
+        }
+        writer.write("\n");
+
+        writer.write("skinparam {\n");
+        writer.write("  shadowing false\n");
+        writer.write("  defaultFontName Arial\n");
+        writer.write("  wrapWidth 200\n");
+        writer.write("}\n");
+        writer.write("\n");
+    }
+
+    @Override
+    protected void writeElement(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+
+        indent(writer, depth - 1);
+        writer.write(keyword(style.getShape()) + " \"" + label(diagram, elementView, style) + "\" as " + identifier(elementView.getId()) + colours(style) + "\n");
+    }
+
+    @Override
+    protected void startGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+
+        indent(writer, depth - 1);
+        writer.write("node \"" + label(diagram, elementView, style) + "\" as " + identifier(elementView.getId()) + colours(style) + " {\n");
+    }
+
+    @Override
+    protected void endGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        indent(writer, depth - 1);
+        writer.write("}\n");
+    }
+
+    @Override
+    protected void writeRelationship(Diagram diagram, RelationshipView relationshipView, Writer writer) throws IOException {
+        RelationshipStyle style = diagram.getRelationshipStyle(relationshipView);
+
+        StringBuilder arrowStyle = new StringBuilder();
+        if (!StringUtils.isNullOrEmpty(style.getColor())) {
+            arrowStyle.append(style.getColor());
+        }
+
+        LineStyle lineStyle = getLineStyle(style);
+        if (lineStyle != LineStyle.Solid) {
+            append(arrowStyle, lineStyle == LineStyle.Dashed ? "dashed" : "dotted");
+        }
+
+        if (style.getThickness() != null) {
+            append(arrowStyle, "thickness=" + style.getThickness());
+        }
+
+        String arrow = arrowStyle.length() > 0 ? "-[" + arrowStyle + "]->" : "-->";
+
+        writer.write(identifier(relationshipView.getRelationship().getSourceId()) + " " + arrow + " " + identifier(relationshipView.getRelationship().getDestinationId()));
+
+        String description = diagram.getDescription(relationshipView);
+        String technology = relationshipView.getRelationship().getTechnology();
+        if (!StringUtils.isNullOrEmpty(description) || !StringUtils.isNullOrEmpty(technology)) {
+            writer.write(" : " + escape(description));
+            if (!StringUtils.isNullOrEmpty(technology)) {
+                writer.write("\\n<size:8>[" + escape(technology) + "]</size>");
+            }
+        }
+
+        writer.write("\n");
+    }
+
+    @Override
+    protected void writeFooter(Diagram diagram, Writer writer) throws IOException {
+        writer.write("@enduml\n");
+    }
+
+    private String label(Diagram diagram, ElementView elementView, ElementStyle style) {
+        StringBuilder buf = new StringBuilder();
+        buf.append("==").append(escape(elementView.getElement().getName()));
+
+        String metadata = diagram.getMetadata(elementView.getElement());
+        if (isMetadataVisible(style) && !StringUtils.isNullOrEmpty(metadata)) {
+            buf.append("\\n<size:10>[").append(escape(metadata)).append("]</size>");
+        }
+
+        if (isDescriptionVisible(elementView, style)) {
+            buf.append("\\n\\n").append(escape(elementView.getElement().getDescription()));
+        }
+
+        return buf.toString();
+    }
+
+    private static void append(StringBuilder buf, String s) {
+        if (buf.length() > 0) {
+            buf.append(',');
+        }
+        buf.append(s);
+    }
+
+    private static String colours(ElementStyle style) {
+        StringBuilder buf = new StringBuilder();
+        if (!StringUtils.isNullOrEmpty(style.getBackground())) {
+            buf.append(" ").append(style.getBackground());
+        } else {
+            buf.append(" #ffffff");
+        }
+
+        if (!StringUtils.isNullOrEmpty(style.getStroke())) {
+            buf.append(";line:").append(style.getStroke());
+        }
+
+        if (!StringUtils.isNullOrEmpty(style.getColor())) {
+            buf.append(";text:").append(style.getColor());
+        }
+
+        return buf.toString();
+    }
+
+    private static String keyword(Shape shape) {
+        if (shape == null) {
+            return "rectangle";
+        }
+
+        switch (shape) {
+            case Person:
+            case Robot:
+                return "person";
+            case Cylinder:
+                return "database";
+            case Pipe:
+                return "queue";
+            case Folder:
+                return "folder";
+            case Hexagon:
+                return "hexagon";
+            case Component:
+                return "component";
+            case Circle:
+                return "circle";
+            case Ellipse:
+                return "usecase";
+            default:
+                return "rectangle";
+        }
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+
+        return s.replace("\r", "").replace("\n", "\\n").replace('"', '\'');
+    }
+
+}
@@ -0,0 +1,415 @@
+package com.structurizr.export;
+
+import com.structurizr.util.StringUtils;
+import com.structurizr.view.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exports views as SVG images, drawing elements and relationships at the positions defined by the element views
+ * (and relationship vertices). This means that the view should already have been laid out, for example using
+ * {@link LayeredLayout}, or by copying layout information from a workspace that was laid out in the browser.
+ * Deployment nodes are drawn around their children.
+ */
+public final class SVGExporter extends AbstractDiagramExporter {
+
+    private static final int MARGIN = 50;
+    private static final int GROUP_PADDING = 50;
+    private static final int GROUP_LABEL_HEIGHT = 70;
+    private static final int DEFAULT_FONT_SIZE = 24;
+    private static final int DEFAULT_RELATIONSHIP_WIDTH = 200;
+    private static final int ARROW_LENGTH = 20;
+    private static final double CHARACTER_WIDTH = 0.55;
+
+    @Override
+    public String getFileExtension() {
+        return "svg";
+    }
+
+    @Override
+    protected void writeHeader(Diagram diagram, Writer writer) throws IOException {
+        int width;
+        int height;
+        Dimensions dimensions = diagram.getView().getDimensions();
+        if (dimensions != null) {
+            width = dimensions.getWidth();
+            height = dimensions.getHeight();
+        } else {
+            width = 0;
+            height = 0;
+            for (ElementView elementView : diagram.getElements()) {
+                int[] bounds = bounds(diagram, elementView);
+                width = Math.max(width, bounds[0] + bounds[2] + MARGIN);
+                height = Math.max(height, bounds[1] + bounds[3] + MARGIN);
+            }
+        }
+
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height + "\" viewBox=\"0 0 " + width + " " + height + "\" font-family=\"Arial, Helvetica, sans-serif\">\n");
+        writer.write("  <title>" + escape(diagram.getTitle()) + "</title>\n");
+        writer.write("  <rect x=\"0\" y=\"0\" width=\"" + width + "\" height=\"" + height + "\" fill=\"#ffffff\"/>\n");
+    }
+
+    @Override
+    protected void writeElement(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+        int x = elementView.getX();
+        int y = elementView.getY();
+        int width = width(style);
+        int height = height(style);
+
+        indent(writer, depth);
+        writer.write("<g id=\"" + escape(elementView.getId()) + "\"" + opacity(style.getOpacity()) + ">\n");
+
+        indent(writer, depth + 1);
+        writer.write(shape(style.getShape(), x, y, width, height));
+        writer.write(" fill=\"" + colour(style.getBackground(), "#ffffff") + "\" stroke=\"" + colour(style.getStroke(), "#000000") + "\" stroke-width=\"2\"" + border(style.getBorder()) + "/>\n");
+
+        List<TextLine> lines = new ArrayList<>();
+        int fontSize = style.getFontSize() != null ? style.getFontSize() : DEFAULT_FONT_SIZE;
+        for (String line : wrap(elementView.getElement().getName(), width, fontSize)) {
+            lines.add(new TextLine(line, fontSize, true));
+        }
+
+        String metadata = diagram.getMetadata(elementView.getElement());
+        if (isMetadataVisible(style) && !StringUtils.isNullOrEmpty(metadata)) {
+            lines.add(new TextLine("[" + metadata + "]", fontSize * 3 / 4, false));
+        }
+
+        if (isDescriptionVisible(elementView, style)) {
+            lines.add(new TextLine("", fontSize / 2, false));
+            for (String line : wrap(elementView.getElement().getDescription(), width, fontSize)) {
+                lines.add(new TextLine(line, fontSize, false));
+            }
+        }
+
+        writeText(lines, x + width / 2, y + height / 2, colour(style.getColor(), "#000000"), depth + 1, writer);
+
+        indent(writer, depth);
+        writer.write("</g>\n");
+    }
+
+    @Override
+    protected void startGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        ElementStyle style = diagram.getElementStyle(elementView);
+        int[] bounds = bounds(diagram, elementView);
+        int fontSize = style.getFontSize() != null ? style.getFontSize() : DEFAULT_FONT_SIZE;
+        String colour = colour(style.getColor(), "#000000");
+
+        indent(writer, depth);
+        writer.write("<g id=\"" + escape(elementView.getId()) + "\"" + opacity(style.getOpacity()) + ">\n");
+
+        indent(writer, depth + 1);
+        writer.write("<rect x=\"" + bounds[0] + "\" y=\"" + bounds[1] + "\" width=\"" + bounds[2] + "\" height=\"" + bounds[3] + "\" rx=\"10\"");
+        writer.write(" fill=\"" + colour(style.getBackground(), "#ffffff") + "\" stroke=\"" + colour(style.getStroke(), "#888888") + "\" stroke-width=\"2\"" + border(style.getBorder()) + "/>\n");
+
+        int textX = bounds[0] + GROUP_PADDING / 2;
+        int textY = bounds[1] + bounds[3] - GROUP_LABEL_HEIGHT + fontSize;
+        indent(writer, depth + 1);
+        writer.write("<text x=\"" + textX + "\" y=\"" + textY + "\" font-size=\"" + fontSize + "\" font-weight=\"bold\" fill=\"" + colour + "\">" + escape(elementView.getElement().getName()) + "</text>\n");
+
+        String metadata = diagram.getMetadata(elementView.getElement());
+        if (isMetadataVisible(style) && !StringUtils.isNullOrEmpty(metadata)) {
+            indent(writer, depth + 1);
+            writer.write("<text x=\"" + textX + "\" y=\"" + (textY + fontSize) + "\" font-size=\"" + (fontSize * 3 / 4) + "\" fill=\"" + colour + "\">[" + escape(metadata) + "]</text>\n");
+        }
+    }
+
+    @Override
+    protected void endGroup(Diagram diagram, ElementView elementView, int depth, Writer writer) throws IOException {
+        indent(writer, depth);
+        writer.write("</g>\n");
+    }
+
+    @Override
+    protected void writeRelationship(Diagram diagram, RelationshipView relationshipView, Writer writer) throws IOException {
+        ElementView source = diagram.getElementView(relationshipView.getRelationship().getSourceId());
+        ElementView destination = diagram.getElementView(relationshipView.getRelationship().getDestinationId());
+        if (source == null || destination == null) {
+            return;
+        }
+
+        RelationshipStyle style = diagram.getRelationshipStyle(relationshipView);
+        String colour = colour(style.getColor(), "#707070");
+        int thickness = style.getThickness() != null ? style.getThickness() : 2;
+
+        int[] sourceBounds = bounds(diagram, source);
+        int[] destinationBounds = bounds(diagram, destination);
+
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[] { sourceBounds[0] + sourceBounds[2] / 2.0, sourceBounds[1] + sourceBounds[3] / 2.0 });
+        Collection<Vertex> vertices = relationshipView.getVertices();
+        if (vertices != null) {
+            for (Vertex vertex : vertices) {
+                points.add(new double[] { vertex.getX(), vertex.getY() });
+            }
+        }
+        points.add(new double[] { destinationBounds[0] + destinationBounds[2] / 2.0, destinationBounds[1] + destinationBounds[3] / 2.0 });
+
+        // start and end the line at the edges of the source and destination, rather than their centres
+        points.set(0, clip(sourceBounds, points.get(1)));
+        points.set(points.size() - 1, clip(destinationBounds, points.get(points.size() - 2)));
+
+        writer.write("  <g id=\"" + escape(relationshipView.getId()) + "\"" + opacity(style.getOpacity()) + ">\n");
+
+        StringBuilder path = new StringBuilder();
+        for (double[] point : points) {
+            path.append(path.length() == 0 ? "M " : " L ").append(number(point[0])).append(' ').append(number(point[1]));
+        }
+        writer.write("    <path d=\"" + path + "\" fill=\"none\" stroke=\"" + colour + "\" stroke-width=\"" + thickness + "\"");
+        LineStyle lineStyle = getLineStyle(style);
+        if (lineStyle == LineStyle.Dashed) {
+            writer.write(" stroke-dasharray=\"" + (thickness * 8) + "," + (thickness * 8) + "\"");
+        } else if (lineStyle == LineStyle.Dotted) {
+            writer.write(" stroke-dasharray=\"" + thickness + "," + (thickness * 4) + "\"");
+        }
+        writer.write("/>\n");
+
+        // the arrow head, pointing along the last segment
+        double[] end = points.get(points.size() - 1);
+        double[] previous = points.get(points.size() - 2);
+        double angle = Math.atan2(end[1] - previous[1], end[0] - previous[0]);
+        double length = ARROW_LENGTH + thickness * 2;
+        writer.write("    <polygon points=\"" + number(end[0]) + "," + number(end[1]) + " "
+                + number(end[0] - length * Math.cos(angle - Math.PI / 8)) + "," + number(end[1] - length * Math.sin(angle - Math.PI / 8)) + " "
+                + number(end[0] - length * Math.cos(angle + Math.PI / 8)) + "," + number(end[1] - length * Math.sin(angle + Math.PI / 8))
+                + "\" fill=\"" + colour + "\"/>\n");
+
+        List<TextLine> lines = new ArrayList<>();
+        int fontSize = style.getFontSize() != null ? style.getFontSize() : DEFAULT_FONT_SIZE;
+        int width = style.getWidth() != null ? style.getWidth() : DEFAULT_RELATIONSHIP_WIDTH;
+        for (String line : wrap(diagram.getDescription(relationshipView), width, fontSize)) {
+            lines.add(new TextLine(line, fontSize, false));
+        }
+        String technology = relationshipView.getRelationship().getTechnology();
+        if (!StringUtils.isNullOrEmpty(technology)) {
+            lines.add(new TextLine("[" + technology + "]", fontSize * 3 / 4, false));
+        }
+
+        if (!lines.isEmpty()) {
+            // the label goes in the middle of the middle segment
+            int segment = (points.size() - 2) / 2;
+            double[] a = points.get(segment);
+            double[] b = points.get(segment + 1);
+            writeText(lines, (int)Math.round((a[0] + b[0]) / 2), (int)Math.round((a[1] + b[1]) / 2), colour, 2, writer);
+        }
+
+        writer.write("  </g>\n");
+    }
+
+    @Override
+    protected void writeFooter(Diagram diagram, Writer writer) throws IOException {
+        writer.write("</svg>\n");
+    }
+
+    // { x, y, width, height } of an element (or a deployment node, drawn around its children)
+    private int[] bounds(Diagram diagram, ElementView elementView) {
+        List<ElementView> children = diagram.getChildren(elementView);
+        if (children.isEmpty()) {
+            ElementStyle style = diagram.getElementStyle(elementView);
+            return new int[] { elementView.getX(), elementView.getY(), width(style), height(style) };
+        }
+
+        int minimumX = Integer.MAX_VALUE;
+        int minimumY = Integer.MAX_VALUE;
+        int maximumX = Integer.MIN_VALUE;
+        int maximumY = Integer.MIN_VALUE;
+        for (ElementView child : children) {
+            int[] bounds = bounds(diagram, child);
+            minimumX = Math.min(minimumX, bounds[0]);
+            minimumY = Math.min(minimumY, bounds[1]);
+            maximumX = Math.max(maximumX, bounds[0] + bounds[2]);
+            maximumY = Math.max(maximumY, bounds[1] + bounds[3]);
+        }
+
+        return new int[] {
+                minimumX - GROUP_PADDING,
+                minimumY - GROUP_PADDING,
+                maximumX - minimumX + GROUP_PADDING * 2,
+                maximumY - minimumY + GROUP_PADDING + GROUP_LABEL_HEIGHT
+        };
+    }
+
+    // the point where the line from the centre of the given bounds to the given point leaves the bounds
+    private static double[] clip(int[] bounds, double[] point) {
+        double centreX = bounds[0] + bounds[2] / 2.0;
+        double centreY = bounds[1] + bounds[3] / 2.0;
+        double dx = point[0] - centreX;
+        double dy = point[1] - centreY;
+        if (dx == 0 && dy == 0) {
+            return new double[] { centreX, centreY };
+        }
+
+        double t = Math.min(
+                dx != 0 ? (bounds[2] / 2.0) / Math.abs(dx) : Double.MAX_VALUE,
+                dy != 0 ? (bounds[3] / 2.0) / Math.abs(dy) : Double.MAX_VALUE
+        );
+        t = Math.min(t, 1);
+
+        return new double[] { centreX + dx * t, centreY + dy * t };
+    }
+
+    // the lines are centred on the given point
+    private void writeText(List<TextLine> lines, int centreX, int centreY, String colour, int depth, Writer writer) throws IOException {
+        int totalHeight = 0;
+        for (TextLine line : lines) {
+            totalHeight += line.getHeight();
+        }
+
+        int y = centreY - totalHeight / 2;
+        for (TextLine line : lines) {
+            y += line.getHeight();
+            if (!line.text.isEmpty()) {
+                indent(writer, depth);
+                writer.write("<text x=\"" + centreX + "\" y=\"" + (y - line.fontSize / 4) + "\" text-anchor=\"middle\" font-size=\"" + line.fontSize + "\"");
+                if (line.bold) {
+                    writer.write(" font-weight=\"bold\"");
+                }
+                writer.write(" fill=\"" + colour + "\">" + escape(line.text) + "</text>\n");
+            }
+        }
+    }
+
+    // wraps the given text into lines that (approximately) fit the given width
+    private static List<String> wrap(String text, int width, int fontSize) {
+        List<String> lines = new ArrayList<>();
+        if (StringUtils.isNullOrEmpty(text)) {
+            return lines;
+        }
+
+        int maximumCharacters = Math.max(1, (int)(width / (fontSize * CHARACTER_WIDTH)));
+        for (String paragraph : text.split("\r?\n")) {
+            StringBuilder line = new StringBuilder();
+            for (String word : paragraph.split(" ")) {
+                if (line.length() > 0 && line.length() + 1 + word.length() > maximumCharacters) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+
+                if (line.length() > 0) {
+                    line.append(' ');
+                }
+                line.append(word);
+            }
+            lines.add(line.toString());
+        }
+
+        return lines;
+    }
+
+    private static String shape(Shape shape, int x, int y, int width, int height) {
+        if (shape == null) {
+            shape = Shape.Box;
+        }
+
+        switch (shape) {
+            case Circle:
+            case Ellipse:
+                return "<ellipse cx=\"" + (x + width / 2) + "\" cy=\"" + (y + height / 2) + "\" rx=\"" + (width / 2) + "\" ry=\"" + (height / 2) + "\"";
+            case Hexagon:
+                int inset = width / 4;
+                return "<polygon points=\"" + (x + inset) + "," + y + " " + (x + width - inset) + "," + y + " " + (x + width) + "," + (y + height / 2) + " "
+                        + (x + width - inset) + "," + (y + height) + " " + (x + inset) + "," + (y + height) + " " + x + "," + (y + height / 2) + "\"";
+            case Diamond:
+                return "<polygon points=\"" + (x + width / 2) + "," + y + " " + (x + width) + "," + (y + height / 2) + " "
+                        + (x + width / 2) + "," + (y + height) + " " + x + "," + (y + height / 2) + "\"";
+            case Cylinder:
+                int ry = height / 10;
+                return "<path d=\"M " + x + " " + (y + ry) + " A " + (width / 2) + " " + ry + " 0 0 0 " + (x + width) + " " + (y + ry)
+                        + " A " + (width / 2) + " " + ry + " 0 0 0 " + x + " " + (y + ry)
+                        + " L " + x + " " + (y + height - ry) + " A " + (width / 2) + " " + ry + " 0 0 0 " + (x + width) + " " + (y + height - ry)
+                        + " L " + (x + width) + " " + (y + ry) + "\"";
+            case Box:
+                return "<rect x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height + "\"";
+            default:
+                return "<rect x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height + "\" rx=\"20\"";
+        }
+    }
+
+    private static String border(Border border) {
+        if (border == Border.Dashed) {
+            return " stroke-dasharray=\"20,20\"";
+        } else if (border == Border.Dotted) {
+            return " stroke-dasharray=\"5,10\"";
+        }
+
+        return "";
+    }
+
+    private static String opacity(Integer opacity) {
+        if (opacity == null || opacity >= 100) {
+            return "";
+        }
+
+        return " opacity=\"" + String.format(Locale.ROOT, "%.2f", Math.max(0, opacity) / 100.0) + "\"";
+    }
+
+    private static int width(ElementStyle style) {
+        return style != null && style.getWidth() != null ? style.getWidth() : ElementStyle.DEFAULT_WIDTH;
+    }
+
+    private static int height(ElementStyle style) {
+        return style != null && style.getHeight() != null ? style.getHeight() : ElementStyle.DEFAULT_HEIGHT;
+    }
+
+    private static String colour(String colour, String defaultColour) {
+        return !StringUtils.isNullOrEmpty(colour) ? escape(colour) : defaultColour;
+    }
+
+    private static String number(double d) {
+        return String.valueOf(Math.round(d));
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+
+        StringBuilder buf = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&':
+                    buf.append("&amp;");
+                    break;
+                case '<':
+                    buf.append("&lt;");
+                    break;
+                case '>':
+                    buf.append("&gt;");
+                    break;
+                case '"':
+                    buf.append("&quot;");
+                    break;
+                default:
+                    buf.append(c);
+            }
+        }
+
+        return buf.toString();
+    }
+
+    private static final class TextLine {
+
+        private final String text;
+        private final int fontSize;
+        private final boolean bold;
+
+        TextLine(String text, int fontSize, boolean bold) {
+            this.text = text;
+            this.fontSize = fontSize;
+            this.bold = bold;
+        }
+
+        int getHeight() {
+            return fontSize * 6 / 5;
+        }
+
+    }
+
+}
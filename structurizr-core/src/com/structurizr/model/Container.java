@@ -146,6 +146,12 @@ public final class Container extends StaticStructureElement {
         }
     }
 
+    void adoptComponents(Set<Component> components) {
+        if (components != null) {
+            this.components = components;
+        }
+    }
+
     /**
      * Gets the component with the specified name.
      *
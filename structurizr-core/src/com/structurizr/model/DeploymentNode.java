@@ -302,6 +302,12 @@ public final class DeploymentNode extends DeploymentElement {
         }
     }
 
+    void adoptChildren(Set<DeploymentNode> children) {
+        if (children != null) {
+            this.children = children;
+        }
+    }
+
     /**
      * Gets the set of child infrastructure nodes.
      *
@@ -317,6 +323,12 @@ public final class DeploymentNode extends DeploymentElement {
         }
     }
 
+    void adoptInfrastructureNodes(Set<InfrastructureNode> infrastructureNodes) {
+        if (infrastructureNodes != null) {
+            this.infrastructureNodes = infrastructureNodes;
+        }
+    }
+
     @JsonIgnore
     public boolean hasChildren() {
         return !children.isEmpty();
@@ -337,6 +349,12 @@ public final class DeploymentNode extends DeploymentElement {
         }
     }
 
+    void adoptSoftwareSystemInstances(Set<SoftwareSystemInstance> softwareSystemInstances) {
+        if (softwareSystemInstances != null) {
+            this.softwareSystemInstances = softwareSystemInstances;
+        }
+    }
+
     /**
      * Gets the set of container instances associated with this deployment node.
      *
@@ -352,6 +370,12 @@ public final class DeploymentNode extends DeploymentElement {
         }
     }
 
+    void adoptContainerInstances(Set<ContainerInstance> containerInstances) {
+        if (containerInstances != null) {
+            this.containerInstances = containerInstances;
+        }
+    }
+
     public String getTechnology() {
         return technology;
     }
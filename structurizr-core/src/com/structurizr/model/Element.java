@@ -93,6 +93,12 @@ public abstract class Element extends ModelItem {
         }
     }
 
+    void adoptRelationships(Set<Relationship> relationships) {
+        if (relationships != null) {
+            this.relationships = relationships;
+        }
+    }
+
     /**
      * Determines whether this element has afferent (incoming) relationships.
      *
@@ -2,10 +2,13 @@ package com.structurizr.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.structurizr.WorkspaceValidationException;
+import com.structurizr.util.ParallelUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +30,11 @@ public final class Model {
 
     private ImpliedRelationshipsStrategy impliedRelationshipsStrategy = new DefaultImpliedRelationshipsStrategy();
 
+    private final List<ModelListener> listeners = new CopyOnWriteArrayList<>();
+
+    // incremented whenever the tags of a relationship, or anything its default tags depend upon, change
+    private volatile int relationshipTagsVersion;
+
     Model() {
     }
 
@@ -312,25 +320,89 @@ public final class Model {
     }
 
     private void addElementToInternalStructures(Element element) {
+        addElementToInternalStructures(element, true);
+    }
+
+    private void addElementToInternalStructures(Element element, boolean checkId) {
         // check that the ID is unique
-        if (getElement(element.getId()) != null || getRelationship(element.getId()) != null) {
+        if (checkId && (getElement(element.getId()) != null || getRelationship(element.getId()) != null)) {
             throw new WorkspaceValidationException("The element " + element.getCanonicalName() + " has a non-unique ID of " + element.getId() + ".");
         }
 
         elementsById.put(element.getId(), element);
         element.setModel(this);
         idGenerator.found(element.getId());
+
+        for (ModelListener listener : listeners) {
+            listener.elementAdded(element);
+        }
     }
 
     private void addRelationshipToInternalStructures(Relationship relationship) {
+        addRelationshipToInternalStructures(relationship, true);
+    }
+
+    private void addRelationshipToInternalStructures(Relationship relationship, boolean checkId) {
         // check that the ID is unique
-        if (getElement(relationship.getId()) != null || getRelationship(relationship.getId()) != null) {
+        if (checkId && (getElement(relationship.getId()) != null || getRelationship(relationship.getId()) != null)) {
             throw new WorkspaceValidationException("The relationship " + relationship.toString() + " has a non-unique ID of " + relationship.getId() + ".");
         }
 
         relationshipsById.put(relationship.getId(), relationship);
         relationship.setModel(this);
         idGenerator.found(relationship.getId());
+
+        for (ModelListener listener : listeners) {
+            listener.relationshipAdded(relationship);
+        }
+    }
+
+    void tagsChanged(ModelItem modelItem) {
+        if (modelItem instanceof Relationship) {
+            relationshipTagsChanged();
+        }
+
+        for (ModelListener listener : listeners) {
+            listener.tagsChanged(modelItem);
+        }
+    }
+
+    void relationshipTagsChanged() {
+        relationshipTagsVersion++;
+    }
+
+    /**
+     * Gets a version number that changes whenever the tags of a relationship in this model change,
+     * so that anything derived from the tags of relationships can be checked to see whether it is up to date.
+     *
+     * @return  an int version number
+     */
+    @JsonIgnore
+    public int getRelationshipTagsVersion() {
+        return relationshipTagsVersion;
+    }
+
+    /**
+     * Registers a listener that will be notified when elements or relationships are added to this model,
+     * or when their tags change.
+     *
+     * @param listener  a ModelListener implementation
+     */
+    public void addListener(@Nonnull ModelListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A listener must be specified.");
+        }
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener previously registered with {@link #addListener(ModelListener)}.
+     *
+     * @param listener  a ModelListener implementation
+     */
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -403,6 +475,13 @@ public final class Model {
         }
     }
 
+    // used when deserializing, where each set is created for (and only referenced by) this model
+    void adoptCustomElements(Set<CustomElement> customElements) {
+        if (customElements != null) {
+            this.customElements = customElements;
+        }
+    }
+
     /**
      * Gets the set of all people in this model.
      *
@@ -419,6 +498,12 @@ public final class Model {
         }
     }
 
+    void adoptPeople(Set<Person> people) {
+        if (people != null) {
+            this.people = people;
+        }
+    }
+
     /**
      * Gets the set of all software systems in this model.
      *
@@ -435,6 +520,12 @@ public final class Model {
         }
     }
 
+    void adoptSoftwareSystems(Set<SoftwareSystem> softwareSystems) {
+        if (softwareSystems != null) {
+            this.softwareSystems = softwareSystems;
+        }
+    }
+
     /**
      * Gets the set of all top-level deployment nodes in this model.
      *
@@ -451,67 +542,153 @@ public final class Model {
         }
     }
 
+    void adoptDeploymentNodes(Set<DeploymentNode> deploymentNodes) {
+        if (deploymentNodes != null) {
+            this.deploymentNodes = deploymentNodes;
+        }
+    }
+
     void hydrate() {
+        hydrate(null, true);
+    }
+
+    /**
+     * Re-creates the object graph (based upon element/relationship IDs) after deserialising JSON.
+     *
+     * @param forkJoinPool  the ForkJoinPool used to resolve relationships and run the checks, or null to run
+     *                      everything on the calling thread
+     * @param validate      whether to check that IDs, names and relationship descriptions are unique; if not,
+     *                      only references are resolved, and the checks can be run later (see {@link #validate(ForkJoinPool)})
+     */
+    void hydrate(ForkJoinPool forkJoinPool, boolean validate) {
         // add all of the elements to the model
-        customElements.forEach(this::addElementToInternalStructures);
-        people.forEach(this::addElementToInternalStructures);
+        customElements.forEach(customElement -> addElementToInternalStructures(customElement, validate));
+        people.forEach(person -> addElementToInternalStructures(person, validate));
 
         for (SoftwareSystem softwareSystem : softwareSystems) {
-            addElementToInternalStructures(softwareSystem);
+            addElementToInternalStructures(softwareSystem, validate);
             for (Container container : softwareSystem.getContainers()) {
-                addElementToInternalStructures(container);
+                addElementToInternalStructures(container, validate);
                 container.setParent(softwareSystem);
                 for (Component component : container.getComponents()) {
-                    addElementToInternalStructures(component);
+                    addElementToInternalStructures(component, validate);
                     component.setParent(container);
                 }
             }
         }
 
-        deploymentNodes.forEach(dn -> hydrateDeploymentNode(dn, null));
+        deploymentNodes.forEach(dn -> hydrateDeploymentNode(dn, null, validate));
 
-        // now hydrate the relationships
-        getElements().forEach(this::hydrateRelationships);
+        // now hydrate the relationships; once all of the elements have been added, the source and destination of
+        // each relationship can be resolved independently, but relationships are added to the model sequentially
+        List<Element> elements = new ArrayList<>(elementsById.values());
+        ParallelUtils.runAll(elements.stream().map(element -> (Runnable)() -> hydrateRelationships(element)).collect(Collectors.toList()), forkJoinPool);
+        elements.forEach(element -> element.getRelationships().forEach(relationship -> addRelationshipToInternalStructures(relationship, validate)));
 
-        // now check all of the element names are unique
-        Collection<Element> peopleAndSoftwareSystems = new ArrayList<>();
-        peopleAndSoftwareSystems.addAll(people);
-        peopleAndSoftwareSystems.addAll(softwareSystems);
-        for (Element element : peopleAndSoftwareSystems) {
-            checkNameIsUnique(peopleAndSoftwareSystems, element.getName(), "A person or software system named \"%s\" already exists.");
+        if (validate) {
+            ParallelUtils.runAll(createChecks(elements), forkJoinPool);
         }
+    }
 
+    /**
+     * Runs the checks that are skipped when a model is hydrated without validation, reporting the same
+     * (first) error as {@link #hydrate(ForkJoinPool, boolean)} would have done.
+     *
+     * @param forkJoinPool  the ForkJoinPool used to run the checks, or null to run them on the calling thread
+     */
+    void validate(ForkJoinPool forkJoinPool) {
+        // elements are checked in the order they are added when hydrating, followed by relationships
+        Set<String> ids = new HashSet<>();
+        List<Element> elements = new ArrayList<>();
+        elements.addAll(customElements);
+        elements.addAll(people);
         for (SoftwareSystem softwareSystem : softwareSystems) {
+            elements.add(softwareSystem);
             for (Container container : softwareSystem.getContainers()) {
-                checkNameIsUnique(softwareSystem.getContainers(), container.getName(), "A container named \"%s\" already exists within \"" + softwareSystem.getName() + "\".");
+                elements.add(container);
+                elements.addAll(container.getComponents());
+            }
+        }
+        deploymentNodes.forEach(dn -> addDeploymentNodeAndChildren(dn, elements));
 
-                for (Component component : container.getComponents()) {
-                    checkNameIsUnique(container.getComponents(), component.getName(), "A component named \"%s\" already exists within \"" + container.getName() + "\".");
+        for (Element element : elements) {
+            if (!ids.add(element.getId())) {
+                throw new WorkspaceValidationException("The element " + element.getCanonicalName() + " has a non-unique ID of " + element.getId() + ".");
+            }
+        }
+
+        List<Element> registeredElements = new ArrayList<>(elementsById.values());
+        for (Element element : registeredElements) {
+            for (Relationship relationship : element.getRelationships()) {
+                if (!ids.add(relationship.getId())) {
+                    throw new WorkspaceValidationException("The relationship " + relationship.toString() + " has a non-unique ID of " + relationship.getId() + ".");
                 }
             }
         }
 
+        ParallelUtils.runAll(createChecks(registeredElements), forkJoinPool);
+    }
+
+    private void addDeploymentNodeAndChildren(DeploymentNode deploymentNode, List<Element> elements) {
+        elements.add(deploymentNode);
+        deploymentNode.getChildren().forEach(child -> addDeploymentNodeAndChildren(child, elements));
+        elements.addAll(deploymentNode.getSoftwareSystemInstances());
+        elements.addAll(deploymentNode.getContainerInstances());
+        elements.addAll(deploymentNode.getInfrastructureNodes());
+    }
+
+    // the checks are independent of each other, and are run in the same order, whether sequentially or in parallel
+    private List<Runnable> createChecks(List<Element> elements) {
+        List<Runnable> checks = new ArrayList<>();
+
+        // check all of the element names are unique
+        Collection<Element> peopleAndSoftwareSystems = new ArrayList<>();
+        peopleAndSoftwareSystems.addAll(people);
+        peopleAndSoftwareSystems.addAll(softwareSystems);
+        checks.add(() -> checkNamesAreUnique(peopleAndSoftwareSystems, "A person or software system named \"%s\" already exists."));
+
+        for (SoftwareSystem softwareSystem : softwareSystems) {
+            checks.add(() -> {
+                Set<Container> containers = softwareSystem.getContainers();
+                for (Container container : containers) {
+                    checkNameIsUnique(containers, container.getName(), "A container named \"%s\" already exists within \"" + softwareSystem.getName() + "\".");
+
+                    Set<Component> components = container.getComponents();
+                    for (Component component : components) {
+                        checkNameIsUnique(components, component.getName(), "A component named \"%s\" already exists within \"" + container.getName() + "\".");
+                    }
+                }
+            });
+        }
+
         for (DeploymentNode deploymentNode : deploymentNodes) {
-            checkNameIsUnique(deploymentNodes, deploymentNode.getName(), deploymentNode.getEnvironment(), "A top-level deployment node named \"%s\" already exists for the environment named \"" + deploymentNode.getEnvironment() + "\".");
+            checks.add(() -> {
+                checkNameIsUnique(deploymentNodes, deploymentNode.getName(), deploymentNode.getEnvironment(), "A top-level deployment node named \"%s\" already exists for the environment named \"" + deploymentNode.getEnvironment() + "\".");
 
-            if (deploymentNode.hasChildren()) {
-                checkChildNamesAreUnique(deploymentNode);
-            }
+                if (deploymentNode.hasChildren()) {
+                    checkChildNamesAreUnique(deploymentNode);
+                }
+            });
         }
 
         // and check that all relationships are unique
-        for (Element element : getElements()) {
-            for (Relationship relationship : element.getRelationships()) {
-                checkDescriptionIsUnique(element.getRelationships(), relationship);
-            }
+        for (Element element : elements) {
+            checks.add(() -> {
+                Set<Relationship> relationships = element.getRelationships();
+                for (Relationship relationship : relationships) {
+                    checkDescriptionIsUnique(relationships, relationship);
+                }
+            });
         }
+
+        return checks;
     }
 
-    private void hydrateDeploymentNode(DeploymentNode deploymentNode, DeploymentNode parent) {
+    private void hydrateDeploymentNode(DeploymentNode deploymentNode, DeploymentNode parent, boolean validate) {
         deploymentNode.setParent(parent);
-        addElementToInternalStructures(deploymentNode);
+        addElementToInternalStructures(deploymentNode, validate);
 
-        deploymentNode.getChildren().forEach(child -> hydrateDeploymentNode(child, deploymentNode));
+        deploymentNode.getChildren().forEach(child -> hydrateDeploymentNode(child, deploymentNode, validate));
 
         for (SoftwareSystemInstance softwareSystemInstance : deploymentNode.getSoftwareSystemInstances()) {
             Element softwareSystem = getElement(softwareSystemInstance.getSoftwareSystemId());
@@ -522,7 +699,7 @@ public final class Model {
 
             softwareSystemInstance.setSoftwareSystem((SoftwareSystem)softwareSystem);
             softwareSystemInstance.setParent(deploymentNode);
-            addElementToInternalStructures(softwareSystemInstance);
+            addElementToInternalStructures(softwareSystemInstance, validate);
         }
 
         for (ContainerInstance containerInstance : deploymentNode.getContainerInstances()) {
@@ -534,12 +711,12 @@ public final class Model {
 
             containerInstance.setContainer((Container)container);
             containerInstance.setParent(deploymentNode);
-            addElementToInternalStructures(containerInstance);
+            addElementToInternalStructures(containerInstance, validate);
         }
 
         for (InfrastructureNode infrastructureNode : deploymentNode.getInfrastructureNodes()) {
             infrastructureNode.setParent(deploymentNode);
-            addElementToInternalStructures(infrastructureNode);
+            addElementToInternalStructures(infrastructureNode, validate);
         }
     }
 
@@ -550,6 +727,19 @@ public final class Model {
         }
     }
 
+    // equivalent to calling checkNameIsUnique for each element (in order), without comparing every pair of names
+    private void checkNamesAreUnique(Collection<? extends Element> elements, String errorMessage) {
+        Map<String, Integer> numberOfElementsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        elements.forEach(e -> numberOfElementsByName.merge(e.getName(), 1, Integer::sum));
+
+        for (Element element : elements) {
+            if (numberOfElementsByName.get(element.getName()) != 1) {
+                throw new WorkspaceValidationException(
+                        String.format(errorMessage, element.getName()));
+            }
+        }
+    }
+
     private void checkNameIsUnique(Collection<DeploymentNode> deploymentNodes, String name, String environment, String errorMessage) {
         if (deploymentNodes.stream().filter(dn -> dn.getName().equalsIgnoreCase(name) && dn.getEnvironment().equals(environment)).count() != 1) {
             throw new WorkspaceValidationException(
@@ -580,7 +770,6 @@ public final class Model {
         for (Relationship relationship : element.getRelationships()) {
             relationship.setSource(getElement(relationship.getSourceId()));
             relationship.setDestination(getElement(relationship.getDestinationId()));
-            addRelationshipToInternalStructures(relationship);
         }
     }
 
@@ -630,7 +819,13 @@ public final class Model {
             throw new IllegalArgumentException("A software system ID must be specified.");
         }
 
-        for (SoftwareSystem softwareSystem : getSoftwareSystems()) {
+        // software systems are looked up by ID once the model has been hydrated (e.g. when hydrating views)
+        Element element = elementsById.get(id);
+        if (element instanceof SoftwareSystem) {
+            return (SoftwareSystem)element;
+        }
+
+        for (SoftwareSystem softwareSystem : softwareSystems) {
             if (softwareSystem.getId().equals(id)) {
                 return softwareSystem;
             }
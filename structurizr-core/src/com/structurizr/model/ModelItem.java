@@ -6,6 +6,7 @@ import com.structurizr.util.StringUtils;
 import com.structurizr.util.Url;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * The base class for elements and relationships.
@@ -15,6 +16,9 @@ public abstract class ModelItem implements PropertyHolder {
     private String id = "";
     private Set<String> tags = new LinkedHashSet<>();
 
+    // the comma separated list of tags (including the default tags), built when first needed after the tags change
+    private volatile String tagsAsString;
+
     private String url;
     private Map<String, String> properties = new HashMap<>();
     private Set<Perspective> perspectives = new HashSet<>();
@@ -25,6 +29,9 @@ public abstract class ModelItem implements PropertyHolder {
     @JsonIgnore
     public abstract Set<String> getDefaultTags();
 
+    @JsonIgnore
+    public abstract Model getModel();
+
     /**
      * Gets the ID of this item in the model.
      *
@@ -45,20 +52,35 @@ public abstract class ModelItem implements PropertyHolder {
      *          or an empty string if there are no tags
      */
     public String getTags() {
+        String tagsAsString = this.tagsAsString;
+        if (tagsAsString != null) {
+            return tagsAsString;
+        }
+
         Set<String> setOfTags = getTagsAsSet();
 
         if (setOfTags.isEmpty()) {
-            return "";
-        }
+            tagsAsString = "";
+        } else {
+            StringBuilder buf = new StringBuilder();
+            for (String tag : setOfTags) {
+                buf.append(tag);
+                buf.append(",");
+            }
 
-        StringBuilder buf = new StringBuilder();
-        for (String tag : setOfTags) {
-            buf.append(tag);
-            buf.append(",");
+            tagsAsString = buf.substring(0, buf.length() - 1);
         }
 
-        String tagsAsString = buf.toString();
-        return tagsAsString.substring(0, tagsAsString.length()-1);
+        this.tagsAsString = tagsAsString;
+        return tagsAsString;
+    }
+
+    /**
+     * Discards the comma separated list of tags, so that it's rebuilt when next needed
+     * (called when the tags, or anything the default tags depend upon, change).
+     */
+    void defaultTagsChanged() {
+        this.tagsAsString = null;
     }
 
     @JsonIgnore
@@ -70,13 +92,24 @@ public abstract class ModelItem implements PropertyHolder {
     }
 
     void setTags(String tags) {
+        setTags(tags, UnaryOperator.identity());
+    }
+
+    // the deduplicator is used when deserialising, to share equal tag strings between model items
+    void setTags(String tags, UnaryOperator<String> deduplicator) {
+        boolean changed = !this.tags.isEmpty();
         this.tags.clear();
+        this.tagsAsString = null;
 
-        if (tags == null) {
-            return;
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                changed = this.tags.add(deduplicator.apply(tag)) || changed;
+            }
         }
 
-        Collections.addAll(this.tags, tags.split(","));
+        if (changed) {
+            tagsChanged();
+        }
     }
 
     public void addTags(String... tags) {
@@ -84,11 +117,16 @@ public abstract class ModelItem implements PropertyHolder {
             return;
         }
 
+        boolean changed = false;
         for (String tag : tags) {
             if (tag != null) {
-                this.tags.add(tag.trim());
+                changed = this.tags.add(tag.trim()) || changed;
             }
         }
+
+        if (changed) {
+            tagsChanged();
+        }
     }
 
     /**
@@ -99,12 +137,22 @@ public abstract class ModelItem implements PropertyHolder {
      *                  made to remove required tags, which cannot be removed.
      */
     public boolean removeTag(String tag) {
-        if (tag != null) {
-            return this.tags.remove(tag.trim());
+        if (tag != null && this.tags.remove(tag.trim())) {
+            tagsChanged();
+            return true;
         }
         return false;
     }
 
+    private void tagsChanged() {
+        this.tagsAsString = null;
+
+        Model model = getModel();
+        if (model != null) {
+            model.tagsChanged(this);
+        }
+    }
+
     /**
      * Determines whether this model item has the given tag.
      *
@@ -0,0 +1,33 @@
+package com.structurizr.model;
+
+/**
+ * The interface for objects that want to be notified when a model changes (see {@link Model#addListener(ModelListener)}).
+ * Listeners are notified synchronously, on the thread making the change, after the change has been made.
+ */
+public interface ModelListener {
+
+    /**
+     * Called when an element has been added to the model.
+     *
+     * @param element       the Element that has been added
+     */
+    default void elementAdded(Element element) {
+    }
+
+    /**
+     * Called when a relationship (including an implied relationship) has been added to the model.
+     *
+     * @param relationship  the Relationship that has been added
+     */
+    default void relationshipAdded(Relationship relationship) {
+    }
+
+    /**
+     * Called when tags have been added to, or removed from, an element or relationship in the model.
+     *
+     * @param modelItem     the Element or Relationship whose tags have changed
+     */
+    default void tagsChanged(ModelItem modelItem) {
+    }
+
+}
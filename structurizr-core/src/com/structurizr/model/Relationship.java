@@ -139,6 +139,11 @@ public final class Relationship extends ModelItem {
 
     void setInteractionStyle(InteractionStyle interactionStyle) {
         this.interactionStyle = interactionStyle;
+        defaultTagsChanged();
+
+        if (model != null) {
+            model.relationshipTagsChanged();
+        }
     }
 
     public String getLinkedRelationshipId() {
@@ -147,6 +152,11 @@ public final class Relationship extends ModelItem {
 
     void setLinkedRelationshipId(String baseRelationshipId) {
         this.linkedRelationshipId = baseRelationshipId;
+        defaultTagsChanged();
+
+        if (model != null) {
+            model.relationshipTagsChanged();
+        }
     }
 
     @Override
@@ -78,6 +78,12 @@ public final class SoftwareSystem extends StaticStructureElement implements Docu
         }
     }
 
+    void adoptContainers(Set<Container> containers) {
+        if (containers != null) {
+            this.containers = containers;
+        }
+    }
+
     /**
      * Adds a container with the specified name.
      *
@@ -66,6 +66,14 @@ public abstract class StaticStructureElementInstance extends DeploymentElement {
         }
     }
 
+    void adoptDeploymentGroups(Set<String> deploymentGroups) {
+        if (deploymentGroups != null) {
+            this.deploymentGroups = deploymentGroups;
+        } else {
+            this.deploymentGroups = new HashSet<>();
+        }
+    }
+
     // provided for backwards compatibility
     void setDeploymentGroup(String deploymentGroup) {
         this.deploymentGroups = Collections.singleton(deploymentGroup);
@@ -0,0 +1,49 @@
+package com.structurizr.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public final class ParallelUtils {
+
+    /**
+     * Runs a list of independent tasks, in parallel on the given fork/join pool, or in order on the calling
+     * thread if no pool is specified. Either way, if any of the tasks fail, the exception that is thrown is the
+     * one from the first failing task in the list, so that (e.g. validation) errors are reported deterministically.
+     *
+     * @param tasks             the tasks to run
+     * @param forkJoinPool      the ForkJoinPool to run the tasks on, or null to run them on the calling thread
+     * @throws RuntimeException the exception thrown by the first failing task (all other tasks are still run
+     *                          when a pool is specified)
+     */
+    public static void runAll(@Nonnull List<? extends Runnable> tasks, @Nullable ForkJoinPool forkJoinPool) {
+        if (tasks == null) {
+            throw new IllegalArgumentException("A list of tasks must be specified.");
+        }
+
+        if (forkJoinPool == null || tasks.size() < 2) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        // exceptions are caught (rather than being rethrown by the fork/join framework, which may wrap them)
+        // and indexed by task, so that the first in list order can be rethrown
+        RuntimeException[] exceptions = new RuntimeException[tasks.size()];
+        forkJoinPool.submit(() -> IntStream.range(0, tasks.size()).parallel().forEach(i -> {
+            try {
+                tasks.get(i).run();
+            } catch (RuntimeException e) {
+                exceptions[i] = e;
+            }
+        })).join();
+
+        for (RuntimeException exception : exceptions) {
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
+}
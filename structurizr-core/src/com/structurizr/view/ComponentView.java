@@ -195,6 +195,28 @@ public final class ComponentView extends StaticView {
         super.addNearestNeighbours(element, Component.class);
     }
 
+    @Override
+    boolean isIncludedInDefaultElements(Element element) {
+        return element instanceof Component && element.getParent() == getContainer();
+    }
+
+    @Override
+    boolean isDefaultNeighbour(Element elementInView, Element element) {
+        if (!isIncludedInDefaultElements(elementInView)) {
+            return false;
+        }
+
+        return element instanceof CustomElement || element instanceof Person || element instanceof SoftwareSystem ||
+                (element instanceof Container && element.getParent() == getSoftwareSystem());
+    }
+
+    @Override
+    boolean isIncludedInAllElements(Element element) {
+        return super.isIncludedInAllElements(element) ||
+                (element instanceof Container && element.getParent() == getSoftwareSystem()) ||
+                isIncludedInDefaultElements(element);
+    }
+
     /**
      * <p>Adds all {@link Element}s external to the container (Person, SoftwareSystem or Container)
      * that have {@link Relationship}s <b>to</b> or <b>from</b> {@link Component}s in this view.</p>
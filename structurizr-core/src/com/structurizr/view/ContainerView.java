@@ -115,6 +115,22 @@ public final class ContainerView extends StaticView {
         super.addNearestNeighbours(element, Container.class);
     }
 
+    @Override
+    boolean isIncludedInDefaultElements(Element element) {
+        return element instanceof Container && element.getParent() == getSoftwareSystem();
+    }
+
+    @Override
+    boolean isDefaultNeighbour(Element elementInView, Element element) {
+        return isIncludedInDefaultElements(elementInView) &&
+                (element instanceof CustomElement || element instanceof Person || element instanceof SoftwareSystem);
+    }
+
+    @Override
+    boolean isIncludedInAllElements(Element element) {
+        return super.isIncludedInAllElements(element) || isIncludedInDefaultElements(element);
+    }
+
     /**
      * <p>Adds all {@link com.structurizr.model.Container}s of the given {@link ContainerView} as well as all external influencers, that is all
      * persons and all other software systems with incoming or outgoing dependencies.</p>
@@ -7,8 +7,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A default implementation of a LayoutMergeStrategy that:
@@ -21,11 +24,18 @@ import java.util.Map;
  * - the element's full canonical name
  * - the element's name
  * - the element's description
+ * - the element's ID
+ *
+ * The source view is indexed once per merge, so each element and relationship is matched with hash lookups
+ * rather than by scanning the source view.
  */
 public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
 
     private static final Log log = LogFactory.getLog(View.class);
 
+    // the element indexes for the source views currently being merged
+    private final Map<View, ElementViewIndex> elementViewIndexes = new ConcurrentHashMap<>();
+
     /**
      * Attempts to copy the visual layout information (e.g. x,y coordinates) of elements and relationships
      * from the specified source view into the specified destination view.
@@ -37,34 +47,44 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         setPaperSizeIfNotSpecified(viewWithLayoutInformation, viewWithoutLayoutInformation);
         setDimensionsIfNotSpecified(viewWithLayoutInformation, viewWithoutLayoutInformation);
 
-        Map<ElementView, ElementView> elementViewMap = new HashMap<>();
-        Map<Element, Element> elementMap = new HashMap<>();
-
-        for (ElementView elementViewWithoutLayoutInformation : viewWithoutLayoutInformation.getElements()) {
-            ElementView elementViewWithLayoutInformation = findElementView(viewWithLayoutInformation, elementViewWithoutLayoutInformation.getElement());
-            if (elementViewWithLayoutInformation != null) {
-                elementViewMap.put(elementViewWithoutLayoutInformation, elementViewWithLayoutInformation);
-                elementMap.put(elementViewWithoutLayoutInformation.getElement(), elementViewWithLayoutInformation.getElement());
-            } else {
-                log.warn("There is no layout information for the element named " + elementViewWithoutLayoutInformation.getElement().getName() + " on view " + viewWithLayoutInformation.getKey());
+        ElementViewIndex elementViewIndex = new ElementViewIndex(viewWithLayoutInformation);
+        boolean indexAdded = elementViewIndexes.putIfAbsent(viewWithLayoutInformation, elementViewIndex) == null;
+
+        try {
+            Map<ElementView, ElementView> elementViewMap = new HashMap<>();
+            Map<Element, Element> elementMap = new HashMap<>();
+
+            for (ElementView elementViewWithoutLayoutInformation : viewWithoutLayoutInformation.getElements()) {
+                ElementView elementViewWithLayoutInformation = findElementView(viewWithLayoutInformation, elementViewWithoutLayoutInformation.getElement());
+                if (elementViewWithLayoutInformation != null) {
+                    elementViewMap.put(elementViewWithoutLayoutInformation, elementViewWithLayoutInformation);
+                    elementMap.put(elementViewWithoutLayoutInformation.getElement(), elementViewWithLayoutInformation.getElement());
+                } else {
+                    log.warn("There is no layout information for the element named " + elementViewWithoutLayoutInformation.getElement().getName() + " on view " + viewWithLayoutInformation.getKey());
+                }
             }
-        }
 
-        for (ElementView elementViewWithoutLayoutInformation : elementViewMap.keySet()) {
-            ElementView elementViewWithLayoutInformation = elementViewMap.get(elementViewWithoutLayoutInformation);
-            elementViewWithoutLayoutInformation.copyLayoutInformationFrom(elementViewWithLayoutInformation);
-        }
-
-        for (RelationshipView relationshipViewWithoutLayoutInformation : viewWithoutLayoutInformation.getRelationships()) {
-            RelationshipView relationshipViewWithLayoutInformation;
-            if (viewWithoutLayoutInformation instanceof DynamicView) {
-                relationshipViewWithLayoutInformation = findRelationshipView(viewWithLayoutInformation, relationshipViewWithoutLayoutInformation, elementMap);
-            } else {
-                relationshipViewWithLayoutInformation = findRelationshipView(viewWithLayoutInformation, relationshipViewWithoutLayoutInformation.getRelationship(), elementMap);
+            for (ElementView elementViewWithoutLayoutInformation : elementViewMap.keySet()) {
+                ElementView elementViewWithLayoutInformation = elementViewMap.get(elementViewWithoutLayoutInformation);
+                elementViewWithoutLayoutInformation.copyLayoutInformationFrom(elementViewWithLayoutInformation);
             }
 
-            if (relationshipViewWithLayoutInformation != null) {
-                relationshipViewWithoutLayoutInformation.copyLayoutInformationFrom(relationshipViewWithLayoutInformation);
+            Map<List<Object>, RelationshipView> relationshipViewIndex = indexRelationshipViews(viewWithLayoutInformation, viewWithoutLayoutInformation instanceof DynamicView);
+            for (RelationshipView relationshipViewWithoutLayoutInformation : viewWithoutLayoutInformation.getRelationships()) {
+                RelationshipView relationshipViewWithLayoutInformation;
+                if (viewWithoutLayoutInformation instanceof DynamicView) {
+                    relationshipViewWithLayoutInformation = findRelationshipView(relationshipViewIndex, relationshipViewWithoutLayoutInformation, elementMap);
+                } else {
+                    relationshipViewWithLayoutInformation = findRelationshipView(relationshipViewIndex, relationshipViewWithoutLayoutInformation.getRelationship(), elementMap);
+                }
+
+                if (relationshipViewWithLayoutInformation != null) {
+                    relationshipViewWithoutLayoutInformation.copyLayoutInformationFrom(relationshipViewWithLayoutInformation);
+                }
+            }
+        } finally {
+            if (indexAdded) {
+                elementViewIndexes.remove(viewWithLayoutInformation, elementViewIndex);
             }
         }
     }
@@ -89,30 +109,31 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
      * @return  an ElementView
      */
     protected ElementView findElementView(View viewWithLayoutInformation, Element elementWithoutLayoutInformation) {
-        // see if we can find an element with the same canonical name in the source view
-        ElementView elementView = viewWithLayoutInformation.getElements().stream().filter(ev -> ev.getElement().getCanonicalName().equals(elementWithoutLayoutInformation.getCanonicalName())).findFirst().orElse(null);
-
-        if (elementView == null) {
-            // no element was found, so try finding an element of the same type with the same name (in this situation, the parent element may have been renamed)
-            elementView = viewWithLayoutInformation.getElements().stream().filter(ev -> ev.getElement().getName().equals(elementWithoutLayoutInformation.getName()) && ev.getElement().getClass().equals(elementWithoutLayoutInformation.getClass())).findFirst().orElse(null);
+        ElementViewIndex elementViewIndex = elementViewIndexes.get(viewWithLayoutInformation);
+        if (elementViewIndex == null) {
+            elementViewIndex = new ElementViewIndex(viewWithLayoutInformation);
         }
 
-        if (elementView == null) {
-            // no element was found, so try finding an element of the same type with the same description if set (in this situation, the element itself may have been renamed)
-            if (!StringUtils.isNullOrEmpty(elementWithoutLayoutInformation.getDescription())) {
-                elementView = viewWithLayoutInformation.getElements().stream().filter(ev -> elementWithoutLayoutInformation.getDescription().equals(ev.getElement().getDescription()) && ev.getElement().getClass().equals(elementWithoutLayoutInformation.getClass())).findFirst().orElse(null);
-            }
-        }
+        return elementViewIndex.find(elementWithoutLayoutInformation);
+    }
 
-        if (elementView == null) {
-            // no element was found, so try finding an element of the same type with the same ID (in this situation, the name and description may have changed)
-            elementView = viewWithLayoutInformation.getElements().stream().filter(ev -> ev.getElement().getId().equals(elementWithoutLayoutInformation.getId()) && ev.getElement().getClass().equals(elementWithoutLayoutInformation.getClass())).findFirst().orElse(null);
+    private Map<List<Object>, RelationshipView> indexRelationshipViews(View viewWithLayoutInformation, boolean dynamicView) {
+        Map<List<Object>, RelationshipView> index = new HashMap<>();
+
+        for (RelationshipView rv : viewWithLayoutInformation.getRelationships()) {
+            Relationship relationship = rv.getRelationship();
+
+            if (dynamicView) {
+                index.putIfAbsent(Arrays.asList(relationship.getSource(), relationship.getDestination(), rv.getDescription(), rv.getOrder()), rv);
+            } else {
+                index.putIfAbsent(Arrays.asList(relationship.getSource(), relationship.getDestination(), relationship.getDescription()), rv);
+            }
         }
 
-        return elementView;
+        return index;
     }
 
-    private RelationshipView findRelationshipView(View viewWithLayoutInformation, Relationship relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
+    private RelationshipView findRelationshipView(Map<List<Object>, RelationshipView> relationshipViewIndex, Relationship relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
         if (!elementMap.containsKey(relationshipWithoutLayoutInformation.getSource()) || !elementMap.containsKey(relationshipWithoutLayoutInformation.getDestination())) {
             return null;
         }
@@ -120,20 +141,10 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         Element sourceElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getSource());
         Element destinationElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getDestination());
 
-        for (RelationshipView rv : viewWithLayoutInformation.getRelationships()) {
-            if (
-                rv.getRelationship().getSource().equals(sourceElementWithLayoutInformation) &&
-                rv.getRelationship().getDestination().equals(destinationElementWithLayoutInformation) &&
-                rv.getRelationship().getDescription().equals(relationshipWithoutLayoutInformation.getDescription())
-            ) {
-                return rv;
-            }
-        }
-
-        return null;
+        return relationshipViewIndex.get(Arrays.asList(sourceElementWithLayoutInformation, destinationElementWithLayoutInformation, relationshipWithoutLayoutInformation.getDescription()));
     }
 
-    private RelationshipView findRelationshipView(View view, RelationshipView relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
+    private RelationshipView findRelationshipView(Map<List<Object>, RelationshipView> relationshipViewIndex, RelationshipView relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
         if (!elementMap.containsKey(relationshipWithoutLayoutInformation.getRelationship().getSource()) || !elementMap.containsKey(relationshipWithoutLayoutInformation.getRelationship().getDestination())) {
             return null;
         }
@@ -141,17 +152,55 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         Element sourceElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getRelationship().getSource());
         Element destinationElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getRelationship().getDestination());
 
-        for (RelationshipView rv : view.getRelationships()) {
-            if (
-                rv.getRelationship().getSource().equals(sourceElementWithLayoutInformation) &&
-                rv.getRelationship().getDestination().equals(destinationElementWithLayoutInformation) &&
-                rv.getDescription().equals(relationshipWithoutLayoutInformation.getDescription()) &&
-                rv.getOrder().equals(relationshipWithoutLayoutInformation.getOrder())) {
-                    return rv;
+        return relationshipViewIndex.get(Arrays.asList(sourceElementWithLayoutInformation, destinationElementWithLayoutInformation, relationshipWithoutLayoutInformation.getDescription(), relationshipWithoutLayoutInformation.getOrder()));
+    }
+
+    /**
+     * The elements in a source view, indexed by each of the properties used to match elements.
+     * Where several elements match, the first (in the order returned by the view) wins, as before.
+     */
+    private static final class ElementViewIndex {
+
+        private final Map<String, ElementView> byCanonicalName = new HashMap<>();
+        private final Map<List<Object>, ElementView> byName = new HashMap<>();
+        private final Map<List<Object>, ElementView> byDescription = new HashMap<>();
+        private final Map<List<Object>, ElementView> byId = new HashMap<>();
+
+        ElementViewIndex(View view) {
+            for (ElementView ev : view.getElements()) {
+                Element element = ev.getElement();
+
+                byCanonicalName.putIfAbsent(element.getCanonicalName(), ev);
+                byName.putIfAbsent(Arrays.asList(element.getClass(), element.getName()), ev);
+                byDescription.putIfAbsent(Arrays.asList(element.getClass(), element.getDescription()), ev);
+                byId.putIfAbsent(Arrays.asList(element.getClass(), element.getId()), ev);
             }
         }
 
-        return null;
+        ElementView find(Element element) {
+            // see if we can find an element with the same canonical name in the source view
+            ElementView elementView = byCanonicalName.get(element.getCanonicalName());
+
+            if (elementView == null) {
+                // no element was found, so try finding an element of the same type with the same name (in this situation, the parent element may have been renamed)
+                elementView = byName.get(Arrays.asList(element.getClass(), element.getName()));
+            }
+
+            if (elementView == null) {
+                // no element was found, so try finding an element of the same type with the same description if set (in this situation, the element itself may have been renamed)
+                if (!StringUtils.isNullOrEmpty(element.getDescription())) {
+                    elementView = byDescription.get(Arrays.asList(element.getClass(), element.getDescription()));
+                }
+            }
+
+            if (elementView == null) {
+                // no element was found, so try finding an element of the same type with the same ID (in this situation, the name and description may have changed)
+                elementView = byId.get(Arrays.asList(element.getClass(), element.getId()));
+            }
+
+            return elementView;
+        }
+
     }
 
 }
\ No newline at end of file
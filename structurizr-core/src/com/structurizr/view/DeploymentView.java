@@ -17,6 +17,7 @@ public final class DeploymentView extends View {
     private String environment = DeploymentElement.DEFAULT_DEPLOYMENT_ENVIRONMENT;
 
     private List<Animation> animations = new ArrayList<>();
+    private Set<String> elementIdsInAnimationSteps = null;
 
     DeploymentView() {
     }
@@ -375,24 +376,19 @@ public final class DeploymentView extends View {
     }
 
     private void addAnimationStep(Element... elements) {
-
-        Set<String> elementIdsInPreviousAnimationSteps = new HashSet<>();
-        for (Animation animationStep : animations) {
-            elementIdsInPreviousAnimationSteps.addAll(animationStep.getElements());
-        }
-
+        Set<String> elementIdsInPreviousAnimationSteps = getElementIdsInAnimationSteps();
+        Set<String> elementIdsInThisAnimationStep = new HashSet<>();
         Set<Element> elementsInThisAnimationStep = new HashSet<>();
         Set<Relationship> relationshipsInThisAnimationStep = new HashSet<>();
 
         for (Element element : elements) {
-            if (isElementInView(element) && !elementIdsInPreviousAnimationSteps.contains(element.getId())) {
-                elementIdsInPreviousAnimationSteps.add(element.getId());
+            if (isElementInView(element) && !elementIdsInPreviousAnimationSteps.contains(element.getId()) && elementIdsInThisAnimationStep.add(element.getId())) {
                 elementsInThisAnimationStep.add(element);
 
-                Element deploymentNode = findDeploymentNode(element);
+                // and the deployment nodes that the element is nested inside
+                Element deploymentNode = element.getParent();
                 while (deploymentNode != null) {
-                    if (!elementIdsInPreviousAnimationSteps.contains(deploymentNode.getId())) {
-                        elementIdsInPreviousAnimationSteps.add(deploymentNode.getId());
+                    if (!elementIdsInPreviousAnimationSteps.contains(deploymentNode.getId()) && elementIdsInThisAnimationStep.add(deploymentNode.getId())) {
                         elementsInThisAnimationStep.add(deploymentNode);
                     }
 
@@ -405,38 +401,30 @@ public final class DeploymentView extends View {
             throw new IllegalArgumentException("None of the specified container instances exist in this view.");
         }
 
-        for (RelationshipView relationshipView : this.getRelationships()) {
-            if (
-                    (elementsInThisAnimationStep.contains(relationshipView.getRelationship().getSource()) && elementIdsInPreviousAnimationSteps.contains(relationshipView.getRelationship().getDestination().getId())) ||
-                            (elementIdsInPreviousAnimationSteps.contains(relationshipView.getRelationship().getSource().getId()) && elementsInThisAnimationStep.contains(relationshipView.getRelationship().getDestination()))
-            ) {
-                relationshipsInThisAnimationStep.add(relationshipView.getRelationship());
+        // only the relationships connected to the elements in this step need to be considered
+        for (Element element : elementsInThisAnimationStep) {
+            for (RelationshipView relationshipView : getRelationshipViewsConnectedTo(element)) {
+                String otherElementId = element.getId().equals(relationshipView.getRelationship().getSourceId()) ? relationshipView.getRelationship().getDestinationId() : relationshipView.getRelationship().getSourceId();
+                if (elementIdsInPreviousAnimationSteps.contains(otherElementId) || elementIdsInThisAnimationStep.contains(otherElementId)) {
+                    relationshipsInThisAnimationStep.add(relationshipView.getRelationship());
+                }
             }
         }
 
+        elementIdsInPreviousAnimationSteps.addAll(elementIdsInThisAnimationStep);
         animations.add(new Animation(animations.size() + 1, elementsInThisAnimationStep, relationshipsInThisAnimationStep));
     }
 
-    private DeploymentNode findDeploymentNode(Element e) {
-        for (Element element : getModel().getElements()) {
-            if (element instanceof DeploymentNode) {
-                DeploymentNode deploymentNode = (DeploymentNode) element;
-
-                if (e instanceof ContainerInstance) {
-                    if (deploymentNode.getContainerInstances().contains(e)) {
-                        return deploymentNode;
-                    }
-                }
-
-                if (e instanceof InfrastructureNode) {
-                    if (deploymentNode.getInfrastructureNodes().contains(e)) {
-                        return deploymentNode;
-                    }
-                }
+    // the IDs of all elements shown in the animation steps so far, which is maintained as steps are added
+    private Set<String> getElementIdsInAnimationSteps() {
+        if (elementIdsInAnimationSteps == null) {
+            elementIdsInAnimationSteps = new HashSet<>();
+            for (Animation animationStep : animations) {
+                elementIdsInAnimationSteps.addAll(animationStep.getElements());
             }
         }
 
-        return null;
+        return elementIdsInAnimationSteps;
     }
 
     public List<Animation> getAnimations() {
@@ -444,6 +432,8 @@ public final class DeploymentView extends View {
     }
 
     void setAnimations(List<Animation> animations) {
+        elementIdsInAnimationSteps = null;
+
         if (animations != null) {
             this.animations = new ArrayList<>(animations);
         } else {
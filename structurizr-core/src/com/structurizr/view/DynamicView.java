@@ -22,6 +22,13 @@ public final class DynamicView extends View {
 
     private SequenceNumber sequenceNumber = new SequenceNumber();
 
+    private static final Comparator<RelationshipView> NUMERIC_ORDER = Comparator.comparingDouble(RelationshipView::getNumericOrder);
+    private static final Comparator<RelationshipView> ORDER = Comparator.comparing(RelationshipView::getOrder);
+
+    private List<RelationshipView> orderedRelationshipViews;
+    private boolean ordersAreNumeric;
+    private int orderedRelationshipViewsVersion;
+
     DynamicView() {
     }
 
@@ -166,16 +173,41 @@ public final class DynamicView extends View {
     }
 
     protected RelationshipView addRelationship(Relationship relationship, String description, String order, boolean response) {
+        boolean orderedRelationshipViewsAreCurrent = orderedRelationshipViews != null && orderedRelationshipViewsVersion == getRelationshipViewsVersion();
+
         RelationshipView relationshipView = addRelationship(relationship);
         if (relationshipView != null) {
             relationshipView.setDescription(description);
             relationshipView.setOrder(order);
             relationshipView.setResponse(response);
+
+            // steps are usually added in order, so slot the new step into the ordered list rather than re-sorting it
+            if (orderedRelationshipViewsAreCurrent && orderedRelationshipViewsVersion + 1 == getRelationshipViewsVersion() && ordersAreNumeric == relationshipView.isOrderNumeric()) {
+                orderedRelationshipViews.add(findInsertionPoint(relationshipView), relationshipView);
+                orderedRelationshipViewsVersion = getRelationshipViewsVersion();
+            }
         }
 
         return relationshipView;
     }
 
+    private int findInsertionPoint(RelationshipView relationshipView) {
+        Comparator<RelationshipView> comparator = ordersAreNumeric ? NUMERIC_ORDER : ORDER;
+
+        int low = 0;
+        int high = orderedRelationshipViews.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(orderedRelationshipViews.get(middle), relationshipView) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
     /**
      * Gets the (computed) name of this view.
      *
@@ -193,8 +225,8 @@ public final class DynamicView extends View {
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder();
-        List<RelationshipView> list = new ArrayList<>(getRelationships());
-        Collections.sort(list, (rv1, rv2) -> rv1.getOrder().compareTo(rv2.getOrder()));
+        List<RelationshipView> list = new ArrayList<>(getOrderedRelationships());
+        list.sort(ORDER);
         list.forEach(rv -> buf.append(rv.toString() + "\n"));
 
         return buf.toString();
@@ -272,29 +304,36 @@ public final class DynamicView extends View {
      */
     @Override
     public Set<RelationshipView> getRelationships() {
-        List<RelationshipView> list = new LinkedList<>(super.getRelationships());
-        boolean ordersAreNumeric = true;
+        return new LinkedHashSet<>(getOrderedRelationships());
+    }
 
-        for (RelationshipView relationshipView : list) {
-            ordersAreNumeric = ordersAreNumeric && isNumeric(relationshipView.getOrder());
-        }
+    private List<RelationshipView> getOrderedRelationships() {
+        if (orderedRelationshipViews == null || orderedRelationshipViewsVersion != getRelationshipViewsVersion() || !orderedRelationshipViewsAreStillOrdered()) {
+            List<RelationshipView> list = new ArrayList<>(super.getRelationships());
+            ordersAreNumeric = list.stream().allMatch(RelationshipView::isOrderNumeric);
+            list.sort(ordersAreNumeric ? NUMERIC_ORDER : ORDER);
 
-        if (ordersAreNumeric) {
-            list.sort(Comparator.comparingDouble(rv -> Double.parseDouble(rv.getOrder())));
-        } else {
-            list.sort(Comparator.comparing(RelationshipView::getOrder));
+            orderedRelationshipViews = list;
+            orderedRelationshipViewsVersion = getRelationshipViewsVersion();
         }
 
-        return new LinkedHashSet<>(list);
+        return orderedRelationshipViews;
     }
 
-    private boolean isNumeric(String str) {
-        try {
-            Double.parseDouble(str);
-            return true;
-        } catch(NumberFormatException e){
-            return false;
+    private boolean orderedRelationshipViewsAreStillOrdered() {
+        // the order of a relationship view can be changed after it has been added to this view
+        Comparator<RelationshipView> comparator = ordersAreNumeric ? NUMERIC_ORDER : ORDER;
+        boolean allOrdersAreNumeric = true;
+        boolean ordered = true;
+        RelationshipView previous = null;
+
+        for (RelationshipView relationshipView : orderedRelationshipViews) {
+            allOrdersAreNumeric = allOrdersAreNumeric && relationshipView.isOrderNumeric();
+            ordered = ordered && (previous == null || comparator.compare(previous, relationshipView) <= 0);
+            previous = relationshipView;
         }
+
+        return ordered && allOrdersAreNumeric == ordersAreNumeric;
     }
 
     /**
@@ -50,6 +50,9 @@ public final class ElementStyle {
     @JsonInclude(value = JsonInclude.Include.NON_NULL)
     private Boolean description;
 
+    // the styles that this style has been compiled into, which need to be told when it changes
+    private Styles styles;
+
     ElementStyle() {
     }
 
@@ -82,6 +85,7 @@ public final class ElementStyle {
 
     public void setTag(String tag) {
         this.tag = tag;
+        stylesChanged();
     }
 
     /**
@@ -95,6 +99,7 @@ public final class ElementStyle {
 
     public void setWidth(Integer width) {
         this.width = width;
+        stylesChanged();
     }
 
     public ElementStyle width(int width) {
@@ -113,6 +118,7 @@ public final class ElementStyle {
 
     public void setHeight(Integer height) {
         this.height = height;
+        stylesChanged();
     }
 
     public ElementStyle height(int height) {
@@ -135,6 +141,7 @@ public final class ElementStyle {
         } else {
             throw new IllegalArgumentException(background + " is not a valid hex colour code.");
         }
+        stylesChanged();
     }
 
     public ElementStyle background(String background) {
@@ -157,6 +164,7 @@ public final class ElementStyle {
         } else {
             throw new IllegalArgumentException(color + " is not a valid hex colour code.");
         }
+        stylesChanged();
     }
 
     public ElementStyle stroke(String color) {
@@ -179,6 +187,7 @@ public final class ElementStyle {
         } else {
             throw new IllegalArgumentException(color + " is not a valid hex colour code.");
         }
+        stylesChanged();
     }
 
     public ElementStyle color(String color) {
@@ -197,6 +206,7 @@ public final class ElementStyle {
 
     public void setFontSize(Integer fontSize) {
         this.fontSize = fontSize;
+        stylesChanged();
     }
 
     public ElementStyle fontSize(int fontSize) {
@@ -215,6 +225,7 @@ public final class ElementStyle {
 
     public void setShape(Shape shape) {
         this.shape = shape;
+        stylesChanged();
     }
 
     public ElementStyle shape(Shape shape) {
@@ -238,6 +249,7 @@ public final class ElementStyle {
             ImageUtils.validateImage(icon);
             this.icon = icon.trim();
         }
+        stylesChanged();
     }
 
     public ElementStyle icon(String icon) {
@@ -256,6 +268,7 @@ public final class ElementStyle {
 
     public void setBorder(Border border) {
         this.border = border;
+        stylesChanged();
     }
 
     public ElementStyle border(Border border) {
@@ -282,6 +295,7 @@ public final class ElementStyle {
                 this.opacity = opacity;
             }
         }
+        stylesChanged();
     }
 
     public ElementStyle opacity(int opacity) {
@@ -305,6 +319,7 @@ public final class ElementStyle {
      */
     public void setMetadata(Boolean metadata) {
         this.metadata = metadata;
+        stylesChanged();
     }
 
     public ElementStyle metadata(boolean metadata) {
@@ -328,6 +343,7 @@ public final class ElementStyle {
      */
     public void setDescription(Boolean description) {
         this.description = description;
+        stylesChanged();
     }
 
     public ElementStyle description(boolean description) {
@@ -335,6 +351,34 @@ public final class ElementStyle {
         return this;
     }
 
+    void setStyles(Styles styles) {
+        this.styles = styles;
+    }
+
+    private void stylesChanged() {
+        if (styles != null) {
+            styles.stylesChanged();
+        }
+    }
+
+    ElementStyle copy() {
+        ElementStyle copy = new ElementStyle();
+        copy.tag = tag;
+        copy.width = width;
+        copy.height = height;
+        copy.background = background;
+        copy.stroke = stroke;
+        copy.color = color;
+        copy.fontSize = fontSize;
+        copy.shape = shape;
+        copy.icon = icon;
+        copy.border = border;
+        copy.opacity = opacity;
+        copy.metadata = metadata;
+        copy.description = description;
+        return copy;
+    }
+
     void copyFrom(ElementStyle elementStyle) {
         if (elementStyle.getWidth() != null) {
             this.setWidth(elementStyle.getWidth());
@@ -0,0 +1,461 @@
+package com.structurizr.view;
+
+import com.structurizr.model.DeploymentNode;
+import com.structurizr.model.Element;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Places elements that have been added to a view that has already been laid out (e.g. after layout information
+ * has been copied from a previous version with {@link ViewSet#copyLayoutInformationFrom(ViewSet)}), without moving
+ * any of the existing elements.
+ *
+ * Each new element is placed in the free space nearest to the elements it is connected to (below the elements
+ * it is used by, above the elements it uses), or below the existing elements if it has no connections.
+ * The regions occupied by the existing elements are indexed in a grid with a single pass over the view (their sizes
+ * come from the styles cached by tag); after that, only the new elements, their relationships and their neighbours
+ * are looked at, and free space is found by searching the grid cells near each new element.
+ * Relationships to and from new elements are drawn as straight lines, or with a single bend where a straight line
+ * would cross another element (if possible).
+ *
+ * Deployment nodes in deployment views are not placed, since their bounds are defined by their children.
+ */
+public final class IncrementalLayout {
+
+    private static final int CELL_SIZE = 500;
+    private static final int MAXIMUM_NUMBER_OF_RINGS = 200;
+
+    private final int separation;
+
+    /**
+     * Creates an incremental layout, with a separation of 300 pixels between elements.
+     */
+    public IncrementalLayout() {
+        this(300);
+    }
+
+    /**
+     * Creates an incremental layout, with the specified separation between elements.
+     *
+     * @param separation    the minimum separation between elements (in pixels, zero or a positive integer)
+     */
+    public IncrementalLayout(int separation) {
+        if (separation < 0) {
+            throw new IllegalArgumentException("The separation must be zero or a positive integer.");
+        }
+
+        this.separation = separation;
+    }
+
+    public int getSeparation() {
+        return separation;
+    }
+
+    /**
+     * Places the elements in the given view that don't yet have a position, in the order they were added to the view.
+     * Since element views don't record whether they have been positioned, any element at 0,0 is treated as not
+     * having a position, and will be moved; use {@link #place(View, Styles, Collection)} to specify exactly
+     * which elements should be placed.
+     *
+     * @param view      the View
+     * @param styles    the Styles used to determine the size of elements
+     * @return  the element views that were placed
+     */
+    public Collection<ElementView> place(@Nonnull View view, @Nonnull Styles styles) {
+        if (view == null) {
+            throw new IllegalArgumentException("A view must be specified.");
+        }
+
+        Set<Element> elements = new LinkedHashSet<>();
+        for (ElementView elementView : view.getElementViewsInOrder()) {
+            if (elementView.getX() == 0 && elementView.getY() == 0) {
+                elements.add(elementView.getElement());
+            }
+        }
+
+        return place(view, styles, elements);
+    }
+
+    /**
+     * Places the given elements in the given view, leaving all other elements where they are.
+     *
+     * @param view      the View
+     * @param styles    the Styles used to determine the size of elements
+     * @param elements  the elements to place (these must already be in the view)
+     * @return  the element views that were placed
+     */
+    public Collection<ElementView> place(@Nonnull View view, @Nonnull Styles styles, @Nonnull Collection<Element> elements) {
+        if (view == null) {
+            throw new IllegalArgumentException("A view must be specified.");
+        }
+
+        if (styles == null) {
+            throw new IllegalArgumentException("Styles must be specified.");
+        }
+
+        if (elements == null) {
+            throw new IllegalArgumentException("A collection of elements must be specified.");
+        }
+
+        return new Placement(view, styles, elements).place();
+    }
+
+    /**
+     * The working state for placing elements in a single view.
+     */
+    private final class Placement {
+
+        private final View view;
+        private final Styles styles;
+
+        // the element views to place, by ID, in the order they should be placed
+        private final Map<String, ElementView> elementViewsToPlace = new LinkedHashMap<>();
+
+        // the occupied regions ({ x, y, width, height }), by grid cell
+        private final Map<Long, List<int[]>> grid = new HashMap<>();
+        private final Map<String, int[]> regions = new HashMap<>();
+
+        // the bounds of the occupied regions
+        private int minimumX = Integer.MAX_VALUE;
+        private int maximumX = Integer.MIN_VALUE;
+        private int maximumY = Integer.MIN_VALUE;
+
+        Placement(View view, Styles styles, Collection<Element> elements) {
+            this.view = view;
+            this.styles = styles;
+
+            Set<String> ids = new LinkedHashSet<>();
+            for (Element element : elements) {
+                if (element != null && !(view instanceof DeploymentView && element instanceof DeploymentNode)) {
+                    ids.add(element.getId());
+                }
+            }
+
+            Map<String, ElementView> elementViews = new HashMap<>();
+            for (ElementView elementView : view.getElementViewsInOrder()) {
+                if (view instanceof DeploymentView && elementView.getElement() instanceof DeploymentNode) {
+                    continue;
+                }
+
+                if (ids.contains(elementView.getId())) {
+                    elementViews.put(elementView.getId(), elementView);
+                } else {
+                    occupy(elementView.getId(), region(elementView, elementView.getX(), elementView.getY()));
+                }
+            }
+
+            for (String id : ids) {
+                ElementView elementView = elementViews.get(id);
+                if (elementView != null) {
+                    elementViewsToPlace.put(id, elementView);
+                }
+            }
+        }
+
+        Collection<ElementView> place() {
+            List<ElementView> placed = new ArrayList<>();
+
+            // place elements connected to elements that already have a position first, working outwards
+            Deque<String> queue = new ArrayDeque<>();
+            Set<String> queued = new HashSet<>();
+            for (String id : elementViewsToPlace.keySet()) {
+                if (hasPositionedNeighbour(id)) {
+                    queue.add(id);
+                    queued.add(id);
+                }
+            }
+
+            Iterator<String> remaining = elementViewsToPlace.keySet().iterator();
+            while (!queue.isEmpty() || remaining.hasNext()) {
+                String id;
+                if (!queue.isEmpty()) {
+                    id = queue.poll();
+                } else {
+                    id = remaining.next();
+                    if (!queued.add(id)) {
+                        continue;
+                    }
+                }
+
+                ElementView elementView = elementViewsToPlace.get(id);
+                place(elementView);
+                placed.add(elementView);
+
+                for (RelationshipView relationshipView : relationshipViewsConnectedTo(id)) {
+                    String neighbourId = neighbourId(relationshipView, id);
+                    if (elementViewsToPlace.containsKey(neighbourId) && queued.add(neighbourId)) {
+                        queue.add(neighbourId);
+                    }
+                }
+            }
+
+            Set<RelationshipView> affectedRelationshipViews = new LinkedHashSet<>();
+            for (ElementView elementView : placed) {
+                affectedRelationshipViews.addAll(relationshipViewsConnectedTo(elementView.getId()));
+            }
+            for (RelationshipView relationshipView : affectedRelationshipViews) {
+                route(relationshipView);
+            }
+
+            if (view.getDimensions() != null && !placed.isEmpty()) {
+                view.setDimensions(new Dimensions(
+                        Math.max(view.getDimensions().getWidth(), maximumX + separation),
+                        Math.max(view.getDimensions().getHeight(), maximumY + separation)
+                ));
+            }
+
+            return placed;
+        }
+
+        private void place(ElementView elementView) {
+            ElementStyle style = styles.findSharedElementStyle(elementView.getElement());
+            int width = style.getWidth();
+            int height = style.getHeight();
+
+            // work out where the element would ideally go, relative to the neighbours that have a position
+            long sumX = 0;
+            long sumY = 0;
+            int count = 0;
+            for (RelationshipView relationshipView : relationshipViewsConnectedTo(elementView.getId())) {
+                String neighbourId = neighbourId(relationshipView, elementView.getId());
+                int[] neighbour = regions.get(neighbourId);
+                if (neighbour != null) {
+                    int centreX = neighbour[0] + neighbour[2] / 2;
+                    int offsetY = neighbour[3] / 2 + separation + height / 2;
+                    int centreY = neighbour[1] + neighbour[3] / 2;
+                    if (neighbourId.equals(relationshipView.getRelationship().getSourceId())) {
+                        centreY += offsetY;
+                    } else {
+                        centreY -= offsetY;
+                    }
+
+                    sumX += centreX;
+                    sumY += centreY;
+                    count++;
+                }
+            }
+
+            int x;
+            int y;
+            if (count > 0) {
+                x = (int)(sumX / count) - width / 2;
+                y = (int)(sumY / count) - height / 2;
+            } else if (regions.isEmpty()) {
+                x = separation;
+                y = separation;
+            } else {
+                x = minimumX;
+                y = maximumY + separation;
+            }
+
+            int[] position = findFreePosition(x, y, width, height);
+            elementView.setX(position[0]);
+            elementView.setY(position[1]);
+            occupy(elementView.getId(), region(elementView, position[0], position[1]));
+        }
+
+        // searches outwards from the given position, in square rings, for the nearest position that isn't occupied;
+        // only the perimeter of each ring is visited, starting from the middle of each side and working towards
+        // the corners (i.e. roughly in order of distance)
+        private int[] findFreePosition(int x, int y, int width, int height) {
+            int step = Math.max(separation / 2, 50);
+
+            if (isFree(x, Math.max(0, y), width, height) && x >= 0) {
+                return new int[] { x, Math.max(0, y) };
+            }
+
+            for (int ring = 1; ring <= MAXIMUM_NUMBER_OF_RINGS; ring++) {
+                for (int offset = 0; offset <= ring; offset++) {
+                    // at offset == ring, the four corners are each shared by two sides
+                    int[][] candidates = offset == 0 ? new int[][] {
+                            { 0, -ring }, { 0, ring }, { -ring, 0 }, { ring, 0 }
+                    } : offset == ring ? new int[][] {
+                            { -ring, -ring }, { ring, -ring }, { -ring, ring }, { ring, ring }
+                    } : new int[][] {
+                            { -offset, -ring }, { offset, -ring }, { -offset, ring }, { offset, ring },
+                            { -ring, -offset }, { -ring, offset }, { ring, -offset }, { ring, offset }
+                    };
+
+                    for (int[] candidate : candidates) {
+                        int candidateX = x + candidate[0] * step;
+                        int candidateY = Math.max(0, y + candidate[1] * step);
+                        if (candidateX >= 0 && isFree(candidateX, candidateY, width, height)) {
+                            return new int[] { candidateX, candidateY };
+                        }
+                    }
+                }
+            }
+
+            // no free position was found nearby, so fall back to below everything else
+            return new int[] { Math.max(0, minimumX), maximumY + separation };
+        }
+
+        private boolean isFree(int x, int y, int width, int height) {
+            int margin = separation / 2;
+            return !overlapsAnyRegion(x - margin, y - margin, width + margin * 2, height + margin * 2);
+        }
+
+        private void route(RelationshipView relationshipView) {
+            String sourceId = relationshipView.getRelationship().getSourceId();
+            String destinationId = relationshipView.getRelationship().getDestinationId();
+            int[] source = regions.get(sourceId);
+            int[] destination = regions.get(destinationId);
+            if (source == null || destination == null) {
+                return;
+            }
+
+            int sourceX = source[0] + source[2] / 2;
+            int sourceY = source[1] + source[3] / 2;
+            int destinationX = destination[0] + destination[2] / 2;
+            int destinationY = destination[1] + destination[3] / 2;
+
+            List<Vertex> vertices = new ArrayList<>();
+            int[] obstacle = findObstacle(sourceX, sourceY, destinationX, destinationY, sourceId, destinationId);
+            if (obstacle != null) {
+                // try a single bend: horizontal then vertical, vertical then horizontal, or around the first obstacle
+                int margin = separation / 2;
+                int[][] bends = {
+                        { destinationX, sourceY },
+                        { sourceX, destinationY },
+                        { obstacle[0] - margin, obstacle[1] + obstacle[3] / 2 },
+                        { obstacle[0] + obstacle[2] + margin, obstacle[1] + obstacle[3] / 2 },
+                        { obstacle[0] + obstacle[2] / 2, obstacle[1] - margin },
+                        { obstacle[0] + obstacle[2] / 2, obstacle[1] + obstacle[3] + margin }
+                };
+
+                int[] shortestBend = null;
+                double shortestLength = Double.MAX_VALUE;
+                for (int[] bend : bends) {
+                    if (findObstacle(sourceX, sourceY, bend[0], bend[1], sourceId, destinationId) == null && findObstacle(bend[0], bend[1], destinationX, destinationY, sourceId, destinationId) == null) {
+                        double length = Math.hypot(bend[0] - sourceX, bend[1] - sourceY) + Math.hypot(destinationX - bend[0], destinationY - bend[1]);
+                        if (length < shortestLength) {
+                            shortestBend = bend;
+                            shortestLength = length;
+                        }
+                    }
+                }
+
+                if (shortestBend != null) {
+                    vertices.add(new Vertex(shortestBend[0], shortestBend[1]));
+                }
+            }
+
+            relationshipView.setVertices(vertices);
+        }
+
+        // finds the first region (other than the source and destination) crossed by the line from x1,y1 to x2,y2
+        private int[] findObstacle(int x1, int y1, int x2, int y2, String sourceId, String destinationId) {
+            int x = Math.min(x1, x2);
+            int y = Math.min(y1, y2);
+            for (int[] region : findOverlappingRegions(x, y, Math.abs(x2 - x1) + 1, Math.abs(y2 - y1) + 1, regions.get(sourceId), regions.get(destinationId))) {
+                if (intersects(x1, y1, x2, y2, region)) {
+                    return region;
+                }
+            }
+
+            return null;
+        }
+
+        private boolean overlapsAnyRegion(int x, int y, int width, int height) {
+            for (int column = Math.floorDiv(x, CELL_SIZE); column <= Math.floorDiv(x + width, CELL_SIZE); column++) {
+                for (int row = Math.floorDiv(y, CELL_SIZE); row <= Math.floorDiv(y + height, CELL_SIZE); row++) {
+                    for (int[] region : grid.getOrDefault(cell(column, row), Collections.emptyList())) {
+                        if (region[0] < x + width && x < region[0] + region[2] && region[1] < y + height && y < region[1] + region[3]) {
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        private List<int[]> findOverlappingRegions(int x, int y, int width, int height, int[] ignore1, int[] ignore2) {
+            List<int[]> overlapping = new ArrayList<>();
+            for (int column = Math.floorDiv(x, CELL_SIZE); column <= Math.floorDiv(x + width, CELL_SIZE); column++) {
+                for (int row = Math.floorDiv(y, CELL_SIZE); row <= Math.floorDiv(y + height, CELL_SIZE); row++) {
+                    for (int[] region : grid.getOrDefault(cell(column, row), Collections.emptyList())) {
+                        if (region != ignore1 && region != ignore2 && !overlapping.contains(region) &&
+                                region[0] < x + width && x < region[0] + region[2] && region[1] < y + height && y < region[1] + region[3]) {
+                            overlapping.add(region);
+                        }
+                    }
+                }
+            }
+
+            return overlapping;
+        }
+
+        private void occupy(String id, int[] region) {
+            regions.put(id, region);
+
+            for (int column = Math.floorDiv(region[0], CELL_SIZE); column <= Math.floorDiv(region[0] + region[2], CELL_SIZE); column++) {
+                for (int row = Math.floorDiv(region[1], CELL_SIZE); row <= Math.floorDiv(region[1] + region[3], CELL_SIZE); row++) {
+                    grid.computeIfAbsent(cell(column, row), c -> new ArrayList<>()).add(region);
+                }
+            }
+
+            minimumX = Math.min(minimumX, region[0]);
+            maximumX = Math.max(maximumX, region[0] + region[2]);
+            maximumY = Math.max(maximumY, region[1] + region[3]);
+        }
+
+        private int[] region(ElementView elementView, int x, int y) {
+            ElementStyle style = styles.findSharedElementStyle(elementView.getElement());
+            return new int[] { x, y, style.getWidth(), style.getHeight() };
+        }
+
+        private boolean hasPositionedNeighbour(String id) {
+            for (RelationshipView relationshipView : relationshipViewsConnectedTo(id)) {
+                if (regions.containsKey(neighbourId(relationshipView, id))) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private List<RelationshipView> relationshipViewsConnectedTo(String id) {
+            return view.getRelationshipViewsConnectedTo(elementViewsToPlace.get(id).getElement());
+        }
+
+        private String neighbourId(RelationshipView relationshipView, String id) {
+            String sourceId = relationshipView.getRelationship().getSourceId();
+            return sourceId.equals(id) ? relationshipView.getRelationship().getDestinationId() : sourceId;
+        }
+
+    }
+
+    private static long cell(int column, int row) {
+        return ((long)column << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    // whether the line segment from x1,y1 to x2,y2 intersects the given region (Liang-Barsky clipping)
+    private static boolean intersects(int x1, int y1, int x2, int y2, int[] region) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double[] p = { -dx, dx, -dy, dy };
+        double[] q = { x1 - region[0], region[0] + region[2] - x1, y1 - region[1], region[1] + region[3] - y1 };
+
+        double t0 = 0;
+        double t1 = 1;
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) {
+                    return false;
+                }
+            } else {
+                double t = q[i] / p[i];
+                if (p[i] < 0) {
+                    t0 = Math.max(t0, t);
+                } else {
+                    t1 = Math.min(t1, t);
+                }
+            }
+        }
+
+        return t0 <= t1;
+    }
+
+}
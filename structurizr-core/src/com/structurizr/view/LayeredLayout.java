@@ -0,0 +1,630 @@
+package com.structurizr.view;
+
+import com.structurizr.model.DeploymentNode;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A layered (Sugiyama-style) automatic layout implementation, which runs in-process (e.g. in headless batch jobs)
+ * rather than in the browser. Laying out a view sets the x,y coordinates of every element view (using the element
+ * sizes resolved from the given styles), the vertices of relationship views that span more than one rank,
+ * and the dimensions of the view.
+ *
+ * The layout is calculated in four phases:
+ * - cycles are broken by (virtually) reversing the relationships that close them
+ * - elements are assigned to ranks, using the longest path from a source element
+ * - elements are ordered within each rank to reduce crossings, using the barycenter heuristic
+ * - elements are positioned within each rank, as close as possible to the elements they are connected to
+ *
+ * Deployment nodes in deployment views are not positioned, since their bounds are defined by their children.
+ */
+public final class LayeredLayout {
+
+    private static final int MARGIN = 50;
+    private static final int NUMBER_OF_ORDERING_ITERATIONS = 4;
+    private static final int NUMBER_OF_POSITIONING_ITERATIONS = 4;
+
+    private final AutomaticLayout.RankDirection rankDirection;
+    private final int rankSeparation;
+    private final int nodeSeparation;
+    private final int edgeSeparation;
+    private final boolean vertices;
+
+    /**
+     * Creates a layered layout, with ranks from top to bottom, a rank and node separation of 300 pixels,
+     * an edge separation of 200 pixels, and vertices.
+     */
+    public LayeredLayout() {
+        this(AutomaticLayout.RankDirection.TopBottom, 300, 300, 200, true);
+    }
+
+    /**
+     * Creates a layered layout with the same settings as the given automatic layout configuration.
+     *
+     * @param automaticLayout   an AutomaticLayout object (e.g. from a view)
+     */
+    public LayeredLayout(@Nonnull AutomaticLayout automaticLayout) {
+        this(
+                automaticLayout != null ? automaticLayout.getRankDirection() : null,
+                automaticLayout != null ? automaticLayout.getRankSeparation() : 0,
+                automaticLayout != null ? automaticLayout.getNodeSeparation() : 0,
+                automaticLayout != null ? automaticLayout.getEdgeSeparation() : 0,
+                automaticLayout != null && automaticLayout.isVertices()
+        );
+    }
+
+    /**
+     * Creates a layered layout with the specified settings.
+     *
+     * @param rankDirection     the rank direction
+     * @param rankSeparation    the separation between ranks (in pixels, a positive integer)
+     * @param nodeSeparation    the separation between elements within the same rank (in pixels, a positive integer)
+     * @param edgeSeparation    the separation between relationships that pass through the same rank (in pixels, a positive integer)
+     * @param vertices          whether vertices should be created for relationships that span more than one rank
+     */
+    public LayeredLayout(@Nonnull AutomaticLayout.RankDirection rankDirection, int rankSeparation, int nodeSeparation, int edgeSeparation, boolean vertices) {
+        if (rankDirection == null) {
+            throw new IllegalArgumentException("A rank direction must be specified.");
+        }
+
+        if (rankSeparation < 0) {
+            throw new IllegalArgumentException("The rank separation must be a positive integer.");
+        }
+
+        if (nodeSeparation < 0) {
+            throw new IllegalArgumentException("The node separation must be a positive integer.");
+        }
+
+        if (edgeSeparation < 0) {
+            throw new IllegalArgumentException("The edge separation must be a positive integer.");
+        }
+
+        this.rankDirection = rankDirection;
+        this.rankSeparation = rankSeparation;
+        this.nodeSeparation = nodeSeparation;
+        this.edgeSeparation = edgeSeparation;
+        this.vertices = vertices;
+    }
+
+    public AutomaticLayout.RankDirection getRankDirection() {
+        return rankDirection;
+    }
+
+    public int getRankSeparation() {
+        return rankSeparation;
+    }
+
+    public int getNodeSeparation() {
+        return nodeSeparation;
+    }
+
+    public int getEdgeSeparation() {
+        return edgeSeparation;
+    }
+
+    public boolean isVertices() {
+        return vertices;
+    }
+
+    /**
+     * Lays out the given views, using the specified fork/join pool to lay out the views in parallel.
+     *
+     * @param views         a collection of View objects
+     * @param styles        the Styles used to determine the size of elements
+     * @param forkJoinPool  the ForkJoinPool to use
+     */
+    public void layout(@Nonnull Collection<? extends View> views, @Nonnull Styles styles, @Nonnull ForkJoinPool forkJoinPool) {
+        if (views == null) {
+            throw new IllegalArgumentException("A collection of views must be specified.");
+        }
+
+        if (styles == null) {
+            throw new IllegalArgumentException("Styles must be specified.");
+        }
+
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A fork/join pool must be specified.");
+        }
+
+        List<View> listOfViews = new ArrayList<>(views);
+        forkJoinPool.submit(() -> listOfViews.parallelStream().forEach(view -> layout(view, styles))).join();
+    }
+
+    /**
+     * Lays out the given view.
+     *
+     * @param view      the View to lay out
+     * @param styles    the Styles used to determine the size of elements
+     */
+    public void layout(@Nonnull View view, @Nonnull Styles styles) {
+        if (view == null) {
+            throw new IllegalArgumentException("A view must be specified.");
+        }
+
+        if (styles == null) {
+            throw new IllegalArgumentException("Styles must be specified.");
+        }
+
+        ResolvedStyles resolvedStyles = styles.resolveAll(view);
+        new Graph(view, resolvedStyles).layout();
+    }
+
+    /**
+     * The working state for laying out a single view. Elements and "dummy" nodes (the points where a relationship
+     * crosses an intermediate rank) are numbered from zero, with elements first.
+     */
+    private final class Graph {
+
+        private final View view;
+        private final List<ElementView> elementViews = new ArrayList<>();
+        private final List<RelationshipView> relationshipViews = new ArrayList<>();
+
+        // per relationship: the source and destination, after cycles have been broken
+        private int[] from;
+        private int[] to;
+        private boolean[] reversed;
+        private int[][] dummies;
+
+        // per node: the rank, the size within the rank (breadth) and the size across the rank (depth)
+        private int numberOfNodes;
+        private int[] rank;
+        private int[] breadth;
+        private int[] depth;
+
+        // the nodes in each rank, in order, and the position of each node within its rank
+        private int[][] ranks;
+        private int[] position;
+
+        // the neighbours of each node in the rank above (upper) and below (lower), in compressed sparse row form
+        private int[] upperStart;
+        private int[] upper;
+        private int[] lowerStart;
+        private int[] lower;
+
+        // the centre of each node within its rank
+        private double[] centre;
+
+        Graph(View view, ResolvedStyles resolvedStyles) {
+            this.view = view;
+
+            for (ElementView elementView : view.getElements()) {
+                if (!(view instanceof DeploymentView && elementView.getElement() instanceof DeploymentNode)) {
+                    elementViews.add(elementView);
+                }
+            }
+            elementViews.sort(Comparator.comparing(ElementView::getId));
+
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < elementViews.size(); i++) {
+                indexes.put(elementViews.get(i).getId(), i);
+            }
+
+            List<RelationshipView> sortedRelationshipViews = new ArrayList<>(view.getRelationships());
+            sortedRelationshipViews.sort(Comparator.comparing(RelationshipView::getId).thenComparing(RelationshipView::getOrder));
+
+            List<int[]> edges = new ArrayList<>();
+            for (RelationshipView relationshipView : sortedRelationshipViews) {
+                Integer source = indexes.get(relationshipView.getRelationship().getSource().getId());
+                Integer destination = indexes.get(relationshipView.getRelationship().getDestination().getId());
+
+                if (source != null && destination != null && !source.equals(destination)) {
+                    relationshipViews.add(relationshipView);
+                    edges.add(new int[] { source, destination });
+                }
+            }
+
+            int numberOfElements = elementViews.size();
+            int numberOfEdges = edges.size();
+            from = new int[numberOfEdges];
+            to = new int[numberOfEdges];
+            reversed = new boolean[numberOfEdges];
+            dummies = new int[numberOfEdges][];
+            for (int e = 0; e < numberOfEdges; e++) {
+                from[e] = edges.get(e)[0];
+                to[e] = edges.get(e)[1];
+            }
+
+            rank = new int[numberOfElements];
+            breadth = new int[numberOfElements];
+            depth = new int[numberOfElements];
+            boolean horizontal = rankDirection == AutomaticLayout.RankDirection.TopBottom || rankDirection == AutomaticLayout.RankDirection.BottomTop;
+            for (int i = 0; i < numberOfElements; i++) {
+                ElementStyle style = resolvedStyles.getElementStyle(elementViews.get(i).getId());
+                breadth[i] = horizontal ? style.getWidth() : style.getHeight();
+                depth[i] = horizontal ? style.getHeight() : style.getWidth();
+            }
+        }
+
+        void layout() {
+            if (elementViews.isEmpty()) {
+                return;
+            }
+
+            breakCycles();
+            assignRanks();
+            addDummyNodes();
+            orderRanks();
+            positionWithinRanks();
+            apply();
+        }
+
+        private void breakCycles() {
+            int numberOfElements = elementViews.size();
+            int[][] outgoing = adjacency(numberOfElements, from);
+
+            // an iterative depth-first search; relationships to elements that are still on the stack close a cycle
+            int[] state = new int[numberOfElements]; // 0 = not visited, 1 = on the stack, 2 = finished
+            int[] stack = new int[numberOfElements];
+            int[] next = new int[numberOfElements];
+            for (int root = 0; root < numberOfElements; root++) {
+                if (state[root] != 0) {
+                    continue;
+                }
+
+                int top = 0;
+                stack[0] = root;
+                state[root] = 1;
+                while (top >= 0) {
+                    int node = stack[top];
+                    if (next[node] < outgoing[node].length) {
+                        int e = outgoing[node][next[node]++];
+                        int destination = to[e];
+                        if (state[destination] == 1) {
+                            reversed[e] = true;
+                        } else if (state[destination] == 0) {
+                            state[destination] = 1;
+                            stack[++top] = destination;
+                        }
+                    } else {
+                        state[node] = 2;
+                        top--;
+                    }
+                }
+            }
+
+            for (int e = 0; e < from.length; e++) {
+                if (reversed[e]) {
+                    int source = from[e];
+                    from[e] = to[e];
+                    to[e] = source;
+                }
+            }
+        }
+
+        private void assignRanks() {
+            int numberOfElements = elementViews.size();
+            int[][] outgoing = adjacency(numberOfElements, from);
+            int[] incoming = new int[numberOfElements];
+            for (int destination : to) {
+                incoming[destination]++;
+            }
+
+            // a topological sort, placing each element one rank below the lowest of its predecessors
+            int[] queue = new int[numberOfElements];
+            int head = 0;
+            int tail = 0;
+            for (int i = 0; i < numberOfElements; i++) {
+                if (incoming[i] == 0) {
+                    queue[tail++] = i;
+                }
+            }
+
+            while (head < tail) {
+                int node = queue[head++];
+                for (int e : outgoing[node]) {
+                    int destination = to[e];
+                    rank[destination] = Math.max(rank[destination], rank[node] + 1);
+                    if (--incoming[destination] == 0) {
+                        queue[tail++] = destination;
+                    }
+                }
+            }
+        }
+
+        private void addDummyNodes() {
+            int numberOfElements = elementViews.size();
+            numberOfNodes = numberOfElements;
+            for (int e = 0; e < from.length; e++) {
+                numberOfNodes += rank[to[e]] - rank[from[e]] - 1;
+            }
+
+            rank = Arrays.copyOf(rank, numberOfNodes);
+            breadth = Arrays.copyOf(breadth, numberOfNodes);
+            depth = Arrays.copyOf(depth, numberOfNodes);
+
+            // each relationship becomes a chain of segments between adjacent ranks
+            int numberOfSegments = 0;
+            for (int e = 0; e < from.length; e++) {
+                numberOfSegments += rank[to[e]] - rank[from[e]];
+            }
+            int[] segmentFrom = new int[numberOfSegments];
+            int[] segmentTo = new int[numberOfSegments];
+
+            int node = numberOfElements;
+            int segment = 0;
+            for (int e = 0; e < from.length; e++) {
+                int span = rank[to[e]] - rank[from[e]];
+                dummies[e] = new int[span - 1];
+
+                int previous = from[e];
+                for (int i = 0; i < span - 1; i++) {
+                    rank[node] = rank[from[e]] + i + 1;
+                    dummies[e][i] = node;
+                    segmentFrom[segment] = previous;
+                    segmentTo[segment] = node;
+                    segment++;
+                    previous = node;
+                    node++;
+                }
+                segmentFrom[segment] = previous;
+                segmentTo[segment] = to[e];
+                segment++;
+            }
+
+            upperStart = new int[numberOfNodes + 1];
+            lowerStart = new int[numberOfNodes + 1];
+            upper = compress(numberOfNodes, segmentTo, segmentFrom, upperStart);
+            lower = compress(numberOfNodes, segmentFrom, segmentTo, lowerStart);
+
+            int numberOfRanks = 0;
+            for (int i = 0; i < numberOfNodes; i++) {
+                numberOfRanks = Math.max(numberOfRanks, rank[i] + 1);
+            }
+
+            int[] sizes = new int[numberOfRanks];
+            for (int i = 0; i < numberOfNodes; i++) {
+                sizes[rank[i]]++;
+            }
+
+            ranks = new int[numberOfRanks][];
+            for (int r = 0; r < numberOfRanks; r++) {
+                ranks[r] = new int[sizes[r]];
+                sizes[r] = 0;
+            }
+
+            position = new int[numberOfNodes];
+            for (int i = 0; i < numberOfNodes; i++) {
+                position[i] = sizes[rank[i]];
+                ranks[rank[i]][sizes[rank[i]]++] = i;
+            }
+        }
+
+        private void orderRanks() {
+            double[] barycenter = new double[numberOfNodes];
+
+            for (int iteration = 0; iteration < NUMBER_OF_ORDERING_ITERATIONS; iteration++) {
+                for (int r = 1; r < ranks.length; r++) {
+                    orderRank(ranks[r], upperStart, upper, barycenter);
+                }
+
+                for (int r = ranks.length - 2; r >= 0; r--) {
+                    orderRank(ranks[r], lowerStart, lower, barycenter);
+                }
+            }
+        }
+
+        private void orderRank(int[] nodes, int[] neighbourStart, int[] neighbours, double[] barycenter) {
+            Integer[] order = new Integer[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                int node = nodes[i];
+                order[i] = node;
+
+                int start = neighbourStart[node];
+                int end = neighbourStart[node + 1];
+                if (start == end) {
+                    // nodes without neighbours keep their current position
+                    barycenter[node] = position[node];
+                } else {
+                    double sum = 0;
+                    for (int n = start; n < end; n++) {
+                        sum += position[neighbours[n]];
+                    }
+                    barycenter[node] = sum / (end - start);
+                }
+            }
+
+            // a stable sort, so ties keep their current order
+            Arrays.sort(order, (a, b) -> Double.compare(barycenter[a], barycenter[b]));
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = order[i];
+                position[order[i]] = i;
+            }
+        }
+
+        private void positionWithinRanks() {
+            centre = new double[numberOfNodes];
+
+            // start with each rank packed, and centred on zero
+            for (int[] nodes : ranks) {
+                double offset = 0;
+                for (int i = 0; i < nodes.length; i++) {
+                    if (i > 0) {
+                        offset += separation(nodes[i - 1], nodes[i]);
+                    }
+                    centre[nodes[i]] = offset;
+                }
+
+                for (int node : nodes) {
+                    centre[node] -= offset / 2;
+                }
+            }
+
+            double[] desired = new double[numberOfNodes];
+            for (int iteration = 0; iteration < NUMBER_OF_POSITIONING_ITERATIONS; iteration++) {
+                for (int r = 1; r < ranks.length; r++) {
+                    positionRank(ranks[r], upperStart, upper, desired);
+                }
+
+                for (int r = ranks.length - 2; r >= 0; r--) {
+                    positionRank(ranks[r], lowerStart, lower, desired);
+                }
+            }
+        }
+
+        private void positionRank(int[] nodes, int[] neighbourStart, int[] neighbours, double[] desired) {
+            int numberOfNodesInRank = nodes.length;
+            if (numberOfNodesInRank == 0) {
+                return;
+            }
+
+            for (int node : nodes) {
+                int start = neighbourStart[node];
+                int end = neighbourStart[node + 1];
+                if (start == end) {
+                    desired[node] = centre[node];
+                } else {
+                    double sum = 0;
+                    for (int n = start; n < end; n++) {
+                        sum += centre[neighbours[n]];
+                    }
+                    desired[node] = sum / (end - start);
+                }
+            }
+
+            // move each node as close as possible to where it wants to be, keeping the order and separation,
+            // by averaging the positions found by resolving overlaps to the right and to the left
+            double[] right = new double[numberOfNodesInRank];
+            double[] left = new double[numberOfNodesInRank];
+
+            right[0] = desired[nodes[0]];
+            for (int i = 1; i < numberOfNodesInRank; i++) {
+                right[i] = Math.max(desired[nodes[i]], right[i - 1] + separation(nodes[i - 1], nodes[i]));
+            }
+
+            left[numberOfNodesInRank - 1] = desired[nodes[numberOfNodesInRank - 1]];
+            for (int i = numberOfNodesInRank - 2; i >= 0; i--) {
+                left[i] = Math.min(desired[nodes[i]], left[i + 1] - separation(nodes[i], nodes[i + 1]));
+            }
+
+            for (int i = 0; i < numberOfNodesInRank; i++) {
+                centre[nodes[i]] = (left[i] + right[i]) / 2;
+            }
+        }
+
+        private double separation(int a, int b) {
+            int elements = elementViews.size();
+            int gap = (a < elements && b < elements) ? nodeSeparation : edgeSeparation;
+
+            return breadth[a] / 2.0 + gap + breadth[b] / 2.0;
+        }
+
+        private void apply() {
+            int numberOfElements = elementViews.size();
+
+            double minimum = Double.MAX_VALUE;
+            double maximum = -Double.MAX_VALUE;
+            for (int i = 0; i < numberOfNodes; i++) {
+                minimum = Math.min(minimum, centre[i] - breadth[i] / 2.0);
+                maximum = Math.max(maximum, centre[i] + breadth[i] / 2.0);
+            }
+
+            int[] rankStart = new int[ranks.length];
+            int[] rankDepth = new int[ranks.length];
+            for (int i = 0; i < numberOfElements; i++) {
+                rankDepth[rank[i]] = Math.max(rankDepth[rank[i]], depth[i]);
+            }
+            int offset = MARGIN;
+            for (int r = 0; r < ranks.length; r++) {
+                rankStart[r] = offset;
+                offset += rankDepth[r] + rankSeparation;
+            }
+
+            int totalBreadth = (int)Math.round(maximum - minimum) + MARGIN + MARGIN;
+            int totalDepth = offset - rankSeparation + MARGIN;
+
+            for (int i = 0; i < numberOfElements; i++) {
+                int u = (int)Math.round(centre[i] - breadth[i] / 2.0 - minimum) + MARGIN;
+                int v = rankStart[rank[i]] + (rankDepth[rank[i]] - depth[i]) / 2;
+
+                ElementView elementView = elementViews.get(i);
+                elementView.setX(x(u, v, depth[i], totalDepth));
+                elementView.setY(y(u, v, depth[i], totalDepth));
+            }
+
+            for (int e = 0; e < relationshipViews.size(); e++) {
+                List<Vertex> vertices = new ArrayList<>();
+                if (LayeredLayout.this.vertices) {
+                    for (int dummy : dummies[e]) {
+                        int u = (int)Math.round(centre[dummy] - minimum) + MARGIN;
+                        int v = rankStart[rank[dummy]] + rankDepth[rank[dummy]] / 2;
+
+                        vertices.add(new Vertex(x(u, v, 0, totalDepth), y(u, v, 0, totalDepth)));
+                    }
+
+                    if (reversed[e]) {
+                        Collections.reverse(vertices);
+                    }
+                }
+
+                relationshipViews.get(e).setVertices(vertices);
+            }
+
+            boolean horizontal = rankDirection == AutomaticLayout.RankDirection.TopBottom || rankDirection == AutomaticLayout.RankDirection.BottomTop;
+            view.setDimensions(horizontal ? new Dimensions(totalBreadth, totalDepth) : new Dimensions(totalDepth, totalBreadth));
+        }
+
+        // u is the position within a rank, v is the position across ranks
+        private int x(int u, int v, int depth, int totalDepth) {
+            switch (rankDirection) {
+                case LeftRight:
+                    return v;
+                case RightLeft:
+                    return totalDepth - v - depth;
+                default:
+                    return u;
+            }
+        }
+
+        private int y(int u, int v, int depth, int totalDepth) {
+            switch (rankDirection) {
+                case TopBottom:
+                    return v;
+                case BottomTop:
+                    return totalDepth - v - depth;
+                default:
+                    return u;
+            }
+        }
+
+    }
+
+    private static int[][] adjacency(int numberOfNodes, int[] sources) {
+        int[] counts = new int[numberOfNodes];
+        for (int source : sources) {
+            counts[source]++;
+        }
+
+        int[][] adjacency = new int[numberOfNodes][];
+        for (int i = 0; i < numberOfNodes; i++) {
+            adjacency[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+
+        for (int e = 0; e < sources.length; e++) {
+            adjacency[sources[e]][counts[sources[e]]++] = e;
+        }
+
+        return adjacency;
+    }
+
+    private static int[] compress(int numberOfNodes, int[] keys, int[] values, int[] start) {
+        for (int key : keys) {
+            start[key + 1]++;
+        }
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            start[i + 1] += start[i];
+        }
+
+        int[] compressed = new int[keys.length];
+        int[] next = Arrays.copyOf(start, numberOfNodes);
+        for (int i = 0; i < keys.length; i++) {
+            compressed[next[keys[i]]++] = values[i];
+        }
+
+        return compressed;
+    }
+
+}
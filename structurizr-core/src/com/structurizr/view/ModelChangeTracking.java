@@ -0,0 +1,13 @@
+package com.structurizr.view;
+
+/**
+ * The rule used to keep the contents of a static view up to date as the model changes
+ * (see {@link StaticView#trackModelChanges(ModelChangeTracking)}).
+ */
+public enum ModelChangeTracking {
+
+    DefaultElements,
+    AllElements,
+    NearestNeighbours
+
+}
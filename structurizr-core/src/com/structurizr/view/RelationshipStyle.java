@@ -47,6 +47,9 @@ public final class RelationshipStyle {
     @JsonInclude(value = JsonInclude.Include.NON_NULL)
     private Integer opacity;
 
+    /** the styles that this style has been compiled into, which are notified when it changes */
+    private Styles styles;
+
     RelationshipStyle() {
     }
 
@@ -60,6 +63,7 @@ public final class RelationshipStyle {
 
     public void setTag(String tag) {
         this.tag = tag;
+        stylesChanged();
     }
 
     public Integer getThickness() {
@@ -68,6 +72,7 @@ public final class RelationshipStyle {
 
     public void setThickness(Integer thickness) {
         this.thickness = thickness;
+        stylesChanged();
     }
 
     public RelationshipStyle thickness(int thickness) {
@@ -85,6 +90,7 @@ public final class RelationshipStyle {
         } else {
             throw new IllegalArgumentException(color + " is not a valid hex colour code.");
         }
+        stylesChanged();
     }
 
     public RelationshipStyle color(String color) {
@@ -98,6 +104,7 @@ public final class RelationshipStyle {
 
     public void setDashed(Boolean dashed) {
         this.dashed = dashed;
+        stylesChanged();
     }
 
     public RelationshipStyle dashed(boolean dashed) {
@@ -111,6 +118,7 @@ public final class RelationshipStyle {
 
     public void setStyle(LineStyle style) {
         this.style = style;
+        stylesChanged();
     }
 
     public RelationshipStyle style(LineStyle style) {
@@ -124,6 +132,7 @@ public final class RelationshipStyle {
 
     public void setRouting(Routing routing) {
         this.routing = routing;
+        stylesChanged();
     }
 
     public RelationshipStyle routing(Routing routing) {
@@ -137,6 +146,7 @@ public final class RelationshipStyle {
 
     public void setFontSize(Integer fontSize) {
         this.fontSize = fontSize;
+        stylesChanged();
     }
 
     public RelationshipStyle fontSize(int fontSize) {
@@ -150,6 +160,7 @@ public final class RelationshipStyle {
 
     public void setWidth(Integer width) {
         this.width = width;
+        stylesChanged();
     }
 
     public RelationshipStyle width(int width) {
@@ -171,6 +182,7 @@ public final class RelationshipStyle {
         } else {
             this.position = position;
         }
+        stylesChanged();
     }
 
     public RelationshipStyle position(int position) {
@@ -197,6 +209,7 @@ public final class RelationshipStyle {
                 this.opacity = opacity;
             }
         }
+        stylesChanged();
     }
 
     public RelationshipStyle opacity(int opacity) {
@@ -204,6 +217,31 @@ public final class RelationshipStyle {
         return this;
     }
 
+    void setStyles(Styles styles) {
+        this.styles = styles;
+    }
+
+    private void stylesChanged() {
+        if (styles != null) {
+            styles.stylesChanged();
+        }
+    }
+
+    RelationshipStyle copy() {
+        RelationshipStyle copy = new RelationshipStyle();
+        copy.tag = tag;
+        copy.thickness = thickness;
+        copy.color = color;
+        copy.fontSize = fontSize;
+        copy.width = width;
+        copy.dashed = dashed;
+        copy.style = style;
+        copy.routing = routing;
+        copy.position = position;
+        copy.opacity = opacity;
+        return copy;
+    }
+
     void copyFrom(RelationshipStyle relationshipStyle) {
         if (relationshipStyle.getThickness() != null) {
             this.setThickness(relationshipStyle.getThickness());
@@ -21,6 +21,8 @@ public final class RelationshipView {
     private String id;
     private String description;
     private String order;
+    private boolean orderIsNumeric = false;
+    private double numericOrder;
     private Boolean response;
     private Set<Vertex> vertices = new LinkedHashSet<>();
 
@@ -103,6 +105,21 @@ public final class RelationshipView {
      */
     public void setOrder(String order) {
         this.order = order;
+
+        try {
+            this.numericOrder = Double.parseDouble(getOrder());
+            this.orderIsNumeric = true;
+        } catch (NumberFormatException e) {
+            this.orderIsNumeric = false;
+        }
+    }
+
+    boolean isOrderNumeric() {
+        return orderIsNumeric;
+    }
+
+    double getNumericOrder() {
+        return numericOrder;
     }
 
     /**
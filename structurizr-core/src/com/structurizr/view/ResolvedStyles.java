@@ -0,0 +1,62 @@
+package com.structurizr.view;
+
+import com.structurizr.model.Element;
+import com.structurizr.model.Relationship;
+
+import java.util.Map;
+
+/**
+ * The resolved element and relationship styles for a view (see {@link Styles#resolveAll(View)}).
+ * Elements (or relationships) that have the same tags share the same style instance.
+ */
+public final class ResolvedStyles {
+
+    private final Map<String, ElementStyle> elementStyles;
+    private final Map<String, RelationshipStyle> relationshipStyles;
+
+    ResolvedStyles(Map<String, ElementStyle> elementStyles, Map<String, RelationshipStyle> relationshipStyles) {
+        this.elementStyles = elementStyles;
+        this.relationshipStyles = relationshipStyles;
+    }
+
+    /**
+     * Gets the style of the element with the given ID.
+     *
+     * @param elementId     the ID of an element in the view
+     * @return  an ElementStyle object, or null if the element isn't in the view
+     */
+    public ElementStyle getElementStyle(String elementId) {
+        return elementStyles.get(elementId);
+    }
+
+    /**
+     * Gets the style of the given element.
+     *
+     * @param element       an Element in the view
+     * @return  an ElementStyle object, or null if the element isn't in the view
+     */
+    public ElementStyle getElementStyle(Element element) {
+        return element != null ? elementStyles.get(element.getId()) : null;
+    }
+
+    /**
+     * Gets the style of the relationship with the given ID.
+     *
+     * @param relationshipId    the ID of a relationship in the view
+     * @return  a RelationshipStyle object, or null if the relationship isn't in the view
+     */
+    public RelationshipStyle getRelationshipStyle(String relationshipId) {
+        return relationshipStyles.get(relationshipId);
+    }
+
+    /**
+     * Gets the style of the given relationship.
+     *
+     * @param relationship  a Relationship in the view
+     * @return  a RelationshipStyle object, or null if the relationship isn't in the view
+     */
+    public RelationshipStyle getRelationshipStyle(Relationship relationship) {
+        return relationship != null ? relationshipStyles.get(relationship.getId()) : null;
+    }
+
+}
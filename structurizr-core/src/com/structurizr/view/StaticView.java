@@ -1,15 +1,14 @@
 package com.structurizr.view;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.structurizr.model.Element;
+import com.structurizr.model.ModelListener;
 import com.structurizr.model.Person;
 import com.structurizr.model.Relationship;
 import com.structurizr.model.SoftwareSystem;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * The superclass for all static views (system landscape, system context, container and component views).
@@ -17,6 +16,11 @@ import java.util.Set;
 public abstract class StaticView extends View {
 
     private List<Animation> animations = new ArrayList<>();
+    private Set<String> elementIdsInAnimationSteps = null;
+
+    private ViewQuery query;
+
+    private ModelListener modelListener;
 
     StaticView() {
     }
@@ -30,6 +34,32 @@ public abstract class StaticView extends View {
      */
     public abstract void addDefaultElements();
 
+    /**
+     * Defines the contents of this view with a query, replacing any elements and relationships that have
+     * already been added. The query is applied when the contents of this view are first needed
+     * (e.g. when the view is rendered or serialized), and the result is kept thereafter.
+     *
+     * @param query     a ViewQuery object
+     */
+    public void setQuery(@Nonnull ViewQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("A query must be specified.");
+        }
+
+        this.query = query;
+        deferContent(() -> query.applyTo(this));
+    }
+
+    /**
+     * Gets the query used to define the contents of this view.
+     *
+     * @return  a ViewQuery object, or null if the contents of this view have been defined directly
+     */
+    @JsonIgnore
+    public ViewQuery getQuery() {
+        return query;
+    }
+
     /**
      * Adds all software systems in the model to this view.
      */
@@ -135,29 +165,112 @@ public abstract class StaticView extends View {
      * @param element the starting element
      */
     public void removeElementsThatAreUnreachableFrom(Element element) {
-        if (element != null) {
-            Set<Element> elementsToShow = new HashSet<>();
-            Set<Element> elementsVisited = new HashSet<>();
-            findElementsToShow(element, element, elementsToShow, elementsVisited);
-
-            for (ElementView elementView : getElements()) {
-                if (!elementsToShow.contains(elementView.getElement()) && canBeRemoved(elementView.getElement())) {
-                    removeElement(elementView.getElement());
+        removeElementsThatAreUnreachableFrom(element, TraversalDirection.Downstream, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes all elements that cannot be reached by traversing the graph of relationships
+     * starting with the specified element, in the given direction and up to the given depth.
+     *
+     * When only traversing downstream, elements with a relationship back to the starting element
+     * are shown but not traversed any further.
+     *
+     * @param element       the starting element
+     * @param direction     the direction in which relationships should be followed
+     * @param maxDepth      the maximum number of relationships to follow from the starting element
+     */
+    public void removeElementsThatAreUnreachableFrom(Element element, @Nonnull TraversalDirection direction, int maxDepth) {
+        if (element == null) {
+            return;
+        }
+
+        if (direction == null) {
+            throw new IllegalArgumentException("A traversal direction must be specified.");
+        }
+
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("The maximum depth must be zero or greater.");
+        }
+
+        // give each element in the view a dense index, so that visited elements can be tracked with a bitset
+        List<Element> elements = new ArrayList<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (ElementView elementView : getElements()) {
+            indexes.put(elementView.getId(), elements.size());
+            elements.add(elementView.getElement());
+        }
+
+        Integer start = indexes.get(element.getId());
+        BitSet elementsToShow = new BitSet(elements.size());
+
+        if (start != null) {
+            List<List<Integer>> downstream = new ArrayList<>(elements.size());
+            List<List<Integer>> upstream = new ArrayList<>(elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                downstream.add(new ArrayList<>());
+                upstream.add(new ArrayList<>());
+            }
+
+            BitSet hasRelationshipBackToStart = new BitSet(elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                for (Relationship relationship : elements.get(i).getRelationships()) {
+                    Integer destination = indexes.get(relationship.getDestinationId());
+                    if (destination != null) {
+                        downstream.get(i).add(destination);
+                        upstream.get(destination).add(i);
+
+                        if (destination.equals(start)) {
+                            hasRelationshipBackToStart.set(i);
+                        }
+                    }
                 }
             }
-        }
-    }
 
-    private void findElementsToShow(Element startingElement, Element element, Set<Element> elementsToShow, Set<Element> elementsVisited) {
-        if (!elementsVisited.contains(element) && getElements().contains(new ElementView(element))) {
-            elementsVisited.add(element);
-            elementsToShow.add(element);
+            int[] queue = new int[elements.size()];
+            int head = 0;
+            int tail = 0;
+            int depth = 0;
+            queue[tail++] = start;
+            elementsToShow.set(start);
+
+            while (head < tail && depth < maxDepth) {
+                int endOfLevel = tail;
+                while (head < endOfLevel) {
+                    int current = queue[head++];
+
+                    if (direction != TraversalDirection.Upstream) {
+                        // check that we've not gone back to the starting point of the graph
+                        if (direction == TraversalDirection.Both || !hasRelationshipBackToStart.get(current)) {
+                            for (int next : downstream.get(current)) {
+                                if (!elementsToShow.get(next)) {
+                                    elementsToShow.set(next);
+                                    queue[tail++] = next;
+                                }
+                            }
+                        }
+                    }
+
+                    if (direction != TraversalDirection.Downstream) {
+                        for (int next : upstream.get(current)) {
+                            if (!elementsToShow.get(next)) {
+                                elementsToShow.set(next);
+                                queue[tail++] = next;
+                            }
+                        }
+                    }
+                }
+                depth++;
+            }
+        }
 
-            // check that we've not gone back to the starting point of the graph
-            if (!element.hasEfferentRelationshipWith(startingElement)) {
-                element.getRelationships().forEach(r -> findElementsToShow(startingElement, r.getDestination(), elementsToShow, elementsVisited));
+        Set<Element> elementsToRemove = new HashSet<>();
+        for (int i = 0; i < elements.size(); i++) {
+            if (!elementsToShow.get(i) && canBeRemoved(elements.get(i))) {
+                elementsToRemove.add(elements.get(i));
             }
         }
+
+        removeElements(elementsToRemove);
     }
 
     /**
@@ -184,6 +297,145 @@ public abstract class StaticView extends View {
                 .forEach(this::remove);
     }
 
+    /**
+     * Keeps the contents of this view up to date as elements and relationships are added to the model,
+     * without recalculating the whole view. With {@link ModelChangeTracking#DefaultElements}, new elements
+     * are added as {@link #addDefaultElements()} would add them; with {@link ModelChangeTracking#AllElements},
+     * as {@link #addAllElements()} would add them. With {@link ModelChangeTracking#NearestNeighbours}, new elements
+     * are only added when a new relationship connects them to an element already in the view, as
+     * {@link #addNearestNeighbours(Element)} would add them for that element (along with the relationship, and
+     * provided the element is permitted in this type of view). In all cases, new relationships between elements
+     * already in the view are added too.
+     *
+     * @param tracking  the rule used to decide which new elements belong in this view
+     */
+    public void trackModelChanges(@Nonnull ModelChangeTracking tracking) {
+        if (tracking == null) {
+            throw new IllegalArgumentException("A model change tracking rule must be specified.");
+        }
+
+        stopTrackingModelChanges();
+
+        modelListener = new ModelListener() {
+            @Override
+            public void elementAdded(Element element) {
+                modelElementAdded(element, tracking);
+            }
+
+            @Override
+            public void relationshipAdded(Relationship relationship) {
+                modelRelationshipAdded(relationship, tracking);
+            }
+        };
+        getModel().addListener(modelListener);
+    }
+
+    /**
+     * Stops keeping the contents of this view up to date as the model changes.
+     */
+    public void stopTrackingModelChanges() {
+        if (modelListener != null) {
+            getModel().removeListener(modelListener);
+            modelListener = null;
+        }
+    }
+
+    private void modelElementAdded(Element element, ModelChangeTracking tracking) {
+        boolean belongsInView;
+        switch (tracking) {
+            case AllElements:
+                belongsInView = isIncludedInAllElements(element);
+                break;
+            case DefaultElements:
+                belongsInView = isIncludedInDefaultElements(element);
+                break;
+            default:
+                // a new element has no relationships yet, so it can't be a neighbour of anything in the view
+                belongsInView = false;
+        }
+
+        if (belongsInView) {
+            // a new element has no relationships yet
+            addElementIfPermitted(element, false);
+        }
+    }
+
+    private void modelRelationshipAdded(Relationship relationship, ModelChangeTracking tracking) {
+        Element source = relationship.getSource();
+        Element destination = relationship.getDestination();
+        boolean sourceIsInView = isElementInView(source);
+        boolean destinationIsInView = isElementInView(destination);
+
+        if (tracking == ModelChangeTracking.DefaultElements) {
+            if (sourceIsInView && !destinationIsInView && isDefaultNeighbour(source, destination)) {
+                addElementIfPermitted(destination, true);
+                return;
+            }
+
+            if (destinationIsInView && !sourceIsInView && isDefaultNeighbour(destination, source)) {
+                addElementIfPermitted(source, true);
+                return;
+            }
+        }
+
+        if (tracking == ModelChangeTracking.NearestNeighbours) {
+            if (sourceIsInView && !destinationIsInView) {
+                addElementIfPermitted(destination, true);
+                return;
+            }
+
+            if (destinationIsInView && !sourceIsInView) {
+                addElementIfPermitted(source, true);
+                return;
+            }
+        }
+
+        if (sourceIsInView && destinationIsInView) {
+            addRelationship(relationship);
+        }
+    }
+
+    private void addElementIfPermitted(Element element, boolean addRelationships) {
+        try {
+            addElement(element, addRelationships);
+        } catch (ElementNotPermittedInViewException e) {
+            // the element doesn't belong in this type of view, so ignore it
+        }
+    }
+
+    /**
+     * Determines whether a new element would be added to this view by {@link #addDefaultElements()},
+     * irrespective of its relationships.
+     *
+     * @param element   a new Element
+     * @return  true if the element belongs in this view by default, false otherwise
+     */
+    boolean isIncludedInDefaultElements(Element element) {
+        return false;
+    }
+
+    /**
+     * Determines whether {@link #addDefaultElements()} would add the given element to this view,
+     * because it is connected to an element that is already in the view.
+     *
+     * @param elementInView     an Element that is already in this view
+     * @param element           an Element that has been connected to it
+     * @return  true if the element belongs in this view by default, false otherwise
+     */
+    boolean isDefaultNeighbour(Element elementInView, Element element) {
+        return false;
+    }
+
+    /**
+     * Determines whether a new element would be added to this view by {@link #addAllElements()}.
+     *
+     * @param element   a new Element
+     * @return  true if the element belongs in this view, false otherwise
+     */
+    boolean isIncludedInAllElements(Element element) {
+        return element instanceof Person || element instanceof SoftwareSystem;
+    }
+
     /**
      * Adds an animation step, with the specified elements.
      *
@@ -194,19 +446,14 @@ public abstract class StaticView extends View {
             throw new IllegalArgumentException("One or more elements must be specified.");
         }
 
-        Set<String> elementIdsInPreviousAnimationSteps = new HashSet<>();
-
-        for (Animation animationStep : animations) {
-            elementIdsInPreviousAnimationSteps.addAll(animationStep.getElements());
-        }
-
+        Set<String> elementIdsInPreviousAnimationSteps = getElementIdsInAnimationSteps();
+        Set<String> elementIdsInThisAnimationStep = new HashSet<>();
         Set<Element> elementsInThisAnimationStep = new HashSet<>();
         Set<Relationship> relationshipsInThisAnimationStep = new HashSet<>();
 
         for (Element element : elements) {
             if (isElementInView(element)) {
-                if (!elementIdsInPreviousAnimationSteps.contains(element.getId())) {
-                    elementIdsInPreviousAnimationSteps.add(element.getId());
+                if (!elementIdsInPreviousAnimationSteps.contains(element.getId()) && elementIdsInThisAnimationStep.add(element.getId())) {
                     elementsInThisAnimationStep.add(element);
                 }
             }
@@ -216,23 +463,39 @@ public abstract class StaticView extends View {
             throw new IllegalArgumentException("None of the specified elements exist in this view.");
         }
 
-        for (RelationshipView relationshipView : this.getRelationships()) {
-            if (
-                    (elementsInThisAnimationStep.contains(relationshipView.getRelationship().getSource()) && elementIdsInPreviousAnimationSteps.contains(relationshipView.getRelationship().getDestination().getId())) ||
-                    (elementIdsInPreviousAnimationSteps.contains(relationshipView.getRelationship().getSource().getId()) && elementsInThisAnimationStep.contains(relationshipView.getRelationship().getDestination()))
-               ) {
-                relationshipsInThisAnimationStep.add(relationshipView.getRelationship());
+        // only the relationships connected to the elements in this step need to be considered
+        for (Element element : elementsInThisAnimationStep) {
+            for (RelationshipView relationshipView : getRelationshipViewsConnectedTo(element)) {
+                String otherElementId = element.getId().equals(relationshipView.getRelationship().getSourceId()) ? relationshipView.getRelationship().getDestinationId() : relationshipView.getRelationship().getSourceId();
+                if (elementIdsInPreviousAnimationSteps.contains(otherElementId) || elementIdsInThisAnimationStep.contains(otherElementId)) {
+                    relationshipsInThisAnimationStep.add(relationshipView.getRelationship());
+                }
             }
         }
 
+        elementIdsInPreviousAnimationSteps.addAll(elementIdsInThisAnimationStep);
         animations.add(new Animation(animations.size() + 1, elementsInThisAnimationStep, relationshipsInThisAnimationStep));
     }
 
+    // the IDs of all elements shown in the animation steps so far, which is maintained as steps are added
+    private Set<String> getElementIdsInAnimationSteps() {
+        if (elementIdsInAnimationSteps == null) {
+            elementIdsInAnimationSteps = new HashSet<>();
+            for (Animation animationStep : animations) {
+                elementIdsInAnimationSteps.addAll(animationStep.getElements());
+            }
+        }
+
+        return elementIdsInAnimationSteps;
+    }
+
     public List<Animation> getAnimations() {
         return new ArrayList<>(animations);
     }
 
     void setAnimations(List<Animation> animations) {
+        elementIdsInAnimationSteps = null;
+
         if (animations != null) {
             this.animations = new ArrayList<>(animations);
         } else {
@@ -4,7 +4,11 @@ import com.structurizr.Workspace;
 import com.structurizr.model.*;
 import com.structurizr.util.StringUtils;
 
+import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 public final class Styles {
 
@@ -19,8 +23,24 @@ public final class Styles {
 
     private Map<String,Theme> themes = new LinkedHashMap<>();
 
+    // the merged element/relationship style for each tag, compiled from the themes and workspace styles on demand
+    private volatile Map<String,ElementStyle> elementStylesByTag;
+    private volatile Map<String,RelationshipStyle> relationshipStylesByTag;
+
+    // the fully resolved styles, keyed by the tag string of the element/relationship
+    // (and, for element instances, by the tag string of the element they are an instance of too)
+    private final Map<String,ElementStyle> elementStylesByTags = new ConcurrentHashMap<>();
+    private final Map<String,Map<String,ElementStyle>> elementInstanceStylesByTags = new ConcurrentHashMap<>();
+    private final Map<String,ElementStyle> deploymentNodeStylesByTags = new ConcurrentHashMap<>();
+    private final Map<String,RelationshipStyle> relationshipStylesByTags = new ConcurrentHashMap<>();
+
+    // the tags of each relationship, prefixed with the tags of any linked relationships, for each model
+    // (weakly keyed, so that the styles don't keep a model alive, and discarded when the tags of the model's relationships change)
+    private final Map<Model,RelationshipTags> relationshipTagsByModel = Collections.synchronizedMap(new WeakHashMap<>());
+
     public Collection<ElementStyle> getElements() {
-        return elements;
+        // the collection can be modified directly, so changes made through it discard the compiled styles
+        return new StyleCollection<>(elements);
     }
 
     public void add(ElementStyle elementStyle) {
@@ -34,6 +54,7 @@ public final class Styles {
             }
 
             this.elements.add(elementStyle);
+            stylesChanged();
         }
     }
 
@@ -49,6 +70,7 @@ public final class Styles {
      */
     public void clearElementStyles() {
         this.elements = new LinkedList<>();
+        stylesChanged();
     }
 
     /**
@@ -56,10 +78,12 @@ public final class Styles {
      */
     public void clearRelationshipStyles() {
         this.relationships = new LinkedList<>();
+        stylesChanged();
     }
 
     public Collection<RelationshipStyle> getRelationships() {
-        return relationships;
+        // the collection can be modified directly, so changes made through it discard the compiled styles
+        return new StyleCollection<>(relationships);
     }
 
     public void add(RelationshipStyle relationshipStyle) {
@@ -73,6 +97,7 @@ public final class Styles {
             }
 
             this.relationships.add(relationshipStyle);
+            stylesChanged();
         }
     }
 
@@ -97,21 +122,9 @@ public final class Styles {
         }
 
         tag = tag.trim();
-        ElementStyle style = new ElementStyle(tag);
-
-        Collection<ElementStyle> elementStyles = new ArrayList<>();
-        for (Theme theme : themes.values()) {
-            elementStyles.addAll(theme.getElements());
-        }
-        elementStyles.addAll(elements);
+        ElementStyle style = getElementStylesByTag().get(tag);
 
-        for (ElementStyle elementStyle : elementStyles) {
-            if (elementStyle != null && elementStyle.getTag().equals(tag)) {
-                style.copyFrom(elementStyle);
-            }
-        }
-
-        return style;
+        return style != null ? style.copy() : new ElementStyle(tag);
     }
 
     /**
@@ -128,46 +141,73 @@ public final class Styles {
         }
 
         tag = tag.trim();
-        RelationshipStyle style = new RelationshipStyle(tag);
+        RelationshipStyle style = getRelationshipStylesByTag().get(tag);
 
-        Collection<RelationshipStyle> relationshipStyles= new ArrayList<>();
-        for (Theme theme : themes.values()) {
-            relationshipStyles.addAll(theme.getRelationships());
+        return style != null ? style.copy() : new RelationshipStyle(tag);
+    }
+
+    /**
+     * Finds the style for the given element, as a new instance that can be modified by the caller.
+     * To render many elements, use {@link #resolveAll(View)}, which shares one instance between all the elements
+     * in a view with the same tags.
+     *
+     * @param element   an Element
+     * @return  an ElementStyle instance
+     */
+    public ElementStyle findElementStyle(Element element) {
+        return findSharedElementStyle(element).copy();
+    }
+
+    // the returned style is shared, so it must not be modified
+    ElementStyle findSharedElementStyle(Element element) {
+        if (element == null) {
+            return resolveElementStyle(null, false);
         }
-        relationshipStyles.addAll(relationships);
 
-        for (RelationshipStyle relationshipStyle : relationshipStyles) {
-            if (relationshipStyle != null && relationshipStyle.getTag().equals(tag)) {
-                style.copyFrom(relationshipStyle);
+        // the tag strings are cached by the elements, so in the common case this is a lookup without any allocation
+        String tags = element.getTags();
+        Map<String,ElementStyle> cache;
+        String elementTags = null;
+
+        if (element instanceof SoftwareSystemInstance) {
+            elementTags = ((SoftwareSystemInstance)element).getSoftwareSystem().getTags();
+        } else if (element instanceof ContainerInstance) {
+            elementTags = ((ContainerInstance)element).getContainer().getTags();
+        }
+
+        boolean deploymentNode = element instanceof DeploymentNode;
+        if (elementTags != null) {
+            cache = elementInstanceStylesByTags.get(elementTags);
+            if (cache == null) {
+                cache = elementInstanceStylesByTags.computeIfAbsent(elementTags, t -> new ConcurrentHashMap<>());
             }
+        } else {
+            cache = deploymentNode ? deploymentNodeStylesByTags : elementStylesByTags;
+        }
+
+        ElementStyle style = cache.get(tags);
+        if (style == null) {
+            style = resolveElementStyle(elementTags != null ? elementTags + "," + tags : tags, deploymentNode);
+            cache.put(tags, style);
         }
 
         return style;
     }
 
-    public ElementStyle findElementStyle(Element element) {
+    private ElementStyle resolveElementStyle(String tags, boolean deploymentNode) {
         ElementStyle style = new ElementStyle("").background("#dddddd").color("#000000").shape(Shape.Box).fontSize(24).border(Border.Solid).opacity(100).metadata(true).description(true);
 
-        if (element instanceof DeploymentNode) {
+        if (deploymentNode) {
             style.setBackground("#ffffff");
             style.setColor("#000000");
             style.setStroke("#888888");
         }
 
-        if (element != null) {
-            String tags = element.getTags();
-
-            if (element instanceof SoftwareSystemInstance) {
-                SoftwareSystem ss = ((SoftwareSystemInstance)element).getSoftwareSystem();
-                tags = ss.getTags() + "," + tags;
-            } else if (element instanceof ContainerInstance) {
-                Container c = ((ContainerInstance)element).getContainer();
-                tags = c.getTags() + "," + tags;
-            }
-
+        if (tags != null) {
+            Map<String,ElementStyle> stylesByTag = getElementStylesByTag();
             for (String tag : tags.split(",")) {
                 if (!StringUtils.isNullOrEmpty(tag)) {
-                    ElementStyle elementStyle = findElementStyle(tag);
+                    ElementStyle elementStyle = stylesByTag.get(tag.trim());
                     if (elementStyle != null) {
                         style.copyFrom(elementStyle);
                     }
@@ -192,32 +232,117 @@ public final class Styles {
         }
 
         if (style.getStroke() == null) {
-            java.awt.Color color = java.awt.Color.decode(style.getBackground());
-            style.setStroke(String.format("#%06X", (0xFFFFFF & color.darker().getRGB())));
+            style.setStroke(darker(style.getBackground()));
         }
 
         return style;
     }
 
     public RelationshipStyle findRelationshipStyle(Relationship relationship) {
-        RelationshipStyle style = new RelationshipStyle("").thickness(2).color("#707070").dashed(true).routing(Routing.Direct).fontSize(24).width(200).position(50).opacity(100);
+        return findSharedRelationshipStyle(relationship).copy();
+    }
 
-        if (relationship != null) {
-            String tags = relationship.getTags();
-            String linkedRelationshipId = relationship.getLinkedRelationshipId();
+    private RelationshipStyle findSharedRelationshipStyle(Relationship relationship) {
+        if (relationship == null) {
+            return resolveRelationshipStyle(null);
+        }
 
-            while (!StringUtils.isNullOrEmpty(linkedRelationshipId)) {
-                // the "linked relationship ID" is used for:
-                // - container instance -> container instance relationships
-                // - implied relationships
-                Relationship linkedRelationship = relationship.getModel().getRelationship(linkedRelationshipId);
-                tags = linkedRelationship.getTags() + "," + tags;
-                linkedRelationshipId = linkedRelationship.getLinkedRelationshipId();
+        String tags = findTags(relationship);
+        RelationshipStyle style = relationshipStylesByTags.get(tags);
+        if (style == null) {
+            style = resolveRelationshipStyle(tags);
+            relationshipStylesByTags.put(tags, style);
+        }
+
+        return style;
+    }
+
+    /**
+     * Resolves the styles of all elements and relationships in the given view. Each distinct set of tags
+     * is resolved once, and elements (or relationships) with the same tags share the same style instance.
+     *
+     * @param view      a View
+     * @return          a ResolvedStyles object
+     */
+    public ResolvedStyles resolveAll(@Nonnull View view) {
+        if (view == null) {
+            throw new IllegalArgumentException("A view must be specified.");
+        }
+
+        Map<ElementStyle,ElementStyle> elementStyles = new IdentityHashMap<>();
+        Map<String,ElementStyle> elementStylesById = new HashMap<>();
+        for (ElementView elementView : view.getElements()) {
+            ElementStyle style = findSharedElementStyle(elementView.getElement());
+            elementStylesById.put(elementView.getId(), elementStyles.computeIfAbsent(style, ElementStyle::copy));
+        }
+
+        Map<RelationshipStyle,RelationshipStyle> relationshipStyles = new IdentityHashMap<>();
+        Map<String,RelationshipStyle> relationshipStylesById = new HashMap<>();
+        for (RelationshipView relationshipView : view.getRelationships()) {
+            RelationshipStyle style = findSharedRelationshipStyle(relationshipView.getRelationship());
+            relationshipStylesById.put(relationshipView.getId(), relationshipStyles.computeIfAbsent(style, RelationshipStyle::copy));
+        }
+
+        return new ResolvedStyles(elementStylesById, relationshipStylesById);
+    }
+
+    /**
+     * Resolves the styles of all elements and relationships in the given views (see {@link #resolveAll(View)}),
+     * using the given fork/join pool to resolve the views in parallel.
+     *
+     * @param views         a collection of View objects
+     * @param forkJoinPool  the ForkJoinPool to use
+     * @return          a map of View to ResolvedStyles, in the same order as the views
+     */
+    public Map<View,ResolvedStyles> resolveAll(@Nonnull Collection<? extends View> views, @Nonnull ForkJoinPool forkJoinPool) {
+        if (views == null) {
+            throw new IllegalArgumentException("A collection of views must be specified.");
+        }
+
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A fork/join pool must be specified.");
+        }
+
+        List<View> listOfViews = new ArrayList<>(views);
+        List<ResolvedStyles> resolvedStyles = forkJoinPool.submit(() ->
+                listOfViews.parallelStream().map(this::resolveAll).collect(Collectors.toList())
+        ).join();
+
+        Map<View,ResolvedStyles> map = new LinkedHashMap<>();
+        for (int i = 0; i < listOfViews.size(); i++) {
+            map.put(listOfViews.get(i), resolvedStyles.get(i));
+        }
+
+        return map;
+    }
+
+    private String findTags(Relationship relationship) {
+        Model model = relationship.getModel();
+        if (model == null) {
+            return relationship.getTags();
+        }
+
+        int version = model.getRelationshipTagsVersion();
+        RelationshipTags relationshipTags;
+        synchronized (relationshipTagsByModel) {
+            relationshipTags = relationshipTagsByModel.get(model);
+            if (relationshipTags == null || relationshipTags.version != version) {
+                relationshipTags = new RelationshipTags(version);
+                relationshipTagsByModel.put(model, relationshipTags);
             }
+        }
+
+        return relationshipTags.find(relationship);
+    }
+
+    private RelationshipStyle resolveRelationshipStyle(String tags) {
+        RelationshipStyle style = new RelationshipStyle("").thickness(2).color("#707070").dashed(true).routing(Routing.Direct).fontSize(24).width(200).position(50).opacity(100);
 
+        if (tags != null) {
+            Map<String,RelationshipStyle> stylesByTag = getRelationshipStylesByTag();
             for (String tag : tags.split(",")) {
                 if (!StringUtils.isNullOrEmpty(tag)) {
-                    RelationshipStyle relationshipStyle = findRelationshipStyle(tag);
+                    RelationshipStyle relationshipStyle = stylesByTag.get(tag.trim());
                     if (relationshipStyle != null) {
                         style.copyFrom(relationshipStyle);
                     }
@@ -228,8 +353,170 @@ public final class Styles {
         return style;
     }
 
+    private Map<String,ElementStyle> getElementStylesByTag() {
+        Map<String,ElementStyle> stylesByTag = elementStylesByTag;
+        if (stylesByTag == null) {
+            stylesByTag = new HashMap<>();
+
+            Collection<ElementStyle> elementStyles = new ArrayList<>();
+            for (Theme theme : themes.values()) {
+                elementStyles.addAll(theme.getElements());
+            }
+            elementStyles.addAll(elements);
+
+            for (ElementStyle elementStyle : elementStyles) {
+                if (elementStyle != null && elementStyle.getTag() != null) {
+                    elementStyle.setStyles(this);
+                    stylesByTag.computeIfAbsent(elementStyle.getTag(), ElementStyle::new).copyFrom(elementStyle);
+                }
+            }
+
+            elementStylesByTag = stylesByTag;
+        }
+
+        return stylesByTag;
+    }
+
+    private Map<String,RelationshipStyle> getRelationshipStylesByTag() {
+        Map<String,RelationshipStyle> stylesByTag = relationshipStylesByTag;
+        if (stylesByTag == null) {
+            stylesByTag = new HashMap<>();
+
+            Collection<RelationshipStyle> relationshipStyles = new ArrayList<>();
+            for (Theme theme : themes.values()) {
+                relationshipStyles.addAll(theme.getRelationships());
+            }
+            relationshipStyles.addAll(relationships);
+
+            for (RelationshipStyle relationshipStyle : relationshipStyles) {
+                if (relationshipStyle != null && relationshipStyle.getTag() != null) {
+                    relationshipStyle.setStyles(this);
+                    stylesByTag.computeIfAbsent(relationshipStyle.getTag(), RelationshipStyle::new).copyFrom(relationshipStyle);
+                }
+            }
+
+            relationshipStylesByTag = stylesByTag;
+        }
+
+        return stylesByTag;
+    }
+
+    /**
+     * Discards the compiled and resolved styles, so that they are rebuilt when next needed.
+     */
+    void stylesChanged() {
+        elementStylesByTag = null;
+        relationshipStylesByTag = null;
+        elementStylesByTags.clear();
+        elementInstanceStylesByTags.clear();
+        deploymentNodeStylesByTags.clear();
+        relationshipStylesByTags.clear();
+    }
+
+    /**
+     * Memoizes the tags of the relationships in a model, keyed by relationship ID, as of a given version of the
+     * relationship tags in that model.
+     */
+    private static final class RelationshipTags {
+
+        // the model isn't referenced, because it is the (weak) key of the map holding this object,
+        // only the version of its relationship tags that these tags were memoized from
+        private final int version;
+
+        private final Map<String,String> tagsByRelationshipId = new ConcurrentHashMap<>();
+
+        private RelationshipTags(int version) {
+            this.version = version;
+        }
+
+        private String find(Relationship relationship) {
+            String tags = tagsByRelationshipId.get(relationship.getId());
+            if (tags != null) {
+                return tags;
+            }
+
+            tags = relationship.getTags();
+            String linkedRelationshipId = relationship.getLinkedRelationshipId();
+
+            if (!StringUtils.isNullOrEmpty(linkedRelationshipId)) {
+                // the "linked relationship ID" is used for:
+                // - container instance -> container instance relationships
+                // - implied relationships
+                // and the linked relationship may itself be linked to another, so the tags of the whole chain
+                // are memoized (each relationship is only visited once, however many relationships link to it)
+                Relationship linkedRelationship = relationship.getModel().getRelationship(linkedRelationshipId);
+                tags = find(linkedRelationship) + "," + tags;
+            }
+
+            tagsByRelationshipId.put(relationship.getId(), tags);
+
+            return tags;
+        }
+
+    }
+
+    /**
+     * A view of the element/relationship styles that discards the compiled styles when it is modified.
+     */
+    private final class StyleCollection<T> extends AbstractCollection<T> {
+
+        private final Collection<T> styles;
+
+        private StyleCollection(Collection<T> styles) {
+            this.styles = styles;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> iterator = styles.iterator();
+
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    stylesChanged();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return styles.size();
+        }
+
+        @Override
+        public boolean add(T style) {
+            boolean added = styles.add(style);
+            stylesChanged();
+
+            return added;
+        }
+
+    }
+
+    // equivalent to java.awt.Color.decode(color).darker(), without needing AWT
+    private static String darker(String color) {
+        int rgb = Integer.decode(color);
+        int red = (int)(((rgb >> 16) & 0xFF) * 0.7);
+        int green = (int)(((rgb >> 8) & 0xFF) * 0.7);
+        int blue = (int)((rgb & 0xFF) * 0.7);
+
+        return String.format("#%02X%02X%02X", red, green, blue);
+    }
+
     void addStylesFromTheme(String url, Collection<ElementStyle> elements, Collection<RelationshipStyle> relationships) {
         themes.put(url, new Theme(elements, relationships));
+        stylesChanged();
     }
 
 }
@@ -72,6 +72,12 @@ public final class SystemContextView extends StaticView {
         }
     }
 
+    @Override
+    boolean isDefaultNeighbour(Element elementInView, Element element) {
+        return elementInView == getSoftwareSystem() &&
+                (element instanceof CustomElement || element instanceof Person || element instanceof SoftwareSystem);
+    }
+
     /**
      * Determines whether the enterprise boundary (to differentiate "internal" elements from "external" elements") should be visible on the resulting diagram.
      *
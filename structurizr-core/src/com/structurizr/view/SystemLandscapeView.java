@@ -89,6 +89,16 @@ public final class SystemLandscapeView extends StaticView {
         }
     }
 
+    @Override
+    boolean isIncludedInDefaultElements(Element element) {
+        return element instanceof Person || element instanceof SoftwareSystem;
+    }
+
+    @Override
+    boolean isDefaultNeighbour(Element elementInView, Element element) {
+        return element instanceof CustomElement;
+    }
+
     /**
      * Determines whether the enterprise boundary (to differentiate "internal" elements from "external" elements") should be visible on the resulting diagram.
      *
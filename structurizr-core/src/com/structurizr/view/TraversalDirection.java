@@ -0,0 +1,9 @@
+package com.structurizr.view;
+
+public enum TraversalDirection {
+
+    Downstream,
+    Upstream,
+    Both
+
+}
@@ -6,10 +6,7 @@ import com.structurizr.model.*;
 import com.structurizr.util.StringUtils;
 
 import javax.annotation.Nonnull;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +29,13 @@ public abstract class View {
 
     private Set<ElementView> elementViews = new LinkedHashSet<>();
     private Set<RelationshipView> relationshipViews = new LinkedHashSet<>();
+    private int relationshipViewsVersion = 0;
+    private Map<String, List<RelationshipView>> relationshipViewsByElementId = null;
+    private int relationshipViewsByElementIdVersion = 0;
+    // deferred content is populated (once) by the first thread to need it; other threads wait until it has been
+    private final Object materializationLock = new Object();
+    private volatile Runnable deferredContent = null;
+    private volatile boolean materialized = true;
 
     private LayoutMergeStrategy layoutMergeStrategy = new DefaultLayoutMergeStrategy();
 
@@ -257,6 +261,8 @@ public abstract class View {
             throw new IllegalArgumentException("An element must be specified.");
         }
 
+        materialize();
+
         if (getModel().contains(element)) {
             checkElementCanBeAdded(element);
             elementViews.add(new ElementView(element));
@@ -280,6 +286,7 @@ public abstract class View {
         for (Relationship relationship : element.getRelationships()) {
             if (elements.contains(relationship.getDestination())) {
                 this.relationshipViews.add(new RelationshipView(relationship));
+                relationshipViewsVersion++;
             }
         }
 
@@ -288,6 +295,7 @@ public abstract class View {
             for (Relationship r : e.getRelationships()) {
                 if (r.getDestination().equals(element)) {
                     this.relationshipViews.add(new RelationshipView(r));
+                    relationshipViewsVersion++;
                 }
             }
         }
@@ -302,6 +310,8 @@ public abstract class View {
             throw new IllegalArgumentException("The element named '" + element.getName() + "' cannot be removed from this view.");
         }
 
+        materialize();
+
         ElementView elementView = new ElementView(element);
         elementViews.remove(elementView);
 
@@ -313,14 +323,36 @@ public abstract class View {
         }
     }
 
+    /**
+     * Removes the given elements, and any relationships to/from them, from this view
+     * in a single pass over the relationships.
+     *
+     * @param elements  the Elements to remove (which must be removable from this view)
+     */
+    final void removeElements(Set<Element> elements) {
+        materialize();
+
+        Set<String> elementIds = new HashSet<>();
+        for (Element element : elements) {
+            elementViews.remove(new ElementView(element));
+            elementIds.add(element.getId());
+        }
+
+        relationshipViews.removeIf(rv -> elementIds.contains(rv.getRelationship().getSourceId()) || elementIds.contains(rv.getRelationship().getDestinationId()));
+        relationshipViewsVersion++;
+    }
+
     protected RelationshipView addRelationship(Relationship relationship) {
         if (relationship == null) {
             throw new IllegalArgumentException("A relationship must be specified.");
         }
 
+        materialize();
+
         if (isElementInView(relationship.getSource()) && isElementInView(relationship.getDestination())) {
             RelationshipView relationshipView = new RelationshipView(relationship);
             relationshipViews.add(relationshipView);
+            relationshipViewsVersion++;
 
             return relationshipView;
         }
@@ -329,7 +361,9 @@ public abstract class View {
     }
 
     public boolean isElementInView(Element element) {
-        return this.elementViews.stream().anyMatch(ev -> ev.getElement().equals(element));
+        materialize();
+
+        return element != null && this.elementViews.contains(new ElementView(element));
     }
 
     /**
@@ -339,8 +373,11 @@ public abstract class View {
      */
     public void remove(Relationship relationship) {
         if (relationship != null) {
+            materialize();
+
             RelationshipView relationshipView = new RelationshipView(relationship);
             relationshipViews.remove(relationshipView);
+            relationshipViewsVersion++;
         }
     }
 
@@ -364,12 +401,33 @@ public abstract class View {
      * @return a Set of ElementView objects
      */
     public Set<ElementView> getElements() {
+        materialize();
+
         return new HashSet<>(elementViews);
     }
 
+    /**
+     * Gets the element views in this view, in the order they were added or set (unlike {@link #getElements()}, this
+     * doesn't copy them).
+     *
+     * @return  an unmodifiable Set of ElementView objects
+     */
+    Set<ElementView> getElementViewsInOrder() {
+        materialize();
+
+        return Collections.unmodifiableSet(elementViews);
+    }
+
     void setElements(Set<ElementView> elementViews) {
         if (elementViews != null) {
-            this.elementViews = new HashSet<>(elementViews);
+            this.elementViews = new LinkedHashSet<>(elementViews);
+        }
+    }
+
+    // used when deserializing, where each set is created for (and only referenced by) this view
+    void adoptElements(Set<ElementView> elementViews) {
+        if (elementViews != null) {
+            this.elementViews = elementViews;
         }
     }
 
@@ -379,15 +437,108 @@ public abstract class View {
      * @return a Set of RelationshipView objects
      */
     public Set<RelationshipView> getRelationships() {
+        materialize();
+
         return new HashSet<>(this.relationshipViews);
     }
 
     void setRelationships(Set<RelationshipView> relationshipViews) {
         if (relationshipViews != null) {
-            this.relationshipViews = new HashSet<>(relationshipViews);
+            this.relationshipViews = new LinkedHashSet<>(relationshipViews);
+            relationshipViewsVersion++;
+        }
+    }
+
+    void adoptRelationships(Set<RelationshipView> relationshipViews) {
+        if (relationshipViews != null) {
+            this.relationshipViews = relationshipViews;
+            relationshipViewsVersion++;
         }
     }
 
+    /**
+     * Discards the current contents of this view, and defers populating it until its elements
+     * or relationships are first needed (e.g. when the view is rendered or serialized).
+     *
+     * @param populate      populates this view
+     */
+    final void deferContent(@Nonnull Runnable populate) {
+        synchronized (materializationLock) {
+            this.elementViews = new LinkedHashSet<>();
+            this.relationshipViews = new LinkedHashSet<>();
+            relationshipViewsVersion++;
+
+            this.deferredContent = populate;
+            this.materialized = false;
+        }
+    }
+
+    /**
+     * Determines whether populating this view has been deferred, and has not happened yet.
+     *
+     * @return  true if this view's contents have not been materialized yet, false otherwise
+     */
+    final boolean hasDeferredContent() {
+        return deferredContent != null;
+    }
+
+    /**
+     * Populates this view, if that has been deferred.
+     */
+    final void materialize() {
+        if (!materialized) {
+            synchronized (materializationLock) {
+                // cleared first, since populating the view adds elements to it (on this thread, which already holds the lock)
+                Runnable populate = deferredContent;
+                if (populate != null) {
+                    deferredContent = null;
+                    try {
+                        populate.run();
+                    } finally {
+                        materialized = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a counter that changes whenever the set of relationships in this view changes,
+     * so that subclasses can tell when anything they have derived from it is stale.
+     *
+     * @return  the version, as an int
+     */
+    int getRelationshipViewsVersion() {
+        return relationshipViewsVersion;
+    }
+
+    /**
+     * Gets the relationships in this view that have the given element as their source or destination,
+     * using an index that is rebuilt only when the set of relationships in this view changes.
+     *
+     * @param element   an Element
+     * @return  a List of RelationshipView objects (empty if there are none)
+     */
+    List<RelationshipView> getRelationshipViewsConnectedTo(Element element) {
+        materialize();
+
+        if (relationshipViewsByElementId == null || relationshipViewsByElementIdVersion != relationshipViewsVersion) {
+            Map<String, List<RelationshipView>> index = new HashMap<>();
+            for (RelationshipView relationshipView : relationshipViews) {
+                Relationship relationship = relationshipView.getRelationship();
+                index.computeIfAbsent(relationship.getSourceId(), id -> new ArrayList<>()).add(relationshipView);
+                if (!relationship.getDestinationId().equals(relationship.getSourceId())) {
+                    index.computeIfAbsent(relationship.getDestinationId(), id -> new ArrayList<>()).add(relationshipView);
+                }
+            }
+
+            relationshipViewsByElementId = index;
+            relationshipViewsByElementIdVersion = relationshipViewsVersion;
+        }
+
+        return relationshipViewsByElementId.getOrDefault(element.getId(), Collections.emptyList());
+    }
+
     /**
      * Removes all elements that have no relationships to other elements in this view.
      */
@@ -436,6 +587,8 @@ public abstract class View {
      * @return  an ElementView object, or null if the element doesn't exist in the view
      */
     public ElementView getElementView(@Nonnull Element element) {
+        materialize();
+
         Optional<ElementView> elementView = this.elementViews.stream().filter(ev -> ev.getId().equals(element.getId())).findFirst();
         return elementView.orElse(null);
     }
@@ -447,6 +600,8 @@ public abstract class View {
      * @return  a RelationshipView object, or null if the relationship doesn't exist in the view
      */
     public RelationshipView getRelationshipView(@Nonnull Relationship relationship) {
+        materialize();
+
         Optional<RelationshipView> relationshipView = this.relationshipViews.stream().filter(rv -> rv.getId().equals(relationship.getId())).findFirst();
         return relationshipView.orElse(null);
     }
@@ -0,0 +1,151 @@
+package com.structurizr.view;
+
+import com.structurizr.model.Element;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A declarative definition of the contents of a static view, as an ordered list of include and exclude rules.
+ * Rules are only applied when the contents of a view are first needed (e.g. when the view is rendered
+ * or serialized), so large numbers of views can be defined without populating each of them up front.
+ * A single query can be shared between views.
+ */
+public final class ViewQuery {
+
+    private final List<Consumer<StaticView>> rules = new ArrayList<>();
+
+    /**
+     * Includes the default set of elements (see {@link StaticView#addDefaultElements()}).
+     *
+     * @return  this ViewQuery object
+     */
+    public ViewQuery includeDefaultElements() {
+        rules.add(StaticView::addDefaultElements);
+        return this;
+    }
+
+    /**
+     * Includes all of the permitted elements (see {@link StaticView#addAllElements()}).
+     *
+     * @return  this ViewQuery object
+     */
+    public ViewQuery includeAllElements() {
+        rules.add(StaticView::addAllElements);
+        return this;
+    }
+
+    /**
+     * Includes all software systems in the model.
+     *
+     * @return  this ViewQuery object
+     */
+    public ViewQuery includeAllSoftwareSystems() {
+        rules.add(StaticView::addAllSoftwareSystems);
+        return this;
+    }
+
+    /**
+     * Includes all people in the model.
+     *
+     * @return  this ViewQuery object
+     */
+    public ViewQuery includeAllPeople() {
+        rules.add(StaticView::addAllPeople);
+        return this;
+    }
+
+    /**
+     * Includes the given element, and all of the permitted elements directly connected to it.
+     *
+     * @param element   an Element
+     * @return  this ViewQuery object
+     */
+    public ViewQuery includeNearestNeighbours(@Nonnull Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        rules.add(view -> view.addNearestNeighbours(element));
+        return this;
+    }
+
+    /**
+     * Excludes the given element, if it has been included and can be removed from the view.
+     *
+     * @param element   an Element
+     * @return  this ViewQuery object
+     */
+    public ViewQuery exclude(@Nonnull Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        rules.add(view -> {
+            if (view.isElementInView(element) && view.canBeRemoved(element)) {
+                view.removeElement(element);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Excludes all elements that have the given tag.
+     *
+     * @param tag   a tag
+     * @return  this ViewQuery object
+     */
+    public ViewQuery excludeElementsWithTag(@Nonnull String tag) {
+        if (tag == null) {
+            throw new IllegalArgumentException("A tag must be specified.");
+        }
+
+        rules.add(view -> view.removeElementsWithTag(tag));
+        return this;
+    }
+
+    /**
+     * Excludes all relationships that have the given tag.
+     *
+     * @param tag   a tag
+     * @return  this ViewQuery object
+     */
+    public ViewQuery excludeRelationshipsWithTag(@Nonnull String tag) {
+        if (tag == null) {
+            throw new IllegalArgumentException("A tag must be specified.");
+        }
+
+        rules.add(view -> view.removeRelationshipsWithTag(tag));
+        return this;
+    }
+
+    /**
+     * Excludes all elements that are more than the given number of relationships away from the given element,
+     * following relationships in either direction.
+     *
+     * @param element   the Element to measure from
+     * @param radius    the maximum number of relationships between the given element and any included element
+     * @return  this ViewQuery object
+     */
+    public ViewQuery excludeElementsBeyond(@Nonnull Element element, int radius) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        if (radius < 0) {
+            throw new IllegalArgumentException("The radius must be zero or greater.");
+        }
+
+        rules.add(view -> view.removeElementsThatAreUnreachableFrom(element, TraversalDirection.Both, radius));
+        return this;
+    }
+
+    void applyTo(StaticView view) {
+        for (Consumer<StaticView> rule : rules) {
+            rule.accept(view);
+        }
+    }
+
+}
@@ -4,11 +4,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.structurizr.WorkspaceValidationException;
 import com.structurizr.model.*;
+import com.structurizr.util.ParallelUtils;
 import com.structurizr.util.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.structurizr.util.StringUtils.isNullOrEmpty;
 
@@ -31,6 +38,9 @@ public final class ViewSet {
 
     private Collection<FilteredView> filteredViews = new HashSet<>();
 
+    private Map<String, View> viewsByKey = new HashMap<>();
+    private Map<String, FilteredView> filteredViewsByKey = new HashMap<>();
+
     private Configuration configuration = new Configuration();
 
     ViewSet() {
@@ -55,6 +65,7 @@ public final class ViewSet {
         CustomView view = new CustomView(model, key, title, description);
         view.setViewSet(this);
         customViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -72,6 +83,7 @@ public final class ViewSet {
         SystemLandscapeView view = new SystemLandscapeView(model, key, description);
         view.setViewSet(this);
         systemLandscapeViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -91,6 +103,7 @@ public final class ViewSet {
         SystemContextView view = new SystemContextView(softwareSystem, key, description);
         view.setViewSet(this);
         systemContextViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -110,6 +123,7 @@ public final class ViewSet {
         ContainerView view = new ContainerView(softwareSystem, key, description);
         view.setViewSet(this);
         containerViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -129,6 +143,7 @@ public final class ViewSet {
         ComponentView view = new ComponentView(container, key, description);
         view.setViewSet(this);
         componentViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -146,6 +161,7 @@ public final class ViewSet {
         DynamicView view = new DynamicView(model, key, description);
         view.setViewSet(this);
         dynamicViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -172,6 +188,7 @@ public final class ViewSet {
         DynamicView view = new DynamicView(softwareSystem, key, description);
         view.setViewSet(this);
         dynamicViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -199,6 +216,7 @@ public final class ViewSet {
         DynamicView view = new DynamicView(container, key, description);
         view.setViewSet(this);
         dynamicViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -216,6 +234,7 @@ public final class ViewSet {
         DeploymentView view = new DeploymentView(model, key, description);
         view.setViewSet(this);
         deploymentViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -235,6 +254,7 @@ public final class ViewSet {
         DeploymentView view = new DeploymentView(softwareSystem, key, description);
         view.setViewSet(this);
         deploymentViews.add(view);
+        viewsByKey.put(view.getKey(), view);
         return view;
     }
 
@@ -254,6 +274,7 @@ public final class ViewSet {
 
         FilteredView filteredView = new FilteredView(view, key, description, mode, tags);
         filteredViews.add(filteredView);
+        filteredViewsByKey.put(filteredView.getKey(), filteredView);
         return filteredView;
     }
 
@@ -291,21 +312,30 @@ public final class ViewSet {
      * @param key   the key
      * @return  a View object, or null if a view with the specified key could not be found
      */
-    View getViewWithKey(String key) {
+    public View getViewWithKey(String key) {
         if (key == null) {
             throw new IllegalArgumentException("A key must be specified.");
         }
 
-        Set<View> views = new HashSet<>();
-        views.addAll(customViews);
-        views.addAll(systemLandscapeViews);
-        views.addAll(systemContextViews);
-        views.addAll(containerViews);
-        views.addAll(componentViews);
-        views.addAll(dynamicViews);
-        views.addAll(deploymentViews);
+        return viewsByKey.get(key);
+    }
 
-        return views.stream().filter(v -> key.equals(v.getKey())).findFirst().orElse(null);
+    /**
+     * Finds the view with the specified key and type, or null if such a view does not exist.
+     *
+     * @param key   the key
+     * @param type  the type of view (e.g. ContainerView.class)
+     * @param <T>   the type of view
+     * @return  a View object of the specified type, or null if a view with the specified key and type could not be found
+     */
+    public <T extends View> T getViewWithKey(String key, Class<T> type) {
+        View view = getViewWithKey(key);
+
+        if (type.isInstance(view)) {
+            return type.cast(view);
+        } else {
+            return null;
+        }
     }
 
     /**
@@ -314,12 +344,12 @@ public final class ViewSet {
      * @param key   the key
      * @return  a FilteredView object, or null if a view with the specified key could not be found
      */
-    FilteredView getFilteredViewWithKey(String key) {
+    public FilteredView getFilteredViewWithKey(String key) {
         if (key == null) {
             throw new IllegalArgumentException("A key must be specified.");
         }
 
-        return filteredViews.stream().filter(v -> key.equals(v.getKey())).findFirst().orElse(null);
+        return filteredViewsByKey.get(key);
     }
 
     /**
@@ -333,7 +363,7 @@ public final class ViewSet {
 
     void setCustomViews(Set<CustomView> customViews) {
         if (customViews != null) {
-            this.customViews = new HashSet<>(customViews);
+            this.customViews = replaceViews(this.customViews, customViews);
         }
     }
 
@@ -348,7 +378,7 @@ public final class ViewSet {
 
     void setSystemLandscapeViews(Set<SystemLandscapeView> systemLandscapeViews) {
         if (systemLandscapeViews != null) {
-            this.systemLandscapeViews = new HashSet<>(systemLandscapeViews);
+            this.systemLandscapeViews = replaceViews(this.systemLandscapeViews, systemLandscapeViews);
         }
     }
 
@@ -358,7 +388,7 @@ public final class ViewSet {
     @JsonSetter("enterpriseContextViews")
     void setEnterpriseContextViews(Collection<SystemLandscapeView> enterpriseContextViews) {
         if (enterpriseContextViews != null) {
-            this.systemLandscapeViews = new HashSet<>(enterpriseContextViews);
+            this.systemLandscapeViews = replaceViews(this.systemLandscapeViews, enterpriseContextViews);
         }
     }
 
@@ -373,7 +403,7 @@ public final class ViewSet {
 
     void setSystemContextViews(Set<SystemContextView> systemContextViews) {
         if (systemContextViews != null) {
-            this.systemContextViews = new HashSet<>(systemContextViews);
+            this.systemContextViews = replaceViews(this.systemContextViews, systemContextViews);
         }
     }
 
@@ -388,7 +418,7 @@ public final class ViewSet {
 
     void setContainerViews(Set<ContainerView> containerViews) {
         if (containerViews != null) {
-            this.containerViews = new HashSet<>(containerViews);
+            this.containerViews = replaceViews(this.containerViews, containerViews);
         }
     }
 
@@ -403,7 +433,7 @@ public final class ViewSet {
 
     void setComponentViews(Set<ComponentView> componentViews) {
         if (componentViews != null) {
-            this.componentViews = new HashSet<>(componentViews);
+            this.componentViews = replaceViews(this.componentViews, componentViews);
         }
     }
 
@@ -418,7 +448,7 @@ public final class ViewSet {
 
     void setDynamicViews(Set<DynamicView> dynamicViews) {
         if (dynamicViews != null) {
-            this.dynamicViews = new HashSet<>(dynamicViews);
+            this.dynamicViews = replaceViews(this.dynamicViews, dynamicViews);
         }
     }
 
@@ -428,7 +458,9 @@ public final class ViewSet {
 
     void setFilteredViews(Set<FilteredView> filteredViews) {
         if (filteredViews != null) {
+            this.filteredViews.forEach(filteredView -> filteredViewsByKey.remove(filteredView.getKey()));
             this.filteredViews = new HashSet<>(filteredViews);
+            this.filteredViews.forEach(filteredView -> filteredViewsByKey.putIfAbsent(filteredView.getKey(), filteredView));
         }
     }
 
@@ -443,10 +475,19 @@ public final class ViewSet {
 
     void setDeploymentViews(Set<DeploymentView> deploymentViews) {
         if (deploymentViews != null) {
-            this.deploymentViews = new HashSet<>(deploymentViews);
+            this.deploymentViews = replaceViews(this.deploymentViews, deploymentViews);
         }
     }
 
+    private <T extends View> Collection<T> replaceViews(Collection<T> existingViews, Collection<T> views) {
+        existingViews.forEach(view -> viewsByKey.remove(view.getKey()));
+
+        Collection<T> replacementViews = new HashSet<>(views);
+        replacementViews.forEach(view -> viewsByKey.putIfAbsent(view.getKey(), view));
+
+        return replacementViews;
+    }
+
     /**
      * Gets the set of all views (except filtered views).
      *
@@ -467,94 +508,119 @@ public final class ViewSet {
     }
 
     void hydrate(Model model) {
-        this.model = model;
-
-        checkViewKeysAreUnique();
-
-        for (CustomView view : customViews) {
-            view.setModel(model);
-            hydrateView(view);
-        }
-
-        for (SystemLandscapeView view : systemLandscapeViews) {
-            view.setModel(model);
-            hydrateView(view);
-        }
+        hydrate(model, null, true);
+    }
 
-        for (SystemContextView view : systemContextViews) {
-            SoftwareSystem softwareSystem = model.getSoftwareSystemWithId(view.getSoftwareSystemId());
-            if (softwareSystem == null) {
-                throw new WorkspaceValidationException(
-                        String.format("The system context view with key \"%s\" is associated with a software system (id=%s), but that element does not exist in the model.",
-                                view.getKey(), view.getSoftwareSystemId())
-                );
-            }
+    void hydrate(Model model, ForkJoinPool forkJoinPool, boolean validate) {
+        this.model = model;
 
-            view.setSoftwareSystem(softwareSystem);
-            hydrateView(view);
-        }
+        // views are indexed by key either way, but the keys are only checked for uniqueness when validating
+        indexViewsByKey(validate);
 
-        for (ContainerView view : containerViews) {
-            SoftwareSystem softwareSystem = model.getSoftwareSystemWithId(view.getSoftwareSystemId());
-            if (softwareSystem == null) {
-                throw new WorkspaceValidationException(
-                        String.format("The container view with key \"%s\" is associated with a software system (id=%s), but that element does not exist in the model.",
-                                view.getKey(), view.getSoftwareSystemId())
-                );
-            }
+        // once the model has been hydrated, each view can be hydrated independently; views are sorted by key, and
+        // either way, the first failing view is the one reported, so validation errors are deterministic
+        List<Runnable> tasks = new ArrayList<>();
 
-            view.setSoftwareSystem(softwareSystem);
-            hydrateView(view);
+        for (CustomView view : sortedByKey(customViews)) {
+            tasks.add(() -> {
+                view.setModel(model);
+                hydrateView(view);
+            });
         }
 
-        for (ComponentView view : componentViews) {
-            Container container = (Container)model.getElement(view.getContainerId());
-            if (container == null) {
-                throw new WorkspaceValidationException(
-                        String.format("The component view with key \"%s\" is associated with a container (id=%s), but that element does not exist in the model.",
-                                view.getKey(), view.getContainerId())
-                );
-            }
-
-            view.setContainer(container);
-            view.setSoftwareSystem(container.getSoftwareSystem());
-            hydrateView(view);
+        for (SystemLandscapeView view : sortedByKey(systemLandscapeViews)) {
+            tasks.add(() -> {
+                view.setModel(model);
+                hydrateView(view);
+            });
         }
 
-        for (DynamicView view : dynamicViews) {
-            if (!isNullOrEmpty(view.getElementId())) {
-                Element element = model.getElement(view.getElementId());
-                if (element == null) {
+        for (SystemContextView view : sortedByKey(systemContextViews)) {
+            tasks.add(() -> {
+                SoftwareSystem softwareSystem = model.getSoftwareSystemWithId(view.getSoftwareSystemId());
+                if (softwareSystem == null) {
                     throw new WorkspaceValidationException(
-                            String.format("The dynamic view with key \"%s\" is associated with an element (id=%s), but that element does not exist in the model.",
-                                    view.getKey(), view.getElementId())
+                            String.format("The system context view with key \"%s\" is associated with a software system (id=%s), but that element does not exist in the model.",
+                                    view.getKey(), view.getSoftwareSystemId())
                     );
                 }
 
-                view.setElement(element);
-            }
-
-            view.setModel(model);
-            hydrateView(view);
+                view.setSoftwareSystem(softwareSystem);
+                hydrateView(view);
+            });
         }
 
-        for (DeploymentView view : deploymentViews) {
-            if (!isNullOrEmpty(view.getSoftwareSystemId())) {
+        for (ContainerView view : sortedByKey(containerViews)) {
+            tasks.add(() -> {
                 SoftwareSystem softwareSystem = model.getSoftwareSystemWithId(view.getSoftwareSystemId());
                 if (softwareSystem == null) {
                     throw new WorkspaceValidationException(
-                            String.format("The deployment view with key \"%s\" is associated with a software system (id=%s), but that element does not exist in the model.",
+                            String.format("The container view with key \"%s\" is associated with a software system (id=%s), but that element does not exist in the model.",
                                     view.getKey(), view.getSoftwareSystemId())
                     );
                 }
 
                 view.setSoftwareSystem(softwareSystem);
-            }
+                hydrateView(view);
+            });
+        }
+
+        for (ComponentView view : sortedByKey(componentViews)) {
+            tasks.add(() -> {
+                Container container = (Container)model.getElement(view.getContainerId());
+                if (container == null) {
+                    throw new WorkspaceValidationException(
+                            String.format("The component view with key \"%s\" is associated with a container (id=%s), but that element does not exist in the model.",
+                                    view.getKey(), view.getContainerId())
+                    );
+                }
+
+                view.setContainer(container);
+                view.setSoftwareSystem(container.getSoftwareSystem());
+                hydrateView(view);
+            });
+        }
+
+        for (DynamicView view : sortedByKey(dynamicViews)) {
+            tasks.add(() -> {
+                if (!isNullOrEmpty(view.getElementId())) {
+                    Element element = model.getElement(view.getElementId());
+                    if (element == null) {
+                        throw new WorkspaceValidationException(
+                                String.format("The dynamic view with key \"%s\" is associated with an element (id=%s), but that element does not exist in the model.",
+                                        view.getKey(), view.getElementId())
+                        );
+                    }
+
+                    view.setElement(element);
+                }
+
+                view.setModel(model);
+                hydrateView(view);
+            });
+        }
+
+        for (DeploymentView view : sortedByKey(deploymentViews)) {
+            tasks.add(() -> {
+                if (!isNullOrEmpty(view.getSoftwareSystemId())) {
+                    SoftwareSystem softwareSystem = model.getSoftwareSystemWithId(view.getSoftwareSystemId());
+                    if (softwareSystem == null) {
+                        throw new WorkspaceValidationException(
+                                String.format("The deployment view with key \"%s\" is associated with a software system (id=%s), but that element does not exist in the model.",
+                                        view.getKey(), view.getSoftwareSystemId())
+                        );
+                    }
+
+                    view.setSoftwareSystem(softwareSystem);
+                }
 
-            view.setModel(model);
-            hydrateView(view);
+                view.setModel(model);
+                hydrateView(view);
+            });
         }
 
+        ParallelUtils.runAll(tasks, forkJoinPool);
+
         for (FilteredView filteredView : filteredViews) {
             View view = getViewWithKey(filteredView.getBaseViewKey());
             if (view == null) {
@@ -568,6 +634,13 @@ public final class ViewSet {
         }
     }
 
+    private static <T extends View> List<T> sortedByKey(Collection<T> views) {
+        List<T> list = new ArrayList<>(views);
+        list.sort(Comparator.comparing(View::getKey, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        return list;
+    }
+
     private void hydrateView(View view) {
         view.setViewSet(this);
 
@@ -596,8 +669,16 @@ public final class ViewSet {
         }
     }
 
-    private void checkViewKeysAreUnique() {
-        Set<String> keys = new HashSet<>();
+    /**
+     * Runs the checks that are skipped when a view set is hydrated without validation.
+     */
+    void validate() {
+        indexViewsByKey(true);
+    }
+
+    private void indexViewsByKey(boolean checkKeysAreUnique) {
+        Map<String, View> viewsByKey = new HashMap<>();
+        Map<String, FilteredView> filteredViewsByKey = new HashMap<>();
         Collection<View> views = new ArrayList<>();
         views.addAll(customViews);
         views.addAll(systemLandscapeViews);
@@ -608,20 +689,27 @@ public final class ViewSet {
         views.addAll(deploymentViews);
 
         for (View view : views) {
-            if (keys.contains(view.getKey())) {
+            if (!checkKeysAreUnique) {
+                viewsByKey.putIfAbsent(view.getKey(), view);
+            } else if (viewsByKey.containsKey(view.getKey())) {
                 throw new WorkspaceValidationException("A view with the key " + view.getKey() + " already exists.");
             } else {
-                keys.add(view.getKey());
+                viewsByKey.put(view.getKey(), view);
             }
         }
 
         for (FilteredView filteredView : filteredViews) {
-            if (keys.contains(filteredView.getKey())) {
+            if (!checkKeysAreUnique) {
+                filteredViewsByKey.putIfAbsent(filteredView.getKey(), filteredView);
+            } else if (viewsByKey.containsKey(filteredView.getKey()) || filteredViewsByKey.containsKey(filteredView.getKey())) {
                 throw new WorkspaceValidationException("A view with the key " + filteredView.getKey() + " already exists.");
             } else {
-                keys.add(filteredView.getKey());
+                filteredViewsByKey.put(filteredView.getKey(), filteredView);
             }
         }
+
+        this.viewsByKey = viewsByKey;
+        this.filteredViewsByKey = filteredViewsByKey;
     }
 
     /**
@@ -633,78 +721,77 @@ public final class ViewSet {
         return configuration;
     }
 
-    public void copyLayoutInformationFrom(ViewSet source) {
-        for (CustomView view : customViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                CustomView sourceView = findView(source.getCustomViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
-        }
-
-        for (SystemLandscapeView view : systemLandscapeViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                SystemLandscapeView sourceView = findView(source.getSystemLandscapeViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
-        }
-
-        for (SystemContextView view : systemContextViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                SystemContextView sourceView = findView(source.getSystemContextViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
-        }
+    /**
+     * Copies the layout information (e.g. x,y coordinates) from the views in the specified view set, to the matching
+     * views in this view set. Views that use automatic layout, or that are not merged from remote, are skipped.
+     *
+     * @param source    the ViewSet to copy layout information from
+     */
+    public void copyLayoutInformationFrom(@Nonnull ViewSet source) {
+        copyLayoutInformationFrom(source, Runnable::run);
+    }
 
-        for (ContainerView view : containerViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                ContainerView sourceView = findView(source.getContainerViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
+    /**
+     * Copies the layout information from the views in the specified view set (see {@link #copyLayoutInformationFrom(ViewSet)}),
+     * merging each pair of views as a separate task on the specified executor. This method returns when all views
+     * have been merged. The time taken to merge each view is logged (at debug level).
+     *
+     * @param source    the ViewSet to copy layout information from
+     * @param executor  the Executor used to merge views (e.g. a ForkJoinPool, to merge views in parallel)
+     */
+    public void copyLayoutInformationFrom(@Nonnull ViewSet source, @Nonnull Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("A source view set must be specified.");
+        }
+
+        if (executor == null) {
+            throw new IllegalArgumentException("An executor must be specified.");
+        }
+
+        Map<View, View> views = new LinkedHashMap<>();
+        findViewsToCopyLayoutInformationFrom(customViews, source, source.customViews, CustomView.class, views);
+        findViewsToCopyLayoutInformationFrom(systemLandscapeViews, source, source.systemLandscapeViews, SystemLandscapeView.class, views);
+        findViewsToCopyLayoutInformationFrom(systemContextViews, source, source.systemContextViews, SystemContextView.class, views);
+        findViewsToCopyLayoutInformationFrom(containerViews, source, source.containerViews, ContainerView.class, views);
+        findViewsToCopyLayoutInformationFrom(componentViews, source, source.componentViews, ComponentView.class, views);
+        findViewsToCopyLayoutInformationFrom(dynamicViews, source, source.dynamicViews, DynamicView.class, views);
+        findViewsToCopyLayoutInformationFrom(deploymentViews, source, source.deploymentViews, DeploymentView.class, views);
+
+        int numberOfViews = views.size();
+        AtomicInteger numberOfViewsMerged = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<View, View> entry : views.entrySet()) {
+            View view = entry.getKey();
+            View sourceView = entry.getValue();
+
+            futures.add(CompletableFuture.runAsync(() -> {
+                long start = System.nanoTime();
+                view.copyLayoutInformationFrom(sourceView);
+                long duration = (System.nanoTime() - start) / 1000000;
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Copied layout information for view \"" + view.getKey() + "\" in " + duration + "ms (" + numberOfViewsMerged.incrementAndGet() + " of " + numberOfViews + ")");
                 }
-            }
+            }, executor));
         }
 
-        for (ComponentView view : componentViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                ComponentView sourceView = findView(source.getComponentViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
             }
-        }
 
-        for (DynamicView view : dynamicViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                DynamicView sourceView = findView(source.getDynamicViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
+            throw e;
         }
+    }
 
-        for (DeploymentView view : deploymentViews) {
+    private <T extends View> void findViewsToCopyLayoutInformationFrom(Collection<T> views, ViewSet source, Collection<T> sourceViews, Class<T> type, Map<View, View> viewsToCopyLayoutInformationFrom) {
+        for (T view : views) {
             if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                DeploymentView sourceView = findView(source.getDeploymentViews(), view);
+                T sourceView = source.findView(sourceViews, view, type);
                 if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
+                    viewsToCopyLayoutInformationFrom.put(view, sourceView);
                 } else {
                     log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
                 }
@@ -712,9 +799,10 @@ public final class ViewSet {
         }
     }
 
-    private <T extends View> T findView(Collection<T> views, T sourceView) {
-        for (T view : views) {
-            if (view.getKey() != null && view.getKey().equals(sourceView.getKey())) {
+    private <T extends View> T findView(Collection<T> views, T sourceView, Class<T> type) {
+        if (sourceView.getKey() != null) {
+            T view = getViewWithKey(sourceView.getKey(), type);
+            if (view != null) {
                 return view;
             }
         }
@@ -739,10 +827,43 @@ public final class ViewSet {
         return customViews.isEmpty() && systemLandscapeViews.isEmpty() && systemContextViews.isEmpty() && containerViews.isEmpty() && componentViews.isEmpty() && dynamicViews.isEmpty() && deploymentViews.isEmpty() && filteredViews.isEmpty();
     }
 
+    /**
+     * Creates a default set of views: a system landscape view, plus system context, container, component and deployment
+     * views for each software system (as appropriate).
+     */
     public void createDefaultViews() {
+        for (Runnable task : createDefaultViewsWithoutElements()) {
+            task.run();
+        }
+    }
+
+    /**
+     * Creates the same default set of views as {@link #createDefaultViews()}, but adds the default elements
+     * to each view in parallel, using the specified fork-join pool. The model must not be modified
+     * while this method is running.
+     *
+     * @param forkJoinPool  the ForkJoinPool to add elements to views with
+     */
+    public void createDefaultViews(@Nonnull ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A fork-join pool must be specified.");
+        }
+
+        // views are created and registered sequentially (so their keys are checked in a deterministic order),
+        // and then each view is populated independently, since each only reads from the model
+        List<Runnable> tasks = createDefaultViewsWithoutElements();
+        forkJoinPool.submit(() -> tasks.parallelStream().forEach(Runnable::run)).join();
+    }
+
+    /**
+     * Creates and registers the default views, returning the tasks that add the default elements to each view.
+     */
+    private List<Runnable> createDefaultViewsWithoutElements() {
+        List<Runnable> tasks = new ArrayList<>();
+
         // create a single System Landscape diagram containing all people and software systems
         SystemLandscapeView systemLandscapeView = createSystemLandscapeView("SystemLandscape", "");
-        systemLandscapeView.addDefaultElements();
+        tasks.add(systemLandscapeView::addDefaultElements);
         systemLandscapeView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
         systemLandscapeView.setEnterpriseBoundaryVisible(true);
 
@@ -754,7 +875,7 @@ public final class ViewSet {
             for (SoftwareSystem softwareSystem : softwareSystems) {
                 String systemContextViewKey = removeNonWordCharacters(softwareSystem.getName()) + "-SystemContext";
                 SystemContextView systemContextView = createSystemContextView(softwareSystem, systemContextViewKey, "");
-                systemContextView.addDefaultElements();
+                tasks.add(systemContextView::addDefaultElements);
                 systemContextView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
                 systemContextView.setEnterpriseBoundaryVisible(true);
 
@@ -764,7 +885,7 @@ public final class ViewSet {
 
                     String containerViewKey = removeNonWordCharacters(softwareSystem.getName()) + "-Container";
                     ContainerView containerView = createContainerView(softwareSystem, containerViewKey, "");
-                    containerView.addDefaultElements();
+                    tasks.add(containerView::addDefaultElements);
                     containerView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
                     containerView.setExternalSoftwareSystemBoundariesVisible(true);
 
@@ -772,7 +893,7 @@ public final class ViewSet {
                         if (container.getComponents().size() > 0) {
                             String componentViewKey = removeNonWordCharacters(softwareSystem.getName()) + "-" + removeNonWordCharacters(container.getName()) + "-Component";
                             ComponentView componentView = createComponentView(container, componentViewKey, "");
-                            componentView.addDefaultElements();
+                            tasks.add(componentView::addDefaultElements);
                             componentView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
                             componentView.setExternalSoftwareSystemBoundariesVisible(true);
                         }
@@ -819,7 +940,7 @@ public final class ViewSet {
                     String deploymentViewKey = removeNonWordCharacters(deploymentEnvironment) + "-Deployment";
                     DeploymentView deploymentView = createDeploymentView(deploymentViewKey, "");
                     deploymentView.setEnvironment(deploymentEnvironment);
-                    deploymentView.addDefaultElements();
+                    tasks.add(deploymentView::addDefaultElements);
                     deploymentView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
                 }
             } else {
@@ -829,11 +950,13 @@ public final class ViewSet {
                     String deploymentViewKey = removeNonWordCharacters(softwareSystem.getName()) + "-" + removeNonWordCharacters(deploymentEnvironment) + "-Deployment";
                     DeploymentView deploymentView = createDeploymentView(softwareSystem, deploymentViewKey, "");
                     deploymentView.setEnvironment(deploymentEnvironment);
-                    deploymentView.addDefaultElements();
+                    tasks.add(deploymentView::addDefaultElements);
                     deploymentView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
                 }
             }
         }
+
+        return tasks;
     }
 
     private String removeNonWordCharacters(String name) {
@@ -872,6 +995,8 @@ public final class ViewSet {
         dynamicViews = new HashSet<>();
         deploymentViews = new HashSet<>();
         filteredViews = new HashSet<>();
+        viewsByKey = new HashMap<>();
+        filteredViewsByKey = new HashMap<>();
         configuration = new Configuration();
     }
 
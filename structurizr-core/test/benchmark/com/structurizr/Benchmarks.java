@@ -0,0 +1,161 @@
+package com.structurizr;
+
+import com.structurizr.export.ExportBenchmark;
+import com.structurizr.model.Container;
+import com.structurizr.model.Person;
+import com.structurizr.model.Relationship;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.LayeredLayoutBenchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Runs the benchmarks in this module, and holds the workspaces and timing code they share.
+ * Run with "gradle benchmark" (from the structurizr-core directory) to run all of the benchmarks,
+ * or "gradle benchmark -Pbenchmarks=layout" to run some of them (by name).
+ */
+public final class Benchmarks {
+
+    private static final Map<String, Consumer<String[]>> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("layout", LayeredLayoutBenchmark::main);
+        BENCHMARKS.put("export", ExportBenchmark::main);
+    }
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) {
+        for (String name : args.length > 0 ? Arrays.asList(args) : BENCHMARKS.keySet()) {
+            Consumer<String[]> benchmark = BENCHMARKS.get(name.trim());
+            if (benchmark == null) {
+                throw new IllegalArgumentException("The benchmark \"" + name + "\" does not exist (the benchmarks are " + BENCHMARKS.keySet() + ").");
+            }
+
+            System.out.println("== " + name.trim());
+            benchmark.accept(new String[0]);
+            System.out.println();
+        }
+    }
+
+    /**
+     * Creates a workspace with the given number of software systems, each used by one of 50 people and using
+     * 2-6 other software systems (chosen at random, but the same every time).
+     *
+     * @param numberOfSoftwareSystems   the number of software systems
+     * @return  a Workspace (without views)
+     */
+    public static Workspace createSoftwareSystems(int numberOfSoftwareSystems) {
+        Random random = new Random(42);
+        Workspace workspace = new Workspace("Benchmark", "");
+
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            people.add(workspace.getModel().addPerson("Person " + i, "Description of person " + i));
+        }
+
+        List<SoftwareSystem> softwareSystems = new ArrayList<>();
+        for (int i = 0; i < numberOfSoftwareSystems; i++) {
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System " + i, "Description of software system " + i);
+            people.get(random.nextInt(people.size())).uses(softwareSystem, "Uses", "HTTPS");
+            softwareSystems.add(softwareSystem);
+        }
+
+        for (SoftwareSystem softwareSystem : softwareSystems) {
+            int numberOfRelationships = 2 + random.nextInt(5);
+            for (int r = 0; r < numberOfRelationships; r++) {
+                softwareSystem.uses(softwareSystems.get(random.nextInt(softwareSystems.size())), "Gets data from", "JSON/HTTPS");
+            }
+        }
+
+        return workspace;
+    }
+
+    /**
+     * Adds the given number of containers to a software system, as a tiered graph (like a large container view:
+     * users -> applications -> services -> data stores), where each container uses one or two containers in the next
+     * tier, with the occasional relationship skipping a tier or going back a tier (chosen at random, but the same
+     * every time).
+     *
+     * @param softwareSystem        the SoftwareSystem to add the containers to
+     * @param numberOfContainers    the number of containers
+     * @param numberOfTiers         the number of tiers
+     * @return  the relationships between the containers
+     */
+    public static List<Relationship> createTieredContainers(SoftwareSystem softwareSystem, int numberOfContainers, int numberOfTiers) {
+        Random random = new Random(42);
+
+        List<Container> containers = new ArrayList<>();
+        for (int i = 0; i < numberOfContainers; i++) {
+            containers.add(softwareSystem.addContainer("Container " + i, "", ""));
+        }
+
+        int containersPerTier = numberOfContainers / numberOfTiers;
+        List<Relationship> relationships = new ArrayList<>();
+        for (int i = 0; i < numberOfContainers; i++) {
+            int tier = i / containersPerTier;
+            int numberOfRelationships = 1 + random.nextInt(2);
+            for (int r = 0; r < numberOfRelationships; r++) {
+                int destinationTier = tier + 1;
+                int chance = random.nextInt(20);
+                if (chance == 0) {
+                    destinationTier = tier + 2;
+                } else if (chance == 1) {
+                    destinationTier = tier - 1;
+                }
+
+                if (destinationTier >= 0 && destinationTier < numberOfTiers) {
+                    Container destination = containers.get(destinationTier * containersPerTier + random.nextInt(containersPerTier));
+                    Relationship relationship = containers.get(i).uses(destination, "Uses");
+                    if (relationship != null) {
+                        relationships.add(relationship);
+                    }
+                }
+            }
+        }
+
+        return relationships;
+    }
+
+    /**
+     * Runs the given operation for a number of warmup iterations, and then times it for a number of measured iterations.
+     *
+     * @param warmupIterations      the number of (untimed) warmup iterations
+     * @param measuredIterations    the number of timed iterations
+     * @param operation             the operation to run
+     * @return  the duration of each measured iteration in nanoseconds, sorted (shortest first)
+     */
+    public static long[] measure(int warmupIterations, int measuredIterations, Runnable operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.run();
+        }
+
+        long[] durations = new long[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+
+        return durations;
+    }
+
+    /**
+     * Gets the median of the given (sorted) durations, in milliseconds.
+     *
+     * @param durations     durations in nanoseconds, as returned by {@link #measure(int, int, Runnable)}
+     * @return  the median duration in milliseconds
+     */
+    public static double median(long[] durations) {
+        return durations[durations.length / 2] / 1000000.0;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.structurizr.export;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.LayeredLayout;
+import com.structurizr.view.SystemContextView;
+import com.structurizr.view.View;
+
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.structurizr.Benchmarks.*;
+
+/**
+ * Measures how long it takes to export a workspace with 5,000 (laid out) views to DOT, PlantUML, Mermaid and SVG,
+ * on a single thread and in parallel. Diagrams are written to output streams that discard (but count) the bytes.
+ * Run with "gradle benchmark -Pbenchmarks=export" (from the structurizr-core directory).
+ */
+public class ExportBenchmark {
+
+    private static final int NUMBER_OF_VIEWS = 5000;
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        Workspace workspace = createWorkspace();
+        Collection<View> views = workspace.getViews().getViews();
+        new LayeredLayout().layout(views, workspace.getViews().getConfiguration().getStyles(), ForkJoinPool.commonPool());
+
+        List<AbstractDiagramExporter> exporters = Arrays.asList(new DOTExporter(), new PlantUMLExporter(), new MermaidExporter(), new SVGExporter());
+        for (AbstractDiagramExporter exporter : exporters) {
+            run(exporter.getFileExtension(), views, Collections.singletonList(exporter));
+        }
+        run("all formats", views, exporters);
+    }
+
+    private static void run(String name, Collection<View> views, List<AbstractDiagramExporter> exporters) {
+        ParallelExporter singleThreadedExporter = new ParallelExporter(Runnable::run);
+        ParallelExporter parallelExporter = new ParallelExporter(ForkJoinPool.commonPool());
+
+        AtomicLong numberOfBytes = new AtomicLong();
+        OutputStreamFactory outputStreamFactory = (view, exporter) -> new OutputStream() {
+            @Override
+            public void write(int b) {
+                numberOfBytes.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                numberOfBytes.addAndGet(len);
+            }
+        };
+
+        long[] singleThreadedDurations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> singleThreadedExporter.export(views, exporters, outputStreamFactory));
+        long[] parallelDurations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> parallelExporter.export(views, exporters, outputStreamFactory));
+
+        System.out.println(String.format("%-11s %,d views, %,d KB per export: single-threaded median %,.0f ms, parallel (%d threads) median %,.0f ms",
+                name,
+                views.size(),
+                numberOfBytes.get() / ((WARMUP_ITERATIONS + MEASURED_ITERATIONS) * 2) / 1024,
+                median(singleThreadedDurations),
+                ForkJoinPool.commonPool().getParallelism(),
+                median(parallelDurations)));
+    }
+
+    // one system context view per software system
+    private static Workspace createWorkspace() {
+        Workspace workspace = createSoftwareSystems(NUMBER_OF_VIEWS);
+        for (SoftwareSystem softwareSystem : workspace.getModel().getSoftwareSystems()) {
+            SystemContextView view = workspace.getViews().createSystemContextView(softwareSystem, softwareSystem.getId(), "");
+            view.addNearestNeighbours(softwareSystem);
+        }
+
+        return workspace;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.structurizr.view;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.Element;
+import com.structurizr.model.Relationship;
+import com.structurizr.model.SoftwareSystem;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.structurizr.Benchmarks.*;
+
+/**
+ * Measures how long the layered layout takes for container views with 100, 1,000 and 10,000 elements.
+ * Run with "gradle benchmark -Pbenchmarks=layout" (from the structurizr-core directory).
+ */
+public class LayeredLayoutBenchmark {
+
+    private static final int[] NUMBER_OF_ELEMENTS = { 100, 1000, 10000 };
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 5;
+    private static final int NUMBER_OF_TIERS = 10;
+
+    public static void main(String[] args) {
+        LayeredLayout layout = new LayeredLayout();
+
+        for (int numberOfElements : NUMBER_OF_ELEMENTS) {
+            Workspace workspace = new Workspace("Benchmark", "");
+            ContainerView view = createView(workspace, numberOfElements);
+            Styles styles = workspace.getViews().getConfiguration().getStyles();
+
+            long[] durations = measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> layout.layout(view, styles));
+
+            System.out.println(String.format("%,6d elements, %,6d relationships: median %,.0f ms (min %,d ms, max %,d ms)",
+                    view.getElements().size(),
+                    view.getRelationships().size(),
+                    median(durations),
+                    durations[0] / 1000000,
+                    durations[MEASURED_ITERATIONS - 1] / 1000000));
+        }
+    }
+
+    // a tiered graph of containers (see Benchmarks.createTieredContainers)
+    private static ContainerView createView(Workspace workspace, int numberOfElements) {
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System");
+        Set<RelationshipView> relationshipViews = new HashSet<>();
+        for (Relationship relationship : createTieredContainers(softwareSystem, numberOfElements, NUMBER_OF_TIERS)) {
+            relationshipViews.add(new RelationshipView(relationship));
+        }
+
+        // populate the view directly, since adding elements one at a time is quadratic
+        ContainerView view = workspace.getViews().createContainerView(softwareSystem, "containers", "");
+        Set<ElementView> elementViews = new HashSet<>();
+        for (Element container : softwareSystem.getContainers()) {
+            elementViews.add(new ElementView(container));
+        }
+        view.setElements(elementViews);
+        view.setRelationships(relationshipViews);
+
+        return view;
+    }
+
+}
@@ -4,10 +4,21 @@ import com.structurizr.documentation.Decision;
 import com.structurizr.documentation.Format;
 import com.structurizr.model.Component;
 import com.structurizr.model.Container;
+import com.structurizr.documentation.Documentation;
 import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.SystemContextView;
+import com.structurizr.view.ViewSet;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -73,6 +84,130 @@ public class WorkspaceTests {
 
         // check that the hydrate method doesn't crash (it includes some method calls via reflection)
         workspace.hydrate();
+        workspace.hydrate(ForkJoinPool.commonPool());
+        workspace.hydrate(null, false);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_hydrate_ThrowsAnIllegalArgumentException_WhenANullForkJoinPoolIsSpecified() {
+        try {
+            workspace.hydrate(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("A fork-join pool must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_deferViews_CreatesAndHydratesTheViewsWhenFirstNeeded() {
+        Workspace source = new Workspace("Name", "Description");
+        SoftwareSystem softwareSystem = source.getModel().addSoftwareSystem("Software System", "Description");
+        source.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description").addAllElements();
+
+        workspace = new Workspace("Name", "Description");
+        workspace.getModel().addSoftwareSystem("Software System", "Description");
+        AtomicInteger numberOfCalls = new AtomicInteger();
+        workspace.deferViews(() -> {
+            numberOfCalls.incrementAndGet();
+            return source.getViews();
+        });
+        assertEquals(0, numberOfCalls.get());
+
+        ViewSet views = workspace.getViews();
+        assertSame(views, workspace.getViews());
+        assertEquals(1, numberOfCalls.get());
+
+        // the views have been hydrated against this workspace's model
+        SystemContextView view = views.getSystemContextViews().iterator().next();
+        assertSame(workspace.getModel().getSoftwareSystemWithName("Software System"), view.getSoftwareSystem());
+    }
+
+    @Test
+    public void test_deferViews_CreatesTheViewsOnce_WhenFirstNeededByConcurrentCallers() throws Exception {
+        AtomicInteger numberOfCalls = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        workspace.deferViews(() -> {
+            numberOfCalls.incrementAndGet();
+            return new Workspace("Name", "Description").getViews();
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ViewSet>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    latch.await();
+                    return workspace.getViews();
+                }));
+            }
+            latch.countDown();
+
+            for (Future<ViewSet> future : futures) {
+                assertSame(workspace.getViews(), future.get());
+            }
+            assertEquals(1, numberOfCalls.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void test_deferViews_ThrowsTheSameValidationExceptionOnEachCall_WhenTheViewsAreNotValid() {
+        Workspace source = new Workspace("Name", "Description");
+        SoftwareSystem softwareSystem = source.getModel().addSoftwareSystem("Software System", "Description");
+        source.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description").addAllElements();
+
+        // the software system isn't in this workspace's model
+        workspace.deferViews(source::getViews);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                workspace.getViews();
+                fail();
+            } catch (WorkspaceValidationException e) {
+                assertNotNull(e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void test_hydrate_DoesNotCreateDeferredViews() {
+        AtomicInteger numberOfCalls = new AtomicInteger();
+        workspace.deferViews(() -> {
+            numberOfCalls.incrementAndGet();
+            return new Workspace("Name", "Description").getViews();
+        });
+
+        workspace.hydrate();
+        assertEquals(0, numberOfCalls.get());
+
+        assertNotNull(workspace.getViews());
+        assertEquals(1, numberOfCalls.get());
+    }
+
+    @Test
+    public void test_deferDocumentation_CreatesTheDocumentationWhenFirstNeeded() {
+        Documentation documentation = new Documentation();
+        AtomicInteger numberOfCalls = new AtomicInteger();
+        workspace.deferDocumentation(() -> {
+            numberOfCalls.incrementAndGet();
+            return documentation;
+        });
+        assertEquals(0, numberOfCalls.get());
+
+        assertSame(documentation, workspace.getDocumentation());
+        assertSame(documentation, workspace.getDocumentation());
+        assertEquals(1, numberOfCalls.get());
+    }
+
+    @Test
+    public void test_deferViews_ThrowsAnIllegalArgumentException_WhenANullSupplierIsSpecified() {
+        try {
+            workspace.deferViews(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("A supplier must be specified.", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.structurizr;
+
+import com.structurizr.model.Container;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class WorkspaceValidatorTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    public void test_construction_ThrowsAnIllegalArgumentException_WhenANullForkJoinPoolIsSpecified() {
+        try {
+            new WorkspaceValidator(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("A fork-join pool must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_validate_ThrowsAnIllegalArgumentException_WhenANullWorkspaceIsSpecified() {
+        try {
+            new WorkspaceValidator().validate(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("A workspace must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void test_validate_DoesNotThrowAnException_WhenTheWorkspaceIsValid() {
+        Person user = model.addPerson("User", "Description");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description");
+        Container container = softwareSystem.addContainer("Container", "Description", "Technology");
+        user.uses(softwareSystem, "Uses");
+        user.uses(container, "Uses");
+        views.createSystemContextView(softwareSystem, "SystemContext", "Description").addAllElements();
+        views.createContainerView(softwareSystem, "Containers", "Description").addAllElements();
+
+        workspace.hydrate(null, false);
+
+        new WorkspaceValidator().validate(workspace);
+        new WorkspaceValidator(ForkJoinPool.commonPool()).validate(workspace);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.structurizr.export;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.*;
+import com.structurizr.view.*;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class DOTExporterTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    public void test_export_ThrowsAnException_WhenANullViewIsSpecified() throws Exception {
+        try {
+            new DOTExporter().export(null, new StringWriter());
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A view must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_export_ThrowsAnException_WhenANullOutputStreamIsSpecified() throws Exception {
+        SystemLandscapeView view = views.createSystemLandscapeView("key", "Description");
+
+        try {
+            new DOTExporter().export(view, (ByteArrayOutputStream)null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An output stream must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_export_SystemContextView() throws Exception {
+        Person user = model.addPerson("User", "A \"user\".");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description");
+        user.uses(softwareSystem, "Uses", "HTTPS");
+
+        SystemContextView view = views.createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addAllElements();
+        view.enableAutomaticLayout(AutomaticLayout.RankDirection.LeftRight);
+
+        views.getConfiguration().getStyles().addElementStyle(Tags.PERSON).shape(Shape.Person).background("#08427b").color("#ffffff");
+        views.getConfiguration().getStyles().addRelationshipStyle(Tags.RELATIONSHIP).color("#707070").dashed(false).thickness(2);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new DOTExporter().export(view, outputStream);
+
+        assertEquals(
+                "digraph \"SystemContext\" {\n" +
+                "  graph [label=\"Software System - System Context\", labelloc=t, fontname=\"Arial\", rankdir=LR]\n" +
+                "  node [fontname=\"Arial\", shape=box, style=\"filled\"]\n" +
+                "  edge [fontname=\"Arial\"]\n" +
+                "\n" +
+                "  \"1\" [label=\"User\\n[Person]\\n\\nA \\\"user\\\".\", shape=box, style=\"filled,rounded\", fillcolor=\"#08427b\", color=\"#052e56\", fontcolor=\"#ffffff\", width=5.56, height=5.56]\n" +
+                "  \"2\" [label=\"Software System\\n[Software System]\\n\\nDescription\", shape=box, style=filled, fillcolor=\"#dddddd\", color=\"#9a9a9a\", fontcolor=\"#000000\", width=6.25, height=4.17]\n" +
+                "  \"1\" -> \"2\" [label=\"Uses\\n[HTTPS]\", color=\"#707070\", fontcolor=\"#707070\", penwidth=2]\n" +
+                "}\n", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_export_DeploymentView() throws Exception {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container", "", "Java");
+        DeploymentNode server = model.addDeploymentNode("Server", "", "Ubuntu");
+        DeploymentNode jvm = server.addDeploymentNode("JVM", "", "Java 17");
+        jvm.add(container);
+
+        DeploymentView view = views.createDeploymentView(softwareSystem, "Deployment", "Description");
+        view.add(server);
+
+        StringWriter writer = new StringWriter();
+        new DOTExporter().export(view, writer);
+
+        assertEquals(
+                "digraph \"Deployment\" {\n" +
+                "  graph [label=\"Software System - Deployment - Default\", labelloc=t, fontname=\"Arial\", rankdir=TB]\n" +
+                "  node [fontname=\"Arial\", shape=box, style=\"filled\"]\n" +
+                "  edge [fontname=\"Arial\"]\n" +
+                "\n" +
+                "  subgraph \"cluster_3\" {\n" +
+                "    graph [label=\"Server\\n[Deployment Node: Ubuntu]\", labeljust=l, labelloc=b, style=\"rounded\", color=\"#888888\", fontcolor=\"#000000\"]\n" +
+                "    subgraph \"cluster_4\" {\n" +
+                "      graph [label=\"JVM\\n[Deployment Node: Java 17]\", labeljust=l, labelloc=b, style=\"rounded\", color=\"#888888\", fontcolor=\"#000000\"]\n" +
+                "      \"5\" [label=\"Container\\n[Container: Java]\", shape=box, style=filled, fillcolor=\"#dddddd\", color=\"#9a9a9a\", fontcolor=\"#000000\", width=6.25, height=4.17]\n" +
+                "    }\n" +
+                "  }\n" +
+                "}\n", writer.toString());
+    }
+
+    @Test
+    public void test_export_IncludesPositions_WhenTheViewHasBeenLaidOut() throws Exception {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        a.uses(b, "Uses");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("SystemLandscape", "Description");
+        view.addAllElements();
+        view.getElementView(a).setX(100);
+        view.getElementView(a).setY(200);
+
+        StringWriter writer = new StringWriter();
+        new DOTExporter().export(view, writer);
+
+        assertTrue(writer.toString().contains("\"1\" [label=\"A\\n[Software System]\", shape=box, style=filled, fillcolor=\"#dddddd\", color=\"#9a9a9a\", fontcolor=\"#000000\", width=6.25, height=4.17, pos=\"325,-350!\"]"));
+        assertTrue(writer.toString().contains("pos=\"225,-150!\""));
+    }
+
+}
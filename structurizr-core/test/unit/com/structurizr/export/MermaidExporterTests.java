@@ -0,0 +1,127 @@
+package com.structurizr.export;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.*;
+import com.structurizr.view.*;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class MermaidExporterTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    public void test_export_SystemContextView() throws Exception {
+        Person user = model.addPerson("User", "A \"user\".");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description");
+        SoftwareSystem database = model.addSoftwareSystem("Database", "");
+        database.addTags("Database");
+        user.uses(softwareSystem, "Uses", "HTTPS");
+        softwareSystem.uses(database, "Reads from").addTags("Synchronous");
+
+        SystemContextView view = views.createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addAllElements();
+
+        views.getConfiguration().getStyles().addElementStyle(Tags.PERSON).shape(Shape.Person).background("#08427b").color("#ffffff");
+        views.getConfiguration().getStyles().addElementStyle("Database").shape(Shape.Cylinder);
+        views.getConfiguration().getStyles().addRelationshipStyle("Synchronous").dashed(false).color("#ff0000");
+
+        StringWriter writer = new StringWriter();
+        new MermaidExporter().export(view, writer);
+
+        assertEquals(
+                "graph TB\n" +
+                "  %% Software System - System Context\n" +
+                "  linkStyle default fill:#ffffff\n" +
+                "\n" +
+                "  e1(\"<b>User</b><br><span style='font-size: smaller'>[Person]</span><br><br>A #quot;user#quot;.\")\n" +
+                "  style e1 fill:#08427b,stroke:#052e56,color:#ffffff\n" +
+                "  e2[\"<b>Software System</b><br><span style='font-size: smaller'>[Software System]</span><br><br>Description\"]\n" +
+                "  style e2 fill:#dddddd,stroke:#9a9a9a,color:#000000\n" +
+                "  e3[(\"<b>Database</b><br><span style='font-size: smaller'>[Software System]</span>\")]\n" +
+                "  style e3 fill:#dddddd,stroke:#9a9a9a,color:#000000\n" +
+                "  e1-. \"Uses<br><span style='font-size: smaller'>[HTTPS]</span>\" .->e2\n" +
+                "  e2-- \"Reads from\" -->e3\n" +
+                "  linkStyle 0 stroke:#707070,color:#707070,stroke-width:2px\n" +
+                "  linkStyle 1 stroke:#ff0000,color:#ff0000,stroke-width:2px\n", writer.toString());
+    }
+
+    @Test
+    public void test_export_EscapesMarkupInLabels() throws Exception {
+        Person user = model.addPerson("Users & Admins", "Uses <b>all</b> of it");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Written in C#");
+        user.uses(softwareSystem, "Reads & writes", "<HTTPS>");
+
+        SystemContextView view = views.createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addAllElements();
+
+        StringWriter writer = new StringWriter();
+        new MermaidExporter().export(view, writer);
+
+        assertTrue(writer.toString().contains("<b>Users #amp; Admins</b>"));
+        assertTrue(writer.toString().contains("<br><br>Uses #lt;b#gt;all#lt;/b#gt; of it"));
+        assertTrue(writer.toString().contains("<br><br>Written in C#35;"));
+        assertTrue(writer.toString().contains("\"Reads #amp; writes<br><span style='font-size: smaller'>[#lt;HTTPS#gt;]</span>\""));
+    }
+
+    @Test
+    public void test_export_WritesDifferentIdentifiers_ForElementIdsThatOnlyDifferInPunctuation() throws Exception {
+        model.setIdGenerator(new IdGenerator() {
+            @Override
+            public String generateId(Element element) {
+                return element.getName();
+            }
+
+            @Override
+            public String generateId(Relationship relationship) {
+                return relationship.getSourceId() + "->" + relationship.getDestinationId();
+            }
+
+            @Override
+            public void found(String id) {
+            }
+        });
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("a-b");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("a.b");
+        model.addSoftwareSystem("a_b");
+        softwareSystem1.uses(softwareSystem2, "Uses");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("SystemLandscape", "Description");
+        view.addAllElements();
+
+        StringWriter writer = new StringWriter();
+        new MermaidExporter().export(view, writer);
+
+        assertTrue(writer.toString().contains("  ea_2d_b[\"<b>a-b</b>"));
+        assertTrue(writer.toString().contains("  ea_2e_b[\"<b>a.b</b>"));
+        assertTrue(writer.toString().contains("  ea_5f_b[\"<b>a_b</b>"));
+        assertTrue(writer.toString().contains("  ea_2d_b-. \"Uses\" .->ea_2e_b\n"));
+    }
+
+    @Test
+    public void test_export_DeploymentView() throws Exception {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container", "", "Java");
+        DeploymentNode server = model.addDeploymentNode("Server", "", "Ubuntu");
+        server.add(container);
+
+        DeploymentView view = views.createDeploymentView(softwareSystem, "Deployment", "Description");
+        view.add(server);
+
+        StringWriter writer = new StringWriter();
+        new MermaidExporter().export(view, writer);
+
+        assertEquals(
+                "graph TB\n" +
+                "  %% Software System - Deployment - Default\n" +
+                "  linkStyle default fill:#ffffff\n" +
+                "\n" +
+                "  subgraph e3 [\"<b>Server</b><br><span style='font-size: smaller'>[Deployment Node: Ubuntu]</span>\"]\n" +
+                "    style e3 fill:#ffffff,stroke:#888888,color:#000000\n" +
+                "    e4[\"<b>Container</b><br><span style='font-size: smaller'>[Container: Java]</span>\"]\n" +
+                "    style e4 fill:#dddddd,stroke:#9a9a9a,color:#000000\n" +
+                "  end\n", writer.toString());
+    }
+
+}
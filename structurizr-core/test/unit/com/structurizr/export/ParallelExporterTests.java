@@ -0,0 +1,129 @@
+package com.structurizr.export;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.SystemContextView;
+import com.structurizr.view.View;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class ParallelExporterTests extends AbstractWorkspaceTestBase {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void test_construction_ThrowsAnException_WhenANullExecutorIsSpecified() {
+        try {
+            new ParallelExporter(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An executor must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_export_ThrowsAnException_WhenANullOutputStreamFactoryIsSpecified() {
+        try {
+            new ParallelExporter().export(views.getViews(), Collections.singletonList(new DOTExporter()), (OutputStreamFactory)null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An output stream factory must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_export_ExportsEveryViewWithEveryExporter() throws Exception {
+        List<View> listOfViews = createViews(20);
+        List<AbstractDiagramExporter> exporters = Arrays.asList(new DOTExporter(), new PlantUMLExporter(), new MermaidExporter(), new SVGExporter());
+        Map<String, ByteArrayOutputStream> outputStreams = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            new ParallelExporter(executor).export(listOfViews, exporters, (view, exporter) -> {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                outputStreams.put(view.getKey() + "." + exporter.getFileExtension(), outputStream);
+                return outputStream;
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80, outputStreams.size());
+        for (View view : listOfViews) {
+            for (AbstractDiagramExporter exporter : exporters) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                exporter.export(view, outputStream);
+
+                assertArrayEquals(outputStream.toByteArray(), outputStreams.get(view.getKey() + "." + exporter.getFileExtension()).toByteArray());
+            }
+        }
+    }
+
+    @Test
+    public void test_export_WritesFilesToTheDirectory() throws Exception {
+        List<View> listOfViews = createViews(2);
+        File directory = new File(temporaryFolder.getRoot(), "diagrams");
+
+        new ParallelExporter().export(listOfViews, Collections.singletonList(new MermaidExporter()), directory);
+
+        assertTrue(new File(directory, "SystemContext-0.mmd").exists());
+        String mermaid = new String(Files.readAllBytes(new File(directory, "SystemContext-1.mmd").toPath()), StandardCharsets.UTF_8);
+        assertTrue(mermaid.startsWith("graph TB\n"));
+    }
+
+    @Test
+    public void test_export_ThrowsAnException_WhenAnOutputStreamCannotBeOpened() {
+        List<View> listOfViews = createViews(3);
+        Set<String> exported = ConcurrentHashMap.newKeySet();
+
+        try {
+            new ParallelExporter().export(listOfViews, Collections.singletonList(new DOTExporter()), (view, exporter) -> {
+                if (view.getKey().equals("SystemContext-1")) {
+                    throw new IOException("Disk full");
+                }
+
+                exported.add(view.getKey());
+                return new ByteArrayOutputStream();
+            });
+            fail();
+        } catch (UncheckedIOException uioe) {
+            assertEquals("Could not export view \"SystemContext-1\" as dot", uioe.getMessage());
+            assertEquals("Disk full", uioe.getCause().getMessage());
+        }
+
+        // the other views are still exported
+        assertEquals(new HashSet<>(Arrays.asList("SystemContext-0", "SystemContext-2")), exported);
+    }
+
+    private List<View> createViews(int numberOfViews) {
+        Person user = model.addPerson("User", "");
+        List<View> listOfViews = new ArrayList<>();
+        for (int i = 0; i < numberOfViews; i++) {
+            SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System " + i, "");
+            user.uses(softwareSystem, "Uses");
+
+            SystemContextView view = views.createSystemContextView(softwareSystem, "SystemContext-" + i, "Description");
+            view.addDefaultElements();
+            listOfViews.add(view);
+        }
+
+        return listOfViews;
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.structurizr.export;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.*;
+import com.structurizr.view.*;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class PlantUMLExporterTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    public void test_export_SystemContextView() throws Exception {
+        Person user = model.addPerson("User", "A \"user\".");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description");
+        SoftwareSystem database = model.addSoftwareSystem("Database", "");
+        database.addTags("Database");
+        user.uses(softwareSystem, "Uses", "HTTPS");
+        softwareSystem.uses(database, "Reads from").addTags("Synchronous");
+
+        SystemContextView view = views.createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addAllElements();
+
+        views.getConfiguration().getStyles().addElementStyle(Tags.PERSON).shape(Shape.Person).background("#08427b").color("#ffffff");
+        views.getConfiguration().getStyles().addElementStyle("Database").shape(Shape.Cylinder);
+        views.getConfiguration().getStyles().addRelationshipStyle("Synchronous").dashed(false).color("#ff0000");
+
+        StringWriter writer = new StringWriter();
+        new PlantUMLExporter().export(view, writer);
+
+        assertEquals(
+                "@startuml\n" +
+                "title Software System - System Context\n" +
+                "\n" +
+                "top to bottom direction\n" +
+                "\n" +
+                "skinparam {\n" +
+                "  shadowing false\n" +
+                "  defaultFontName Arial\n" +
+                "  wrapWidth 200\n" +
+                "}\n" +
+                "\n" +
+                "person \"==User\\n<size:10>[Person]</size>\\n\\nA 'user'.\" as e1 #08427b;line:#052e56;text:#ffffff\n" +
+                "rectangle \"==Software System\\n<size:10>[Software System]</size>\\n\\nDescription\" as e2 #dddddd;line:#9a9a9a;text:#000000\n" +
+                "database \"==Database\\n<size:10>[Software System]</size>\" as e3 #dddddd;line:#9a9a9a;text:#000000\n" +
+                "e1 -[#707070,dashed,thickness=2]-> e2 : Uses\\n<size:8>[HTTPS]</size>\n" +
+                "e2 -[#ff0000,thickness=2]-> e3 : Reads from\n" +
+                "@enduml\n", writer.toString());
+    }
+
+    @Test
+    public void test_export_WritesDifferentIdentifiers_ForElementIdsThatOnlyDifferInPunctuation() throws Exception {
+        model.setIdGenerator(new IdGenerator() {
+            @Override
+            public String generateId(Element element) {
+                return element.getName();
+            }
+
+            @Override
+            public String generateId(Relationship relationship) {
+                return relationship.getSourceId() + "->" + relationship.getDestinationId();
+            }
+
+            @Override
+            public void found(String id) {
+            }
+        });
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("a-b");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("a.b");
+        model.addSoftwareSystem("a_b");
+        softwareSystem1.uses(softwareSystem2, "Uses");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("SystemLandscape", "Description");
+        view.addAllElements();
+
+        StringWriter writer = new StringWriter();
+        new PlantUMLExporter().export(view, writer);
+
+        assertTrue(writer.toString().contains("\" as ea_2d_b "));
+        assertTrue(writer.toString().contains("\" as ea_2e_b "));
+        assertTrue(writer.toString().contains("\" as ea_5f_b "));
+        assertTrue(writer.toString().contains("ea_2d_b -[#707070,dashed,thickness=2]-> ea_2e_b : Uses\n"));
+    }
+
+    @Test
+    public void test_export_DeploymentView() throws Exception {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container", "", "Java");
+        DeploymentNode server = model.addDeploymentNode("Server", "", "Ubuntu");
+        server.add(container);
+
+        DeploymentView view = views.createDeploymentView(softwareSystem, "Deployment", "Description");
+        view.add(server);
+
+        StringWriter writer = new StringWriter();
+        new PlantUMLExporter().export(view, writer);
+
+        assertEquals(
+                "@startuml\n" +
+                "title Software System - Deployment - Default\n" +
+                "\n" +
+                "top to bottom direction\n" +
+                "\n" +
+                "skinparam {\n" +
+                "  shadowing false\n" +
+                "  defaultFontName Arial\n" +
+                "  wrapWidth 200\n" +
+                "}\n" +
+                "\n" +
+                "node \"==Server\\n<size:10>[Deployment Node: Ubuntu]</size>\" as e3 #ffffff;line:#888888;text:#000000 {\n" +
+                "  rectangle \"==Container\\n<size:10>[Container: Java]</size>\" as e4 #dddddd;line:#9a9a9a;text:#000000\n" +
+                "}\n" +
+                "@enduml\n", writer.toString());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.structurizr.export;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.*;
+import com.structurizr.view.*;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class SVGExporterTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    public void test_export_UsesTheElementPositions() throws Exception {
+        Person user = model.addPerson("User", "");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "Description & more");
+        user.uses(softwareSystem, "Uses", "HTTPS");
+
+        SystemContextView view = views.createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addAllElements();
+        view.getElementView(user).setX(100);
+        view.getElementView(user).setY(100);
+        view.getElementView(softwareSystem).setX(100);
+        view.getElementView(softwareSystem).setY(800);
+
+        StringWriter writer = new StringWriter();
+        new SVGExporter().export(view, writer);
+
+        assertEquals(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"600\" height=\"1150\" viewBox=\"0 0 600 1150\" font-family=\"Arial, Helvetica, sans-serif\">\n" +
+                "  <title>Software System - System Context</title>\n" +
+                "  <rect x=\"0\" y=\"0\" width=\"600\" height=\"1150\" fill=\"#ffffff\"/>\n" +
+                "  <g id=\"1\">\n" +
+                "    <rect x=\"100\" y=\"100\" width=\"450\" height=\"300\" fill=\"#dddddd\" stroke=\"#9a9a9a\" stroke-width=\"2\"/>\n" +
+                "    <text x=\"325\" y=\"248\" text-anchor=\"middle\" font-size=\"24\" font-weight=\"bold\" fill=\"#000000\">User</text>\n" +
+                "    <text x=\"325\" y=\"271\" text-anchor=\"middle\" font-size=\"18\" fill=\"#000000\">[Person]</text>\n" +
+                "  </g>\n" +
+                "  <g id=\"2\">\n" +
+                "    <rect x=\"100\" y=\"800\" width=\"450\" height=\"300\" fill=\"#dddddd\" stroke=\"#9a9a9a\" stroke-width=\"2\"/>\n" +
+                "    <text x=\"325\" y=\"927\" text-anchor=\"middle\" font-size=\"24\" font-weight=\"bold\" fill=\"#000000\">Software System</text>\n" +
+                "    <text x=\"325\" y=\"950\" text-anchor=\"middle\" font-size=\"18\" fill=\"#000000\">[Software System]</text>\n" +
+                "    <text x=\"325\" y=\"990\" text-anchor=\"middle\" font-size=\"24\" fill=\"#000000\">Description &amp; more</text>\n" +
+                "  </g>\n" +
+                "  <g id=\"3\">\n" +
+                "    <path d=\"M 325 400 L 325 800\" fill=\"none\" stroke=\"#707070\" stroke-width=\"2\" stroke-dasharray=\"16,16\"/>\n" +
+                "    <polygon points=\"325,800 316,778 334,778\" fill=\"#707070\"/>\n" +
+                "    <text x=\"325\" y=\"598\" text-anchor=\"middle\" font-size=\"24\" fill=\"#707070\">Uses</text>\n" +
+                "    <text x=\"325\" y=\"621\" text-anchor=\"middle\" font-size=\"18\" fill=\"#707070\">[HTTPS]</text>\n" +
+                "  </g>\n" +
+                "</svg>\n", writer.toString());
+    }
+
+    @Test
+    public void test_export_DrawsDeploymentNodesAroundTheirChildren() throws Exception {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container", "", "Java");
+        DeploymentNode server = model.addDeploymentNode("Server", "", "Ubuntu");
+        ContainerInstance containerInstance = server.add(container);
+
+        DeploymentView view = views.createDeploymentView(softwareSystem, "Deployment", "Description");
+        view.add(server);
+        view.getElementView(containerInstance).setX(200);
+        view.getElementView(containerInstance).setY(300);
+
+        StringWriter writer = new StringWriter();
+        new SVGExporter().export(view, writer);
+
+        String svg = writer.toString();
+        assertTrue(svg.contains("<rect x=\"150\" y=\"250\" width=\"550\" height=\"420\" rx=\"10\" fill=\"#ffffff\" stroke=\"#888888\" stroke-width=\"2\"/>"));
+        assertTrue(svg.contains("<text x=\"175\" y=\"624\" font-size=\"24\" font-weight=\"bold\" fill=\"#000000\">Server</text>"));
+        assertTrue(svg.indexOf("<g id=\"3\">") < svg.indexOf("<g id=\"4\">"));
+    }
+
+}
@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
@@ -81,6 +82,26 @@ public class ModelItemTests extends AbstractWorkspaceTestBase {
         assertFalse("Remove a non-existing tag returns false", element.removeTag("no-such-tag"));
         assertFalse("Remove a required tag returns false", element.removeTag("Element"));
     }
+    @Test
+    public void test_getTags_ReflectsChangesToTheTags_AfterTheTagsHaveBeenRead() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        assertSame(element.getTags(), element.getTags());
+
+        element.addTags("tag1", "tag2");
+        assertEquals("Element,Software System,tag1,tag2", element.getTags());
+
+        element.removeTag("tag1");
+        assertEquals("Element,Software System,tag2", element.getTags());
+
+        element.setTags("tag3");
+        assertEquals("Element,Software System,tag3", element.getTags());
+
+        Relationship relationship = element.uses(model.addSoftwareSystem("Other", "Description"), "Uses");
+        assertEquals("Relationship", relationship.getTags());
+        relationship.setInteractionStyle(InteractionStyle.Asynchronous);
+        assertEquals("Relationship,Asynchronous", relationship.getTags());
+    }
+
     @Test
     public void test_getProperties_ReturnsAnEmptyList_WhenNoPropertiesHaveBeenAdded() {
         Element element = model.addSoftwareSystem("Name", "Description");
@@ -1,10 +1,11 @@
 package com.structurizr.model;
 
 import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.WorkspaceValidationException;
 import org.junit.Test;
 
-import java.util.Collections;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -741,6 +742,54 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertEquals("9", element.getId());
     }
 
+    @Test
+    public void test_hydrate_DoesNotCheckIdsOrNames_WhenValidateIsFalse() {
+        Person person1 = new Person();
+        person1.setId("1");
+        person1.setName("Person");
+        Person person2 = new Person();
+        person2.setId("2");
+        person2.setName("Person");
+        model.setPeople(new LinkedHashSet<>(Arrays.asList(person1, person2)));
+
+        Relationship relationship = new Relationship();
+        relationship.setId("2");
+        relationship.setSourceId("1");
+        relationship.setDestinationId("2");
+        person1.setRelationships(Collections.singleton(relationship));
+
+        model.hydrate(null, false);
+        assertSame(person2, relationship.getDestination());
+
+        try {
+            model.validate(null);
+            fail();
+        } catch (WorkspaceValidationException wve) {
+            assertEquals("The relationship " + relationship + " has a non-unique ID of 2.", wve.getMessage());
+        }
+    }
+
+    @Test
+    public void test_validate_ReportsTheSameErrorAsHydrate_WhenElementIdsAreNotUnique() {
+        Person person = new Person();
+        person.setId("1");
+        person.setName("Person");
+        model.setPeople(Collections.singleton(person));
+
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("1");
+        softwareSystem.setName("Software System");
+        model.setSoftwareSystems(Collections.singleton(softwareSystem));
+
+        model.hydrate(null, false);
+        try {
+            model.validate(ForkJoinPool.commonPool());
+            fail();
+        } catch (WorkspaceValidationException wve) {
+            assertEquals("The element SoftwareSystem://Software System has a non-unique ID of 1.", wve.getMessage());
+        }
+    }
+
     @Test
     public void test_impliedRelationshipStrategy() {
         // default strategy initially
@@ -791,4 +840,82 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertEquals("ContainerInstance://Default/Deployment Node B/Software System.Container[2]", containerInstanceB2.getCanonicalName());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_addListener_NotifiesTheListenerOfModelChanges() {
+        List<String> events = new ArrayList<>();
+        ModelListener listener = new ModelListener() {
+            @Override
+            public void elementAdded(Element element) {
+                events.add("elementAdded " + element.getName());
+            }
+
+            @Override
+            public void relationshipAdded(Relationship relationship) {
+                events.add("relationshipAdded " + relationship.getDescription());
+            }
+
+            @Override
+            public void tagsChanged(ModelItem modelItem) {
+                events.add("tagsChanged " + modelItem.getTags());
+            }
+        };
+        model.addListener(listener);
+
+        Person user = model.addPerson("User", "");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        user.uses(softwareSystem, "Uses");
+        softwareSystem.addTags("Tag");
+        softwareSystem.addTags("Tag");
+        softwareSystem.removeTag("Tag");
+
+        model.removeListener(listener);
+        model.addPerson("Another User", "");
+
+        assertEquals(Arrays.asList(
+                "elementAdded User",
+                "elementAdded Software System",
+                "relationshipAdded Uses",
+                "tagsChanged Element,Software System,Tag",
+                "tagsChanged Element,Software System"
+        ), events);
+    }
+
+    @Test
+    public void test_addListener_ThrowsAnException_WhenPassedNull() {
+        try {
+            model.addListener(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A listener must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_getRelationshipTagsVersion_Changes_WhenTheTagsOfARelationshipChange() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Software System 2");
+        Relationship relationship = softwareSystem1.uses(softwareSystem2, "Uses");
+
+        int version = model.getRelationshipTagsVersion();
+        softwareSystem1.addTags("Tag");
+        assertEquals(version, model.getRelationshipTagsVersion());
+
+        relationship.addTags("Tag");
+        assertNotEquals(version, model.getRelationshipTagsVersion());
+
+        version = model.getRelationshipTagsVersion();
+        relationship.removeTag("Tag");
+        assertNotEquals(version, model.getRelationshipTagsVersion());
+    }
+
+    @Test
+    public void test_setPeople_CopiesTheSetOfPeople() {
+        Set<Person> people = new LinkedHashSet<>();
+        people.add(model.addPerson("User"));
+        model.setPeople(people);
+
+        people.clear();
+        assertEquals(1, model.getPeople().size());
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.structurizr.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelUtilsTests {
+
+    @Test
+    public void test_runAll_RunsAllOfTheTasks_WhenAForkJoinPoolIsSpecified() {
+        AtomicInteger numberOfTasksRun = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(numberOfTasksRun::incrementAndGet);
+        }
+
+        ParallelUtils.runAll(tasks, new ForkJoinPool(4));
+        assertEquals(1000, numberOfTasksRun.get());
+    }
+
+    @Test
+    public void test_runAll_RunsTheTasksInOrder_WhenAForkJoinPoolIsNotSpecified() {
+        List<Integer> order = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int index = i;
+            tasks.add(() -> order.add(index));
+        }
+
+        ParallelUtils.runAll(tasks, null);
+        assertEquals(10, order.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+        }
+    }
+
+    @Test
+    public void test_runAll_ThrowsTheExceptionFromTheFirstFailingTask() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        for (int run = 0; run < 20; run++) {
+            AtomicInteger numberOfTasksRun = new AtomicInteger();
+            List<Runnable> tasks = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int index = i;
+                tasks.add(() -> {
+                    numberOfTasksRun.incrementAndGet();
+                    if (index % 10 == 7) {
+                        throw new IllegalStateException("Task " + index);
+                    }
+                });
+            }
+
+            try {
+                ParallelUtils.runAll(tasks, forkJoinPool);
+                fail();
+            } catch (IllegalStateException e) {
+                assertEquals("Task 7", e.getMessage());
+                assertEquals(100, numberOfTasksRun.get());
+            }
+        }
+    }
+
+    @Test
+    public void test_runAll_ThrowsAnIllegalArgumentException_WhenNoTasksAreSpecified() {
+        try {
+            ParallelUtils.runAll(null, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("A list of tasks must be specified.", e.getMessage());
+        }
+    }
+
+}
@@ -2,9 +2,13 @@ package com.structurizr.view;
 
 import com.structurizr.Workspace;
 import com.structurizr.model.Container;
+import com.structurizr.model.Element;
+import com.structurizr.model.Relationship;
 import com.structurizr.model.SoftwareSystem;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 
 public class DefaultLayoutMergeStrategyTests {
@@ -171,4 +175,85 @@ public class DefaultLayoutMergeStrategyTests {
         strategy.copyLayoutInformation(view1, view2);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_copyLayoutInformation_CopiesRelationshipVertices() {
+        Workspace workspace1 = new Workspace("1", "");
+        SoftwareSystem softwareSystem1 = workspace1.getModel().addSoftwareSystem("Software System");
+        Container containerA1 = softwareSystem1.addContainer("Container A", "", "");
+        Container containerB1 = softwareSystem1.addContainer("Container B", "", "");
+        Relationship relationship1 = containerA1.uses(containerB1, "Uses");
+        ContainerView view1 = workspace1.getViews().createContainerView(softwareSystem1, "key", "");
+        view1.addAllContainers();
+        view1.getRelationshipView(relationship1).setVertices(Collections.singletonList(new Vertex(123, 456)));
+
+        Workspace workspace2 = new Workspace("2", "");
+        SoftwareSystem softwareSystem2 = workspace2.getModel().addSoftwareSystem("Software System");
+        Container containerA2 = softwareSystem2.addContainer("Container A", "", "");
+        Container containerB2 = softwareSystem2.addContainer("Container B", "", "");
+        Relationship relationship2 = containerA2.uses(containerB2, "Uses");
+        Relationship relationship3 = containerB2.uses(containerA2, "Uses");
+        ContainerView view2 = workspace2.getViews().createContainerView(softwareSystem2, "key", "");
+        view2.addAllContainers();
+
+        DefaultLayoutMergeStrategy strategy = new DefaultLayoutMergeStrategy();
+        strategy.copyLayoutInformation(view1, view2);
+
+        assertEquals(1, view2.getRelationshipView(relationship2).getVertices().size());
+        assertEquals(123, view2.getRelationshipView(relationship2).getVertices().iterator().next().getX());
+        assertEquals(0, view2.getRelationshipView(relationship3).getVertices().size());
+    }
+
+    @Test
+    public void test_copyLayoutInformation_CopiesRelationshipVerticesInDynamicViews() {
+        Workspace workspace1 = new Workspace("1", "");
+        SoftwareSystem softwareSystem1 = workspace1.getModel().addSoftwareSystem("Software System");
+        Container containerA1 = softwareSystem1.addContainer("Container A", "", "");
+        Container containerB1 = softwareSystem1.addContainer("Container B", "", "");
+        containerA1.uses(containerB1, "Uses");
+        DynamicView view1 = workspace1.getViews().createDynamicView(softwareSystem1, "key", "");
+        view1.add(containerA1, "Request 1", containerB1).setVertices(Collections.singletonList(new Vertex(1, 1)));
+        view1.add(containerA1, "Request 2", containerB1).setVertices(Collections.singletonList(new Vertex(2, 2)));
+
+        Workspace workspace2 = new Workspace("2", "");
+        SoftwareSystem softwareSystem2 = workspace2.getModel().addSoftwareSystem("Software System");
+        Container containerA2 = softwareSystem2.addContainer("Container A", "", "");
+        Container containerB2 = softwareSystem2.addContainer("Container B", "", "");
+        containerA2.uses(containerB2, "Uses");
+        DynamicView view2 = workspace2.getViews().createDynamicView(softwareSystem2, "key", "");
+        RelationshipView step1 = view2.add(containerA2, "Request 1", containerB2);
+        RelationshipView step2 = view2.add(containerA2, "Request 2", containerB2);
+
+        DefaultLayoutMergeStrategy strategy = new DefaultLayoutMergeStrategy();
+        strategy.copyLayoutInformation(view1, view2);
+
+        assertEquals(1, step1.getVertices().iterator().next().getX());
+        assertEquals(2, step2.getVertices().iterator().next().getX());
+    }
+
+    @Test
+    public void test_copyLayoutInformation_UsesAnOverriddenFindElementViewMethod() {
+        Workspace workspace1 = new Workspace("1", "");
+        SoftwareSystem softwareSystem1 = workspace1.getModel().addSoftwareSystem("Software System");
+        Container container1 = softwareSystem1.addContainer("Container", "", "");
+        ContainerView view1 = workspace1.getViews().createContainerView(softwareSystem1, "key", "");
+        view1.add(container1);
+        view1.getElementView(container1).setX(123);
+
+        Workspace workspace2 = new Workspace("2", "");
+        SoftwareSystem softwareSystem2 = workspace2.getModel().addSoftwareSystem("Software System");
+        Container container2 = softwareSystem2.addContainer("Container", "", "");
+        ContainerView view2 = workspace2.getViews().createContainerView(softwareSystem2, "key", "");
+        view2.add(container2);
+
+        DefaultLayoutMergeStrategy strategy = new DefaultLayoutMergeStrategy() {
+            @Override
+            protected ElementView findElementView(View viewWithLayoutInformation, Element elementWithoutLayoutInformation) {
+                return null;
+            }
+        };
+        strategy.copyLayoutInformation(view1, view2);
+
+        assertEquals(0, view2.getElementView(container2).getX());
+    }
+
+}
@@ -302,6 +302,24 @@ public class DeploymentViewTests extends AbstractWorkspaceTestBase {
         assertTrue(step2.getRelationships().contains(webApplicationInstance.getRelationships().stream().findFirst().get().getId()));
     }
 
+    @Test
+    public void test_addAnimationStep_IncludesTheDeploymentNodesOfSoftwareSystemInstances() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        DeploymentNode region = model.addDeploymentNode("Region", "Description", "Technology");
+        DeploymentNode server = region.addDeploymentNode("Server", "Description", "Technology");
+        SoftwareSystemInstance softwareSystemInstance = server.add(softwareSystem);
+
+        deploymentView = views.createDeploymentView("deployment", "Description");
+        deploymentView.add(region);
+        deploymentView.addAnimation(softwareSystemInstance);
+
+        Animation step1 = deploymentView.getAnimations().get(0);
+        assertEquals(3, step1.getElements().size());
+        assertTrue(step1.getElements().contains(region.getId()));
+        assertTrue(step1.getElements().contains(server.getId()));
+        assertTrue(step1.getElements().contains(softwareSystemInstance.getId()));
+    }
+
     @Test
     public void test_addAnimationStep_IgnoresContainerInstancesThatDoNotExistInTheView() {
         SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
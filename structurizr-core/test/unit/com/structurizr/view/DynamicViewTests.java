@@ -370,6 +370,54 @@ public class DynamicViewTests extends AbstractWorkspaceTestBase {
         assertEquals("1j", relationships.get(9).getOrder());
     }
 
+    @Test
+    public void test_getRelationships_WhenTheOrderPropertyIsChangedAfterTheRelationshipHasBeenAdded() {
+        DynamicView view = workspace.getViews().createDynamicView(softwareSystemA, "key", "Description");
+        RelationshipView step1 = view.add(containerA1, containerA2);
+        RelationshipView step2 = view.add(containerA1, containerA2);
+        RelationshipView step3 = view.add(containerA1, containerA2);
+
+        List<RelationshipView> relationships = new ArrayList<>(view.getRelationships());
+        assertSame(step1, relationships.get(0));
+        assertSame(step2, relationships.get(1));
+        assertSame(step3, relationships.get(2));
+
+        step1.setOrder("4");
+        relationships = new ArrayList<>(view.getRelationships());
+        assertSame(step2, relationships.get(0));
+        assertSame(step3, relationships.get(1));
+        assertSame(step1, relationships.get(2));
+
+        // a non-numeric order means all orders are compared as strings
+        step2.setOrder("10a");
+        relationships = new ArrayList<>(view.getRelationships());
+        assertSame(step2, relationships.get(0));
+        assertSame(step3, relationships.get(1));
+        assertSame(step1, relationships.get(2));
+    }
+
+    @Test
+    public void test_getRelationships_WhenStepsAreAddedAfterTheRelationshipsHaveBeenRead() {
+        containerA2.uses(containerA3, "uses");
+        DynamicView view = workspace.getViews().createDynamicView(softwareSystemA, "key", "Description");
+        view.add(containerA1, containerA2);
+        view.startParallelSequence();
+        view.add(containerA2, containerA3);
+        view.endParallelSequence();
+        assertEquals(2, view.getRelationships().size());
+
+        for (int i = 0; i < 10; i++) {
+            view.add(containerA1, containerA2);
+            assertEquals(3 + i, view.getRelationships().size());
+        }
+
+        List<RelationshipView> relationships = new ArrayList<>(view.getRelationships());
+        assertEquals("1", relationships.get(0).getOrder());
+        assertEquals("2", relationships.get(1).getOrder());
+        assertEquals("2", relationships.get(2).getOrder());
+        assertEquals("11", relationships.get(11).getOrder());
+    }
+
     @Test
     public void test_response() {
         workspace = new Workspace("Name", "Description");
@@ -0,0 +1,179 @@
+package com.structurizr.view;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.Container;
+import com.structurizr.model.Relationship;
+import com.structurizr.model.SoftwareSystem;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IncrementalLayoutTests extends AbstractWorkspaceTestBase {
+
+    private SoftwareSystem softwareSystem;
+    private Styles styles;
+
+    @Before
+    public void setUp() {
+        softwareSystem = model.addSoftwareSystem("Software System");
+        styles = views.getConfiguration().getStyles();
+    }
+
+    @Test
+    public void test_construction_ThrowsAnException_WhenTheSeparationIsNegative() {
+        try {
+            new IncrementalLayout(-1);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The separation must be zero or a positive integer.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_place_PlacesOnlyElementsWithoutAPosition() {
+        Container a = softwareSystem.addContainer("A", "", "");
+        Container b = softwareSystem.addContainer("B", "", "");
+        Container c = softwareSystem.addContainer("C", "", "");
+        a.uses(b, "Uses");
+        b.uses(c, "Uses");
+
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.add(a);
+        view.add(b);
+        view.getElementView(a).setX(1000);
+        view.getElementView(a).setY(100);
+        view.getElementView(b).setX(1000);
+        view.getElementView(b).setY(700);
+        view.add(c);
+
+        Collection<ElementView> placed = new IncrementalLayout().place(view, styles);
+
+        assertEquals(1, placed.size());
+        assertSame(view.getElementView(c), placed.iterator().next());
+        assertEquals(1000, view.getElementView(a).getX());
+        assertEquals(100, view.getElementView(a).getY());
+        assertEquals(1000, view.getElementView(b).getX());
+        assertEquals(700, view.getElementView(b).getY());
+
+        // c is used by b, so it's placed directly below b
+        assertEquals(1000, view.getElementView(c).getX());
+        assertEquals(700 + 300 + 300, view.getElementView(c).getY());
+    }
+
+    @Test
+    public void test_place_PlacesElementsAboveTheElementsTheyUse() {
+        Container a = softwareSystem.addContainer("A", "", "");
+        Container b = softwareSystem.addContainer("B", "", "");
+        a.uses(b, "Uses");
+
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.add(b);
+        view.getElementView(b).setX(1000);
+        view.getElementView(b).setY(1000);
+        view.add(a);
+
+        new IncrementalLayout().place(view, styles);
+
+        assertEquals(1000, view.getElementView(a).getX());
+        assertEquals(1000 - 300 - 300, view.getElementView(a).getY());
+    }
+
+    @Test
+    public void test_place_DoesNotOverlapExistingElements() {
+        Container a = softwareSystem.addContainer("A", "", "");
+        Container b = softwareSystem.addContainer("B", "", "");
+        Container c = softwareSystem.addContainer("C", "", "");
+        Container d = softwareSystem.addContainer("D", "", "");
+        a.uses(c, "Uses");
+        a.uses(d, "Uses");
+
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.add(a);
+        view.add(b);
+        view.getElementView(a).setX(1000);
+        view.getElementView(a).setY(100);
+        view.getElementView(b).setX(1000);
+        view.getElementView(b).setY(700);
+        view.add(c);
+        view.add(d);
+
+        new IncrementalLayout().place(view, styles);
+
+        List<ElementView> elementViews = new ArrayList<>(view.getElements());
+        for (int i = 0; i < elementViews.size(); i++) {
+            for (int j = i + 1; j < elementViews.size(); j++) {
+                ElementView ev1 = elementViews.get(i);
+                ElementView ev2 = elementViews.get(j);
+                boolean overlaps = Math.abs(ev1.getX() - ev2.getX()) < 450 && Math.abs(ev1.getY() - ev2.getY()) < 300;
+                assertFalse(ev1 + " overlaps " + ev2, overlaps);
+            }
+        }
+    }
+
+    @Test
+    public void test_place_PlacesUnconnectedElementsBelowTheExistingElements() {
+        Container a = softwareSystem.addContainer("A", "", "");
+        Container b = softwareSystem.addContainer("B", "", "");
+
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.add(a);
+        view.getElementView(a).setX(200);
+        view.getElementView(a).setY(200);
+        view.add(b);
+
+        new IncrementalLayout().place(view, styles);
+
+        assertEquals(200, view.getElementView(b).getX());
+        assertEquals(200 + 300 + 300, view.getElementView(b).getY());
+    }
+
+    @Test
+    public void test_place_PlacesElementsInTheOrderTheyWereAddedToTheView() {
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        List<ElementView> elementViews = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Container container = softwareSystem.addContainer("Container " + i, "", "");
+            view.add(container);
+            elementViews.add(view.getElementView(container));
+        }
+
+        Collection<ElementView> placed = new IncrementalLayout().place(view, styles);
+
+        assertEquals(elementViews, new ArrayList<>(placed));
+        for (int i = 1; i < elementViews.size(); i++) {
+            assertTrue(elementViews.get(i).getY() > elementViews.get(i - 1).getY());
+        }
+    }
+
+    @Test
+    public void test_place_RoutesRelationshipsAroundElements() {
+        Container a = softwareSystem.addContainer("A", "", "");
+        Container b = softwareSystem.addContainer("B", "", "");
+        Container c = softwareSystem.addContainer("C", "", "");
+        Relationship relationship = a.uses(c, "Uses");
+        b.uses(c, "Uses");
+
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.add(a);
+        view.add(b);
+        view.getElementView(a).setX(1000);
+        view.getElementView(a).setY(100);
+        view.getElementView(b).setX(1000);
+        view.getElementView(b).setY(700);
+        view.add(c);
+
+        new IncrementalLayout().place(view, styles, Collections.singleton(c));
+
+        // c is placed directly below b, so the relationship from a needs to go around b
+        assertEquals(1000, view.getElementView(c).getX());
+        assertEquals(1150, view.getElementView(c).getY());
+        Collection<Vertex> vertices = view.getRelationshipView(relationship).getVertices();
+        assertEquals(1, vertices.size());
+        assertEquals(850, vertices.iterator().next().getX());
+        assertEquals(850, vertices.iterator().next().getY());
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.structurizr.view;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.Container;
+import com.structurizr.model.Relationship;
+import com.structurizr.model.SoftwareSystem;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class LayeredLayoutTests extends AbstractWorkspaceTestBase {
+
+    private SoftwareSystem softwareSystem;
+    private Container a;
+    private Container b;
+    private Container c;
+
+    @Before
+    public void setUp() {
+        softwareSystem = model.addSoftwareSystem("Software System");
+        a = softwareSystem.addContainer("A", "", "");
+        b = softwareSystem.addContainer("B", "", "");
+        c = softwareSystem.addContainer("C", "", "");
+    }
+
+    @Test
+    public void test_construction_ThrowsAnException_WhenTheSettingsAreInvalid() {
+        try {
+            new LayeredLayout(null, 300, 300, 200, true);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A rank direction must be specified.", iae.getMessage());
+        }
+
+        try {
+            new LayeredLayout(AutomaticLayout.RankDirection.TopBottom, -1, 300, 200, true);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The rank separation must be a positive integer.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_construction_UsesTheSettingsFromAnAutomaticLayout() {
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.enableAutomaticLayout(AutomaticLayout.RankDirection.LeftRight, 100, 200, 50, true);
+
+        LayeredLayout layout = new LayeredLayout(view.getAutomaticLayout());
+        assertEquals(AutomaticLayout.RankDirection.LeftRight, layout.getRankDirection());
+        assertEquals(100, layout.getRankSeparation());
+        assertEquals(200, layout.getNodeSeparation());
+        assertEquals(50, layout.getEdgeSeparation());
+        assertTrue(layout.isVertices());
+    }
+
+    @Test
+    public void test_layout_PlacesElementsInRanks_WhenTheRankDirectionIsTopBottom() {
+        a.uses(b, "Uses");
+        b.uses(c, "Uses");
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.addAllContainers();
+
+        new LayeredLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300, 200, true).layout(view, views.getConfiguration().getStyles());
+
+        assertEquals(50, view.getElementView(a).getY());
+        assertEquals(50 + 300 + 300, view.getElementView(b).getY());
+        assertEquals(50 + 300 + 300 + 300 + 300, view.getElementView(c).getY());
+        assertEquals(view.getElementView(a).getX(), view.getElementView(b).getX());
+        assertEquals(view.getElementView(b).getX(), view.getElementView(c).getX());
+        assertEquals(450 + 50 + 50, view.getDimensions().getWidth());
+        assertEquals(300 * 5 + 50 + 50, view.getDimensions().getHeight());
+    }
+
+    @Test
+    public void test_layout_PlacesElementsInRanks_WhenTheRankDirectionIsBottomTop() {
+        a.uses(b, "Uses");
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.add(a);
+        view.add(b);
+
+        new LayeredLayout(AutomaticLayout.RankDirection.BottomTop, 300, 300, 200, true).layout(view, views.getConfiguration().getStyles());
+
+        assertTrue(view.getElementView(a).getY() > view.getElementView(b).getY());
+        assertEquals(50, view.getElementView(b).getY());
+    }
+
+    @Test
+    public void test_layout_PlacesElementsInRanks_WhenTheRankDirectionIsLeftRight() {
+        a.uses(b, "Uses");
+        a.uses(c, "Uses");
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.addAllContainers();
+
+        new LayeredLayout(AutomaticLayout.RankDirection.LeftRight, 300, 300, 200, true).layout(view, views.getConfiguration().getStyles());
+
+        assertEquals(50, view.getElementView(a).getX());
+        assertEquals(50 + 450 + 300, view.getElementView(b).getX());
+        assertEquals(50 + 450 + 300, view.getElementView(c).getX());
+        assertEquals(300 + 300, Math.abs(view.getElementView(b).getY() - view.getElementView(c).getY()));
+    }
+
+    @Test
+    public void test_layout_CreatesVertices_WhenARelationshipSpansMoreThanOneRank() {
+        a.uses(b, "Uses");
+        b.uses(c, "Uses");
+        Relationship relationship = a.uses(c, "Uses");
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.addAllContainers();
+
+        new LayeredLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300, 200, true).layout(view, views.getConfiguration().getStyles());
+
+        Collection<Vertex> vertices = view.getRelationshipView(relationship).getVertices();
+        assertEquals(1, vertices.size());
+        assertEquals(50 + 300 + 300 + 150, vertices.iterator().next().getY());
+
+        new LayeredLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300, 200, false).layout(view, views.getConfiguration().getStyles());
+        assertTrue(view.getRelationshipView(relationship).getVertices().isEmpty());
+    }
+
+    @Test
+    public void test_layout_LaysOutAllElementsWithoutOverlapping_WhenThereAreCycles() {
+        Random random = new Random(1);
+        List<Container> containers = new ArrayList<>(Arrays.asList(a, b, c));
+        for (int i = 0; i < 50; i++) {
+            containers.add(softwareSystem.addContainer("Container " + i, "", ""));
+        }
+        for (int i = 0; i < 100; i++) {
+            Container source = containers.get(random.nextInt(containers.size()));
+            Container destination = containers.get(random.nextInt(containers.size()));
+            if (source != destination && !source.hasEfferentRelationshipWith(destination)) {
+                source.uses(destination, "Uses");
+            }
+        }
+        a.uses(b, "Uses");
+        b.uses(c, "Uses");
+        c.uses(a, "Uses");
+
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.addAllContainers();
+        new LayeredLayout().layout(view, views.getConfiguration().getStyles());
+
+        List<ElementView> elementViews = new ArrayList<>(view.getElements());
+        for (int i = 0; i < elementViews.size(); i++) {
+            for (int j = i + 1; j < elementViews.size(); j++) {
+                ElementView ev1 = elementViews.get(i);
+                ElementView ev2 = elementViews.get(j);
+                boolean overlaps = Math.abs(ev1.getX() - ev2.getX()) < 450 && Math.abs(ev1.getY() - ev2.getY()) < 300;
+                assertFalse(ev1 + " overlaps " + ev2, overlaps);
+            }
+        }
+    }
+
+    @Test
+    public void test_layout_LaysOutViewsInParallel() {
+        a.uses(b, "Uses");
+        ContainerView view1 = views.createContainerView(softwareSystem, "containers1", "Description");
+        view1.add(a);
+        view1.add(b);
+        ContainerView view2 = views.createContainerView(softwareSystem, "containers2", "Description");
+        view2.add(a);
+        view2.add(b);
+
+        new LayeredLayout().layout(Arrays.asList(view1, view2), views.getConfiguration().getStyles(), new ForkJoinPool(2));
+
+        assertEquals(50, view1.getElementView(a).getY());
+        assertEquals(50 + 300 + 300, view1.getElementView(b).getY());
+        assertEquals(50, view2.getElementView(a).getY());
+        assertEquals(50 + 300 + 300, view2.getElementView(b).getY());
+    }
+
+}
@@ -1,8 +1,7 @@
 package com.structurizr.view;
 
 import com.structurizr.AbstractWorkspaceTestBase;
-import com.structurizr.model.Relationship;
-import com.structurizr.model.SoftwareSystem;
+import com.structurizr.model.*;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -81,4 +80,164 @@ public class StaticViewTests extends AbstractWorkspaceTestBase {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_addAnimationStep_IncludesRelationshipsBetweenElementsInTheSameStep() {
+        SoftwareSystem element1 = model.addSoftwareSystem("Software System 1", "");
+        SoftwareSystem element2 = model.addSoftwareSystem("Software System 2", "");
+        Relationship relationship1_2 = element1.uses(element2, "uses");
+
+        SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+        view.addAllElements();
+        view.addAnimation(element1, element2);
+
+        Animation step1 = view.getAnimations().get(0);
+        assertEquals(2, step1.getElements().size());
+        assertEquals(1, step1.getRelationships().size());
+        assertTrue(step1.getRelationships().contains(relationship1_2.getId()));
+    }
+
+    @Test
+    public void test_addAnimationStep_IncludesRelationshipsAddedToTheViewAfterThePreviousStep() {
+        SoftwareSystem element1 = model.addSoftwareSystem("Software System 1", "");
+        SoftwareSystem element2 = model.addSoftwareSystem("Software System 2", "");
+        SoftwareSystem element3 = model.addSoftwareSystem("Software System 3", "");
+        element1.uses(element2, "uses");
+        Relationship relationship1_3 = element1.uses(element3, "uses");
+
+        SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+        view.add(element1);
+        view.add(element2);
+        view.addAnimation(element1);
+        view.addAnimation(element2);
+
+        view.add(element3);
+        view.addAnimation(element3);
+
+        Animation step3 = view.getAnimations().get(2);
+        assertEquals(1, step3.getRelationships().size());
+        assertTrue(step3.getRelationships().contains(relationship1_3.getId()));
+    }
+
+    @Test
+    public void test_addAnimationStep_DoesNotRepeatElementsFromExistingAnimationSteps() {
+        SoftwareSystem element1 = model.addSoftwareSystem("Software System 1", "");
+        SoftwareSystem element2 = model.addSoftwareSystem("Software System 2", "");
+        Relationship relationship1_2 = element1.uses(element2, "uses");
+
+        SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+        view.addAllElements();
+        view.addAnimation(element1);
+
+        // e.g. the animation steps have been deserialized
+        view.setAnimations(view.getAnimations());
+        view.addAnimation(element1, element2);
+
+        Animation step2 = view.getAnimations().get(1);
+        assertEquals(1, step2.getElements().size());
+        assertTrue(step2.getElements().contains(element2.getId()));
+        assertTrue(step2.getRelationships().contains(relationship1_2.getId()));
+
+        try {
+            view.addAnimation(element1, element2);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("None of the specified elements exist in this view.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_trackModelChanges_AddsNewElementsAndRelationships_WhenTrackingDefaultElements() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        ContainerView view = views.createContainerView(softwareSystem, "containers", "Description");
+        view.addDefaultElements();
+        view.trackModelChanges(ModelChangeTracking.DefaultElements);
+
+        Container webApplication = softwareSystem.addContainer("Web Application", "", "");
+        Container database = softwareSystem.addContainer("Database", "", "");
+        Relationship relationship = webApplication.uses(database, "Reads from");
+        Person user = model.addPerson("User", "");
+        user.uses(webApplication, "Uses");
+        Person administrator = model.addPerson("Administrator", "");
+        SoftwareSystem otherSoftwareSystem = model.addSoftwareSystem("Other Software System", "");
+        administrator.uses(otherSoftwareSystem, "Uses");
+
+        assertEquals(3, view.getElements().size());
+        assertTrue(view.isElementInView(webApplication));
+        assertTrue(view.isElementInView(database));
+        assertTrue(view.isElementInView(user));
+        assertFalse(view.isElementInView(administrator));
+        assertEquals(2, view.getRelationships().size());
+        assertNotNull(view.getRelationshipView(relationship));
+
+        // the same elements and relationships as recalculating the view from scratch
+        ContainerView recalculated = views.createContainerView(softwareSystem, "recalculated", "Description");
+        recalculated.addDefaultElements();
+        assertEquals(recalculated.getElements(), view.getElements());
+        assertEquals(recalculated.getRelationships(), view.getRelationships());
+    }
+
+    @Test
+    public void test_trackModelChanges_AddsNewElements_WhenTrackingAllElements() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        SystemContextView view = views.createSystemContextView(softwareSystem, "context", "Description");
+        view.addAllElements();
+        view.trackModelChanges(ModelChangeTracking.AllElements);
+
+        Person user = model.addPerson("User", "");
+        SoftwareSystem otherSoftwareSystem = model.addSoftwareSystem("Other Software System", "");
+        user.uses(otherSoftwareSystem, "Uses");
+        softwareSystem.addContainer("Container", "", "");
+
+        assertEquals(3, view.getElements().size());
+        assertTrue(view.isElementInView(user));
+        assertTrue(view.isElementInView(otherSoftwareSystem));
+        assertEquals(1, view.getRelationships().size());
+    }
+
+    @Test
+    public void test_trackModelChanges_AddsNewNeighboursOfElementsInTheView_WhenTrackingNearestNeighbours() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        Container container = softwareSystem.addContainer("Container", "", "");
+        SystemContextView view = views.createSystemContextView(softwareSystem, "context", "Description");
+        view.addNearestNeighbours(softwareSystem);
+        view.trackModelChanges(ModelChangeTracking.NearestNeighbours);
+
+        Person user = model.addPerson("User", "");
+        SoftwareSystem otherSoftwareSystem = model.addSoftwareSystem("Other Software System", "");
+        assertEquals(1, view.getElements().size());
+
+        Relationship relationship = user.uses(softwareSystem, "Uses");
+        softwareSystem.uses(otherSoftwareSystem, "Uses");
+        Person administrator = model.addPerson("Administrator", "");
+        administrator.uses(container, "Uses");
+        Person auditor = model.addPerson("Auditor", "");
+        auditor.interactsWith(administrator, "Audits");
+
+        assertEquals(3, view.getElements().size());
+        assertTrue(view.isElementInView(user));
+        assertTrue(view.isElementInView(otherSoftwareSystem));
+        assertFalse(view.isElementInView(administrator));
+        assertFalse(view.isElementInView(auditor));
+        assertEquals(2, view.getRelationships().size());
+        assertNotNull(view.getRelationshipView(relationship));
+
+        // the same elements and relationships as recalculating the nearest neighbours from scratch
+        SystemContextView recalculated = views.createSystemContextView(softwareSystem, "recalculated", "Description");
+        recalculated.addNearestNeighbours(softwareSystem);
+        assertEquals(recalculated.getElements(), view.getElements());
+        assertEquals(recalculated.getRelationships(), view.getRelationships());
+    }
+
+    @Test
+    public void test_stopTrackingModelChanges() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        SystemLandscapeView view = views.createSystemLandscapeView("landscape", "Description");
+        view.trackModelChanges(ModelChangeTracking.DefaultElements);
+        view.stopTrackingModelChanges();
+
+        model.addPerson("User", "");
+
+        assertEquals(0, view.getElements().size());
+    }
+
+}
@@ -4,6 +4,12 @@ import com.structurizr.AbstractWorkspaceTestBase;
 import com.structurizr.model.*;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.*;
 
 public class StylesTests extends AbstractWorkspaceTestBase {
@@ -333,4 +339,158 @@ public class StylesTests extends AbstractWorkspaceTestBase {
         assertEquals(0, styles.getRelationships().size());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_findElementStyle_ReflectsChangesToStyles_AfterStylesHaveBeenResolved() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        ElementStyle elementStyle = styles.addElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+        assertEquals("#b20000", styles.findElementStyle(element).getStroke());
+
+        elementStyle.background("#0000ff");
+        assertEquals("#0000ff", styles.findElementStyle(element).getBackground());
+        assertEquals("#0000b2", styles.findElementStyle(element).getStroke());
+
+        styles.addElementStyle("Some Tag").background("#00ff00");
+        element.addTags("Some Tag");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+
+        styles.clearElementStyles();
+        assertEquals("#dddddd", styles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    public void test_findElementStyle_ReflectsStylesAddedAndRemovedThroughTheCollection_AfterStylesHaveBeenResolved() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        Collection<ElementStyle> elementStyles = styles.getElements();
+        assertEquals("#dddddd", styles.findElementStyle(element).getBackground());
+
+        elementStyles.add(new ElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000"));
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+
+        elementStyles.clear();
+        assertEquals("#dddddd", styles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    public void test_findRelationshipStyle_ReflectsStylesAddedThroughTheCollection_AfterStylesHaveBeenResolved() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Name 1", "Description");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Name 2", "Description");
+        Relationship relationship = softwareSystem1.uses(softwareSystem2, "Uses");
+        Collection<RelationshipStyle> relationshipStyles = styles.getRelationships();
+        assertEquals("#707070", styles.findRelationshipStyle(relationship).getColor());
+
+        relationshipStyles.add(new RelationshipStyle(Tags.RELATIONSHIP).color("#ff0000"));
+        assertEquals("#ff0000", styles.findRelationshipStyle(relationship).getColor());
+    }
+
+    @Test
+    public void test_findElementStyle_ReflectsTagChangesToElementsAndTheElementsTheyAreAnInstanceOf_AfterStylesHaveBeenResolved() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Name", "Description");
+        Container container = softwareSystem.addContainer("Container", "Description", "Technology");
+        ContainerInstance containerInstance = model.addDeploymentNode("Server").add(container);
+        styles.addElementStyle("Container Tag").background("#ff0000");
+        styles.addElementStyle("Instance Tag").color("#00ff00");
+        assertEquals("#dddddd", styles.findElementStyle(containerInstance).getBackground());
+
+        container.addTags("Container Tag");
+        assertEquals("#ff0000", styles.findElementStyle(containerInstance).getBackground());
+        assertEquals("#000000", styles.findElementStyle(containerInstance).getColor());
+
+        containerInstance.addTags("Instance Tag");
+        assertEquals("#ff0000", styles.findElementStyle(containerInstance).getBackground());
+        assertEquals("#00ff00", styles.findElementStyle(containerInstance).getColor());
+
+        container.removeTag("Container Tag");
+        assertEquals("#dddddd", styles.findElementStyle(containerInstance).getBackground());
+    }
+
+    @Test
+    public void test_findElementStyle_ReturnsACopyOfTheResolvedStyle() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        styles.addElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+
+        styles.findElementStyle(element).background("#0000ff");
+        styles.findElementStyle(Tags.SOFTWARE_SYSTEM).background("#0000ff");
+
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+        assertEquals("#ff0000", styles.findElementStyle(Tags.SOFTWARE_SYSTEM).getBackground());
+    }
+
+    @Test
+    public void test_findRelationshipStyle_ReflectsChangesToStyles_AfterStylesHaveBeenResolved() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Name 1", "Description");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Name 2", "Description");
+        Relationship relationship = softwareSystem1.uses(softwareSystem2, "Uses");
+        RelationshipStyle relationshipStyle = styles.addRelationshipStyle(Tags.RELATIONSHIP).color("#ff0000");
+        assertEquals("#ff0000", styles.findRelationshipStyle(relationship).getColor());
+
+        relationshipStyle.color("#0000ff");
+        assertEquals("#0000ff", styles.findRelationshipStyle(relationship).getColor());
+    }
+
+    @Test
+    public void test_findRelationshipStyle_ReflectsTagChangesToLinkedRelationships_AfterStylesHaveBeenResolved() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Name", "Description");
+        Container container1 = softwareSystem.addContainer("Container 1");
+        Container container2 = softwareSystem.addContainer("Container 2");
+        Relationship relationship = container1.uses(container2, "Uses");
+        styles.addRelationshipStyle("Tag").color("#0000ff");
+
+        DeploymentNode deploymentNode = model.addDeploymentNode("Server");
+        ContainerInstance containerInstance1 = deploymentNode.add(container1);
+        ContainerInstance containerInstance2 = deploymentNode.add(container2);
+        Relationship relationshipInstance = containerInstance1.getEfferentRelationshipWith(containerInstance2);
+        assertEquals("#707070", styles.findRelationshipStyle(relationshipInstance).getColor());
+
+        relationship.addTags("Tag");
+        assertEquals("#0000ff", styles.findRelationshipStyle(relationshipInstance).getColor());
+
+        relationship.removeTag("Tag");
+        assertEquals("#707070", styles.findRelationshipStyle(relationshipInstance).getColor());
+    }
+
+    @Test
+    public void test_resolveAll_ResolvesTheStylesOfAllElementsAndRelationshipsInTheView() {
+        Person user = model.addPerson("User", "");
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1", "");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Software System 2", "");
+        softwareSystem2.addTags("External");
+        Relationship relationship1 = user.uses(softwareSystem1, "Uses");
+        Relationship relationship2 = softwareSystem1.uses(softwareSystem2, "Uses");
+        styles.addElementStyle(Tags.PERSON).shape(Shape.Person);
+        styles.addElementStyle("External").background("#999999");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("landscape", "Description");
+        view.addAllElements();
+        ResolvedStyles resolvedStyles = styles.resolveAll(view);
+
+        assertEquals(Shape.Person, resolvedStyles.getElementStyle(user).getShape());
+        assertEquals("#dddddd", resolvedStyles.getElementStyle(softwareSystem1).getBackground());
+        assertEquals("#999999", resolvedStyles.getElementStyle(softwareSystem2.getId()).getBackground());
+        assertEquals("#707070", resolvedStyles.getRelationshipStyle(relationship1).getColor());
+
+        // relationships with the same tags share the same style
+        assertSame(resolvedStyles.getRelationshipStyle(relationship1), resolvedStyles.getRelationshipStyle(relationship2));
+        assertNotSame(resolvedStyles.getElementStyle(softwareSystem1), resolvedStyles.getElementStyle(softwareSystem2));
+        assertNull(resolvedStyles.getElementStyle(model.addSoftwareSystem("Software System 3", "")));
+    }
+
+    @Test
+    public void test_resolveAll_ResolvesTheStylesOfMultipleViewsInParallel() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System", "");
+        Container container = softwareSystem.addContainer("Container", "", "");
+        styles.addElementStyle(Tags.CONTAINER).background("#0000ff");
+
+        SystemContextView systemContextView = views.createSystemContextView(softwareSystem, "context", "Description");
+        systemContextView.addDefaultElements();
+        ContainerView containerView = views.createContainerView(softwareSystem, "containers", "Description");
+        containerView.addDefaultElements();
+
+        Map<View, ResolvedStyles> resolvedStyles = styles.resolveAll(Arrays.asList(systemContextView, containerView), new ForkJoinPool(2));
+
+        assertEquals(Arrays.asList(systemContextView, containerView), new ArrayList<>(resolvedStyles.keySet()));
+        assertEquals("#dddddd", resolvedStyles.get(systemContextView).getElementStyle(softwareSystem).getBackground());
+        assertEquals("#0000ff", resolvedStyles.get(containerView).getElementStyle(container).getBackground());
+    }
+
+}
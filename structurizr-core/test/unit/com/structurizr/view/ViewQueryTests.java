@@ -0,0 +1,174 @@
+package com.structurizr.view;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.model.Tags;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ViewQueryTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    public void test_setQuery_ThrowsAnException_WhenANullQueryIsSpecified() {
+        SystemLandscapeView view = views.createSystemLandscapeView("key", "Description");
+
+        try {
+            view.setQuery(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A query must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void test_setQuery_DefersPopulatingTheView_UntilTheElementsAreNeeded() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Person user = model.addPerson("User");
+        user.uses(softwareSystem, "Uses");
+
+        SystemContextView view = views.createSystemContextView(softwareSystem, "context", "Description");
+        view.setQuery(new ViewQuery().includeDefaultElements());
+        assertTrue(view.hasDeferredContent());
+
+        // the model can still change before the view is populated
+        SoftwareSystem softwareSystemA = model.addSoftwareSystem("System A");
+        softwareSystem.uses(softwareSystemA, "Uses");
+
+        assertEquals(3, view.getElements().size());
+        assertEquals(2, view.getRelationships().size());
+        assertFalse(view.hasDeferredContent());
+
+        // and the result is kept thereafter
+        model.addSoftwareSystem("System B").uses(softwareSystem, "Uses");
+        assertEquals(3, view.getElements().size());
+    }
+
+    @Test
+    public void test_setQuery_PopulatesTheViewOnce_WhenTheElementsAreNeededByConcurrentCallers() throws Exception {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        for (int i = 0; i < 500; i++) {
+            model.addPerson("User " + i).uses(softwareSystem, "Uses");
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            for (int attempt = 0; attempt < 20; attempt++) {
+                SystemContextView view = views.createSystemContextView(softwareSystem, "context" + attempt, "Description");
+                view.setQuery(new ViewQuery().includeDefaultElements());
+
+                CountDownLatch latch = new CountDownLatch(1);
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    futures.add(executorService.submit(() -> {
+                        latch.await();
+                        return view.getElements().size() + view.getRelationships().size();
+                    }));
+                }
+                latch.countDown();
+
+                for (Future<Integer> future : futures) {
+                    assertEquals(501 + 500, future.get().intValue());
+                }
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void test_setQuery_ReplacesExistingContent() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Person user = model.addPerson("User");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("landscape", "Description");
+        view.addAllElements();
+        assertEquals(2, view.getElements().size());
+
+        view.setQuery(new ViewQuery().includeAllSoftwareSystems());
+        assertEquals(1, view.getElements().size());
+        assertTrue(view.isElementInView(softwareSystem));
+        assertSame(view.getQuery(), view.getQuery());
+    }
+
+    @Test
+    public void test_setQuery_AllowsElementsToBeAddedAfterwards() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Person user = model.addPerson("User");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("landscape", "Description");
+        view.setQuery(new ViewQuery().includeAllSoftwareSystems());
+        view.add(user);
+
+        assertEquals(2, view.getElements().size());
+        assertTrue(view.isElementInView(softwareSystem));
+        assertTrue(view.isElementInView(user));
+    }
+
+    @Test
+    public void test_query_AppliesIncludeAndExcludeRulesInOrder() {
+        SoftwareSystem softwareSystemA = model.addSoftwareSystem("System A");
+        SoftwareSystem softwareSystemB = model.addSoftwareSystem("System B");
+        SoftwareSystem softwareSystemC = model.addSoftwareSystem("System C");
+        SoftwareSystem softwareSystemD = model.addSoftwareSystem("System D");
+        Person user = model.addPerson("User");
+        softwareSystemA.uses(softwareSystemB, "Uses");
+        softwareSystemB.uses(softwareSystemC, "Uses").addTags("Async");
+        softwareSystemC.uses(softwareSystemD, "Uses");
+        softwareSystemD.addTags("Legacy");
+
+        ViewQuery query = new ViewQuery()
+                .includeAllElements()
+                .exclude(user)
+                .excludeElementsBeyond(softwareSystemA, 2)
+                .excludeRelationshipsWithTag("Async")
+                .excludeElementsWithTag("Legacy");
+
+        SystemLandscapeView view = views.createSystemLandscapeView("landscape", "Description");
+        view.setQuery(query);
+
+        assertEquals(3, view.getElements().size());
+        assertTrue(view.isElementInView(softwareSystemA));
+        assertTrue(view.isElementInView(softwareSystemB));
+        assertTrue(view.isElementInView(softwareSystemC));
+        assertEquals(1, view.getRelationships().size());
+    }
+
+    @Test
+    public void test_query_CanBeSharedBetweenViews() {
+        Person user = model.addPerson("User");
+        ViewQuery query = new ViewQuery().includeDefaultElements().excludeElementsWithTag(Tags.PERSON);
+
+        for (int i = 0; i < 10; i++) {
+            SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System " + i);
+            user.uses(softwareSystem, "Uses");
+            views.createSystemContextView(softwareSystem, "context" + i, "Description").setQuery(query);
+        }
+
+        for (SystemContextView view : views.getSystemContextViews()) {
+            assertEquals(1, view.getElements().size());
+            assertTrue(view.isElementInView(view.getSoftwareSystem()));
+        }
+    }
+
+    @Test
+    public void test_excludeElementsBeyond_ThrowsAnException_WhenANegativeRadiusIsSpecified() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+
+        try {
+            new ViewQuery().excludeElementsBeyond(softwareSystem, -1);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The radius must be zero or greater.", iae.getMessage());
+        }
+    }
+
+}
@@ -1,11 +1,16 @@
 package com.structurizr.view;
 
 import com.structurizr.Workspace;
+import com.structurizr.WorkspaceValidationException;
 import com.structurizr.model.*;
 import org.junit.Test;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -700,6 +705,39 @@ public class ViewSetTests {
         assertEquals(PaperSize.A3_Landscape, view2.getPaperSize());
     }
 
+    @Test
+    public void test_copyLayoutInformationFrom_CopiesLayoutInformationForAllViews_WhenUsingAnExecutor() {
+        Workspace workspace1 = createWorkspace();
+        SoftwareSystem softwareSystem1 = workspace1.getModel().getSoftwareSystemWithName("Software System");
+        SystemLandscapeView landscapeView1 = workspace1.getViews().createSystemLandscapeView("landscape", "Description");
+        landscapeView1.addAllElements();
+        landscapeView1.getElements().iterator().next().setX(100);
+        SystemContextView contextView1 = workspace1.getViews().createSystemContextView(softwareSystem1, "context", "Description");
+        contextView1.addAllElements();
+        contextView1.getElements().iterator().next().setX(200);
+
+        Workspace workspace2 = createWorkspace();
+        SoftwareSystem softwareSystem2 = workspace2.getModel().getSoftwareSystemWithName("Software System");
+        SystemLandscapeView landscapeView2 = workspace2.getViews().createSystemLandscapeView("landscape", "Description");
+        landscapeView2.addAllElements();
+        SystemContextView contextView2 = workspace2.getViews().createSystemContextView(softwareSystem2, "context", "Description");
+        contextView2.addAllElements();
+
+        workspace2.getViews().copyLayoutInformationFrom(workspace1.getViews(), new ForkJoinPool(2));
+        assertEquals(100, landscapeView2.getElements().iterator().next().getX());
+        assertEquals(200, contextView2.getElements().iterator().next().getX());
+    }
+
+    @Test
+    public void test_copyLayoutInformationFrom_ThrowsAnException_WhenNoExecutorIsSpecified() {
+        try {
+            createWorkspace().getViews().copyLayoutInformationFrom(createWorkspace().getViews(), null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An executor must be specified.", iae.getMessage());
+        }
+    }
+
     @Test
     public void test_copyLayoutInformationFrom_DoesNotDoAnythingIfThereIsNoSystemLandscapeViewToCopyInformationFrom() {
         Workspace workspace1 = createWorkspace();
@@ -1003,6 +1041,64 @@ public class ViewSetTests {
         assertSame(systemLandscapeView, filteredView.getView());
     }
 
+    @Test
+    public void test_hydrate_ThrowsAnException_WhenViewKeysAreNotUnique() {
+        Workspace workspace = new Workspace("Name", "Description");
+        ViewSet views = workspace.getViews();
+
+        SystemLandscapeView systemLandscapeView = new SystemLandscapeView();
+        systemLandscapeView.setKey("key");
+        views.setSystemLandscapeViews(Collections.singleton(systemLandscapeView));
+
+        FilteredView filteredView = new FilteredView();
+        filteredView.setKey("key");
+        filteredView.setBaseViewKey("key");
+        views.setFilteredViews(Collections.singleton(filteredView));
+
+        try {
+            views.hydrate(workspace.getModel());
+            fail();
+        } catch (WorkspaceValidationException wve) {
+            assertEquals("A view with the key key already exists.", wve.getMessage());
+        }
+    }
+
+    @Test
+    public void test_getViewWithKey() {
+        Workspace workspace = createWorkspace();
+        ViewSet views = workspace.getViews();
+        SoftwareSystem softwareSystem = workspace.getModel().getSoftwareSystemWithName("Software System");
+
+        SystemContextView systemContextView = views.createSystemContextView(softwareSystem, "context", "Description");
+        FilteredView filteredView = views.createFilteredView(systemContextView, "filtered", "Description", FilterMode.Include, "Tag");
+
+        assertSame(systemContextView, views.getViewWithKey("context"));
+        assertSame(systemContextView, views.getViewWithKey("context", SystemContextView.class));
+        assertSame(systemContextView, views.getViewWithKey("context", StaticView.class));
+        assertNull(views.getViewWithKey("context", ContainerView.class));
+        assertNull(views.getViewWithKey("filtered"));
+        assertSame(filteredView, views.getFilteredViewWithKey("filtered"));
+        assertNull(views.getViewWithKey("missing"));
+
+        views.clear();
+        assertNull(views.getViewWithKey("context"));
+        assertNull(views.getFilteredViewWithKey("filtered"));
+    }
+
+    @Test
+    public void test_getViewWithKey_WhenTheViewsHaveBeenReplaced() {
+        ViewSet views = new Workspace("", "").getViews();
+        views.createSystemLandscapeView("old", "Description");
+
+        SystemLandscapeView newView = new SystemLandscapeView();
+        newView.setKey("new");
+        views.setSystemLandscapeViews(Collections.singleton(newView));
+
+        assertNull(views.getViewWithKey("old"));
+        assertSame(newView, views.getViewWithKey("new"));
+        views.createSystemLandscapeView("old", "Description");
+    }
+
     @Test
     public void test_setEnterpriseContextViews_IsSupportedForOlderWorkspaces() {
         ViewSet views = new Workspace("", "").getViews();
@@ -1074,6 +1170,58 @@ public class ViewSetTests {
         assertSame("Live", views.getDeploymentViews().stream().filter(v -> v.getKey().equals("SoftwareSystem2-Live-Deployment")).findFirst().get().getEnvironment());
     }
 
+    @Test
+    public void test_createDefaultViews_InParallel_CreatesTheSameViewsAsSequentially() {
+        Workspace sequentialWorkspace = createWorkspaceForDefaultViews();
+        sequentialWorkspace.getViews().createDefaultViews();
+
+        Workspace parallelWorkspace = createWorkspaceForDefaultViews();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            parallelWorkspace.getViews().createDefaultViews(forkJoinPool);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        Collection<View> sequentialViews = sequentialWorkspace.getViews().getViews();
+        assertEquals(sequentialViews.size(), parallelWorkspace.getViews().getViews().size());
+        for (View sequentialView : sequentialViews) {
+            View parallelView = parallelWorkspace.getViews().getViewWithKey(sequentialView.getKey());
+            assertNotNull(parallelView);
+            assertSame(sequentialView.getClass(), parallelView.getClass());
+            assertEquals(idsOf(sequentialView.getElements()), idsOf(parallelView.getElements()));
+            assertEquals(sequentialView.getRelationships().stream().map(RelationshipView::getId).collect(Collectors.toSet()),
+                    parallelView.getRelationships().stream().map(RelationshipView::getId).collect(Collectors.toSet()));
+        }
+    }
+
+    private Workspace createWorkspaceForDefaultViews() {
+        Workspace workspace = new Workspace("Name", "Description");
+        Model model = workspace.getModel();
+        Person user = model.addPerson("User");
+        DeploymentNode live = model.addDeploymentNode("Live", "Server", "", "");
+
+        SoftwareSystem previous = null;
+        for (int i = 0; i < 20; i++) {
+            SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System " + i);
+            user.uses(softwareSystem, "Uses");
+            Container container = softwareSystem.addContainer("Container " + i, "", "");
+            Component component = container.addComponent("Component " + i, "", "");
+            live.add(container);
+
+            if (previous != null) {
+                component.uses(previous, "Uses");
+            }
+            previous = softwareSystem;
+        }
+
+        return workspace;
+    }
+
+    private Set<String> idsOf(Set<ElementView> elementViews) {
+        return elementViews.stream().map(ElementView::getId).collect(Collectors.toSet());
+    }
+
     @Test
     public void test_copyLayoutInformationFrom_DoesNothing_WhenMergeFromRemoteIsSetToFalse() {
         Workspace workspace1 = createWorkspace();
@@ -7,6 +7,8 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -344,6 +346,103 @@ public class ViewTests extends AbstractWorkspaceTestBase {
         assertTrue(view.getElements().contains(new ElementView(user)));
     }
 
+    @Test
+    public void test_removeElementsThatAreUnreachableFrom_RemovesDownstreamElements_WhenTraversingUpstream() {
+        SoftwareSystem softwareSystemA = model.addSoftwareSystem("System A", "");
+        SoftwareSystem softwareSystemB = model.addSoftwareSystem("System B", "");
+        SoftwareSystem softwareSystemC = model.addSoftwareSystem("System C", "");
+        SoftwareSystem softwareSystemD = model.addSoftwareSystem("System D", "");
+
+        softwareSystemA.uses(softwareSystemB, "uses");
+        softwareSystemB.uses(softwareSystemC, "uses");
+        softwareSystemD.uses(softwareSystemC, "uses");
+
+        StaticView view = new SystemLandscapeView(model, "landscape", "Description");
+        view.addAllElements();
+        assertEquals(4, view.getElements().size());
+
+        view.removeElementsThatAreUnreachableFrom(softwareSystemB, TraversalDirection.Upstream, Integer.MAX_VALUE);
+        assertEquals(2, view.getElements().size());
+        assertTrue(view.isElementInView(softwareSystemA));
+        assertTrue(view.isElementInView(softwareSystemB));
+        assertEquals(1, view.getRelationships().size());
+    }
+
+    @Test
+    public void test_removeElementsThatAreUnreachableFrom_KeepsUpstreamAndDownstreamElements_WhenTraversingBoth() {
+        SoftwareSystem softwareSystemA = model.addSoftwareSystem("System A", "");
+        SoftwareSystem softwareSystemB = model.addSoftwareSystem("System B", "");
+        SoftwareSystem softwareSystemC = model.addSoftwareSystem("System C", "");
+        SoftwareSystem softwareSystemD = model.addSoftwareSystem("System D", "");
+        SoftwareSystem softwareSystemE = model.addSoftwareSystem("System E", "");
+
+        softwareSystemA.uses(softwareSystemB, "uses");
+        softwareSystemB.uses(softwareSystemC, "uses");
+        softwareSystemD.uses(softwareSystemC, "uses");
+
+        StaticView view = new SystemLandscapeView(model, "landscape", "Description");
+        view.addAllElements();
+        assertEquals(5, view.getElements().size());
+
+        view.removeElementsThatAreUnreachableFrom(softwareSystemB, TraversalDirection.Both, Integer.MAX_VALUE);
+        assertEquals(4, view.getElements().size());
+        assertFalse(view.isElementInView(softwareSystemE));
+    }
+
+    @Test
+    public void test_removeElementsThatAreUnreachableFrom_StopsAtTheMaximumDepth() {
+        SoftwareSystem softwareSystemA = model.addSoftwareSystem("System A", "");
+        SoftwareSystem softwareSystemB = model.addSoftwareSystem("System B", "");
+        SoftwareSystem softwareSystemC = model.addSoftwareSystem("System C", "");
+
+        softwareSystemA.uses(softwareSystemB, "uses");
+        softwareSystemB.uses(softwareSystemC, "uses");
+
+        StaticView view = new SystemLandscapeView(model, "landscape", "Description");
+        view.addAllElements();
+
+        view.removeElementsThatAreUnreachableFrom(softwareSystemA, TraversalDirection.Downstream, 1);
+        assertEquals(2, view.getElements().size());
+        assertFalse(view.isElementInView(softwareSystemC));
+
+        view.removeElementsThatAreUnreachableFrom(softwareSystemA, TraversalDirection.Downstream, 0);
+        assertEquals(1, view.getElements().size());
+        assertTrue(view.isElementInView(softwareSystemA));
+        assertEquals(0, view.getRelationships().size());
+    }
+
+    @Test
+    public void test_removeElementsThatAreUnreachableFrom_KeepsAllElements_WhenTheGraphIsALongChain() {
+        SoftwareSystem first = model.addSoftwareSystem("System 0", "");
+        SoftwareSystem previous = first;
+        for (int i = 1; i < 2000; i++) {
+            SoftwareSystem next = model.addSoftwareSystem("System " + i, "");
+            previous.uses(next, "uses");
+            previous = next;
+        }
+        SoftwareSystem orphan = model.addSoftwareSystem("Orphan", "");
+
+        StaticView view = new SystemLandscapeView(model, "landscape", "Description");
+        view.addAllSoftwareSystems();
+
+        view.removeElementsThatAreUnreachableFrom(first);
+        assertEquals(2000, view.getElements().size());
+        assertFalse(view.isElementInView(orphan));
+    }
+
+    @Test
+    public void test_removeElementsThatAreUnreachableFrom_ThrowsAnException_WhenANegativeMaximumDepthIsSpecified() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("The System", "Description");
+        StaticView view = new SystemContextView(softwareSystem, "context", "Description");
+
+        try {
+            view.removeElementsThatAreUnreachableFrom(softwareSystem, TraversalDirection.Downstream, -1);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The maximum depth must be zero or greater.", iae.getMessage());
+        }
+    }
+
     @Test
     public void test_removeRelationship_DoesNothing_WhenNullIsSpecified() {
         SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1", "Description");
@@ -494,4 +593,20 @@ public class ViewTests extends AbstractWorkspaceTestBase {
         assertEquals(0, view.getElements().size());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_setElements_KeepsTheOrderOfTheElementViews() {
+        SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+        Set<ElementView> elementViews = new LinkedHashSet<>();
+        for (int i = 0; i < 20; i++) {
+            elementViews.add(new ElementView(model.addSoftwareSystem("Software System " + (19 - i))));
+        }
+
+        view.setElements(elementViews);
+
+        Iterator<ElementView> iterator = view.getElementViewsInOrder().iterator();
+        for (int i = 0; i < 20; i++) {
+            assertEquals("Software System " + (19 - i), iterator.next().getElement().getName());
+        }
+    }
+
+}